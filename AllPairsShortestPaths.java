@@ -0,0 +1,223 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The distances between all the pairs of nodes of a graph, stored in a flat
+ * row-major matrix: the distance from node {@code i} to node {@code j} is
+ * entry {@code i * n + j}. When predecessors have been tracked, entry
+ * {@code i * n + j} of a second matrix is the node that precedes {@code j} on
+ * a shortest path from {@code i}, so every shortest path can be rebuilt
+ * backwards from its last node.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class AllPairsShortestPaths<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int n;
+    private final double[] distances;
+    private final int[] predecessors;
+
+    /**
+     * Constructs the result from its matrices. The arrays are not copied.
+     *
+     * @param graph  the snapshot of the graph, null if the nodes are only
+     *        identified by their index.
+     * @param n  the number of nodes.
+     * @param distances  the distance matrix, {@code Double.POSITIVE_INFINITY}
+     *        for the pairs that are not connected.
+     * @param predecessors  the predecessor matrix, -1 when there is no
+     *        predecessor; null if predecessors have not been tracked.
+     * @throws NullPointerException if the distance matrix is null.
+     * @throws IllegalArgumentException if a matrix does not have n * n
+     *         entries.
+     */
+    public AllPairsShortestPaths(CompressedSparseRowGraph<L> graph, int n,
+            double[] distances, int[] predecessors) {
+        if (distances == null) throw new NullPointerException();
+        if (n < 0 || distances.length != (long) n * n
+            || (predecessors != null
+                && predecessors.length != distances.length))
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.n = n;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes.
+     */
+    public int nodeCount() {
+        return this.n;
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot, null if the nodes are only identified by their
+     *         index.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the distance matrix. The array is the internal one and must not
+     * be modified.
+     *
+     * @return the distance matrix in row-major order.
+     */
+    public double[] getDistances() {
+        return this.distances;
+    }
+
+    /**
+     * Determines whether predecessors have been tracked, so that paths can be
+     * rebuilt.
+     *
+     * @return true if the predecessor matrix is available.
+     */
+    public boolean hasPredecessors() {
+        return this.predecessors != null;
+    }
+
+    /**
+     * Returns the distance between two nodes.
+     *
+     * @param i  the index of the first node.
+     * @param j  the index of the second node.
+     * @return the length of a shortest path from i to j,
+     *         {@code Double.POSITIVE_INFINITY} if j is not reachable from i.
+     * @throws IndexOutOfBoundsException if a node is out of range.
+     */
+    public double getDistance(int i, int j) {
+        this.checkNodes(i, j);
+
+        return this.distances[i * this.n + j];
+    }
+
+    /**
+     * Returns the predecessor of a node on a shortest path from another node.
+     *
+     * @param i  the index of the first node of the path.
+     * @param j  the index of the last node of the path.
+     * @return the node preceding j on a shortest path from i, -1 if i equals j
+     *         or j is not reachable from i.
+     * @throws IndexOutOfBoundsException if a node is out of range.
+     * @throws UnsupportedOperationException if predecessors have not been
+     *         tracked.
+     */
+    public int getPredecessor(int i, int j) {
+        this.checkNodes(i, j);
+
+        if (this.predecessors == null)
+            throw new UnsupportedOperationException();
+
+        return this.predecessors[i * this.n + j];
+    }
+
+    /**
+     * Returns a shortest path between two nodes.
+     *
+     * @param i  the index of the first node.
+     * @param j  the index of the last node.
+     * @return the indices of the nodes of the path, from i to j; an empty
+     *         array if j is not reachable from i.
+     * @throws IndexOutOfBoundsException if a node is out of range.
+     * @throws UnsupportedOperationException if predecessors have not been
+     *         tracked.
+     */
+    public int[] getPath(int i, int j) {
+        this.checkNodes(i, j);
+
+        if (this.predecessors == null)
+            throw new UnsupportedOperationException();
+        if (this.distances[i * this.n + j] == Double.POSITIVE_INFINITY)
+            return new int[0];
+
+        int length = 1;
+
+        for (int x = j; x != i; x = this.predecessors[i * this.n + x]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+
+        for (int x = j; length > 0; x = this.predecessors[i * this.n + x]) {
+            path[--length] = x;
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns the distance between two nodes.
+     *
+     * @param u  the first node.
+     * @param v  the second node.
+     * @return the length of a shortest path from u to v,
+     *         {@code Double.POSITIVE_INFINITY} if v is not reachable from u.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     * @throws UnsupportedOperationException if the result has no snapshot of
+     *         the graph.
+     */
+    public double getDistance(GraphNode<L> u, GraphNode<L> v) {
+        return this.getDistance(this.indexOf(u), this.indexOf(v));
+    }
+
+    /**
+     * Returns a shortest path between two nodes.
+     *
+     * @param u  the first node.
+     * @param v  the last node.
+     * @return the nodes of the path, from u to v; an empty list if v is not
+     *         reachable from u.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     * @throws UnsupportedOperationException if the result has no snapshot of
+     *         the graph or predecessors have not been tracked.
+     */
+    public List<GraphNode<L>> getPath(GraphNode<L> u, GraphNode<L> v) {
+        int[] path = this.getPath(this.indexOf(u), this.indexOf(v));
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(path.length);
+
+        for (int x : path) {
+            nodes.add(this.graph.getNode(x));
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Checks that two indices are nodes.
+     *
+     * @param i  the first index.
+     * @param j  the second index.
+     */
+    private void checkNodes(int i, int j) {
+        if (i < 0 || i >= this.n || j < 0 || j >= this.n)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Returns the index of a node in the snapshot.
+     *
+     * @param v  the node.
+     * @return the index of v.
+     */
+    private int indexOf(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+        if (this.graph == null) throw new UnsupportedOperationException();
+
+        return this.graph.getIndexOf(v);
+    }
+}
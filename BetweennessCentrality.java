@@ -0,0 +1,437 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class that computes the betweenness centrality of the nodes of a graph
+ * with Brandes' algorithm, exactly or on a random sample of sources, in
+ * parallel on a {@code ForkJoinPool}.
+ *
+ * For every source s a single-source phase computes the distance of every
+ * node and the number sigma of its shortest paths from s, with a breadth-first
+ * search on unweighted graphs and Dijkstra's algorithm on weighted ones,
+ * recording the nodes in order of distance. The dependencies of s on every
+ * node are then accumulated in the reverse order: a node v collects
+ * sigma(v) / sigma(w) * (1 + delta(w)) from every out-neighbour w one edge
+ * further along a shortest path, so no predecessor lists are needed.
+ *
+ * The sources are handed out one at a time from a shared counter to one task
+ * per worker of the pool. Every task allocates its distance, path count,
+ * dependency and order arrays, its priority queue and its own score vector
+ * once, and resets only the nodes reached by a source before the next one;
+ * the score vectors of the tasks are summed at the end.
+ *
+ * The estimate draws k sources uniformly with replacement and scales their
+ * dependencies by n / k. Since the dependency of a source on a node is at
+ * most n - 2, Hoeffding's inequality and a union bound over the nodes give
+ * that k = ln(2n / delta) / (2 epsilon^2) sources make every estimate differ
+ * from the exact betweenness by at most epsilon n (n - 2), halved on
+ * undirected graphs, with probability at least 1 - delta.
+ *
+ * A graph is weighted if one of its edges has a weight, in which case all of
+ * them must have a positive one; on a snapshot the choice is explicit.
+ * Undirected edges are followed both ways and every pair of nodes of an
+ * undirected graph is counted once.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BetweennessCentrality<L> {
+
+    private static final int MIN_GRAIN = 4096;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Build a betweenness calculator that runs on the common
+     * {@code ForkJoinPool}.
+     */
+    public BetweennessCentrality() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a betweenness calculator.
+     *
+     * @param pool  the pool running the single-source phases.
+     * @throws NullPointerException if the pool is null.
+     */
+    public BetweennessCentrality(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException();
+
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the number of sources to sample so that, with probability at
+     * least 1 - delta, every estimate differs from the exact betweenness by
+     * at most epsilon n (n - 2).
+     *
+     * @param n  the number of nodes.
+     * @param epsilon  the error, relative to n (n - 2).
+     * @param delta  the probability that the error is exceeded.
+     * @return the number of sources.
+     * @throws IllegalArgumentException if n is negative, epsilon is not
+     *         positive or delta is not in <code>(0, 1)</code>.
+     */
+    public static int sampleSize(int n, double epsilon, double delta) {
+        if (n < 0 || !(epsilon > 0) || !(delta > 0 && delta < 1))
+            throw new IllegalArgumentException();
+
+        double k = Math.ceil(Math.log(2.0 * Math.max(1, n) / delta)
+                             / (2 * epsilon * epsilon));
+
+        return (int) Math.min(Integer.MAX_VALUE, k);
+    }
+
+    /**
+     * Computes the exact betweenness of the nodes of a graph.
+     *
+     * @param g  the graph.
+     * @return the scores, whose snapshot identifies the nodes of the graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph has both weighted and
+     *         unweighted edges, or a weight that is not positive.
+     */
+    public BetweennessScores<L> computeBetweenness(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        CompressedSparseRowGraph<L> snapshot =
+            new CompressedSparseRowGraph<L>(g);
+
+        return this.computeBetweenness(snapshot, isWeighted(snapshot));
+    }
+
+    /**
+     * Computes the exact betweenness of the nodes of a snapshot of a graph,
+     * running a single-source phase from every node.
+     *
+     * @param g  the snapshot.
+     * @param weighted  true to measure paths by the weights of the snapshot,
+     *        false to count their edges.
+     * @return the scores.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is weighted and has a
+     *         weight that is not positive.
+     */
+    public BetweennessScores<L> computeBetweenness(
+            CompressedSparseRowGraph<L> g, boolean weighted) {
+        if (g == null) throw new NullPointerException();
+        if (weighted) checkWeights(g);
+
+        int n = g.nodeCount();
+        int[] sources = new int[n];
+
+        for (int s = 0; s < n; s++) {
+            sources[s] = s;
+        }
+
+        double[] scores = this.accumulate(g, weighted, sources, 1);
+
+        return new BetweennessScores<L>(g, scores, n, 0);
+    }
+
+    /**
+     * Estimates the betweenness of the nodes of a graph from a sample of
+     * sources.
+     *
+     * @param g  the graph.
+     * @param epsilon  the error, relative to n (n - 2).
+     * @param delta  the probability that the error is exceeded.
+     * @param seed  the seed of the sample.
+     * @return the estimated scores, whose snapshot identifies the nodes of the
+     *         graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if epsilon is not positive, delta is
+     *         not in <code>(0, 1)</code>, or the graph has both weighted and
+     *         unweighted edges or a weight that is not positive.
+     */
+    public BetweennessScores<L> estimateBetweenness(Graph<L> g,
+            double epsilon, double delta, long seed) {
+        if (g == null) throw new NullPointerException();
+
+        CompressedSparseRowGraph<L> snapshot =
+            new CompressedSparseRowGraph<L>(g);
+
+        return this.estimateBetweenness(snapshot, isWeighted(snapshot),
+                                        epsilon, delta, seed);
+    }
+
+    /**
+     * Estimates the betweenness of the nodes of a snapshot of a graph from
+     * {@code sampleSize(n, epsilon, delta)} sources drawn uniformly with
+     * replacement.
+     *
+     * @param g  the snapshot.
+     * @param weighted  true to measure paths by the weights of the snapshot,
+     *        false to count their edges.
+     * @param epsilon  the error, relative to n (n - 2).
+     * @param delta  the probability that the error is exceeded.
+     * @param seed  the seed of the sample.
+     * @return the estimated scores, with their error bound.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if epsilon is not positive, delta is
+     *         not in <code>(0, 1)</code>, or the snapshot is weighted and has
+     *         a weight that is not positive.
+     */
+    public BetweennessScores<L> estimateBetweenness(
+            CompressedSparseRowGraph<L> g, boolean weighted, double epsilon,
+            double delta, long seed) {
+        if (g == null) throw new NullPointerException();
+        if (weighted) checkWeights(g);
+
+        int n = g.nodeCount();
+        int k = n == 0 ? 0 : sampleSize(n, epsilon, delta);
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] sources = new int[k];
+
+        for (int i = 0; i < k; i++) {
+            sources[i] = random.nextInt(n);
+        }
+
+        double[] scores = this.accumulate(g, weighted, sources,
+                                          k == 0 ? 0 : (double) n / k);
+        double bound = Math.max(0, epsilon * n * (n - 2.0));
+
+        if (!g.isDirected()) bound /= 2;
+
+        return new BetweennessScores<L>(g, scores, k, bound);
+    }
+
+    /**
+     * Runs the single-source phases of a list of sources on one task per
+     * worker and sums their dependencies.
+     *
+     * @param g  the snapshot.
+     * @param weighted  true if the paths are measured by the weights.
+     * @param sources  the sources, possibly repeated.
+     * @param scale  the factor applied to the sum.
+     * @return the betweenness of every node.
+     */
+    private double[] accumulate(CompressedSparseRowGraph<L> g,
+            boolean weighted, int[] sources, double scale) {
+        int n = g.nodeCount();
+        int tasks = Math.max(1, Math.min(this.pool.getParallelism(),
+                                         sources.length));
+        double[][] partial = new double[tasks][];
+        AtomicInteger next = new AtomicInteger();
+
+        ParallelFor.run(this.pool, 0, tasks, 1, (from, to) -> {
+            for (int t = from; t < to; t++) {
+                SingleSource phase = new SingleSource(g, weighted);
+
+                for (int i = next.getAndIncrement(); i < sources.length;
+                     i = next.getAndIncrement()) {
+                    phase.run(sources[i]);
+                }
+
+                partial[t] = phase.scores;
+            }
+        });
+
+        double[] scores = partial[0];
+        // Every pair of an undirected graph was counted in both directions.
+        double factor = g.isDirected() ? scale : scale / 2;
+
+        ParallelFor.run(this.pool, 0, n,
+                        ParallelFor.grainFor(this.pool, n, MIN_GRAIN),
+                        (from, to) -> {
+            for (int v = from; v < to; v++) {
+                double sum = scores[v];
+
+                for (int t = 1; t < tasks; t++) {
+                    sum += partial[t][v];
+                }
+
+                scores[v] = sum * factor;
+            }
+        });
+
+        return scores;
+    }
+
+    /**
+     * Determines whether the snapshot of a graph is weighted, that is whether
+     * its edges have a weight, which is {@code Double.NaN} otherwise.
+     *
+     * @param g  the snapshot.
+     * @return true if the edges have weights, false if none has.
+     * @throws IllegalArgumentException if only some edges have a weight, or a
+     *         weight is not positive.
+     */
+    private static boolean isWeighted(CompressedSparseRowGraph<?> g) {
+        int unweighted = 0;
+
+        for (double w : g.getEdgeWeights()) {
+            if (Double.isNaN(w)) unweighted++;
+        }
+
+        if (unweighted == g.edgeCount()) return false;
+        if (unweighted != 0) throw new IllegalArgumentException();
+
+        checkWeights(g);
+
+        return true;
+    }
+
+    /**
+     * Checks that the weights of a snapshot are all positive numbers.
+     *
+     * @param g  the snapshot.
+     * @throws IllegalArgumentException if a weight is not positive.
+     */
+    private static void checkWeights(CompressedSparseRowGraph<?> g) {
+        for (double w : g.getEdgeWeights()) {
+            if (!(w > 0 && w < Double.POSITIVE_INFINITY))
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /*
+     * The arrays of a worker, allocated once and reused for every source: the
+     * distance, number of shortest paths and dependency of every node, the
+     * nodes in order of distance and the betweenness accumulated so far.
+     */
+    private static final class SingleSource {
+
+        private final int[] offsets;
+        private final int[] adjacency;
+        private final double[] weights;
+        private final boolean weighted;
+        private final double[] distance;
+        private final double[] sigma;
+        private final double[] delta;
+        private final int[] order;
+        private final IntDAryHeapMinPriorityQueue queue;
+        private final double[] scores;
+
+        private SingleSource(CompressedSparseRowGraph<?> g,
+                boolean weighted) {
+            int n = g.nodeCount();
+
+            this.offsets = g.getOffsets();
+            this.adjacency = g.getAdjacency();
+            this.weights = g.getAdjacencyWeights();
+            this.weighted = weighted;
+            this.distance = new double[n];
+            this.sigma = new double[n];
+            this.delta = new double[n];
+            this.order = new int[n];
+            this.queue = weighted ? new IntDAryHeapMinPriorityQueue(n) : null;
+            this.scores = new double[n];
+
+            Arrays.fill(this.distance, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Adds the dependencies of a source to the scores.
+         */
+        private void run(int s) {
+            int reached = this.weighted ? this.dijkstra(s) : this.bfs(s);
+
+            for (int i = reached - 1; i >= 0; i--) {
+                int v = this.order[i];
+                double dv = this.distance[v];
+                double sum = 0;
+
+                for (int k = this.offsets[v]; k < this.offsets[v + 1]; k++) {
+                    int w = this.adjacency[k];
+                    double step = this.weighted ? this.weights[k] : 1;
+
+                    if (this.distance[w] == dv + step)
+                        sum += (1 + this.delta[w]) / this.sigma[w];
+                }
+
+                this.delta[v] = this.sigma[v] * sum;
+
+                if (v != s) this.scores[v] += this.delta[v];
+            }
+
+            for (int i = 0; i < reached; i++) {
+                int v = this.order[i];
+
+                this.distance[v] = Double.POSITIVE_INFINITY;
+                this.sigma[v] = 0;
+                this.delta[v] = 0;
+            }
+        }
+
+        /**
+         * Counts the shortest paths from a source with a breadth-first
+         * search.
+         *
+         * @return the number of nodes reached, listed in order.
+         */
+        private int bfs(int s) {
+            int head = 0;
+            int tail = 0;
+
+            this.distance[s] = 0;
+            this.sigma[s] = 1;
+            this.order[tail++] = s;
+
+            while (head < tail) {
+                int v = this.order[head++];
+                double next = this.distance[v] + 1;
+
+                for (int k = this.offsets[v]; k < this.offsets[v + 1]; k++) {
+                    int w = this.adjacency[k];
+
+                    if (this.distance[w] == Double.POSITIVE_INFINITY) {
+                        this.distance[w] = next;
+                        this.order[tail++] = w;
+                    }
+
+                    if (this.distance[w] == next)
+                        this.sigma[w] += this.sigma[v];
+                }
+            }
+
+            return tail;
+        }
+
+        /**
+         * Counts the shortest paths from a source with Dijkstra's algorithm.
+         *
+         * @return the number of nodes reached, listed in order.
+         */
+        private int dijkstra(int s) {
+            int settled = 0;
+
+            this.distance[s] = 0;
+            this.sigma[s] = 1;
+            this.queue.insert(s, 0);
+
+            while (!this.queue.isEmpty()) {
+                int v = this.queue.extractMinimum();
+
+                this.order[settled++] = v;
+
+                for (int k = this.offsets[v]; k < this.offsets[v + 1]; k++) {
+                    int w = this.adjacency[k];
+                    double d = this.distance[v] + this.weights[k];
+
+                    if (d < this.distance[w]) {
+                        boolean queued = this.distance[w]
+                                         != Double.POSITIVE_INFINITY;
+
+                        this.distance[w] = d;
+                        this.sigma[w] = this.sigma[v];
+
+                        if (queued) this.queue.decreasePriority(w, d);
+                        else this.queue.insert(w, d);
+                    }
+                    else if (d == this.distance[w]) {
+                        this.sigma[w] += this.sigma[v];
+                    }
+                }
+            }
+
+            return settled;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * The betweenness centrality of the nodes of a graph, computed exactly or
+ * estimated from a sample of sources by {@code BetweennessCentrality<L>}.
+ * The betweenness of a node v is the sum, over the ordered pairs of nodes s
+ * and t different from v, of the fraction of the shortest paths from s to t
+ * that pass through v; in an undirected graph every pair is counted once.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BetweennessScores<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final double[] scores;
+    private final int sampleCount;
+    private final double errorBound;
+
+    /**
+     * Constructs the scores. The array is not copied.
+     *
+     * @param graph  the snapshot of the graph.
+     * @param scores  the betweenness of every node.
+     * @param sampleCount  the number of sources the scores were computed
+     *        from.
+     * @param errorBound  the largest difference between an estimated score
+     *        and the exact one guaranteed by the sampling, 0 if the scores are
+     *        exact.
+     * @throws NullPointerException if the snapshot or the array is null.
+     * @throws IllegalArgumentException if the array does not have one element
+     *         for every node, or the number of samples or the error bound is
+     *         negative.
+     */
+    public BetweennessScores(CompressedSparseRowGraph<L> graph,
+            double[] scores, int sampleCount, double errorBound) {
+        if (graph == null || scores == null) throw new NullPointerException();
+        if (scores.length != graph.nodeCount() || sampleCount < 0
+            || !(errorBound >= 0))
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.scores = scores;
+        this.sampleCount = sampleCount;
+        this.errorBound = errorBound;
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes.
+     */
+    public int nodeCount() {
+        return this.scores.length;
+    }
+
+    /**
+     * Returns the betweenness of a node.
+     *
+     * @param v  the index of the node.
+     * @return the betweenness of v.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public double getScore(int v) {
+        return this.scores[v];
+    }
+
+    /**
+     * Returns the betweenness of a node.
+     *
+     * @param v  the node.
+     * @return the betweenness of v.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     */
+    public double getScore(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+
+        return this.scores[this.graph.getIndexOf(v)];
+    }
+
+    /**
+     * Returns the betweenness of a node divided by the number of pairs of
+     * other nodes, so that it falls in <code>[0, 1]</code>.
+     *
+     * @param v  the index of the node.
+     * @return the normalized betweenness of v, 0 if the graph has fewer than
+     *         three nodes.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public double getNormalizedScore(int v) {
+        double n = this.scores.length;
+        double pairs = (n - 1) * (n - 2);
+
+        if (!this.graph.isDirected()) pairs /= 2;
+
+        return pairs <= 0 ? 0 : this.scores[v] / pairs;
+    }
+
+    /**
+     * Returns the betweenness of every node, indexed by the index of the node
+     * in the snapshot. The array is the internal one and must not be
+     * modified.
+     *
+     * @return the scores.
+     */
+    public double[] getScores() {
+        return this.scores;
+    }
+
+    /**
+     * Determines whether the scores are exact, that is computed from every
+     * source.
+     *
+     * @return true if the scores are exact.
+     */
+    public boolean isExact() {
+        return this.errorBound == 0;
+    }
+
+    /**
+     * Returns the number of sources the scores were computed from.
+     *
+     * @return the number of sources, with repetitions if sampled.
+     */
+    public int getSampleCount() {
+        return this.sampleCount;
+    }
+
+    /**
+     * Returns the largest difference between an estimated score and the
+     * exact one, guaranteed with the confidence requested for the sample.
+     *
+     * @return the error bound, 0 if the scores are exact.
+     */
+    public double getErrorBound() {
+        return this.errorBound;
+    }
+}
@@ -0,0 +1,227 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The biconnected components of an undirected graph, with its bridges and its
+ * articulation points, stored in primitive arrays: edge {@code e} of the
+ * snapshot belongs to component {@code getComponent(e)}, and the edges of
+ * component {@code c} are listed, in index order, in the slots of
+ * {@code getComponentEdges()} from {@code getComponentOffsets()[c]}
+ * (inclusive) to {@code getComponentOffsets()[c + 1]} (exclusive). Loops
+ * belong to no component. A bridge is a component made of a single edge; an
+ * articulation point is a node shared by two or more components.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BiconnectedComponents<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] component;
+    private final int[] offsets;
+    private final int[] edges;
+    private final int[] bridges;
+    private final int[] articulationPoints;
+
+    /**
+     * Constructs the decomposition. The arrays are not copied.
+     *
+     * @param graph  the snapshot of the graph.
+     * @param component  the component of every edge, -1 for loops.
+     * @param componentCount  the number of components.
+     * @param bridges  the bridges, in increasing order.
+     * @param articulationPoints  the articulation points, in increasing order.
+     * @throws NullPointerException if the snapshot or one of the arrays is
+     *         null.
+     * @throws IllegalArgumentException if the component array does not have an
+     *         entry for every edge or refers to a component that does not
+     *         exist.
+     */
+    public BiconnectedComponents(CompressedSparseRowGraph<L> graph,
+            int[] component, int componentCount, int[] bridges,
+            int[] articulationPoints) {
+        if (graph == null || component == null || bridges == null
+            || articulationPoints == null)
+            throw new NullPointerException();
+        if (component.length != graph.edgeCount() || componentCount < 0)
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.component = component;
+        this.offsets = new int[componentCount + 1];
+        this.bridges = bridges;
+        this.articulationPoints = articulationPoints;
+
+        int count = 0;
+
+        for (int c : component) {
+            if (c < -1 || c >= componentCount)
+                throw new IllegalArgumentException();
+
+            if (c >= 0) {
+                this.offsets[c + 1]++;
+                count++;
+            }
+        }
+
+        for (int c = 0; c < componentCount; c++) {
+            this.offsets[c + 1] += this.offsets[c];
+        }
+
+        int[] next = new int[componentCount];
+
+        this.edges = new int[count];
+
+        for (int e = 0; e < component.length; e++) {
+            int c = component[e];
+
+            if (c >= 0) this.edges[this.offsets[c] + next[c]++] = e;
+        }
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of biconnected components.
+     *
+     * @return the number of components.
+     */
+    public int componentCount() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Returns the component of an edge.
+     *
+     * @param e  the index of the edge.
+     * @return the component of e, -1 if e is a loop.
+     * @throws IndexOutOfBoundsException if e is not an edge.
+     */
+    public int getComponent(int e) {
+        return this.component[e];
+    }
+
+    /**
+     * Returns the offsets of the components in {@code getComponentEdges()}.
+     * The array is the internal one and must not be modified.
+     *
+     * @return the offsets of the components.
+     */
+    public int[] getComponentOffsets() {
+        return this.offsets;
+    }
+
+    /**
+     * Returns the edges of every component, grouped by component. The array
+     * is the internal one and must not be modified.
+     *
+     * @return the edges grouped by component.
+     */
+    public int[] getComponentEdges() {
+        return this.edges;
+    }
+
+    /**
+     * Returns the bridges, that is the edges whose removal disconnects their
+     * nodes. The array is the internal one and must not be modified.
+     *
+     * @return the indices of the bridges, in increasing order.
+     */
+    public int[] getBridges() {
+        return this.bridges;
+    }
+
+    /**
+     * Returns the articulation points, that is the nodes whose removal
+     * disconnects two other nodes. The array is the internal one and must not
+     * be modified.
+     *
+     * @return the indices of the articulation points, in increasing order.
+     */
+    public int[] getArticulationPoints() {
+        return this.articulationPoints;
+    }
+
+    /**
+     * Returns the bridges as a set of edges of the source graph.
+     *
+     * @return the set of the bridges.
+     * @throws UnsupportedOperationException if the snapshot was built from an
+     *         edge list.
+     */
+    public Set<GraphEdge<L>> getBridgeSet() {
+        this.checkSource();
+
+        Set<GraphEdge<L>> set = new HashSet<GraphEdge<L>>();
+
+        for (int e : this.bridges) {
+            set.add(this.graph.getEdge(e));
+        }
+
+        return set;
+    }
+
+    /**
+     * Returns the articulation points as a set of nodes of the source graph.
+     *
+     * @return the set of the articulation points.
+     * @throws UnsupportedOperationException if the snapshot was built from an
+     *         edge list.
+     */
+    public Set<GraphNode<L>> getArticulationPointSet() {
+        this.checkSource();
+
+        Set<GraphNode<L>> set = new HashSet<GraphNode<L>>();
+
+        for (int v : this.articulationPoints) {
+            set.add(this.graph.getNode(v));
+        }
+
+        return set;
+    }
+
+    /**
+     * Returns the components as sets of edges of the source graph.
+     *
+     * @return a set of biconnected components, each represented by a set of
+     *         graph edges.
+     * @throws UnsupportedOperationException if the snapshot was built from an
+     *         edge list.
+     */
+    public Set<Set<GraphEdge<L>>> getComponentSets() {
+        this.checkSource();
+
+        Set<Set<GraphEdge<L>>> components = new HashSet<Set<GraphEdge<L>>>();
+
+        for (int c = 0; c < this.componentCount(); c++) {
+            Set<GraphEdge<L>> set = new HashSet<GraphEdge<L>>();
+
+            for (int k = this.offsets[c]; k < this.offsets[c + 1]; k++) {
+                set.add(this.graph.getEdge(this.edges[k]));
+            }
+
+            components.add(set);
+        }
+
+        return components;
+    }
+
+    /**
+     * Checks that the snapshot refers to a source graph.
+     */
+    private void checkSource() {
+        if (this.graph.edgeCount() > 0 && this.graph.getEdge(0) == null
+            || this.graph.nodeCount() > 0 && this.graph.getNode(0) == null)
+            throw new UnsupportedOperationException();
+    }
+}
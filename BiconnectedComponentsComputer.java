@@ -0,0 +1,174 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * A class that implements a calculator of the biconnected components, the
+ * bridges and the articulation points of an undirected graph, using the
+ * low-link values of Hopcroft and Tarjan in O(n + m) time.
+ *
+ * The calculator follows a {@code DepthFirstSearch<L>}, which explores the
+ * graph without recursion, and keeps all its scratch state in arrays of
+ * {@code int}: the discovery order and the low-link of every node, that is the
+ * earliest node reachable from its subtree with at most one back edge, and a
+ * stack of the edges of the components not yet closed. When a node {@code v}
+ * with parent {@code p} is finished, {@code low(v) >= disc(p)} means that the
+ * edges pushed since the tree edge {@code (p, v)} form a component and that
+ * {@code p} is an articulation point (a root only if it has two or more
+ * children); {@code low(v) > disc(p)} means that {@code (p, v)} is a bridge.
+ *
+ * @param <L>  the type of the labels of the nodes in the graph.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BiconnectedComponentsComputer<L> {
+
+    private final DepthFirstSearch<L> search;
+
+    /**
+     * Create a biconnected component calculator.
+     */
+    public BiconnectedComponentsComputer() {
+        this.search = new DepthFirstSearch<L>();
+    }
+
+    /**
+     * Compute the biconnected components, the bridges and the articulation
+     * points of an undirected graph.
+     *
+     * @param g  an undirected graph.
+     * @return the decomposition, whose snapshot identifies the nodes and the
+     *         edges of the graph.
+     * @throws NullPointerException if the passed graph is null.
+     * @throws IllegalArgumentException if the passed graph is directed.
+     */
+    public BiconnectedComponents<L> computeBiconnectedComponents(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        return this.computeBiconnectedComponents(
+            new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Compute the biconnected components, the bridges and the articulation
+     * points of an undirected snapshot of a graph.
+     *
+     * @param g  an undirected snapshot.
+     * @return the decomposition.
+     * @throws NullPointerException if the passed snapshot is null.
+     * @throws IllegalArgumentException if the passed snapshot is directed.
+     */
+    public BiconnectedComponents<L> computeBiconnectedComponents(
+            CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        LowLink lowLink = new LowLink(g.nodeCount(), g.edgeCount());
+
+        this.search.computeDFS(g, lowLink);
+
+        int n = g.nodeCount();
+        int bridgeCount = 0;
+        int articulationCount = 0;
+
+        for (int e = 0; e < g.edgeCount(); e++) {
+            if (lowLink.bridge[e] != 0) bridgeCount++;
+        }
+
+        for (int v = 0; v < n; v++) {
+            if (lowLink.articulation[v] != 0) articulationCount++;
+        }
+
+        int[] bridges = new int[bridgeCount];
+        int[] articulationPoints = new int[articulationCount];
+
+        for (int e = 0, i = 0; e < g.edgeCount(); e++) {
+            if (lowLink.bridge[e] != 0) bridges[i++] = e;
+        }
+
+        for (int v = 0, i = 0; v < n; v++) {
+            if (lowLink.articulation[v] != 0) articulationPoints[i++] = v;
+        }
+
+        return new BiconnectedComponents<L>(g, lowLink.component,
+                                            lowLink.componentCount, bridges,
+                                            articulationPoints);
+    }
+
+    /*
+     * The low-link computation, driven by the events of the search.
+     */
+    private static final class LowLink implements DepthFirstVisitor {
+
+        private final int[] disc;
+        private final int[] low;
+        private final int[] parent;
+        private final int[] treeEdge;
+        private final int[] children;
+        private final int[] articulation;
+        private final int[] bridge;
+        private final int[] component;
+        private final int[] stack;
+        private int top;
+        private int time;
+        private int componentCount;
+
+        private LowLink(int n, int m) {
+            this.disc = new int[n];
+            this.low = new int[n];
+            this.parent = new int[n];
+            this.treeEdge = new int[n];
+            this.children = new int[n];
+            this.articulation = new int[n];
+            this.bridge = new int[m];
+            this.component = new int[m];
+            this.stack = new int[m];
+        }
+
+        @Override
+        public void enterNode(int v, int parent) {
+            this.disc[v] = ++this.time;
+            this.low[v] = this.disc[v];
+            this.parent[v] = parent;
+        }
+
+        @Override
+        public void visitEdge(int u, int v, int edge,
+                DepthFirstSearch.EdgeType type) {
+            if (u == v) {
+                this.component[edge] = -1;
+                return;
+            }
+
+            this.stack[this.top++] = edge;
+
+            if (type == DepthFirstSearch.EdgeType.TREE)
+                this.treeEdge[v] = edge;
+            else
+                this.low[u] = Math.min(this.low[u], this.disc[v]);
+        }
+
+        @Override
+        public void exitNode(int v, int p) {
+            if (p < 0) return;
+
+            this.low[p] = Math.min(this.low[p], this.low[v]);
+            this.children[p]++;
+
+            if (this.low[v] > this.disc[p]) this.bridge[this.treeEdge[v]] = 1;
+
+            if (this.low[v] >= this.disc[p]) {
+                if (this.parent[p] >= 0 || this.children[p] == 2)
+                    this.articulation[p] = 1;
+
+                int e;
+
+                do {
+                    e = this.stack[--this.top];
+                    this.component[e] = this.componentCount;
+                } while (e != this.treeEdge[v]);
+
+                this.componentCount++;
+            }
+        }
+    }
+}
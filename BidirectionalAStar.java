@@ -0,0 +1,322 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * A point-to-point shortest path engine for weighted graphs with nonnegative
+ * weights, directed or undirected, based on bidirectional A* search: a
+ * forward search from the source and a backward search from the target are
+ * run alternately until their frontiers prove that the best path found so far
+ * is a shortest one.
+ *
+ * An optional {@code DistanceHeuristic<L>} guides the two searches with the
+ * average potentials of Ikeda et al.: {@code p(v) = (h(v, t) - h(s, v)) / 2}
+ * for the forward search and {@code -p(v)} for the backward one. The two
+ * searches then work on the same reduced weights, which are nonnegative when
+ * the heuristic is consistent, so the search can stop as soon as the sum of
+ * the minimum keys of the two queues reaches the length of the best path
+ * found. Without a heuristic the engine is a bidirectional Dijkstra search.
+ *
+ * The graph is copied into a {@code CompressedSparseRowGraph<L>} when the
+ * engine is built, and the per-query state (distances, predecessors, queues)
+ * lives in arrays owned by the calling thread, never in the shared
+ * {@code GraphNode} objects, so many queries can run concurrently on the same
+ * engine. The arrays are versioned: a query does not clear them, but marks
+ * the entries it writes with its own version number, so its cost depends only
+ * on the number of nodes it touches.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BidirectionalAStar<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final CompressedSparseRowGraph<L> reverse;
+    private final DistanceHeuristic<L> heuristic;
+    private final ThreadLocal<Workspace> workspaces;
+
+    /**
+     * Builds an engine without heuristic, that is a bidirectional Dijkstra
+     * search.
+     *
+     * @param g  a weighted graph with nonnegative weights.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is unweighted or has
+     *         negative weights.
+     */
+    public BidirectionalAStar(Graph<L> g) {
+        this(g, null);
+    }
+
+    /**
+     * Builds an engine guided by a heuristic.
+     *
+     * @param g  a weighted graph with nonnegative weights.
+     * @param heuristic  a consistent heuristic over the labels of the nodes,
+     *        null for none.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is unweighted or has
+     *         negative weights.
+     */
+    public BidirectionalAStar(Graph<L> g, DistanceHeuristic<L> heuristic) {
+        this(new CompressedSparseRowGraph<L>(g), heuristic);
+    }
+
+    /**
+     * Builds an engine over a snapshot of a graph.
+     *
+     * @param g  a snapshot with nonnegative weights.
+     * @param heuristic  a consistent heuristic over the labels of the nodes,
+     *        null for none.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is unweighted or has
+     *         negative weights, or a heuristic is given and the snapshot has
+     *         no nodes of a graph to take the labels from.
+     */
+    public BidirectionalAStar(CompressedSparseRowGraph<L> g,
+            DistanceHeuristic<L> heuristic) {
+        if (g == null) throw new NullPointerException();
+
+        for (double weight : g.getEdgeWeights()) {
+            if (!(weight >= 0)) throw new IllegalArgumentException();
+        }
+
+        if (heuristic != null && g.nodeCount() > 0 && g.getNode(0) == null)
+            throw new IllegalArgumentException();
+
+        this.graph = g;
+        this.reverse = g.isDirected()
+            ? new CompressedSparseRowGraph<L>(g.nodeCount(), g.getEdgeTargets(),
+                                              g.getEdgeSources(),
+                                              g.getEdgeWeights(), true)
+            : g;
+        this.heuristic = heuristic;
+        this.workspaces = new ThreadLocal<Workspace>() {
+            @Override
+            protected Workspace initialValue() {
+                return new Workspace(g.nodeCount());
+            }
+        };
+    }
+
+    /**
+     * Returns the snapshot the engine works on.
+     *
+     * @return the snapshot of the graph.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Finds a shortest path between two nodes.
+     *
+     * @param source  the source node.
+     * @param target  the target node.
+     * @return a shortest path from the source to the target.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     */
+    public ShortestPath<L> computeShortestPath(GraphNode<L> source,
+            GraphNode<L> target) {
+        if (source == null || target == null) throw new NullPointerException();
+
+        return this.computeShortestPath(this.graph.getIndexOf(source),
+                                        this.graph.getIndexOf(target));
+    }
+
+    /**
+     * Finds a shortest path between two nodes identified by their index.
+     *
+     * @param s  the index of the source node.
+     * @param t  the index of the target node.
+     * @return a shortest path from the source to the target.
+     * @throws IllegalArgumentException if an index is outside the range
+     *         <code>[0, nodeCount - 1]</code>.
+     */
+    public ShortestPath<L> computeShortestPath(int s, int t) {
+        int n = this.graph.nodeCount();
+
+        if (s < 0 || s >= n || t < 0 || t >= n)
+            throw new IllegalArgumentException();
+
+        if (s == t) return new ShortestPath<L>(this.graph, 0, new int[] {s}, 1);
+
+        Workspace w = this.workspaces.get();
+        w.begin(s, t);
+
+        SearchFrontier forward = w.forward;
+        SearchFrontier backward = w.backward;
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+
+        forward.reach(s, 0, -1, this.potential(w, s));
+        backward.reach(t, 0, -1, -this.potential(w, t));
+
+        while (forward.queueSize() > 0 && backward.queueSize() > 0) {
+            if (forward.minimumKey() + backward.minimumKey() >= best) break;
+
+            boolean isForward = forward.queueSize() <= backward.queueSize();
+            SearchFrontier side = isForward ? forward : backward;
+            SearchFrontier other = isForward ? backward : forward;
+            CompressedSparseRowGraph<L> g = isForward ? this.graph
+                                                      : this.reverse;
+            int[] offsets = g.getOffsets();
+            int[] adjacency = g.getAdjacency();
+            double[] weights = g.getAdjacencyWeights();
+            int u = side.settleMinimum();
+            double du = side.getDistance(u);
+
+            w.settledCount++;
+
+            for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                int v = adjacency[k];
+                double d = du + weights[k];
+
+                if (side.isSettled(v)) continue;
+
+                if (!side.isReached(v)) {
+                    double p = this.potential(w, v);
+
+                    side.reach(v, d, u, isForward ? p : -p);
+                }
+                else if (d < side.getDistance(v)) {
+                    side.improve(v, d, u);
+                }
+                else continue;
+
+                if (other.isReached(v) && d + other.getDistance(v) < best) {
+                    best = d + other.getDistance(v);
+                    meeting = v;
+                }
+            }
+        }
+
+        w.end();
+
+        if (meeting < 0)
+            return new ShortestPath<L>(this.graph, Double.POSITIVE_INFINITY,
+                                       new int[0], w.settledCount);
+
+        return new ShortestPath<L>(this.graph, best,
+                                   w.path(meeting), w.settledCount);
+    }
+
+    /**
+     * Returns the forward potential of a node in the current query, computing
+     * it on first use.
+     *
+     * @param w  the workspace of the query.
+     * @param v  the node.
+     * @return the forward potential of v.
+     */
+    private double potential(Workspace w, int v) {
+        if (this.heuristic == null) return 0;
+
+        if (w.potentialVersion[v] != w.version) {
+            L label = this.graph.getNode(v).getLabel();
+            double toTarget = this.heuristic.estimate(label, w.targetLabel);
+            double fromSource = this.heuristic.estimate(w.sourceLabel, label);
+
+            w.potential[v] = (toTarget - fromSource) / 2;
+            w.potentialVersion[v] = w.version;
+        }
+
+        return w.potential[v];
+    }
+
+    /**
+     * The per-thread state of the queries.
+     */
+    private final class Workspace {
+
+        private final SearchFrontier forward;
+        private final SearchFrontier backward;
+        private final double[] potential;
+        private final int[] potentialVersion;
+        private int version;
+        private int settledCount;
+        private L sourceLabel;
+        private L targetLabel;
+
+        private Workspace(int n) {
+            this.forward = new SearchFrontier(n);
+            this.backward = new SearchFrontier(n);
+            this.potential = new double[n];
+            this.potentialVersion = new int[n];
+        }
+
+        /**
+         * Starts a query, moving to a new version of the arrays.
+         *
+         * @param s  the source.
+         * @param t  the target.
+         */
+        private void begin(int s, int t) {
+            if (this.version == Integer.MAX_VALUE) {
+                Arrays.fill(this.potentialVersion, 0);
+                this.version = 0;
+            }
+
+            this.version++;
+            this.forward.begin();
+            this.backward.begin();
+            this.settledCount = 0;
+
+            if (BidirectionalAStar.this.heuristic != null) {
+                this.sourceLabel = BidirectionalAStar.this.graph.getNode(s)
+                                                                .getLabel();
+                this.targetLabel = BidirectionalAStar.this.graph.getNode(t)
+                                                                .getLabel();
+            }
+        }
+
+        /**
+         * Ends a query, releasing the labels of its nodes.
+         */
+        private void end() {
+            this.sourceLabel = null;
+            this.targetLabel = null;
+        }
+
+        /**
+         * Rebuilds the path through a meeting node.
+         *
+         * @param meeting  a node reached by both searches.
+         * @return the nodes of the path, from the source to the target.
+         */
+        private int[] path(int meeting) {
+            int length = 0;
+
+            for (int x = meeting; x >= 0; x = this.forward.getPredecessor(x)) {
+                length++;
+            }
+
+            for (int x = this.backward.getPredecessor(meeting); x >= 0;
+                 x = this.backward.getPredecessor(x)) {
+                length++;
+            }
+
+            int[] path = new int[length];
+            int i = 0;
+
+            for (int x = meeting; x >= 0; x = this.forward.getPredecessor(x)) {
+                path[i++] = x;
+            }
+
+            for (int a = 0, b = i - 1; a < b; a++, b--) {
+                int temp = path[a];
+                path[a] = path[b];
+                path[b] = temp;
+            }
+
+            for (int x = this.backward.getPredecessor(meeting); x >= 0;
+                 x = this.backward.getPredecessor(x)) {
+                path[i++] = x;
+            }
+
+            return path;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * A square matrix of bits stored row by row in a flat {@code long[]}: row
+ * {@code i} occupies the words from {@code i * wordsPerRow()} to
+ * {@code (i + 1) * wordsPerRow() - 1}, and bit {@code j} of the row is bit
+ * {@code j % 64} of word {@code j / 64}. It is the adjacency matrix used by
+ * the algorithms that work on whole rows at once: intersecting, uniting or
+ * scanning two rows costs n / 64 word operations instead of n bit tests.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BitMatrix {
+
+    private final int n;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * Constructs an n x n matrix with every bit clear.
+     *
+     * @param n  the number of rows and columns.
+     * @throws IllegalArgumentException if n is negative or the matrix would
+     *         be too large.
+     */
+    public BitMatrix(int n) {
+        if (n < 0) throw new IllegalArgumentException();
+
+        long size = (long) n * ((n + 63) >>> 6);
+
+        if (size > Integer.MAX_VALUE - 8) throw new IllegalArgumentException();
+
+        this.n = n;
+        this.wordsPerRow = (n + 63) >>> 6;
+        this.words = new long[(int) size];
+    }
+
+    /**
+     * Constructs the adjacency matrix of a snapshot of a graph: bit
+     * {@code (i, j)} is set if there is an edge from node i to node j, in
+     * both directions if the snapshot is undirected.
+     *
+     * @param g  the snapshot.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the matrix would be too large.
+     */
+    public BitMatrix(CompressedSparseRowGraph<?> g) {
+        this(g.nodeCount());
+
+        int[] sources = g.getEdgeSources();
+        int[] targets = g.getEdgeTargets();
+
+        for (int e = 0; e < sources.length; e++) {
+            this.set(sources[e], targets[e]);
+
+            if (!g.isDirected()) this.set(targets[e], sources[e]);
+        }
+    }
+
+    /**
+     * Returns the number of rows and columns.
+     *
+     * @return the size of the matrix.
+     */
+    public int size() {
+        return this.n;
+    }
+
+    /**
+     * Returns the number of words of every row.
+     *
+     * @return the number of words of a row.
+     */
+    public int wordsPerRow() {
+        return this.wordsPerRow;
+    }
+
+    /**
+     * Returns the words of the matrix. The array is the internal one: writing
+     * it changes the matrix.
+     *
+     * @return the words of the matrix, row by row.
+     */
+    public long[] getWords() {
+        return this.words;
+    }
+
+    /**
+     * Returns a bit.
+     *
+     * @param i  the row.
+     * @param j  the column.
+     * @return true if bit (i, j) is set.
+     * @throws IndexOutOfBoundsException if i or j is out of range.
+     */
+    public boolean get(int i, int j) {
+        this.check(i, j);
+
+        return (this.words[i * this.wordsPerRow + (j >>> 6)] & (1L << j)) != 0;
+    }
+
+    /**
+     * Sets a bit.
+     *
+     * @param i  the row.
+     * @param j  the column.
+     * @throws IndexOutOfBoundsException if i or j is out of range.
+     */
+    public void set(int i, int j) {
+        this.check(i, j);
+
+        this.words[i * this.wordsPerRow + (j >>> 6)] |= 1L << j;
+    }
+
+    /**
+     * Clears a bit.
+     *
+     * @param i  the row.
+     * @param j  the column.
+     * @throws IndexOutOfBoundsException if i or j is out of range.
+     */
+    public void clear(int i, int j) {
+        this.check(i, j);
+
+        this.words[i * this.wordsPerRow + (j >>> 6)] &= ~(1L << j);
+    }
+
+    /**
+     * Returns the number of bits set in a row.
+     *
+     * @param i  the row.
+     * @return the number of bits set in row i.
+     * @throws IndexOutOfBoundsException if i is out of range.
+     */
+    public int rowCardinality(int i) {
+        if (i < 0 || i >= this.n) throw new IndexOutOfBoundsException();
+
+        int count = 0;
+
+        for (int w = i * this.wordsPerRow; w < (i + 1) * this.wordsPerRow;
+             w++) {
+            count += Long.bitCount(this.words[w]);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the transpose of the matrix.
+     *
+     * @return a new matrix whose bit (j, i) is bit (i, j) of this one.
+     */
+    public BitMatrix transpose() {
+        BitMatrix t = new BitMatrix(this.n);
+
+        for (int i = 0; i < this.n; i++) {
+            int row = i * this.wordsPerRow;
+
+            for (int w = 0; w < this.wordsPerRow; w++) {
+                long word = this.words[row + w];
+
+                while (word != 0) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(word);
+
+                    t.words[j * this.wordsPerRow + (i >>> 6)] |= 1L << i;
+                    word &= word - 1;
+                }
+            }
+        }
+
+        return t;
+    }
+
+    /**
+     * Checks that a position is inside the matrix.
+     *
+     * @param i  the row.
+     * @param j  the column.
+     */
+    private void check(int i, int j) {
+        if (i < 0 || i >= this.n || j < 0 || j >= this.n)
+            throw new IndexOutOfBoundsException();
+    }
+}
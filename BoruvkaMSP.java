@@ -0,0 +1,234 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A class that implements a parallel version of Borůvka's algorithm for finding
+ * a minimum spanning forest of an undirected, weighted, nonnegative graph. It
+ * computes the same forests as {@code KruskalMSP<L>} but uses all the workers
+ * of a {@code ForkJoinPool}.
+ *
+ * The algorithm proceeds in rounds. In every round the lightest edge leaving
+ * each current component is found by scanning the remaining edges in
+ * parallel, and the chosen edges are then contracted in parallel with a
+ * {@code ConcurrentIntDisjointSets}. Every round at least halves the number of
+ * components that still have outgoing edges, so there are O(log n) rounds.
+ * Edges whose nodes already belong to the same component are dropped while
+ * scanning, so later rounds only look at the edges that can still be chosen.
+ *
+ * Ties between edges with the same weight are broken by edge number: the
+ * chosen edges are then always a forest, even when many weights are equal.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BoruvkaMSP<L> {
+
+    /*
+     * Smallest number of edges or nodes scanned by a single task.
+     */
+    private static final int MIN_GRAIN = 4096;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Build a minimum spanning tree calculator that runs on the common
+     * {@code ForkJoinPool}.
+     */
+    public BoruvkaMSP() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a minimum spanning tree calculator that runs on a given pool.
+     *
+     * @param pool  the pool running the parallel rounds.
+     * @throws NullPointerException if the pool is null.
+     */
+    public BoruvkaMSP(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException();
+
+        this.pool = pool;
+    }
+
+    /**
+     * Find a minimum spanning tree (a forest if the graph is not connected) of
+     * an undirected, weighted graph with nonnegative edge weights.
+     *
+     * @param g  an undirected, weighted graph with nonnegative weights.
+     * @return the set of edges of graph g that constitute the minimum spanning
+     *         tree found.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException whether the graph is directed,
+     *         unweighted, or has negative weights.
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        CompressedSparseRowGraph<L> csr = new CompressedSparseRowGraph<L>(g);
+        int[] forest = this.computeMSP(csr);
+        Set<GraphEdge<L>> edgesACM = new HashSet<GraphEdge<L>>(2 * forest.length);
+
+        for (int e : forest) {
+            edgesACM.add(csr.getEdge(e));
+        }
+
+        return edgesACM;
+    }
+
+    /**
+     * Find a minimum spanning forest of an undirected snapshot of a graph.
+     *
+     * @param g  an undirected snapshot with nonnegative weights.
+     * @return the numbers of the edges of the snapshot that constitute the
+     *         minimum spanning forest, in increasing order.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException whether the snapshot is directed,
+     *         unweighted, or has negative weights.
+     */
+    public int[] computeMSP(CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        final int[] sources = g.getEdgeSources();
+        final int[] targets = g.getEdgeTargets();
+        final double[] weights = g.getEdgeWeights();
+        int n = g.nodeCount();
+        int m = g.edgeCount();
+
+        for (int e = 0; e < m; e++) {
+            if (Double.isNaN(weights[e]) || weights[e] < 0)
+                throw new IllegalArgumentException();
+        }
+
+        final ConcurrentIntDisjointSets components =
+                new ConcurrentIntDisjointSets(n);
+        final AtomicIntegerArray lightest = new AtomicIntegerArray(n);
+        final boolean[] chosen = new boolean[m];
+        int[] alive = new int[m];
+        int aliveCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            lightest.set(i, -1);
+        }
+
+        for (int e = 0; e < m; e++) {
+            if (sources[e] != targets[e]) alive[aliveCount++] = e;
+        }
+
+        int[] next = new int[aliveCount];
+
+        while (aliveCount > 0) {
+            final int[] current = alive;
+            final int[] kept = next;
+            final int count = aliveCount;
+            final int grain = ParallelFor.grainFor(this.pool, count, MIN_GRAIN);
+            final int chunks = (count + grain - 1) / grain;
+            final int[] keptPerChunk = new int[chunks];
+
+            // Find the lightest edge leaving every component, dropping the
+            // edges that are already inside a component.
+            ParallelFor.run(this.pool, 0, chunks, 1, (first, last) -> {
+                for (int c = first; c < last; c++) {
+                    int from = c * grain;
+                    int to = Math.min(count, from + grain);
+                    int write = from;
+
+                    for (int k = from; k < to; k++) {
+                        int e = current[k];
+                        int ru = components.findSet(sources[e]);
+                        int rv = components.findSet(targets[e]);
+
+                        if (ru == rv) continue;
+
+                        kept[write++] = e;
+                        offer(lightest, ru, e, weights);
+                        offer(lightest, rv, e, weights);
+                    }
+
+                    keptPerChunk[c] = write - from;
+                }
+            });
+
+            int write = 0;
+
+            for (int c = 0; c < chunks; c++) {
+                System.arraycopy(kept, c * grain, kept, write, keptPerChunk[c]);
+                write += keptPerChunk[c];
+            }
+
+            // Contract the chosen edges.
+            ParallelFor.run(this.pool, 0, n,
+                            ParallelFor.grainFor(this.pool, n, MIN_GRAIN),
+                            (first, last) -> {
+                for (int i = first; i < last; i++) {
+                    int e = lightest.get(i);
+
+                    if (e < 0) continue;
+
+                    lightest.set(i, -1);
+
+                    if (components.union(sources[e], targets[e]))
+                        chosen[e] = true;
+                }
+            });
+
+            alive = kept;
+            next = current;
+            aliveCount = write;
+        }
+
+        int size = 0;
+
+        for (int e = 0; e < m; e++) {
+            if (chosen[e]) size++;
+        }
+
+        int[] forest = new int[size];
+        size = 0;
+
+        for (int e = 0; e < m; e++) {
+            if (chosen[e]) forest[size++] = e;
+        }
+
+        return forest;
+    }
+
+    /**
+     * Proposes an edge as the lightest edge leaving a component, keeping the
+     * lighter of the proposed edge and the current one.
+     *
+     * @param lightest  the lightest edge of every component, -1 if none.
+     * @param component  the representative of the component.
+     * @param e  the proposed edge.
+     * @param weights  the edge weights.
+     */
+    private static void offer(AtomicIntegerArray lightest, int component, int e,
+            double[] weights) {
+        while (true) {
+            int current = lightest.get(component);
+
+            if (current >= 0 && !lighter(e, current, weights)) return;
+
+            if (lightest.compareAndSet(component, current, e)) return;
+        }
+    }
+
+    /**
+     * Compares two edges by weight and then by edge number.
+     *
+     * @param e1  the first edge.
+     * @param e2  the second edge.
+     * @param weights  the edge weights.
+     * @return true if e1 comes strictly before e2.
+     */
+    private static boolean lighter(int e1, int e2, double[] weights) {
+        return weights[e1] < weights[e2]
+               || (weights[e1] == weights[e2] && e1 < e2);
+    }
+}
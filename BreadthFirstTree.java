@@ -0,0 +1,209 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A breadth-first search tree rooted at a source node, stored in primitive
+ * arrays indexed by node index: {@code getLevel(v)} is the number of edges of
+ * a shortest path from the source to {@code v} and {@code getParent(v)} is the
+ * node from which {@code v} was discovered.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BreadthFirstTree<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int source;
+    private final int[] level;
+    private final int[] parent;
+    private final int topDownSteps;
+    private final int bottomUpSteps;
+
+    /**
+     * Constructs a tree. The arrays are not copied.
+     *
+     * @param graph  the snapshot the search was run on, null if the nodes are
+     *        only identified by their index.
+     * @param source  the index of the source node.
+     * @param level  the level of every node, -1 if the node is not reachable.
+     * @param parent  the parent of every node, -1 for the source and for the
+     *        nodes that are not reachable.
+     * @param topDownSteps  the number of top-down steps of the search.
+     * @param bottomUpSteps  the number of bottom-up steps of the search.
+     * @throws NullPointerException if one of the arrays is null.
+     * @throws IllegalArgumentException if the arrays have different lengths or
+     *         the source is not a node.
+     */
+    public BreadthFirstTree(CompressedSparseRowGraph<L> graph, int source,
+            int[] level, int[] parent, int topDownSteps, int bottomUpSteps) {
+        if (level == null || parent == null) throw new NullPointerException();
+        if (level.length != parent.length || source < 0
+            || source >= level.length)
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.source = source;
+        this.level = level;
+        this.parent = parent;
+        this.topDownSteps = topDownSteps;
+        this.bottomUpSteps = bottomUpSteps;
+    }
+
+    /**
+     * Returns the snapshot the search was run on.
+     *
+     * @return the snapshot, null if the nodes are only identified by their
+     *         index.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes of the graph.
+     */
+    public int nodeCount() {
+        return this.level.length;
+    }
+
+    /**
+     * Returns the index of the source node.
+     *
+     * @return the index of the source node.
+     */
+    public int getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the level of a node.
+     *
+     * @param v  the index of the node.
+     * @return the number of edges of a shortest path from the source to v, -1
+     *         if v is not reachable.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getLevel(int v) {
+        return this.level[v];
+    }
+
+    /**
+     * Returns the parent of a node.
+     *
+     * @param v  the index of the node.
+     * @return the node from which v was discovered, -1 if v is the source or
+     *         is not reachable.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getParent(int v) {
+        return this.parent[v];
+    }
+
+    /**
+     * Determines whether a node is reachable from the source.
+     *
+     * @param v  the index of the node.
+     * @return true if v belongs to the tree.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public boolean isReached(int v) {
+        return this.level[v] >= 0;
+    }
+
+    /**
+     * Returns the number of steps of the search that scanned the edges of the
+     * frontier.
+     *
+     * @return the number of top-down steps.
+     */
+    public int getTopDownSteps() {
+        return this.topDownSteps;
+    }
+
+    /**
+     * Returns the number of steps of the search that scanned the unvisited
+     * nodes looking for a parent in the frontier.
+     *
+     * @return the number of bottom-up steps.
+     */
+    public int getBottomUpSteps() {
+        return this.bottomUpSteps;
+    }
+
+    /**
+     * Returns the level of a node.
+     *
+     * @param v  the node.
+     * @return the number of edges of a shortest path from the source to v, -1
+     *         if v is not reachable.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     * @throws UnsupportedOperationException if the search was not run on a
+     *         snapshot of a graph.
+     */
+    public int getLevel(GraphNode<L> v) {
+        return this.level[this.indexOf(v)];
+    }
+
+    /**
+     * Returns a path with the fewest edges from the source to a node.
+     *
+     * @param v  the index of the node.
+     * @return the indices of the nodes of the path, from the source to v; an
+     *         empty array if v is not reachable.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int[] getPath(int v) {
+        if (this.level[v] < 0) return new int[0];
+
+        int[] path = new int[this.level[v] + 1];
+
+        for (int i = path.length - 1, x = v; i >= 0; i--, x = this.parent[x]) {
+            path[i] = x;
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns a path with the fewest edges from the source to a node.
+     *
+     * @param v  the node.
+     * @return the nodes of the path, from the source to v; an empty list if v
+     *         is not reachable.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     * @throws UnsupportedOperationException if the search was not run on a
+     *         snapshot of a graph.
+     */
+    public List<GraphNode<L>> getPath(GraphNode<L> v) {
+        int[] path = this.getPath(this.indexOf(v));
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(path.length);
+
+        for (int x : path) {
+            nodes.add(this.graph.getNode(x));
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Returns the index of a node in the snapshot.
+     *
+     * @param v  the node.
+     * @return the index of v.
+     */
+    private int indexOf(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+        if (this.graph == null) throw new UnsupportedOperationException();
+
+        return this.graph.getIndexOf(v);
+    }
+}
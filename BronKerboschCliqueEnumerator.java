@@ -0,0 +1,388 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A class that enumerates the maximal cliques of an undirected graph stored
+ * in an adjacency matrix, with the Bron-Kerbosch algorithm on bitsets.
+ *
+ * The sets P of the candidates and X of the excluded nodes of every call are
+ * {@code long[]} rows of the width of the matrix, so restricting them to the
+ * neighbours of a node is an AND with its row, one 64-node word at a time.
+ * Every call chooses as pivot the node of P or X with the most neighbours in
+ * P and only branches on the candidates that are not its neighbours, as
+ * proposed by Tomita, Tanaka and Takahashi. The outer level follows a
+ * degeneracy order, as proposed by Eppstein, Loffler and Strash: the branch
+ * of node v starts with P made of the neighbours of v after it in the order,
+ * at most as many as the degeneracy, and X made of those before it.
+ *
+ * The outer branches are independent, so they run in parallel on a
+ * {@code ForkJoinPool}; every task keeps the sets of all its levels in
+ * arrays allocated once, and the recursion is run with an explicit stack of
+ * levels. Cliques are not collected: every maximal clique is passed to a
+ * callback as soon as it is found, so the callback is called concurrently by
+ * the workers of the pool and must be thread-safe.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class BronKerboschCliqueEnumerator<L> {
+
+    /**
+     * A callback receiving the maximal cliques of a graph given by its
+     * adjacency matrix.
+     */
+    public interface CliqueVisitor {
+
+        /**
+         * Receives a maximal clique. It is called concurrently by the workers
+         * of the pool.
+         *
+         * @param clique  a buffer holding the indices of the nodes of the
+         *        clique in its first {@code size} elements; it is reused
+         *        after the call returns, so it must be copied to be kept.
+         * @param size  the number of nodes of the clique.
+         */
+        void visitClique(int[] clique, int size);
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Build a clique enumerator that runs on the common
+     * {@code ForkJoinPool}.
+     */
+    public BronKerboschCliqueEnumerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a clique enumerator.
+     *
+     * @param pool  the pool running the outer branches.
+     * @throws NullPointerException if the pool is null.
+     */
+    public BronKerboschCliqueEnumerator(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException();
+
+        this.pool = pool;
+    }
+
+    /**
+     * Enumerates the maximal cliques of a graph. Loops are ignored.
+     *
+     * @param g  the graph.
+     * @param consumer  the callback receiving every maximal clique as a new
+     *        set of nodes; it is called concurrently.
+     * @return the number of maximal cliques.
+     * @throws NullPointerException if the graph or the callback is null.
+     */
+    public long enumerateCliques(AdjacencyMatrixUndirectedGraph<L> g,
+            Consumer<Set<GraphNode<L>>> consumer) {
+        if (g == null || consumer == null) throw new NullPointerException();
+
+        int n = g.nodeCount();
+        @SuppressWarnings("unchecked")
+        GraphNode<L>[] nodes = (GraphNode<L>[]) new GraphNode<?>[n];
+        BitMatrix adjacency = new BitMatrix(n);
+
+        for (Map.Entry<GraphNode<L>, Integer> entry : g.nodesIndex.entrySet())
+            nodes[entry.getValue()] = entry.getKey();
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && g.matrix.get(i).get(j) != null)
+                    adjacency.set(i, j);
+            }
+        }
+
+        return this.enumerateCliques(adjacency, (clique, size) -> {
+            Set<GraphNode<L>> set = new HashSet<GraphNode<L>>(2 * size);
+
+            for (int i = 0; i < size; i++) {
+                set.add(nodes[clique[i]]);
+            }
+
+            consumer.accept(set);
+        });
+    }
+
+    /**
+     * Enumerates the maximal cliques of a graph given by its symmetric
+     * adjacency matrix. Bits on the diagonal, that is loops, are ignored.
+     *
+     * @param adjacency  the symmetric adjacency matrix; it must not be
+     *        modified during the enumeration.
+     * @param visitor  the callback receiving every maximal clique; it is
+     *        called concurrently.
+     * @return the number of maximal cliques.
+     * @throws NullPointerException if the matrix or the callback is null.
+     * @throws IllegalArgumentException if the matrix is not symmetric.
+     */
+    public long enumerateCliques(BitMatrix adjacency, CliqueVisitor visitor) {
+        if (adjacency == null || visitor == null)
+            throw new NullPointerException();
+
+        int n = adjacency.size();
+        int stride = adjacency.wordsPerRow();
+        long[] rows = adjacency.getWords().clone();
+
+        for (int i = 0; i < n; i++) {
+            rows[i * stride + (i >>> 6)] &= ~(1L << i);
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (bit(rows, i * stride, j) != bit(rows, j * stride, i))
+                    throw new IllegalArgumentException();
+            }
+        }
+
+        int[] position = new int[n];
+        int[] order = new int[n];
+        int levels = degeneracyOrder(rows, n, stride, order, position) + 2;
+        AtomicLong count = new AtomicLong();
+
+        ParallelFor.run(this.pool, 0, n, 1, (from, to) -> {
+            Branch branch = new Branch(rows, stride, levels, visitor);
+
+            for (int i = from; i < to; i++) {
+                branch.run(order[i], position);
+            }
+
+            count.addAndGet(branch.cliques);
+        });
+
+        return count.get();
+    }
+
+    /**
+     * Computes a degeneracy order by removing a node of smallest remaining
+     * degree at every step, in O(n^2) time like reading the matrix.
+     *
+     * @param rows  the rows of the matrix, without loops.
+     * @param n  the number of nodes.
+     * @param stride  the number of words of a row.
+     * @param order  filled with the nodes in degeneracy order.
+     * @param position  filled with the position of every node in the order.
+     * @return the degeneracy of the graph.
+     */
+    private static int degeneracyOrder(long[] rows, int n, int stride,
+            int[] order, int[] position) {
+        int[] degree = new int[n];
+        boolean[] removed = new boolean[n];
+        int degeneracy = 0;
+
+        for (int v = 0; v < n; v++) {
+            for (int w = 0; w < stride; w++) {
+                degree[v] += Long.bitCount(rows[v * stride + w]);
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            int v = -1;
+
+            for (int u = 0; u < n; u++) {
+                if (!removed[u] && (v < 0 || degree[u] < degree[v])) v = u;
+            }
+
+            removed[v] = true;
+            order[i] = v;
+            position[v] = i;
+            degeneracy = Math.max(degeneracy, degree[v]);
+
+            for (int w = 0; w < stride; w++) {
+                for (long bits = rows[v * stride + w]; bits != 0;
+                     bits &= bits - 1) {
+                    degree[(w << 6) | Long.numberOfTrailingZeros(bits)]--;
+                }
+            }
+        }
+
+        return degeneracy;
+    }
+
+    /**
+     * Tests a bit of a row.
+     *
+     * @param rows  the rows of the matrix.
+     * @param row  the first word of the row.
+     * @param j  the column.
+     * @return true if the bit is set.
+     */
+    private static boolean bit(long[] rows, int row, int j) {
+        return (rows[row + (j >>> 6)] & (1L << j)) != 0;
+    }
+
+    /*
+     * The state of a worker: the sets P, X and the candidates of every level
+     * of the recursion, one row each, and the clique being built.
+     */
+    private static final class Branch {
+
+        private final long[] rows;
+        private final int stride;
+        private final long[] p;
+        private final long[] x;
+        private final long[] candidates;
+        private final int[] clique;
+        private final CliqueVisitor visitor;
+        private long cliques;
+
+        private Branch(long[] rows, int stride, int levels,
+                CliqueVisitor visitor) {
+            this.rows = rows;
+            this.stride = stride;
+            this.p = new long[levels * stride];
+            this.x = new long[levels * stride];
+            this.candidates = new long[levels * stride];
+            this.clique = new int[levels];
+            this.visitor = visitor;
+        }
+
+        /**
+         * Enumerates the maximal cliques whose first node in the degeneracy
+         * order is v.
+         */
+        private void run(int v, int[] position) {
+            int row = v * this.stride;
+
+            for (int w = 0; w < this.stride; w++) {
+                this.p[w] = 0;
+                this.x[w] = 0;
+
+                for (long bits = this.rows[row + w]; bits != 0;
+                     bits &= bits - 1) {
+                    int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+
+                    if (position[u] > position[v]) this.p[w] |= 1L << u;
+                    else this.x[w] |= 1L << u;
+                }
+            }
+
+            this.clique[0] = v;
+
+            if (!this.open(0)) return;
+
+            int depth = 0;
+
+            while (depth >= 0) {
+                int level = depth * this.stride;
+                int u = this.nextCandidate(level);
+
+                if (u < 0) {
+                    depth--;
+                    continue;
+                }
+
+                int child = level + this.stride;
+                int neighbours = u * this.stride;
+
+                for (int w = 0; w < this.stride; w++) {
+                    this.p[child + w] = this.p[level + w]
+                                        & this.rows[neighbours + w];
+                    this.x[child + w] = this.x[level + w]
+                                        & this.rows[neighbours + w];
+                }
+
+                // Move u from P to X before descending: the child already
+                // holds its own sets.
+                this.p[level + (u >>> 6)] &= ~(1L << u);
+                this.x[level + (u >>> 6)] |= 1L << u;
+                this.clique[depth + 1] = u;
+
+                if (this.open(depth + 1)) depth++;
+            }
+        }
+
+        /**
+         * Reports the clique of a level if it is maximal, or prepares the
+         * candidates of the level if it can still grow.
+         *
+         * @return true if the level has candidates to branch on.
+         */
+        private boolean open(int depth) {
+            int level = depth * this.stride;
+            boolean emptyP = true;
+            boolean emptyX = true;
+
+            for (int w = 0; w < this.stride; w++) {
+                emptyP &= this.p[level + w] == 0;
+                emptyX &= this.x[level + w] == 0;
+            }
+
+            if (emptyP) {
+                if (emptyX) {
+                    this.cliques++;
+                    this.visitor.visitClique(this.clique, depth + 1);
+                }
+
+                return false;
+            }
+
+            int pivot = this.choosePivot(level);
+            int neighbours = pivot * this.stride;
+
+            for (int w = 0; w < this.stride; w++) {
+                this.candidates[level + w] = this.p[level + w]
+                                             & ~this.rows[neighbours + w];
+            }
+
+            return true;
+        }
+
+        /**
+         * Chooses the node of P or X with the most neighbours in P.
+         */
+        private int choosePivot(int level) {
+            int best = -1;
+            int bestCount = -1;
+
+            for (int w = 0; w < this.stride; w++) {
+                for (long bits = this.p[level + w] | this.x[level + w];
+                     bits != 0; bits &= bits - 1) {
+                    int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+                    int row = u * this.stride;
+                    int count = 0;
+
+                    for (int k = 0; k < this.stride; k++) {
+                        count += Long.bitCount(this.p[level + k]
+                                               & this.rows[row + k]);
+                    }
+
+                    if (count > bestCount) {
+                        best = u;
+                        bestCount = count;
+                    }
+                }
+            }
+
+            return best;
+        }
+
+        /**
+         * Removes and returns the next candidate of a level.
+         *
+         * @return the candidate, -1 if there is none left.
+         */
+        private int nextCandidate(int level) {
+            for (int w = 0; w < this.stride; w++) {
+                long bits = this.candidates[level + w];
+
+                if (bits != 0) {
+                    this.candidates[level + w] = bits & (bits - 1);
+
+                    return (w << 6) | Long.numberOfTrailingZeros(bits);
+                }
+            }
+
+            return -1;
+        }
+    }
+}
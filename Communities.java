@@ -0,0 +1,158 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A partition of the nodes of a graph in communities, with its modularity,
+ * stored as a compact array of community ids: node {@code v} of the snapshot
+ * belongs to community {@code getCommunityIds()[v]}, a number in the range
+ * <code>[0, communityCount() - 1]</code>.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class Communities<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] community;
+    private final int communityCount;
+    private final double modularity;
+    private final int levels;
+
+    /**
+     * Constructs the communities. The array is not copied.
+     *
+     * @param graph  the snapshot of the graph.
+     * @param community  the community of every node.
+     * @param communityCount  the number of communities.
+     * @param modularity  the modularity of the partition.
+     * @param levels  the number of levels of the hierarchy that produced the
+     *        partition.
+     * @throws NullPointerException if the snapshot or the array is null.
+     * @throws IllegalArgumentException if the array does not have an entry for
+     *         every node or refers to a community that does not exist.
+     */
+    public Communities(CompressedSparseRowGraph<L> graph, int[] community,
+            int communityCount, double modularity, int levels) {
+        if (graph == null || community == null)
+            throw new NullPointerException();
+        if (community.length != graph.nodeCount())
+            throw new IllegalArgumentException();
+
+        for (int c : community) {
+            if (c < 0 || c >= communityCount)
+                throw new IllegalArgumentException();
+        }
+
+        this.graph = graph;
+        this.community = community;
+        this.communityCount = communityCount;
+        this.modularity = modularity;
+        this.levels = levels;
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of communities.
+     *
+     * @return the number of communities.
+     */
+    public int communityCount() {
+        return this.communityCount;
+    }
+
+    /**
+     * Returns the modularity of the partition, at the resolution it was
+     * computed with.
+     *
+     * @return the modularity.
+     */
+    public double getModularity() {
+        return this.modularity;
+    }
+
+    /**
+     * Returns the number of levels of the hierarchy of coarser graphs that
+     * produced the partition.
+     *
+     * @return the number of levels, 1 if the graph was never coarsened.
+     */
+    public int getLevelCount() {
+        return this.levels;
+    }
+
+    /**
+     * Returns the community of every node. The array is the internal one and
+     * must not be modified.
+     *
+     * @return the community id of every node, indexed by node index.
+     */
+    public int[] getCommunityIds() {
+        return this.community;
+    }
+
+    /**
+     * Returns the community of a node.
+     *
+     * @param v  the index of the node.
+     * @return the community id of v.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getCommunity(int v) {
+        return this.community[v];
+    }
+
+    /**
+     * Returns the community of a node.
+     *
+     * @param v  the node.
+     * @return the community id of v.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     */
+    public int getCommunity(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+
+        return this.community[this.graph.getIndexOf(v)];
+    }
+
+    /**
+     * Returns the communities as sets of nodes of the source graph.
+     *
+     * @return a set of communities, each represented by a set of graph nodes.
+     * @throws UnsupportedOperationException if the snapshot was built from an
+     *         edge list.
+     */
+    public Set<Set<GraphNode<L>>> getCommunitySets() {
+        int n = this.community.length;
+
+        if (n > 0 && this.graph.getNode(0) == null)
+            throw new UnsupportedOperationException();
+
+        List<Set<GraphNode<L>>> communities =
+            new ArrayList<Set<GraphNode<L>>>(this.communityCount);
+
+        for (int c = 0; c < this.communityCount; c++) {
+            communities.add(new HashSet<GraphNode<L>>());
+        }
+
+        for (int v = 0; v < n; v++) {
+            communities.get(this.community[v]).add(this.graph.getNode(v));
+        }
+
+        return new HashSet<Set<GraphNode<L>>>(communities);
+    }
+}
@@ -0,0 +1,339 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, int-indexed snapshot of a {@code Graph<L>} stored in
+ * compressed sparse row (CSR) form. It is meant to be built once and then
+ * shared by the algorithms that need to scan the graph many times: every scan
+ * is a walk over primitive arrays instead of a call to {@code getEdgesOf} or
+ * {@code getAdjacentNodesOf}, which allocate a new set at each call.
+ *
+ * Node {@code i} of the snapshot is the node that the source graph associates
+ * with index {@code i} through {@code getNodeIndexOf}, so results computed on
+ * the snapshot can be read back with the indices of the original graph.
+ *
+ * Edges are numbered from 0 to {@code edgeCount() - 1} and are available as an
+ * edge list ({@code getEdgeSources()}, {@code getEdgeTargets()},
+ * {@code getEdgeWeights()}). The adjacency of node {@code i} is stored in the
+ * slots from {@code getOffsets()[i]} (inclusive) to {@code getOffsets()[i + 1]}
+ * (exclusive) of {@code getAdjacency()}, {@code getAdjacencyWeights()} and
+ * {@code getAdjacencyEdges()}. In an undirected snapshot every edge appears in
+ * the adjacency of both its nodes (a loop appears only once); in a directed
+ * snapshot only in the adjacency of its source.
+ *
+ * The arrays returned by the getters are the internal ones and must not be
+ * modified. Changes to the source graph are not reflected in the snapshot.
+ *
+ * @param <L>  the type of the labels of the nodes in the graph.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class CompressedSparseRowGraph<L> {
+
+    private final boolean directed;
+    private final GraphNode<L>[] nodes;
+    private final Map<GraphNode<L>, Integer> indices;
+    private final GraphEdge<L>[] edges;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final double[] edgeWeights;
+    private final int[] offsets;
+    private final int[] adjacency;
+    private final double[] adjacencyWeights;
+    private final int[] adjacencyEdges;
+
+    /**
+     * Builds the snapshot of a graph.
+     *
+     * @param g  the graph to be copied.
+     * @throws NullPointerException if the passed graph is null.
+     */
+    @SuppressWarnings("unchecked")
+    public CompressedSparseRowGraph(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        int n = g.nodeCount();
+
+        this.directed = g.isDirected();
+        this.nodes = (GraphNode<L>[]) new GraphNode<?>[n];
+        this.indices = new HashMap<GraphNode<L>, Integer>(2 * n);
+
+        for (GraphNode<L> node : g.getNodes()) {
+            int index = g.getNodeIndexOf(node.getLabel());
+
+            this.nodes[index] = node;
+            this.indices.put(node, index);
+        }
+
+        Set<GraphEdge<L>> graphEdges = g.getEdges();
+        int m = graphEdges.size();
+
+        this.edges = (GraphEdge<L>[]) new GraphEdge<?>[m];
+        this.edgeSources = new int[m];
+        this.edgeTargets = new int[m];
+        this.edgeWeights = new double[m];
+
+        int e = 0;
+
+        for (GraphEdge<L> edge : graphEdges) {
+            this.edges[e] = edge;
+            this.edgeSources[e] = this.indices.get(edge.getNode1());
+            this.edgeTargets[e] = this.indices.get(edge.getNode2());
+            this.edgeWeights[e] = edge.getWeight();
+            e++;
+        }
+
+        this.offsets = new int[n + 1];
+        int slots = this.countSlots();
+        this.adjacency = new int[slots];
+        this.adjacencyWeights = new double[slots];
+        this.adjacencyEdges = new int[slots];
+        this.fillAdjacency();
+    }
+
+    /**
+     * Builds a snapshot directly from an edge list over the nodes
+     * {@code 0 .. nodeCount - 1}. A snapshot built this way has no associated
+     * {@code GraphNode} and {@code GraphEdge} objects, so {@code getNode} and
+     * {@code getEdge} return null and {@code getIndexOf} always fails. The
+     * passed arrays are not copied.
+     *
+     * @param nodeCount  the number of nodes.
+     * @param sources  the first node of every edge (the source if directed).
+     * @param targets  the second node of every edge (the destination if
+     *        directed).
+     * @param weights  the weight of every edge.
+     * @param directed  true if the edges are directed, false otherwise.
+     * @throws NullPointerException if one of the arrays is null.
+     * @throws IllegalArgumentException if the arrays have different lengths or
+     *         the node count is negative.
+     * @throws IndexOutOfBoundsException if an edge refers to a node outside
+     *         the range <code>[0, nodeCount - 1]</code>.
+     */
+    @SuppressWarnings("unchecked")
+    public CompressedSparseRowGraph(int nodeCount, int[] sources, int[] targets,
+            double[] weights, boolean directed) {
+        if (sources == null || targets == null || weights == null)
+            throw new NullPointerException();
+        if (nodeCount < 0 || sources.length != targets.length
+            || sources.length != weights.length)
+            throw new IllegalArgumentException();
+
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] < 0 || sources[e] >= nodeCount || targets[e] < 0
+                || targets[e] >= nodeCount)
+                throw new IndexOutOfBoundsException();
+        }
+
+        this.directed = directed;
+        this.nodes = (GraphNode<L>[]) new GraphNode<?>[nodeCount];
+        this.indices = new HashMap<GraphNode<L>, Integer>();
+        this.edges = (GraphEdge<L>[]) new GraphEdge<?>[sources.length];
+        this.edgeSources = sources;
+        this.edgeTargets = targets;
+        this.edgeWeights = weights;
+        this.offsets = new int[nodeCount + 1];
+        int slots = this.countSlots();
+        this.adjacency = new int[slots];
+        this.adjacencyWeights = new double[slots];
+        this.adjacencyEdges = new int[slots];
+        this.fillAdjacency();
+    }
+
+    /**
+     * Returns the number of nodes of the snapshot.
+     *
+     * @return the number of nodes of the snapshot.
+     */
+    public int nodeCount() {
+        return this.nodes.length;
+    }
+
+    /**
+     * Returns the number of edges of the snapshot.
+     *
+     * @return the number of edges of the snapshot.
+     */
+    public int edgeCount() {
+        return this.edgeSources.length;
+    }
+
+    /**
+     * Determine whether the snapshot is directed or undirected.
+     *
+     * @return true if the snapshot is directed, false otherwise.
+     */
+    public boolean isDirected() {
+        return this.directed;
+    }
+
+    /**
+     * Returns the node with a given index.
+     *
+     * @param i  the node index.
+     * @return the node of the source graph with index i, null if the snapshot
+     *         was built from an edge list.
+     * @throws IndexOutOfBoundsException if the index is outside the range
+     *         <code>[0, nodeCount() - 1]</code>.
+     */
+    public GraphNode<L> getNode(int i) {
+        return this.nodes[i];
+    }
+
+    /**
+     * Returns the index of a node of the source graph.
+     *
+     * @param node  the node whose index to return.
+     * @return the index of the node in the snapshot.
+     * @throws NullPointerException if the passed node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         snapshot.
+     */
+    public int getIndexOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException();
+
+        Integer index = this.indices.get(node);
+
+        if (index == null) throw new IllegalArgumentException();
+
+        return index;
+    }
+
+    /**
+     * Returns the edge of the source graph with a given edge number.
+     *
+     * @param e  the edge number.
+     * @return the edge of the source graph numbered e, null if the snapshot was
+     *         built from an edge list.
+     * @throws IndexOutOfBoundsException if the number is outside the range
+     *         <code>[0, edgeCount() - 1]</code>.
+     */
+    public GraphEdge<L> getEdge(int e) {
+        return this.edges[e];
+    }
+
+    /**
+     * Returns the first node of every edge, indexed by edge number.
+     *
+     * @return the first node of every edge.
+     */
+    public int[] getEdgeSources() {
+        return this.edgeSources;
+    }
+
+    /**
+     * Returns the second node of every edge, indexed by edge number.
+     *
+     * @return the second node of every edge.
+     */
+    public int[] getEdgeTargets() {
+        return this.edgeTargets;
+    }
+
+    /**
+     * Returns the weight of every edge, indexed by edge number.
+     *
+     * @return the weight of every edge.
+     */
+    public double[] getEdgeWeights() {
+        return this.edgeWeights;
+    }
+
+    /**
+     * Returns the offsets of the adjacency of every node, an array of
+     * {@code nodeCount() + 1} elements.
+     *
+     * @return the adjacency offsets.
+     */
+    public int[] getOffsets() {
+        return this.offsets;
+    }
+
+    /**
+     * Returns the adjacent node stored in every adjacency slot.
+     *
+     * @return the adjacent nodes.
+     */
+    public int[] getAdjacency() {
+        return this.adjacency;
+    }
+
+    /**
+     * Returns the weight of the edge stored in every adjacency slot.
+     *
+     * @return the adjacency weights.
+     */
+    public double[] getAdjacencyWeights() {
+        return this.adjacencyWeights;
+    }
+
+    /**
+     * Returns the number of the edge stored in every adjacency slot.
+     *
+     * @return the adjacency edge numbers.
+     */
+    public int[] getAdjacencyEdges() {
+        return this.adjacencyEdges;
+    }
+
+    /**
+     * Returns the number of adjacency slots of a node, that is its degree in an
+     * undirected snapshot without loops and its out-degree in a directed one.
+     *
+     * @param i  the node index.
+     * @return the number of adjacency slots of node i.
+     */
+    public int degreeOf(int i) {
+        return this.offsets[i + 1] - this.offsets[i];
+    }
+
+    /**
+     * Counts the adjacency slots of every node, storing the count of node i in
+     * offsets[i + 1], and turns the counts into offsets.
+     *
+     * @return the total number of slots.
+     */
+    private int countSlots() {
+        for (int e = 0; e < this.edgeSources.length; e++) {
+            this.offsets[this.edgeSources[e] + 1]++;
+
+            if (!this.directed && this.edgeSources[e] != this.edgeTargets[e])
+                this.offsets[this.edgeTargets[e] + 1]++;
+        }
+
+        for (int i = 0; i < this.nodes.length; i++) {
+            this.offsets[i + 1] += this.offsets[i];
+        }
+
+        return this.offsets[this.nodes.length];
+    }
+
+    /**
+     * Fills the adjacency arrays once the offsets are known.
+     */
+    private void fillAdjacency() {
+        int[] next = new int[this.nodes.length];
+
+        System.arraycopy(this.offsets, 0, next, 0, this.nodes.length);
+
+        for (int e = 0; e < this.edgeSources.length; e++) {
+            int u = this.edgeSources[e];
+            int v = this.edgeTargets[e];
+            int slot = next[u]++;
+
+            this.adjacency[slot] = v;
+            this.adjacencyWeights[slot] = this.edgeWeights[e];
+            this.adjacencyEdges[slot] = e;
+
+            if (!this.directed && u != v) {
+                slot = next[v]++;
+                this.adjacency[slot] = u;
+                this.adjacencyWeights[slot] = this.edgeWeights[e];
+                this.adjacencyEdges[slot] = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A collection of disjoint sets over the integers {@code 0 .. size - 1} that
+ * can be used by many threads at the same time without locks. It is the
+ * concurrent counterpart of {@code ForestDisjointSets} for algorithms that
+ * work on node indices.
+ *
+ * Every set is a tree stored in an array of parent pointers. Find-set applies
+ * the "path halving" heuristic, which only needs single compare-and-set
+ * operations, and union always links the root with the smaller index under the
+ * root with the larger one, so that two threads can never create a cycle.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class ConcurrentIntDisjointSets {
+
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Constructs {@code size} singleton sets, one for every integer in the
+     * range <code>[0, size - 1]</code>.
+     *
+     * @param size  the number of elements.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    public ConcurrentIntDisjointSets(int size) {
+        if (size < 0) throw new IllegalArgumentException();
+
+        this.parent = new AtomicIntegerArray(size);
+
+        for (int i = 0; i < size; i++) {
+            this.parent.set(i, i);
+        }
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return this.parent.length();
+    }
+
+    /**
+     * Returns the representative of the set containing an element. Under
+     * concurrent unions the result is the representative at some moment
+     * during the call.
+     *
+     * @param x  the element.
+     * @return the representative of the set containing x.
+     * @throws IndexOutOfBoundsException if the element is out of range.
+     */
+    public int findSet(int x) {
+        while (true) {
+            int p = this.parent.get(x);
+            int gp = this.parent.get(p);
+
+            if (p == gp) return p;
+
+            this.parent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    /**
+     * Determines whether two elements currently belong to the same set.
+     *
+     * @param x  the first element.
+     * @param y  the second element.
+     * @return true if x and y belong to the same set, false otherwise.
+     * @throws IndexOutOfBoundsException if an element is out of range.
+     */
+    public boolean sameSet(int x, int y) {
+        while (true) {
+            int rx = this.findSet(x);
+            int ry = this.findSet(y);
+
+            if (rx == ry) return true;
+
+            if (this.parent.get(rx) == rx) return false;
+        }
+    }
+
+    /**
+     * Merges the sets containing two elements.
+     *
+     * @param x  an element of the first set.
+     * @param y  an element of the second set.
+     * @return true if the two sets have been merged by this call, false if x
+     *         and y already belonged to the same set.
+     * @throws IndexOutOfBoundsException if an element is out of range.
+     */
+    public boolean union(int x, int y) {
+        while (true) {
+            int rx = this.findSet(x);
+            int ry = this.findSet(y);
+
+            if (rx == ry) return false;
+
+            if (rx > ry) {
+                int temp = rx;
+                rx = ry;
+                ry = temp;
+            }
+
+            if (this.parent.compareAndSet(rx, rx, ry)) return true;
+        }
+    }
+}
@@ -0,0 +1,651 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A contraction hierarchy of a weighted graph with nonnegative weights,
+ * directed or undirected, built by {@code ContractionHierarchyBuilder<L>}, and
+ * the engine that answers shortest-path queries on it.
+ *
+ * Every node has a rank, its position in the contraction order. The
+ * hierarchy stores, in compressed sparse row form, the upward arcs of every
+ * node (the arcs {@code v -> w} with {@code rank(w) > rank(v)}) and its
+ * downward arcs (the arcs {@code u -> v} with {@code rank(u) > rank(v)},
+ * stored at v). An arc is either an edge of the graph or a shortcut that
+ * replaces the path through a lower node, its middle node. A query runs a
+ * Dijkstra search from the source over the upward arcs and one from the
+ * target over the downward arcs: both only climb the hierarchy, so they
+ * settle few nodes, and they meet at the highest node of a shortest path.
+ * Shortcuts are then unpacked, through their middle nodes, into a path of
+ * the graph.
+ *
+ * As in {@code BidirectionalAStar<L>}, the per-query state lives in versioned
+ * arrays owned by the calling thread, so the queries can run concurrently.
+ * The hierarchy can be saved to a file and loaded back, so that the
+ * preprocessing is paid only once.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class ContractionHierarchy<L> {
+
+    /*
+     * First int of a saved hierarchy, "CH01".
+     */
+    private static final int MAGIC = 0x43483031;
+
+    private static final int IO_BUFFER = 1 << 16;
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] rank;
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddles;
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final double[] downWeights;
+    private final int[] downMiddles;
+    private final ThreadLocal<Workspace> workspaces;
+
+    /**
+     * Constructs a hierarchy from its arcs. The arrays are not copied.
+     *
+     * @param graph  the snapshot of the graph, null if the nodes are only
+     *        identified by their index.
+     * @param rank  the rank of every node.
+     * @param upOffsets  the offsets of the upward arcs of every node.
+     * @param upTargets  the head of every upward arc.
+     * @param upWeights  the weight of every upward arc.
+     * @param upMiddles  the middle node of every upward arc, -1 for edges.
+     * @param downOffsets  the offsets of the downward arcs of every node.
+     * @param downSources  the tail of every downward arc.
+     * @param downWeights  the weight of every downward arc.
+     * @param downMiddles  the middle node of every downward arc, -1 for
+     *        edges.
+     * @throws NullPointerException if one of the arrays is null.
+     * @throws IllegalArgumentException if the lengths of the arrays do not
+     *         match.
+     */
+    public ContractionHierarchy(CompressedSparseRowGraph<L> graph, int[] rank,
+            int[] upOffsets, int[] upTargets, double[] upWeights,
+            int[] upMiddles, int[] downOffsets, int[] downSources,
+            double[] downWeights, int[] downMiddles) {
+        if (rank == null || upOffsets == null || upTargets == null
+            || upWeights == null || upMiddles == null || downOffsets == null
+            || downSources == null || downWeights == null
+            || downMiddles == null)
+            throw new NullPointerException();
+
+        int n = rank.length;
+
+        if (upOffsets.length != n + 1 || downOffsets.length != n + 1
+            || upTargets.length != upOffsets[n]
+            || upWeights.length != upOffsets[n]
+            || upMiddles.length != upOffsets[n]
+            || downSources.length != downOffsets[n]
+            || downWeights.length != downOffsets[n]
+            || downMiddles.length != downOffsets[n]
+            || (graph != null && graph.nodeCount() != n))
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+        this.workspaces = new ThreadLocal<Workspace>() {
+            @Override
+            protected Workspace initialValue() {
+                return new Workspace(n);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes.
+     */
+    public int nodeCount() {
+        return this.rank.length;
+    }
+
+    /**
+     * Returns the number of arcs, edges and shortcuts, of the hierarchy.
+     *
+     * @return the number of upward and downward arcs.
+     */
+    public int arcCount() {
+        return this.upTargets.length + this.downSources.length;
+    }
+
+    /**
+     * Returns the rank of a node, its position in the contraction order.
+     *
+     * @param v  the index of the node.
+     * @return the rank of v.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getRank(int v) {
+        return this.rank[v];
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot, null if the nodes are only identified by their
+     *         index.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the distance between two nodes, without unpacking the path.
+     *
+     * @param s  the index of the source node.
+     * @param t  the index of the target node.
+     * @return the length of a shortest path from s to t,
+     *         {@code Double.POSITIVE_INFINITY} if t is not reachable.
+     * @throws IllegalArgumentException if a node is out of range.
+     */
+    public double getDistance(int s, int t) {
+        Workspace w = this.workspaces.get();
+        int meeting = this.search(w, s, t);
+
+        return meeting < 0 ? Double.POSITIVE_INFINITY
+                           : w.forward.getDistance(meeting)
+                             + w.backward.getDistance(meeting);
+    }
+
+    /**
+     * Finds a shortest path between two nodes.
+     *
+     * @param s  the index of the source node.
+     * @param t  the index of the target node.
+     * @return a shortest path from s to t.
+     * @throws IllegalArgumentException if a node is out of range.
+     */
+    public ShortestPath<L> computeShortestPath(int s, int t) {
+        Workspace w = this.workspaces.get();
+        int meeting = this.search(w, s, t);
+
+        if (meeting < 0)
+            return new ShortestPath<L>(this.graph, Double.POSITIVE_INFINITY,
+                                       new int[0], w.settledCount);
+
+        double length = w.forward.getDistance(meeting)
+                        + w.backward.getDistance(meeting);
+
+        return new ShortestPath<L>(this.graph, length,
+                                   this.unpack(w, s, meeting),
+                                   w.settledCount);
+    }
+
+    /**
+     * Finds a shortest path between two nodes.
+     *
+     * @param source  the source node.
+     * @param target  the target node.
+     * @return a shortest path from the source to the target.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     * @throws UnsupportedOperationException if the hierarchy has no snapshot
+     *         of the graph.
+     */
+    public ShortestPath<L> computeShortestPath(GraphNode<L> source,
+            GraphNode<L> target) {
+        if (source == null || target == null) throw new NullPointerException();
+        if (this.graph == null) throw new UnsupportedOperationException();
+
+        return this.computeShortestPath(this.graph.getIndexOf(source),
+                                        this.graph.getIndexOf(target));
+    }
+
+    /**
+     * Saves the hierarchy to a file. The snapshot of the graph is not saved.
+     *
+     * @param file  the file to write.
+     * @throws NullPointerException if the file is null.
+     * @throws IOException if writing the file fails.
+     */
+    public void save(Path file) throws IOException {
+        if (file == null) throw new NullPointerException();
+
+        try (DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(Files.newOutputStream(file),
+                                          IO_BUFFER))) {
+            out.writeInt(MAGIC);
+            out.writeInt(this.rank.length);
+            out.writeInt(this.upTargets.length);
+            out.writeInt(this.downSources.length);
+            writeInts(out, this.rank);
+            writeInts(out, this.upOffsets);
+            writeInts(out, this.upTargets);
+            writeDoubles(out, this.upWeights);
+            writeInts(out, this.upMiddles);
+            writeInts(out, this.downOffsets);
+            writeInts(out, this.downSources);
+            writeDoubles(out, this.downWeights);
+            writeInts(out, this.downMiddles);
+        }
+    }
+
+    /**
+     * Loads a hierarchy saved by {@code save}, whose nodes are only
+     * identified by their index.
+     *
+     * @param <L>  type of the labels of the graph nodes.
+     * @param file  the file to read.
+     * @return the hierarchy.
+     * @throws NullPointerException if the file is null.
+     * @throws IOException if reading the file fails or it does not contain a
+     *         hierarchy.
+     */
+    public static <L> ContractionHierarchy<L> load(Path file)
+            throws IOException {
+        return load(file, null);
+    }
+
+    /**
+     * Loads a hierarchy saved by {@code save}, attaching it to the snapshot of
+     * the graph it was built on.
+     *
+     * @param <L>  type of the labels of the graph nodes.
+     * @param file  the file to read.
+     * @param graph  the snapshot of the graph, null if the nodes are only
+     *        identified by their index.
+     * @return the hierarchy.
+     * @throws NullPointerException if the file is null.
+     * @throws IllegalArgumentException if the snapshot does not have the
+     *         number of nodes of the hierarchy.
+     * @throws IOException if reading the file fails or it does not contain a
+     *         hierarchy.
+     */
+    public static <L> ContractionHierarchy<L> load(Path file,
+            CompressedSparseRowGraph<L> graph) throws IOException {
+        if (file == null) throw new NullPointerException();
+
+        try (DataInputStream in = new DataInputStream(
+                 new BufferedInputStream(Files.newInputStream(file),
+                                         IO_BUFFER))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a hierarchy");
+
+            int n = in.readInt();
+            int up = in.readInt();
+            int down = in.readInt();
+
+            // The sizes are checked against the file before allocating.
+            if (n < 0 || up < 0 || down < 0 || n == Integer.MAX_VALUE
+                || Files.size(file) != 24 + 12L * n + 16L * up + 16L * down)
+                throw new IOException("Corrupted hierarchy");
+
+            int[] rank = readInts(in, n);
+            int[] upOffsets = readInts(in, n + 1);
+            int[] upTargets = readInts(in, up);
+            double[] upWeights = readDoubles(in, up);
+            int[] upMiddles = readInts(in, up);
+            int[] downOffsets = readInts(in, n + 1);
+            int[] downSources = readInts(in, down);
+            double[] downWeights = readDoubles(in, down);
+            int[] downMiddles = readInts(in, down);
+
+            if (!isPermutation(rank)
+                || !areArcsConsistent(rank, upOffsets, upTargets, upWeights,
+                                      upMiddles)
+                || !areArcsConsistent(rank, downOffsets, downSources,
+                                      downWeights, downMiddles))
+                throw new IOException("Corrupted hierarchy");
+
+            return new ContractionHierarchy<L>(graph, rank, upOffsets,
+                                               upTargets, upWeights,
+                                               upMiddles, downOffsets,
+                                               downSources, downWeights,
+                                               downMiddles);
+        }
+    }
+
+    /**
+     * Determines whether the ranks read from a file are a permutation of the
+     * nodes.
+     *
+     * @param rank  the rank of every node.
+     * @return true if every rank is in range and no two nodes share it.
+     */
+    private static boolean isPermutation(int[] rank) {
+        boolean[] used = new boolean[rank.length];
+
+        for (int r : rank) {
+            if (r < 0 || r >= rank.length || used[r]) return false;
+
+            used[r] = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines whether the upward or downward arcs read from a file form a
+     * hierarchy: the offsets are monotone and cover all the arcs, every arc
+     * leads from the node where it is stored to a higher node, with a
+     * nonnegative weight, and the middle node of a shortcut is lower than
+     * both its ends, so that unpacking it terminates.
+     *
+     * @param rank  the rank of every node, already checked.
+     * @param offsets  the offsets of the arcs of every node.
+     * @param ends  the other end of every arc.
+     * @param weights  the weight of every arc.
+     * @param middles  the middle node of every arc, -1 for edges.
+     * @return true if the arcs are consistent.
+     */
+    private static boolean areArcsConsistent(int[] rank, int[] offsets,
+            int[] ends, double[] weights, int[] middles) {
+        int n = rank.length;
+
+        if (offsets[0] != 0 || offsets[n] != ends.length) return false;
+
+        for (int v = 0; v < n; v++) {
+            if (offsets[v] > offsets[v + 1]) return false;
+        }
+
+        for (int v = 0; v < n; v++) {
+            for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                int end = ends[k];
+                int middle = middles[k];
+
+                if (end < 0 || end >= n || rank[end] <= rank[v]
+                    || !(weights[k] >= 0) || middle < -1 || middle >= n
+                    || (middle >= 0 && rank[middle] >= rank[v]))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Runs the upward searches from the source and from the target.
+     *
+     * @param w  the workspace of the calling thread.
+     * @param s  the source.
+     * @param t  the target.
+     * @return the node where the two searches meet on a shortest path, -1 if
+     *         the target is not reachable.
+     */
+    private int search(Workspace w, int s, int t) {
+        int n = this.rank.length;
+
+        if (s < 0 || s >= n || t < 0 || t >= n)
+            throw new IllegalArgumentException();
+
+        SearchFrontier forward = w.forward;
+        SearchFrontier backward = w.backward;
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+
+        forward.begin();
+        backward.begin();
+        w.settledCount = 0;
+        forward.reach(s, 0, -1, 0);
+        backward.reach(t, 0, -1, 0);
+
+        while (true) {
+            double keyF = forward.minimumKey();
+            double keyB = backward.minimumKey();
+
+            if (Math.min(keyF, keyB) >= best) break;
+
+            boolean isForward = keyF <= keyB;
+            SearchFrontier side = isForward ? forward : backward;
+            SearchFrontier other = isForward ? backward : forward;
+            int[] offsets = isForward ? this.upOffsets : this.downOffsets;
+            int[] heads = isForward ? this.upTargets : this.downSources;
+            double[] weights = isForward ? this.upWeights : this.downWeights;
+            int u = side.settleMinimum();
+            double du = side.getDistance(u);
+
+            w.settledCount++;
+
+            if (other.isReached(u) && du + other.getDistance(u) < best) {
+                best = du + other.getDistance(u);
+                meeting = u;
+            }
+
+            for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                int v = heads[k];
+                double d = du + weights[k];
+
+                if (side.isSettled(v)) continue;
+
+                if (!side.isReached(v)) side.reach(v, d, k, 0);
+                else if (d < side.getDistance(v)) side.improve(v, d, k);
+            }
+        }
+
+        return meeting;
+    }
+
+    /**
+     * Unpacks the path found by the last search into the nodes of the graph.
+     *
+     * @param w  the workspace of the calling thread.
+     * @param s  the source.
+     * @param meeting  the meeting node of the two searches.
+     * @return the nodes of the path, from the source to the target.
+     */
+    private int[] unpack(Workspace w, int s, int meeting) {
+        IntStack arcs = new IntStack();
+        IntStack path = new IntStack();
+
+        for (int x = meeting; x != s; ) {
+            int k = w.forward.getPredecessor(x);
+
+            arcs.push(k);
+            x = ownerOf(this.upOffsets, k);
+        }
+
+        path.push(s);
+
+        int from = s;
+
+        while (arcs.size() > 0) {
+            int k = arcs.pop();
+            int to = this.upTargets[k];
+
+            this.unpackArc(from, to, this.upMiddles[k], path);
+            from = to;
+        }
+
+        for (int x = meeting; w.backward.getPredecessor(x) >= 0; ) {
+            int k = w.backward.getPredecessor(x);
+            int to = ownerOf(this.downOffsets, k);
+
+            this.unpackArc(x, to, this.downMiddles[k], path);
+            x = to;
+        }
+
+        return path.toArray();
+    }
+
+    /**
+     * Appends to a path the nodes after the first one of the path
+     * represented by an arc, expanding shortcuts through their middle nodes.
+     *
+     * @param from  the tail of the arc.
+     * @param to  the head of the arc.
+     * @param middle  the middle node of the arc, -1 for an edge.
+     * @param path  the path to extend.
+     */
+    private void unpackArc(int from, int to, int middle, IntStack path) {
+        IntStack pending = new IntStack();
+
+        pending.push(from);
+        pending.push(to);
+        pending.push(middle);
+
+        while (pending.size() > 0) {
+            int m = pending.pop();
+            int b = pending.pop();
+            int a = pending.pop();
+
+            if (m < 0) {
+                path.push(b);
+                continue;
+            }
+
+            pending.push(m);
+            pending.push(b);
+            pending.push(this.findUpMiddle(m, b));
+            pending.push(a);
+            pending.push(m);
+            pending.push(this.findDownMiddle(m, a));
+        }
+    }
+
+    /**
+     * Returns the node at which an arc is stored: the tail of an upward arc,
+     * the head of a downward one.
+     *
+     * @param offsets  the offsets of the arcs of every node.
+     * @param k  the arc.
+     * @return the node whose arcs include k.
+     */
+    private static int ownerOf(int[] offsets, int k) {
+        int low = 0;
+        int high = offsets.length - 2;
+
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+
+            if (offsets[middle] <= k) low = middle;
+            else high = middle - 1;
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the middle node of the upward arc from a node to another.
+     *
+     * @param tail  the tail of the arc.
+     * @param head  the head of the arc.
+     * @return the middle node of the arc.
+     */
+    private int findUpMiddle(int tail, int head) {
+        for (int k = this.upOffsets[tail]; k < this.upOffsets[tail + 1]; k++) {
+            if (this.upTargets[k] == head) return this.upMiddles[k];
+        }
+
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the middle node of the downward arc from a node to another.
+     *
+     * @param head  the head of the arc, where it is stored.
+     * @param tail  the tail of the arc.
+     * @return the middle node of the arc.
+     */
+    private int findDownMiddle(int head, int tail) {
+        for (int k = this.downOffsets[head]; k < this.downOffsets[head + 1];
+             k++) {
+            if (this.downSources[k] == tail) return this.downMiddles[k];
+        }
+
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Writes an array of ints.
+     *
+     * @param out  the stream.
+     * @param values  the values to write.
+     * @throws IOException if writing fails.
+     */
+    private static void writeInts(DataOutputStream out, int[] values)
+            throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Writes an array of doubles.
+     *
+     * @param out  the stream.
+     * @param values  the values to write.
+     * @throws IOException if writing fails.
+     */
+    private static void writeDoubles(DataOutputStream out, double[] values)
+            throws IOException {
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Reads an array of ints.
+     *
+     * @param in  the stream.
+     * @param length  the number of values.
+     * @return the values read.
+     * @throws IOException if reading fails.
+     */
+    private static int[] readInts(DataInputStream in, int length)
+            throws IOException {
+        int[] values = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+
+        return values;
+    }
+
+    /**
+     * Reads an array of doubles.
+     *
+     * @param in  the stream.
+     * @param length  the number of values.
+     * @return the values read.
+     * @throws IOException if reading fails.
+     */
+    private static double[] readDoubles(DataInputStream in, int length)
+            throws IOException {
+        double[] values = new double[length];
+
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readDouble();
+        }
+
+        return values;
+    }
+
+    /**
+     * The per-thread state of the queries.
+     */
+    private static final class Workspace {
+
+        private final SearchFrontier forward;
+        private final SearchFrontier backward;
+        private int settledCount;
+
+        private Workspace(int n) {
+            this.forward = new SearchFrontier(n);
+            this.backward = new SearchFrontier(n);
+        }
+    }
+}
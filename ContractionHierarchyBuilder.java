@@ -0,0 +1,467 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * A class that builds the contraction hierarchy of a weighted graph with
+ * nonnegative weights, directed or undirected, for fast repeated
+ * shortest-path queries (see {@code ContractionHierarchy<L>}).
+ *
+ * Nodes are contracted one at a time, in order of priority. Contracting a
+ * node {@code v} removes it from the remaining graph; for every pair of arcs
+ * {@code u -> v -> w}, a shortcut {@code u -> w} with the length of the pair
+ * is added, unless a witness search (a Dijkstra search from {@code u} that
+ * avoids {@code v}) finds a path from u to w that is not longer. The priority
+ * of a node is its edge difference, the number of shortcuts its contraction
+ * would add minus the number of arcs it would remove, plus the number of its
+ * neighbours already contracted, which spreads the contraction evenly over
+ * the graph. Priorities are updated lazily: a node is contracted only if its
+ * recomputed priority is still the lowest.
+ *
+ * Witness searches stop after settling a bounded number of nodes: a search
+ * cut short can only add a superfluous shortcut, never a wrong distance.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class ContractionHierarchyBuilder<L> {
+
+    /**
+     * The number of nodes a witness search settles by default.
+     */
+    public static final int DEFAULT_WITNESS_LIMIT = 256;
+
+    private final int witnessLimit;
+
+    /**
+     * Build a contraction hierarchy builder with the default witness search
+     * limit.
+     */
+    public ContractionHierarchyBuilder() {
+        this(DEFAULT_WITNESS_LIMIT);
+    }
+
+    /**
+     * Build a contraction hierarchy builder.
+     *
+     * @param witnessLimit  the largest number of nodes a witness search
+     *        settles.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    public ContractionHierarchyBuilder(int witnessLimit) {
+        if (witnessLimit < 1) throw new IllegalArgumentException();
+
+        this.witnessLimit = witnessLimit;
+    }
+
+    /**
+     * Builds the contraction hierarchy of a graph.
+     *
+     * @param g  a weighted graph with nonnegative weights.
+     * @return the contraction hierarchy of the graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is unweighted or has
+     *         negative weights.
+     */
+    public ContractionHierarchy<L> build(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        return this.build(new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Builds the contraction hierarchy of a snapshot of a graph.
+     *
+     * @param g  a snapshot with nonnegative weights.
+     * @return the contraction hierarchy of the snapshot.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is unweighted or has
+     *         negative weights.
+     */
+    public ContractionHierarchy<L> build(CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        for (double weight : g.getEdgeWeights()) {
+            if (!(weight >= 0)) throw new IllegalArgumentException();
+        }
+
+        return new Contraction<L>(g, this.witnessLimit).run();
+    }
+
+    /**
+     * A list of arcs of a node of the remaining graph: the other endpoint,
+     * the weight and the middle node of every arc.
+     */
+    private static final class ArcList {
+
+        private int[] node = new int[4];
+        private double[] weight = new double[4];
+        private int[] middle = new int[4];
+        private int size;
+
+        private int indexOf(int x) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.node[i] == x) return i;
+            }
+
+            return -1;
+        }
+
+        private void add(int x, double w, int m) {
+            if (this.size == this.node.length) {
+                this.node = Arrays.copyOf(this.node, 2 * this.size);
+                this.weight = Arrays.copyOf(this.weight, 2 * this.size);
+                this.middle = Arrays.copyOf(this.middle, 2 * this.size);
+            }
+
+            this.node[this.size] = x;
+            this.weight[this.size] = w;
+            this.middle[this.size] = m;
+            this.size++;
+        }
+
+        private void remove(int x) {
+            int i = this.indexOf(x);
+
+            this.size--;
+            this.node[i] = this.node[this.size];
+            this.weight[i] = this.weight[this.size];
+            this.middle[i] = this.middle[this.size];
+        }
+    }
+
+    /**
+     * The state of the contraction of a graph.
+     *
+     * @param <L>  type of the labels of the graph nodes.
+     */
+    private static final class Contraction<L> {
+
+        private final CompressedSparseRowGraph<L> graph;
+        private final int witnessLimit;
+        private final int n;
+        private final ArcList[] out;
+        private final ArcList[] in;
+        private final int[] rank;
+        private final int[] contractedNeighbours;
+        private final SearchFrontier witness;
+        private int[] shortcutTail;
+        private int[] shortcutHead;
+        private double[] shortcutWeight;
+        private int shortcutCount;
+
+        private Contraction(CompressedSparseRowGraph<L> g, int witnessLimit) {
+            int[] sources = g.getEdgeSources();
+            int[] targets = g.getEdgeTargets();
+            double[] weights = g.getEdgeWeights();
+
+            this.graph = g;
+            this.witnessLimit = witnessLimit;
+            this.n = g.nodeCount();
+            this.out = new ArcList[this.n];
+            this.in = new ArcList[this.n];
+            this.rank = new int[this.n];
+            this.contractedNeighbours = new int[this.n];
+            this.witness = new SearchFrontier(this.n);
+            this.shortcutTail = new int[16];
+            this.shortcutHead = new int[16];
+            this.shortcutWeight = new double[16];
+
+            for (int v = 0; v < this.n; v++) {
+                this.out[v] = new ArcList();
+                this.in[v] = new ArcList();
+                this.rank[v] = -1;
+            }
+
+            for (int e = 0; e < sources.length; e++) {
+                this.addArc(sources[e], targets[e], weights[e], -1);
+
+                if (!g.isDirected())
+                    this.addArc(targets[e], sources[e], weights[e], -1);
+            }
+        }
+
+        /**
+         * Contracts every node and lays out the hierarchy.
+         *
+         * @return the contraction hierarchy.
+         */
+        private ContractionHierarchy<L> run() {
+            IntDAryHeapMinPriorityQueue queue =
+                new IntDAryHeapMinPriorityQueue(this.n);
+
+            for (int v = 0; v < this.n; v++) {
+                queue.insert(v, this.priority(v));
+            }
+
+            int next = 0;
+
+            while (!queue.isEmpty()) {
+                int v = queue.extractMinimum();
+                double priority = this.priority(v);
+
+                if (!queue.isEmpty()
+                    && priority > queue.getPriority(queue.minimum())) {
+                    queue.insert(v, priority);
+                    continue;
+                }
+
+                this.contract(v, next++);
+
+                for (int i = 0; i < this.out[v].size; i++) {
+                    this.updateNeighbour(queue, this.out[v].node[i]);
+                }
+
+                for (int i = 0; i < this.in[v].size; i++) {
+                    this.updateNeighbour(queue, this.in[v].node[i]);
+                }
+            }
+
+            return this.layout();
+        }
+
+        /**
+         * Recomputes the priority of a neighbour of a contracted node,
+         * lowering its key if the priority decreased.
+         *
+         * @param queue  the queue of the nodes to contract.
+         * @param x  the neighbour.
+         */
+        private void updateNeighbour(IntDAryHeapMinPriorityQueue queue,
+                int x) {
+            if (!queue.contains(x)) return;
+
+            double priority = this.priority(x);
+
+            if (priority < queue.getPriority(x))
+                queue.decreasePriority(x, priority);
+        }
+
+        /**
+         * Returns the priority of a node of the remaining graph.
+         *
+         * @param v  the node.
+         * @return the edge difference of v plus its contracted neighbours.
+         */
+        private double priority(int v) {
+            int shortcuts = this.findShortcuts(v, false);
+
+            return shortcuts - this.out[v].size - this.in[v].size
+                   + this.contractedNeighbours[v];
+        }
+
+        /**
+         * Contracts a node: adds its shortcuts and removes it from the
+         * remaining graph. Its arc lists are left untouched and become its
+         * upward and downward arcs.
+         *
+         * @param v  the node.
+         * @param order  the rank of the node.
+         */
+        private void contract(int v, int order) {
+            this.shortcutCount = 0;
+            this.findShortcuts(v, true);
+
+            ArcList outArcs = this.out[v];
+            ArcList inArcs = this.in[v];
+
+            for (int i = 0; i < outArcs.size; i++) {
+                int w = outArcs.node[i];
+
+                this.in[w].remove(v);
+                this.contractedNeighbours[w]++;
+            }
+
+            for (int i = 0; i < inArcs.size; i++) {
+                int u = inArcs.node[i];
+
+                this.out[u].remove(v);
+                this.contractedNeighbours[u]++;
+            }
+
+            for (int i = 0; i < this.shortcutCount; i++) {
+                this.addArc(this.shortcutTail[i], this.shortcutHead[i],
+                            this.shortcutWeight[i], v);
+            }
+
+            this.rank[v] = order;
+        }
+
+        /**
+         * Finds the shortcuts needed by the contraction of a node.
+         *
+         * @param v  the node.
+         * @param record  true to record the shortcuts, false to count them.
+         * @return the number of shortcuts.
+         */
+        private int findShortcuts(int v, boolean record) {
+            ArcList outArcs = this.out[v];
+            ArcList inArcs = this.in[v];
+            int count = 0;
+
+            for (int i = 0; i < inArcs.size; i++) {
+                int u = inArcs.node[i];
+                double du = inArcs.weight[i];
+                double bound = 0;
+
+                for (int j = 0; j < outArcs.size; j++) {
+                    if (outArcs.node[j] != u)
+                        bound = Math.max(bound, du + outArcs.weight[j]);
+                }
+
+                this.witnessSearch(u, v, bound);
+
+                for (int j = 0; j < outArcs.size; j++) {
+                    int w = outArcs.node[j];
+                    double d = du + outArcs.weight[j];
+
+                    if (w == u || (this.witness.isReached(w)
+                                   && this.witness.getDistance(w) <= d))
+                        continue;
+
+                    count++;
+
+                    if (record) this.recordShortcut(u, w, d);
+                }
+            }
+
+            return count;
+        }
+
+        /**
+         * Runs a Dijkstra search from a node in the remaining graph, avoiding
+         * a node, until the distances up to a bound are known or the search
+         * limit is reached.
+         *
+         * @param source  the source of the search.
+         * @param avoided  the node to avoid.
+         * @param bound  the largest distance of interest.
+         */
+        private void witnessSearch(int source, int avoided, double bound) {
+            SearchFrontier f = this.witness;
+            int settled = 0;
+
+            f.begin();
+            f.reach(source, 0, -1, 0);
+
+            while (f.queueSize() > 0 && f.minimumKey() <= bound
+                   && settled < this.witnessLimit) {
+                int u = f.settleMinimum();
+                double du = f.getDistance(u);
+                ArcList arcs = this.out[u];
+
+                settled++;
+
+                for (int i = 0; i < arcs.size; i++) {
+                    int x = arcs.node[i];
+                    double d = du + arcs.weight[i];
+
+                    if (x == avoided || f.isSettled(x)) continue;
+
+                    if (!f.isReached(x)) f.reach(x, d, u, 0);
+                    else if (d < f.getDistance(x)) f.improve(x, d, u);
+                }
+            }
+        }
+
+        /**
+         * Records a shortcut to add when the current node is contracted.
+         *
+         * @param u  the tail of the shortcut.
+         * @param w  the head of the shortcut.
+         * @param d  the weight of the shortcut.
+         */
+        private void recordShortcut(int u, int w, double d) {
+            if (this.shortcutCount == this.shortcutTail.length) {
+                int size = 2 * this.shortcutCount;
+
+                this.shortcutTail = Arrays.copyOf(this.shortcutTail, size);
+                this.shortcutHead = Arrays.copyOf(this.shortcutHead, size);
+                this.shortcutWeight = Arrays.copyOf(this.shortcutWeight, size);
+            }
+
+            this.shortcutTail[this.shortcutCount] = u;
+            this.shortcutHead[this.shortcutCount] = w;
+            this.shortcutWeight[this.shortcutCount] = d;
+            this.shortcutCount++;
+        }
+
+        /**
+         * Adds an arc to the remaining graph, or lowers the weight of the
+         * existing arc between the same nodes. Loops are ignored.
+         *
+         * @param u  the tail of the arc.
+         * @param w  the head of the arc.
+         * @param d  the weight of the arc.
+         * @param middle  the middle node of the arc, -1 for an edge.
+         */
+        private void addArc(int u, int w, double d, int middle) {
+            if (u == w) return;
+
+            int i = this.out[u].indexOf(w);
+
+            if (i < 0) {
+                this.out[u].add(w, d, middle);
+                this.in[w].add(u, d, middle);
+            }
+            else if (d < this.out[u].weight[i]) {
+                int j = this.in[w].indexOf(u);
+
+                this.out[u].weight[i] = d;
+                this.out[u].middle[i] = middle;
+                this.in[w].weight[j] = d;
+                this.in[w].middle[j] = middle;
+            }
+        }
+
+        /**
+         * Lays out the arc lists of the contracted nodes in compressed sparse
+         * row form.
+         *
+         * @return the contraction hierarchy.
+         */
+        private ContractionHierarchy<L> layout() {
+            int[] upOffsets = new int[this.n + 1];
+            int[] downOffsets = new int[this.n + 1];
+
+            for (int v = 0; v < this.n; v++) {
+                upOffsets[v + 1] = upOffsets[v] + this.out[v].size;
+                downOffsets[v + 1] = downOffsets[v] + this.in[v].size;
+            }
+
+            int[] upTargets = new int[upOffsets[this.n]];
+            double[] upWeights = new double[upOffsets[this.n]];
+            int[] upMiddles = new int[upOffsets[this.n]];
+            int[] downSources = new int[downOffsets[this.n]];
+            double[] downWeights = new double[downOffsets[this.n]];
+            int[] downMiddles = new int[downOffsets[this.n]];
+
+            for (int v = 0; v < this.n; v++) {
+                ArcList arcs = this.out[v];
+
+                System.arraycopy(arcs.node, 0, upTargets, upOffsets[v],
+                                 arcs.size);
+                System.arraycopy(arcs.weight, 0, upWeights, upOffsets[v],
+                                 arcs.size);
+                System.arraycopy(arcs.middle, 0, upMiddles, upOffsets[v],
+                                 arcs.size);
+
+                arcs = this.in[v];
+
+                System.arraycopy(arcs.node, 0, downSources, downOffsets[v],
+                                 arcs.size);
+                System.arraycopy(arcs.weight, 0, downWeights, downOffsets[v],
+                                 arcs.size);
+                System.arraycopy(arcs.middle, 0, downMiddles, downOffsets[v],
+                                 arcs.size);
+            }
+
+            return new ContractionHierarchy<L>(this.graph, this.rank,
+                                               upOffsets, upTargets,
+                                               upWeights, upMiddles,
+                                               downOffsets, downSources,
+                                               downWeights, downMiddles);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * The core decomposition of an undirected graph. The k-core of the graph is
+ * its largest subgraph in which every node has at least k neighbours; the
+ * core number of a node is the largest k such that the node belongs to the
+ * k-core, and the degeneracy of the graph is the largest core number.
+ *
+ * The decomposition also holds a degeneracy order of the nodes: every node
+ * has at most {@code getDegeneracy()} neighbours, indeed at most its core
+ * number, among the nodes that follow it in the order. Loops and parallel
+ * edges do not count.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class CoreDecomposition<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] core;
+    private final int[] order;
+    private final int degeneracy;
+
+    /**
+     * Constructs the decomposition. The arrays are not copied.
+     *
+     * @param graph  the snapshot of the graph.
+     * @param core  the core number of every node.
+     * @param order  the nodes in degeneracy order.
+     * @throws NullPointerException if the snapshot or one of the arrays is
+     *         null.
+     * @throws IllegalArgumentException if the arrays do not have one element
+     *         for every node, or a core number is negative.
+     */
+    public CoreDecomposition(CompressedSparseRowGraph<L> graph, int[] core,
+            int[] order) {
+        if (graph == null || core == null || order == null)
+            throw new NullPointerException();
+        if (core.length != graph.nodeCount() || order.length != core.length)
+            throw new IllegalArgumentException();
+
+        int max = 0;
+
+        for (int k : core) {
+            if (k < 0) throw new IllegalArgumentException();
+
+            max = Math.max(max, k);
+        }
+
+        this.graph = graph;
+        this.core = core;
+        this.order = order;
+        this.degeneracy = max;
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes.
+     */
+    public int nodeCount() {
+        return this.core.length;
+    }
+
+    /**
+     * Returns the degeneracy of the graph, the largest core number.
+     *
+     * @return the degeneracy, 0 for a graph without edges.
+     */
+    public int getDegeneracy() {
+        return this.degeneracy;
+    }
+
+    /**
+     * Returns the core number of every node. The array is the internal one
+     * and must not be modified.
+     *
+     * @return the core numbers, indexed by node index.
+     */
+    public int[] getCoreNumbers() {
+        return this.core;
+    }
+
+    /**
+     * Returns the core number of a node.
+     *
+     * @param v  the index of the node.
+     * @return the core number of v.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getCoreNumber(int v) {
+        return this.core[v];
+    }
+
+    /**
+     * Returns the core number of a node.
+     *
+     * @param v  the node.
+     * @return the core number of v.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     */
+    public int getCoreNumber(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+
+        return this.core[this.graph.getIndexOf(v)];
+    }
+
+    /**
+     * Returns the nodes in degeneracy order. The array is the internal one
+     * and must not be modified.
+     *
+     * @return the indices of the nodes, in an order in which no node has more
+     *         later neighbours than its core number.
+     */
+    public int[] getDegeneracyOrder() {
+        return this.order;
+    }
+
+    /**
+     * Returns the nodes of the k-core.
+     *
+     * @param k  the order of the core.
+     * @return the indices of the nodes whose core number is at least k, in
+     *         increasing order.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public int[] getKCore(int k) {
+        if (k < 0) throw new IllegalArgumentException();
+
+        int size = 0;
+
+        for (int c : this.core) {
+            if (c >= k) size++;
+        }
+
+        int[] nodes = new int[size];
+
+        for (int v = 0, i = 0; v < this.core.length; v++) {
+            if (this.core[v] >= k) nodes[i++] = v;
+        }
+
+        return nodes;
+    }
+}
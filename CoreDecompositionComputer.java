@@ -0,0 +1,340 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A class that computes the core decomposition of an undirected graph, with
+ * two algorithms.
+ *
+ * The sequential one is the bucket algorithm of Batagelj and Zaversnik: the
+ * nodes are kept sorted by their current degree in one array, with the start
+ * of every degree bucket, and the node of smallest degree is removed
+ * repeatedly; moving a neighbour to the bucket below is a swap with the first
+ * node of its bucket, so the whole decomposition takes O(n + m) time and the
+ * removal order is a degeneracy order.
+ *
+ * The parallel one peels the graph level by level on a
+ * {@code ForkJoinPool}: at level k the nodes of degree k are removed together,
+ * decrementing the degree of their neighbours with atomic operations, and a
+ * neighbour whose degree drops to exactly k is removed in the next round of
+ * the same level, so every node is enqueued once. A level with no nodes of
+ * degree k jumps to the smallest remaining degree. The work on the edges is
+ * O(m) as in the sequential algorithm, plus a scan of the remaining nodes for
+ * every level.
+ *
+ * Both algorithms first build the simple adjacency of the graph in parallel,
+ * dropping loops and parallel edges, so degrees are never computed through
+ * the edge sets of the graph.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class CoreDecompositionComputer<L> {
+
+    private static final int MIN_GRAIN = 1024;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Build a core decomposition calculator that runs on the common
+     * {@code ForkJoinPool}.
+     */
+    public CoreDecompositionComputer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a core decomposition calculator.
+     *
+     * @param pool  the pool running the parallel phases.
+     * @throws NullPointerException if the pool is null.
+     */
+    public CoreDecompositionComputer(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException();
+
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the core decomposition of an undirected graph with the bucket
+     * algorithm.
+     *
+     * @param g  an undirected graph.
+     * @return the decomposition, whose snapshot identifies the nodes of the
+     *         graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is directed.
+     */
+    public CoreDecomposition<L> computeCoreDecomposition(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        return this.computeCoreDecomposition(
+            new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Computes the core decomposition of an undirected snapshot of a graph
+     * with the bucket algorithm.
+     *
+     * @param g  an undirected snapshot.
+     * @return the decomposition.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is directed.
+     */
+    public CoreDecomposition<L> computeCoreDecomposition(
+            CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        int n = g.nodeCount();
+        int[] offsets = new int[n + 1];
+        int[] neighbours = this.simplify(g, offsets);
+        int[] degree = new int[n];
+        int maxDegree = 0;
+
+        for (int v = 0; v < n; v++) {
+            degree[v] = offsets[v + 1] - offsets[v];
+            maxDegree = Math.max(maxDegree, degree[v]);
+        }
+
+        // bin[d] is the position of the first node of degree d in vert.
+        int[] bin = new int[maxDegree + 1];
+        int[] vert = new int[n];
+        int[] pos = new int[n];
+
+        for (int v = 0; v < n; v++) {
+            bin[degree[v]]++;
+        }
+
+        for (int d = 0, start = 0; d <= maxDegree; d++) {
+            int count = bin[d];
+
+            bin[d] = start;
+            start += count;
+        }
+
+        for (int v = 0; v < n; v++) {
+            pos[v] = bin[degree[v]]++;
+            vert[pos[v]] = v;
+        }
+
+        for (int d = maxDegree; d > 0; d--) {
+            bin[d] = bin[d - 1];
+        }
+
+        if (n > 0) bin[0] = 0;
+
+        for (int i = 0; i < n; i++) {
+            int v = vert[i];
+
+            for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                int u = neighbours[k];
+
+                if (degree[u] <= degree[v]) continue;
+
+                // Swap u with the first node of its bucket, then shrink it.
+                int du = degree[u];
+                int pu = pos[u];
+                int pw = bin[du];
+                int w = vert[pw];
+
+                if (u != w) {
+                    pos[u] = pw;
+                    vert[pu] = w;
+                    pos[w] = pu;
+                    vert[pw] = u;
+                }
+
+                bin[du]++;
+                degree[u]--;
+            }
+        }
+
+        return new CoreDecomposition<L>(g, degree, vert);
+    }
+
+    /**
+     * Computes the core decomposition of an undirected snapshot of a graph by
+     * parallel peeling.
+     *
+     * @param g  an undirected snapshot.
+     * @return the decomposition; the core numbers are the same as the ones of
+     *         the bucket algorithm, the degeneracy order may differ.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is directed.
+     */
+    public CoreDecomposition<L> computeCoreDecompositionInParallel(
+            CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        int n = g.nodeCount();
+        int[] offsets = new int[n + 1];
+        int[] neighbours = this.simplify(g, offsets);
+        AtomicIntegerArray degree = new AtomicIntegerArray(n);
+        int[] core = new int[n];
+        int[] alive = new int[n];
+        int[] order = new int[n];
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        AtomicInteger size = new AtomicInteger();
+        int aliveCount = n;
+        int removed = 0;
+        int level = 0;
+
+        for (int v = 0; v < n; v++) {
+            degree.set(v, offsets[v + 1] - offsets[v]);
+            core[v] = -1;
+            alive[v] = v;
+        }
+
+        while (removed < n) {
+            final int k = level;
+            final int[] scan = alive;
+            int grain = ParallelFor.grainFor(this.pool, aliveCount, MIN_GRAIN);
+
+            size.set(0);
+            ParallelFor.run(this.pool, 0, aliveCount, grain, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = scan[i];
+
+                    if (core[v] < 0 && degree.get(v) <= k)
+                        frontier[size.getAndIncrement()] = v;
+                }
+            });
+
+            int count = size.get();
+
+            if (count == 0) {
+                level = Math.max(k + 1, this.minimumDegree(degree, core,
+                                                           alive,
+                                                           aliveCount));
+                continue;
+            }
+
+            int[] current = frontier;
+            int[] following = next;
+
+            while (count > 0) {
+                final int[] batch = current;
+                final int[] queue = following;
+
+                for (int i = 0; i < count; i++) {
+                    core[batch[i]] = k;
+                }
+
+                System.arraycopy(batch, 0, order, removed, count);
+                removed += count;
+                size.set(0);
+                ParallelFor.run(this.pool, 0, count,
+                                ParallelFor.grainFor(this.pool, count, 64),
+                                (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        int v = batch[i];
+
+                        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                            int u = neighbours[e];
+
+                            // Only the decrement that reaches k enqueues u.
+                            if (core[u] < 0
+                                && degree.decrementAndGet(u) == k)
+                                queue[size.getAndIncrement()] = u;
+                        }
+                    }
+                });
+
+                count = size.get();
+                current = queue;
+                following = batch;
+            }
+
+            // Drop the removed nodes once they are a good part of the list.
+            if (4 * (n - removed) < 3 * aliveCount) {
+                int kept = 0;
+
+                for (int i = 0; i < aliveCount; i++) {
+                    if (core[alive[i]] < 0) alive[kept++] = alive[i];
+                }
+
+                aliveCount = kept;
+            }
+
+            level = k + 1;
+        }
+
+        return new CoreDecomposition<L>(g, core, order);
+    }
+
+    /**
+     * Returns the smallest degree of the nodes not removed yet.
+     *
+     * @param degree  the current degree of every node.
+     * @param core  the core number of every node, negative if not removed.
+     * @param alive  a list that contains the nodes not removed.
+     * @param aliveCount  the length of the list.
+     * @return the smallest degree, {@code Integer.MAX_VALUE} if all the nodes
+     *         are removed.
+     */
+    private int minimumDegree(AtomicIntegerArray degree, int[] core,
+            int[] alive, int aliveCount) {
+        int min = Integer.MAX_VALUE;
+
+        for (int i = 0; i < aliveCount; i++) {
+            if (core[alive[i]] < 0) min = Math.min(min, degree.get(alive[i]));
+        }
+
+        return min;
+    }
+
+    /**
+     * Builds the simple adjacency of an undirected snapshot: the distinct
+     * neighbours of every node other than the node itself.
+     *
+     * @param g  the snapshot.
+     * @param offsets  filled with the offsets of the neighbours of every node.
+     * @return the neighbours of every node.
+     */
+    private int[] simplify(CompressedSparseRowGraph<L> g, int[] offsets) {
+        int n = g.nodeCount();
+        int[] slots = g.getOffsets();
+        int[] sorted = g.getAdjacency().clone();
+        int grain = ParallelFor.grainFor(this.pool, n, MIN_GRAIN);
+
+        ParallelFor.run(this.pool, 0, n, grain, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                Arrays.sort(sorted, slots[v], slots[v + 1]);
+
+                for (int k = slots[v]; k < slots[v + 1]; k++) {
+                    if (sorted[k] != v
+                        && (k == slots[v] || sorted[k] != sorted[k - 1]))
+                        offsets[v + 1]++;
+                }
+            }
+        });
+
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] neighbours = new int[offsets[n]];
+
+        ParallelFor.run(this.pool, 0, n, grain, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int write = offsets[v];
+
+                for (int k = slots[v]; k < slots[v + 1]; k++) {
+                    if (sorted[k] != v
+                        && (k == slots[v] || sorted[k] != sorted[k - 1]))
+                        neighbours[write++] = sorted[k];
+                }
+            }
+        });
+
+        return neighbours;
+    }
+}
@@ -0,0 +1,232 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A min-priority queue of {@code PriorityQueueElement} objects implemented with
+ * a d-ary heap represented by an array. Every node of the heap has up to
+ * {@code d} children: the children of position {@code i} are the positions
+ * from {@code d * i + 1} to {@code d * i + d}.
+ * 
+ * The queue keeps the handle of every element equal to its position in the
+ * array, so decreasing the priority of an element costs O(log_d n) without any
+ * search. Insertion and priority decrease cost O(log_d n), extraction of the
+ * minimum O(d log_d n); a degree of 4 usually beats a binary heap because the
+ * heap is shallower and the children of a node share cache lines.
+ * 
+ * @param <E>  the type of the elements of the queue.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ */
+public class DAryHeapMinPriorityQueue<E extends PriorityQueueElement> {
+
+    /**
+     * The degree used by the constructor without arguments.
+     */
+    public static final int DEFAULT_DEGREE = 4;
+
+    private final int degree;
+    private PriorityQueueElement[] heap;
+    private int size;
+
+    /**
+     * Constructs an empty queue with degree {@code DEFAULT_DEGREE}.
+     */
+    public DAryHeapMinPriorityQueue() {
+        this(DEFAULT_DEGREE);
+    }
+
+    /**
+     * Constructs an empty queue with a given degree.
+     * 
+     * @param degree  the number of children of every node of the heap.
+     * @throws IllegalArgumentException if the degree is less than 2.
+     */
+    public DAryHeapMinPriorityQueue(int degree) {
+        if (degree < 2) throw new IllegalArgumentException();
+
+        this.degree = degree;
+        this.heap = new PriorityQueueElement[16];
+        this.size = 0;
+    }
+
+    /**
+     * Inserts an element, setting its handle.
+     * 
+     * @param element  the element to insert, with its priority already set.
+     * @throws NullPointerException if the element is null.
+     * @throws IllegalArgumentException if the element is already in the queue.
+     */
+    public void insert(E element) {
+        if (element == null) throw new NullPointerException();
+        if (this.contains(element)) throw new IllegalArgumentException();
+
+        if (this.size == this.heap.length)
+            this.heap = Arrays.copyOf(this.heap, 2 * this.size);
+
+        this.heap[this.size] = element;
+        element.setHandle(this.size);
+        this.size++;
+        this.siftUp(this.size - 1);
+    }
+
+    /**
+     * Returns the element with the lowest priority without removing it.
+     * 
+     * @return the element with the lowest priority.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E minimum() {
+        if (this.size == 0) throw new NoSuchElementException();
+
+        return (E) this.heap[0];
+    }
+
+    /**
+     * Removes and returns the element with the lowest priority.
+     * 
+     * @return the element with the lowest priority.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E extractMinimum() {
+        if (this.size == 0) throw new NoSuchElementException();
+
+        E minimum = (E) this.heap[0];
+
+        this.size--;
+        this.heap[0] = this.heap[this.size];
+        this.heap[0].setHandle(0);
+        this.heap[this.size] = null;
+
+        if (this.size > 0) this.siftDown(0);
+
+        return minimum;
+    }
+
+    /**
+     * Decreases the priority of an element of the queue.
+     * 
+     * @param element  the element.
+     * @param newPriority  the new priority, not greater than the current one.
+     * @throws NullPointerException if the element is null.
+     * @throws IllegalArgumentException if the element is not in the queue or
+     *         the new priority is greater than the current one.
+     */
+    public void decreasePriority(E element, double newPriority) {
+        if (element == null) throw new NullPointerException();
+        if (!this.contains(element)) throw new IllegalArgumentException();
+        if (newPriority > element.getPriority())
+            throw new IllegalArgumentException();
+
+        element.setPriority(newPriority);
+        this.siftUp(element.getHandle());
+    }
+
+    /**
+     * Determines whether an element is in the queue, using its handle.
+     * 
+     * @param element  the element.
+     * @return true if the element is in the queue.
+     * @throws NullPointerException if the element is null.
+     */
+    public boolean contains(E element) {
+        if (element == null) throw new NullPointerException();
+
+        int handle = element.getHandle();
+
+        return handle >= 0 && handle < this.size
+               && this.heap[handle] == element;
+    }
+
+    /**
+     * Determines whether the queue is empty.
+     * 
+     * @return true if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * 
+     * @return the number of elements in the queue.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all the elements from the queue.
+     */
+    public void clear() {
+        Arrays.fill(this.heap, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Moves the element at a position up until its parent has a lower or equal
+     * priority.
+     * 
+     * @param i  the position.
+     */
+    private void siftUp(int i) {
+        PriorityQueueElement element = this.heap[i];
+        double priority = element.getPriority();
+
+        while (i > 0) {
+            int parent = (i - 1) / this.degree;
+
+            if (this.heap[parent].getPriority() <= priority) break;
+
+            this.heap[i] = this.heap[parent];
+            this.heap[i].setHandle(i);
+            i = parent;
+        }
+
+        this.heap[i] = element;
+        element.setHandle(i);
+    }
+
+    /**
+     * Moves the element at a position down until all its children have a
+     * greater or equal priority.
+     * 
+     * @param i  the position.
+     */
+    private void siftDown(int i) {
+        PriorityQueueElement element = this.heap[i];
+        double priority = element.getPriority();
+
+        while (true) {
+            int first = this.degree * i + 1;
+
+            if (first >= this.size) break;
+
+            int last = Math.min(first + this.degree, this.size);
+            int best = first;
+            double bestPriority = this.heap[first].getPriority();
+
+            for (int child = first + 1; child < last; child++) {
+                double childPriority = this.heap[child].getPriority();
+
+                if (childPriority < bestPriority) {
+                    best = child;
+                    bestPriority = childPriority;
+                }
+            }
+
+            if (bestPriority >= priority) break;
+
+            this.heap[i] = this.heap[best];
+            this.heap[i].setHandle(i);
+            i = best;
+        }
+
+        this.heap[i] = element;
+        element.setHandle(i);
+    }
+}
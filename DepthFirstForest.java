@@ -0,0 +1,273 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * A depth-first forest stored in primitive arrays indexed by node index:
+ * the discovery and finish times of every node, its parent in the forest and
+ * the orders in which the nodes were discovered and finished. Times follow the
+ * convention of {@code GraphNode}: a single clock, starting at 1, advances at
+ * every discovery and at every finish; a node that was not visited has both
+ * times equal to 0.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class DepthFirstForest<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] entering;
+    private final int[] exiting;
+    private final int[] parent;
+    private final int[] parentEdge;
+    private final int[] preOrder;
+    private final int[] postOrder;
+    private final boolean acyclic;
+
+    /**
+     * Constructs a forest. The arrays are not copied.
+     *
+     * @param graph  the snapshot the search was run on.
+     * @param entering  the discovery time of every node, 0 if not visited.
+     * @param exiting  the finish time of every node, 0 if not visited.
+     * @param parent  the parent of every node, -1 for roots and for the nodes
+     *        not visited.
+     * @param parentEdge  the edge from the parent of every node, -1 for roots
+     *        and for the nodes not visited.
+     * @param preOrder  the visited nodes in order of discovery.
+     * @param postOrder  the visited nodes in order of finish.
+     * @param acyclic  true if the search found no back edge.
+     * @throws NullPointerException if the snapshot or one of the arrays is
+     *         null.
+     * @throws IllegalArgumentException if the arrays have inconsistent
+     *         lengths.
+     */
+    public DepthFirstForest(CompressedSparseRowGraph<L> graph, int[] entering,
+            int[] exiting, int[] parent, int[] parentEdge, int[] preOrder,
+            int[] postOrder, boolean acyclic) {
+        if (graph == null || entering == null || exiting == null
+            || parent == null || parentEdge == null || preOrder == null
+            || postOrder == null)
+            throw new NullPointerException();
+
+        int n = graph.nodeCount();
+
+        if (entering.length != n || exiting.length != n || parent.length != n
+            || parentEdge.length != n || preOrder.length > n
+            || postOrder.length != preOrder.length)
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.entering = entering;
+        this.exiting = exiting;
+        this.parent = parent;
+        this.parentEdge = parentEdge;
+        this.preOrder = preOrder;
+        this.postOrder = postOrder;
+        this.acyclic = acyclic;
+    }
+
+    /**
+     * Returns the snapshot the search was run on.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes of the graph.
+     */
+    public int nodeCount() {
+        return this.entering.length;
+    }
+
+    /**
+     * Returns the number of visited nodes.
+     *
+     * @return the number of nodes of the forest.
+     */
+    public int visitedCount() {
+        return this.preOrder.length;
+    }
+
+    /**
+     * Determines whether a node was visited.
+     *
+     * @param v  the index of the node.
+     * @return true if v belongs to the forest.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public boolean isVisited(int v) {
+        return this.entering[v] != 0;
+    }
+
+    /**
+     * Returns the discovery time of a node.
+     *
+     * @param v  the index of the node.
+     * @return the discovery time of v, 0 if v was not visited.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getEnteringTime(int v) {
+        return this.entering[v];
+    }
+
+    /**
+     * Returns the finish time of a node.
+     *
+     * @param v  the index of the node.
+     * @return the finish time of v, 0 if v was not visited.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getExitingTime(int v) {
+        return this.exiting[v];
+    }
+
+    /**
+     * Returns the parent of a node in the forest.
+     *
+     * @param v  the index of the node.
+     * @return the parent of v, -1 if v is a root or was not visited.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getParent(int v) {
+        return this.parent[v];
+    }
+
+    /**
+     * Returns the edge of the snapshot along which a node was discovered.
+     *
+     * @param v  the index of the node.
+     * @return the index of the edge from the parent of v, -1 if v is a root
+     *         or was not visited.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getParentEdge(int v) {
+        return this.parentEdge[v];
+    }
+
+    /**
+     * Determines whether a node is an ancestor of another one in the forest,
+     * by comparing their times.
+     *
+     * @param u  the index of the first node.
+     * @param v  the index of the second node.
+     * @return true if u is an ancestor of v or is v itself.
+     * @throws IndexOutOfBoundsException if u or v is not a node.
+     */
+    public boolean isAncestor(int u, int v) {
+        return this.entering[u] != 0 && this.entering[u] <= this.entering[v]
+            && this.exiting[v] <= this.exiting[u];
+    }
+
+    /**
+     * Returns the visited nodes in order of discovery. The array is the
+     * internal one and must not be modified.
+     *
+     * @return the pre-order of the forest.
+     */
+    public int[] getPreOrder() {
+        return this.preOrder;
+    }
+
+    /**
+     * Returns the visited nodes in order of finish. The array is the internal
+     * one and must not be modified.
+     *
+     * @return the post-order of the forest.
+     */
+    public int[] getPostOrder() {
+        return this.postOrder;
+    }
+
+    /**
+     * Determines whether the search found no cycle, that is no back edge.
+     *
+     * @return true if the visited part of the graph is acyclic.
+     */
+    public boolean isAcyclic() {
+        return this.acyclic;
+    }
+
+    /**
+     * Returns a topological order of the visited nodes of a directed acyclic
+     * graph: the reverse of the post-order.
+     *
+     * @return the visited nodes, every one before its successors.
+     * @throws IllegalStateException if the graph is undirected or the search
+     *         found a cycle.
+     */
+    public int[] getTopologicalOrder() {
+        if (!this.graph.isDirected() || !this.acyclic)
+            throw new IllegalStateException();
+
+        int count = this.postOrder.length;
+        int[] order = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            order[i] = this.postOrder[count - 1 - i];
+        }
+
+        return order;
+    }
+
+    /**
+     * Returns the discovery time of a node.
+     *
+     * @param v  the node.
+     * @return the discovery time of v, 0 if v was not visited.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     */
+    public int getEnteringTime(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+
+        return this.entering[this.graph.getIndexOf(v)];
+    }
+
+    /**
+     * Returns the finish time of a node.
+     *
+     * @param v  the node.
+     * @return the finish time of v, 0 if v was not visited.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     */
+    public int getExitingTime(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+
+        return this.exiting[this.graph.getIndexOf(v)];
+    }
+
+    /**
+     * Copies the forest into the nodes of the graph, as a recursive search on
+     * them would have left it: every visited node becomes black with its times
+     * and its parent as previous pointer, every other node white with null
+     * previous pointer and zero times.
+     *
+     * @throws UnsupportedOperationException if the snapshot was built from an
+     *         edge list.
+     */
+    public void copyToNodes() {
+        int n = this.entering.length;
+
+        if (n > 0 && this.graph.getNode(0) == null)
+            throw new UnsupportedOperationException();
+
+        for (int v = 0; v < n; v++) {
+            GraphNode<L> node = this.graph.getNode(v);
+
+            node.setColor(this.entering[v] != 0 ? GraphNode.COLOR_BLACK
+                                                : GraphNode.COLOR_WHITE);
+            node.setEnteringTime(this.entering[v]);
+            node.setExitingTime(this.exiting[v]);
+            node.setPrevious(this.parent[v] >= 0
+                ? this.graph.getNode(this.parent[v]) : null);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * A class that implements depth-first search without recursion, so that the
+ * depth of the search is not limited by the size of the call stack: a path of
+ * millions of nodes is explored as easily as a shallow graph.
+ *
+ * The search keeps the nodes on the current path in an explicit stack of
+ * {@code int} and, for every node, a cursor to the next slot of its adjacency
+ * in the snapshot; a node is finished when its cursor reaches the end of its
+ * adjacency. Discovery and finish times follow the convention of
+ * {@code GraphNode}, a single clock that advances at every discovery and at
+ * every finish, and are recorded in a {@code DepthFirstForest<L>} together
+ * with the parents, the pre-order and the post-order of the nodes; the nodes
+ * of the graph are left untouched unless the forest is explicitly copied into
+ * them.
+ *
+ * A {@code DepthFirstVisitor} can follow the search: it is notified when a
+ * node is entered and exited and when an edge is explored, with its type.
+ * Bridges, articulation points, strongly connected components and topological
+ * orders are all computed on top of these events.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class DepthFirstSearch<L> {
+
+    /**
+     * The type of an edge with respect to a depth-first forest.
+     */
+    public enum EdgeType {
+        /**
+         * An edge along which a node is discovered.
+         */
+        TREE,
+        /**
+         * An edge to an ancestor still on the current path, loops included.
+         */
+        BACK,
+        /**
+         * An edge of a directed graph to a descendant already finished.
+         */
+        FORWARD,
+        /**
+         * An edge of a directed graph to a node in another subtree, already
+         * finished.
+         */
+        CROSS
+    }
+
+    /**
+     * Computes the depth-first forest of a graph. Trees are rooted at the
+     * nodes not yet discovered, in the order of their index in the snapshot.
+     *
+     * @param g  the graph.
+     * @return the depth-first forest, whose snapshot identifies the nodes of
+     *         the graph.
+     * @throws NullPointerException if the graph is null.
+     */
+    public DepthFirstForest<L> computeDFS(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        return this.computeDFS(new CompressedSparseRowGraph<L>(g), null);
+    }
+
+    /**
+     * Computes the depth-first forest of a snapshot of a graph. Trees are
+     * rooted at the nodes not yet discovered, in index order.
+     *
+     * @param g  the snapshot.
+     * @param visitor  the visitor notified of the events of the search, or
+     *        null.
+     * @return the depth-first forest.
+     * @throws NullPointerException if the snapshot is null.
+     */
+    public DepthFirstForest<L> computeDFS(CompressedSparseRowGraph<L> g,
+            DepthFirstVisitor visitor) {
+        if (g == null) throw new NullPointerException();
+
+        Search search = new Search(g, visitor);
+
+        for (int root = 0; root < g.nodeCount(); root++) {
+            if (search.entering[root] == 0) search.explore(root);
+        }
+
+        return search.toForest(g);
+    }
+
+    /**
+     * Computes the depth-first tree of the nodes reachable from a source node
+     * of a snapshot of a graph.
+     *
+     * @param g  the snapshot.
+     * @param source  the index of the source node.
+     * @param visitor  the visitor notified of the events of the search, or
+     *        null.
+     * @return the depth-first forest, made of a single tree.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the source is not a node.
+     */
+    public DepthFirstForest<L> computeDFS(CompressedSparseRowGraph<L> g,
+            int source, DepthFirstVisitor visitor) {
+        if (g == null) throw new NullPointerException();
+        if (source < 0 || source >= g.nodeCount())
+            throw new IllegalArgumentException();
+
+        Search search = new Search(g, visitor);
+
+        search.explore(source);
+
+        return search.toForest(g);
+    }
+
+    /*
+     * The state of a search: times, parents, orders and the explicit stack of
+     * the nodes on the current path with their adjacency cursors.
+     */
+    private static final class Search {
+
+        private final boolean directed;
+        private final int[] offsets;
+        private final int[] adjacency;
+        private final int[] edges;
+        private final DepthFirstVisitor visitor;
+        private final int[] entering;
+        private final int[] exiting;
+        private final int[] parent;
+        private final int[] parentEdge;
+        private final int[] cursor;
+        private final int[] stack;
+        private final int[] preOrder;
+        private final int[] postOrder;
+        private int time;
+        private int discovered;
+        private int finished;
+        private boolean acyclic;
+
+        private Search(CompressedSparseRowGraph<?> g,
+                DepthFirstVisitor visitor) {
+            int n = g.nodeCount();
+
+            this.directed = g.isDirected();
+            this.offsets = g.getOffsets();
+            this.adjacency = g.getAdjacency();
+            this.edges = g.getAdjacencyEdges();
+            this.visitor = visitor;
+            this.entering = new int[n];
+            this.exiting = new int[n];
+            this.parent = new int[n];
+            this.parentEdge = new int[n];
+            this.cursor = new int[n];
+            this.stack = new int[n];
+            this.preOrder = new int[n];
+            this.postOrder = new int[n];
+            this.acyclic = true;
+        }
+
+        /**
+         * Explores the tree rooted at a node not yet discovered.
+         *
+         * @param root  the root.
+         */
+        private void explore(int root) {
+            int top = 0;
+
+            this.discover(root, -1, -1);
+            this.stack[top++] = root;
+
+            while (top > 0) {
+                int u = this.stack[top - 1];
+
+                if (this.cursor[u] == this.offsets[u + 1]) {
+                    top--;
+                    this.exiting[u] = ++this.time;
+                    this.postOrder[this.finished++] = u;
+
+                    if (this.visitor != null)
+                        this.visitor.exitNode(u, this.parent[u]);
+
+                    continue;
+                }
+
+                int k = this.cursor[u]++;
+                int v = this.adjacency[k];
+                int e = this.edges[k];
+                EdgeType type;
+
+                if (this.entering[v] == 0) {
+                    type = EdgeType.TREE;
+                }
+                else if (!this.directed) {
+                    // The edge to the parent, and the second sighting of a
+                    // back edge from its ancestor, have already been reported.
+                    if (e == this.parentEdge[u] || this.exiting[v] != 0)
+                        continue;
+
+                    type = EdgeType.BACK;
+                }
+                else if (this.exiting[v] == 0) {
+                    type = EdgeType.BACK;
+                }
+                else if (this.entering[u] < this.entering[v]) {
+                    type = EdgeType.FORWARD;
+                }
+                else {
+                    type = EdgeType.CROSS;
+                }
+
+                if (type == EdgeType.BACK) this.acyclic = false;
+                if (this.visitor != null) this.visitor.visitEdge(u, v, e, type);
+
+                if (type == EdgeType.TREE) {
+                    this.discover(v, u, e);
+                    this.stack[top++] = v;
+                }
+            }
+        }
+
+        /**
+         * Discovers a node.
+         *
+         * @param v  the node.
+         * @param p  its parent, -1 for a root.
+         * @param e  the edge from the parent, -1 for a root.
+         */
+        private void discover(int v, int p, int e) {
+            this.entering[v] = ++this.time;
+            this.parent[v] = p;
+            this.parentEdge[v] = e;
+            this.cursor[v] = this.offsets[v];
+            this.preOrder[this.discovered++] = v;
+
+            if (this.visitor != null) this.visitor.enterNode(v, p);
+        }
+
+        /**
+         * Returns the forest built by the search.
+         *
+         * @param <L>  type of the labels of the graph nodes.
+         * @param g  the snapshot.
+         * @return the depth-first forest.
+         */
+        private <L> DepthFirstForest<L> toForest(
+                CompressedSparseRowGraph<L> g) {
+            for (int v = 0; v < this.entering.length; v++) {
+                if (this.entering[v] == 0) {
+                    this.parent[v] = -1;
+                    this.parentEdge[v] = -1;
+                }
+            }
+
+            return new DepthFirstForest<L>(
+                g, this.entering, this.exiting, this.parent, this.parentEdge,
+                Arrays.copyOf(this.preOrder, this.discovered),
+                Arrays.copyOf(this.postOrder, this.finished), this.acyclic);
+        }
+    }
+}
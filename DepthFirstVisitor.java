@@ -0,0 +1,46 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * The callbacks of a depth-first search run by {@code DepthFirstSearch<L>}.
+ * Nodes and edges are identified by their index in the snapshot of the graph;
+ * every method does nothing by default, so a visitor only overrides the events
+ * it is interested in.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public interface DepthFirstVisitor {
+
+    /**
+     * Called when a node is discovered, in pre-order.
+     *
+     * @param v  the index of the node.
+     * @param parent  the index of the node from which v was discovered, -1 if
+     *        v is the root of a tree of the forest.
+     */
+    default void enterNode(int v, int parent) {
+    }
+
+    /**
+     * Called when every edge leaving a node has been explored, in post-order.
+     *
+     * @param v  the index of the node.
+     * @param parent  the index of the node from which v was discovered, -1 if
+     *        v is the root of a tree of the forest.
+     */
+    default void exitNode(int v, int parent) {
+    }
+
+    /**
+     * Called when an edge is explored, before the search descends along it if
+     * it is a tree edge. In an undirected graph every edge is reported once,
+     * as a tree edge or as a back edge.
+     *
+     * @param u  the index of the node the edge is explored from.
+     * @param v  the index of the other node of the edge.
+     * @param edge  the index of the edge in the snapshot.
+     * @param type  the type of the edge.
+     */
+    default void visitEdge(int u, int v, int edge,
+            DepthFirstSearch.EdgeType type) {
+    }
+}
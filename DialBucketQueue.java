@@ -0,0 +1,162 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone min-priority queue of the integers {@code 0 .. capacity - 1} with
+ * integral priorities, implemented with Dial's circular array of buckets.
+ *
+ * The queue relies on the property of Dijkstra's algorithm with integral
+ * weights at most {@code C}: every priority in the queue lies between the
+ * last extracted priority and that priority plus {@code C}. Hence
+ * {@code C + 1} buckets used circularly are enough, bucket
+ * {@code p mod (C + 1)} holding the items with priority {@code p}. Every
+ * bucket is a doubly linked list stored in primitive arrays, so insertion
+ * and priority decrease take constant time; extraction scans the buckets
+ * forward from the last minimum, which over a whole run of Dijkstra's
+ * algorithm costs O(n C).
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+final class DialBucketQueue implements IntMinPriorityQueue {
+
+    private final int[] head;
+    private final int[] next;
+    private final int[] previous;
+    private final long[] key;
+    private final boolean[] present;
+    private long current;
+    private int size;
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param capacity  the number of items.
+     * @param maximumWeight  the largest difference between a priority in the
+     *        queue and the last extracted priority.
+     * @throws IllegalArgumentException if the capacity or the maximum weight
+     *         is negative, or the maximum weight is too large.
+     */
+    DialBucketQueue(int capacity, int maximumWeight) {
+        if (capacity < 0 || maximumWeight < 0
+            || maximumWeight == Integer.MAX_VALUE)
+            throw new IllegalArgumentException();
+
+        this.head = new int[maximumWeight + 1];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.key = new long[capacity];
+        this.present = new boolean[capacity];
+        Arrays.fill(this.head, -1);
+    }
+
+    @Override
+    public void insert(int item, double priority) {
+        if (this.present[item]) throw new IllegalArgumentException();
+
+        if (this.size == 0 && (long) priority < this.current)
+            this.current = (long) priority;
+
+        this.key[item] = (long) priority;
+        this.present[item] = true;
+        this.link(item);
+        this.size++;
+    }
+
+    @Override
+    public void decreasePriority(int item, double priority) {
+        if (!this.present[item] || (long) priority > this.key[item])
+            throw new IllegalArgumentException();
+
+        this.unlink(item);
+        this.key[item] = (long) priority;
+        this.link(item);
+    }
+
+    @Override
+    public int extractMinimum() {
+        if (this.size == 0) throw new NoSuchElementException();
+
+        int bucket = this.bucketOf(this.current);
+
+        while (this.head[bucket] < 0) {
+            this.current++;
+            bucket = bucket + 1 == this.head.length ? 0 : bucket + 1;
+        }
+
+        int item = this.head[bucket];
+
+        this.unlink(item);
+        this.present[item] = false;
+        this.size--;
+
+        return item;
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return this.present[item];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int b = 0; b < this.head.length; b++) {
+            for (int x = this.head[b]; x >= 0; x = this.next[x]) {
+                this.present[x] = false;
+            }
+
+            this.head[b] = -1;
+        }
+
+        this.current = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the bucket of a priority.
+     *
+     * @param priority  the priority.
+     * @return the bucket holding the items with that priority.
+     */
+    private int bucketOf(long priority) {
+        return (int) (priority % this.head.length);
+    }
+
+    /**
+     * Adds an item to the front of the bucket of its priority.
+     *
+     * @param item  the item.
+     */
+    private void link(int item) {
+        int bucket = this.bucketOf(this.key[item]);
+        int first = this.head[bucket];
+
+        this.next[item] = first;
+        this.previous[item] = -1;
+
+        if (first >= 0) this.previous[first] = item;
+
+        this.head[bucket] = item;
+    }
+
+    /**
+     * Removes an item from its bucket.
+     *
+     * @param item  the item.
+     */
+    private void unlink(int item) {
+        int before = this.previous[item];
+        int after = this.next[item];
+
+        if (before >= 0) this.next[before] = after;
+        else this.head[this.bucketOf(this.key[item])] = after;
+
+        if (after >= 0) this.previous[after] = before;
+    }
+}
@@ -0,0 +1,408 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A singleton class that implements Dijkstra's algorithm for finding the
+ * shortest paths from a source node in a weighted graph with nonnegative
+ * weights, directed or undirected.
+ * 
+ * The results can be written in two ways. The methods that take a
+ * {@code Graph<L>} store the distance of every node in its floating-point
+ * distance and its predecessor in the previous pointer, using a
+ * {@code DAryHeapMinPriorityQueue<GraphNode<L>>} whose handles are kept in the
+ * nodes themselves. The methods that take a
+ * {@code CompressedSparseRowGraph<L>} leave the graph untouched and return a
+ * {@code ShortestPathTree<L>} stored in primitive arrays, using an
+ * {@code IntDAryHeapMinPriorityQueue} that is kept between calls on graphs of
+ * the same size.
+ * 
+ * When every weight of a snapshot is an integer, the tree is computed with a
+ * monotone integer queue instead of the heap: Dial's circular buckets, in
+ * O(m + n C) time, when the largest weight {@code C} is at most
+ * {@code DIAL_MAXIMUM_WEIGHT}, and a radix heap, in O(m + n log C) time,
+ * otherwise. Distances are still reported as doubles, which represent them
+ * exactly.
+ * 
+ * Every method can stop as soon as a target node is settled, since its
+ * distance cannot change afterwards. For dense graphs stored in an adjacency
+ * matrix, {@code computeDenseShortestPaths} implements the array version of
+ * the algorithm, which takes O(n^2) time without any priority queue.
+ * 
+ * @param <L>  type of the labels of the graph nodes.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ */
+public class DijkstraSSSP<L> {
+
+    /**
+     * The largest integral weight for which Dial's buckets are used.
+     */
+    public static final int DIAL_MAXIMUM_WEIGHT = 1024;
+
+    /*
+     * Integral distances are only handled by the integer queues while they
+     * are exactly representable as doubles.
+     */
+    private static final double MAXIMUM_INTEGRAL_DISTANCE = 0x1p53;
+
+    private IntDAryHeapMinPriorityQueue queue;
+
+    /**
+     * Build a shortest paths calculator using Dijkstra's algorithm.
+     */
+    public DijkstraSSSP() {
+        this.queue = new IntDAryHeapMinPriorityQueue(0);
+    }
+
+    /**
+     * Computes the shortest paths from a source node to every node of a graph.
+     * At the end, the floating-point distance of every node is its distance
+     * from the source ({@code Double.POSITIVE_INFINITY} if it is not
+     * reachable) and its previous pointer is its predecessor on a shortest
+     * path (null for the source and for the nodes that are not reachable).
+     * 
+     * @param g  a weighted graph with nonnegative weights.
+     * @param source  the source node.
+     * @throws NullPointerException if the graph or the source is null.
+     * @throws IllegalArgumentException if the source does not belong to the
+     *         graph, or the graph is unweighted or has negative weights.
+     */
+    public void computeShortestPaths(Graph<L> g, GraphNode<L> source) {
+        this.computeShortestPaths(g, source, null);
+    }
+
+    /**
+     * Computes the shortest paths from a source node, stopping as soon as the
+     * distance of a target node is known. At the end, the floating-point
+     * distance and the previous pointer of the nodes settled before the target
+     * (the target included) are as in {@code computeShortestPaths(Graph,
+     * GraphNode)}; every other node is left with distance
+     * {@code Double.POSITIVE_INFINITY} and no predecessor.
+     * 
+     * @param g  a weighted graph with nonnegative weights.
+     * @param source  the source node.
+     * @param target  the target node, null to compute every distance.
+     * @throws NullPointerException if the graph or the source is null.
+     * @throws IllegalArgumentException if the source or the target does not
+     *         belong to the graph, or the graph is unweighted or has negative
+     *         weights.
+     */
+    public void computeShortestPaths(Graph<L> g, GraphNode<L> source,
+            GraphNode<L> target) {
+        if (g == null || source == null) throw new NullPointerException();
+        if (!g.containsNode(source)) throw new IllegalArgumentException();
+        if (target != null && !g.containsNode(target))
+            throw new IllegalArgumentException();
+
+        for (GraphEdge<L> edge : g.getEdges()) {
+            if (!edge.hasWeight() || edge.getWeight() < 0)
+                throw new IllegalArgumentException();
+        }
+
+        for (GraphNode<L> node : g.getNodes()) {
+            node.setColor(GraphNode.COLOR_WHITE);
+            node.setFloatingPointDistance(Double.POSITIVE_INFINITY);
+            node.setPrevious(null);
+        }
+
+        DAryHeapMinPriorityQueue<GraphNode<L>> q =
+            new DAryHeapMinPriorityQueue<GraphNode<L>>();
+
+        source.setColor(GraphNode.COLOR_GREY);
+        source.setFloatingPointDistance(0);
+        q.insert(source);
+
+        while (!q.isEmpty()) {
+            GraphNode<L> u = q.extractMinimum();
+            u.setColor(GraphNode.COLOR_BLACK);
+
+            if (u.equals(target)) break;
+
+            for (GraphEdge<L> edge : g.getEdgesOf(u)) {
+                GraphNode<L> v = edge.getNode1().equals(u) ? edge.getNode2()
+                                                           : edge.getNode1();
+                double d = u.getFloatingPointDistance() + edge.getWeight();
+
+                if (v.getColor() == GraphNode.COLOR_WHITE) {
+                    v.setColor(GraphNode.COLOR_GREY);
+                    v.setFloatingPointDistance(d);
+                    v.setPrevious(u);
+                    q.insert(v);
+                }
+                else if (v.getColor() == GraphNode.COLOR_GREY
+                         && d < v.getFloatingPointDistance()) {
+                    v.setPrevious(u);
+                    q.decreasePriority(v, d);
+                }
+            }
+        }
+
+        if (target == null) return;
+
+        for (GraphNode<L> node : g.getNodes()) {
+            if (node.getColor() == GraphNode.COLOR_GREY) {
+                node.setFloatingPointDistance(Double.POSITIVE_INFINITY);
+                node.setPrevious(null);
+            }
+        }
+    }
+
+    /**
+     * Computes the shortest paths from a source node to every node of a graph
+     * stored in an adjacency matrix, with the array version of Dijkstra's
+     * algorithm: at every step the closest node not yet settled is found by
+     * scanning an array of distances, and its row of the matrix is relaxed.
+     * Both steps take O(n) time, so the whole computation takes O(n^2) time,
+     * which beats a priority queue when the graph has Θ(n^2) edges. The
+     * results are written in the nodes as in
+     * {@code computeShortestPaths(Graph, GraphNode, GraphNode)}.
+     * 
+     * @param g  a weighted graph with nonnegative weights.
+     * @param source  the source node.
+     * @param target  the target node, null to compute every distance.
+     * @throws NullPointerException if the graph or the source is null.
+     * @throws IllegalArgumentException if the source or the target does not
+     *         belong to the graph, or the graph is unweighted or has negative
+     *         weights.
+     */
+    public void computeDenseShortestPaths(AdjacencyMatrixUndirectedGraph<L> g,
+            GraphNode<L> source, GraphNode<L> target) {
+        if (g == null || source == null) throw new NullPointerException();
+        if (!g.containsNode(source)) throw new IllegalArgumentException();
+        if (target != null && !g.containsNode(target))
+            throw new IllegalArgumentException();
+
+        int n = g.nodeCount();
+        ArrayList<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(n);
+        double[] distance = new double[n];
+        int[] predecessor = new int[n];
+        boolean[] settled = new boolean[n];
+
+        for (int i = 0; i < n; i++) {
+            nodes.add(null);
+        }
+
+        for (Map.Entry<GraphNode<L>, Integer> entry : g.nodesIndex.entrySet())
+            nodes.set(entry.getValue(), entry.getKey());
+
+        for (ArrayList<GraphEdge<L>> row : g.matrix) {
+            for (GraphEdge<L> edge : row) {
+                if (edge != null && (!edge.hasWeight() || edge.getWeight() < 0))
+                    throw new IllegalArgumentException();
+            }
+        }
+
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessor, -1);
+
+        int s = g.nodesIndex.get(source);
+        int t = target == null ? -1 : g.nodesIndex.get(target);
+
+        distance[s] = 0;
+
+        while (true) {
+            int u = -1;
+
+            for (int i = 0; i < n; i++) {
+                if (!settled[i] && distance[i] != Double.POSITIVE_INFINITY
+                    && (u < 0 || distance[i] < distance[u]))
+                    u = i;
+            }
+
+            if (u < 0) break;
+
+            settled[u] = true;
+
+            if (u == t) break;
+
+            ArrayList<GraphEdge<L>> row = g.matrix.get(u);
+
+            for (int v = 0; v < n; v++) {
+                GraphEdge<L> edge = row.get(v);
+
+                if (edge == null || settled[v]) continue;
+
+                double d = distance[u] + edge.getWeight();
+
+                if (d < distance[v]) {
+                    distance[v] = d;
+                    predecessor[v] = u;
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            GraphNode<L> node = nodes.get(i);
+            int p = predecessor[i];
+
+            if (settled[i]) {
+                node.setColor(GraphNode.COLOR_BLACK);
+                node.setFloatingPointDistance(distance[i]);
+                node.setPrevious(p < 0 ? null : nodes.get(p));
+            }
+            else {
+                node.setColor(GraphNode.COLOR_WHITE);
+                node.setFloatingPointDistance(Double.POSITIVE_INFINITY);
+                node.setPrevious(null);
+            }
+        }
+    }
+
+    /**
+     * Computes the shortest-path tree of a graph rooted at a source node,
+     * without modifying the nodes of the graph.
+     * 
+     * @param g  a weighted graph with nonnegative weights.
+     * @param source  the source node.
+     * @return the shortest-path tree rooted at the source.
+     * @throws NullPointerException if the graph or the source is null.
+     * @throws IllegalArgumentException if the source does not belong to the
+     *         graph, or the graph is unweighted or has negative weights.
+     */
+    public ShortestPathTree<L> computeShortestPathTree(Graph<L> g,
+            GraphNode<L> source) {
+        if (g == null || source == null) throw new NullPointerException();
+
+        CompressedSparseRowGraph<L> snapshot =
+            new CompressedSparseRowGraph<L>(g);
+
+        return this.computeShortestPathTree(snapshot,
+                                            snapshot.getIndexOf(source), -1);
+    }
+
+    /**
+     * Computes the shortest-path tree of a snapshot rooted at a source node.
+     * 
+     * @param g  a snapshot with nonnegative weights.
+     * @param source  the index of the source node.
+     * @return the shortest-path tree rooted at the source.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the source is not a node of the
+     *         snapshot, or the snapshot is unweighted or has negative weights.
+     */
+    public ShortestPathTree<L> computeShortestPathTree(
+            CompressedSparseRowGraph<L> g, int source) {
+        return this.computeShortestPathTree(g, source, -1);
+    }
+
+    /**
+     * Computes the shortest-path tree of a snapshot rooted at a source node,
+     * stopping as soon as the distance of a target node is known. Only the
+     * nodes settled before the target (the target included) belong to the
+     * resulting tree.
+     * 
+     * @param g  a snapshot with nonnegative weights.
+     * @param source  the index of the source node.
+     * @param target  the index of the target node, -1 to compute every
+     *        distance.
+     * @return the shortest-path tree rooted at the source.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the source or the target is not a
+     *         node of the snapshot, or the snapshot is unweighted or has
+     *         negative weights.
+     */
+    public ShortestPathTree<L> computeShortestPathTree(
+            CompressedSparseRowGraph<L> g, int source, int target) {
+        if (g == null) throw new NullPointerException();
+
+        int n = g.nodeCount();
+
+        if (source < 0 || source >= n || target < -1 || target >= n)
+            throw new IllegalArgumentException();
+
+        IntMinPriorityQueue q = this.selectQueue(g);
+        int[] offsets = g.getOffsets();
+        int[] adjacency = g.getAdjacency();
+        double[] weights = g.getAdjacencyWeights();
+        int[] edges = g.getAdjacencyEdges();
+        double[] distance = new double[n];
+        int[] predecessor = new int[n];
+        int[] predecessorEdge = new int[n];
+        boolean[] settled = new boolean[n];
+
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessor, -1);
+        Arrays.fill(predecessorEdge, -1);
+
+        distance[source] = 0;
+        q.insert(source, 0);
+
+        while (!q.isEmpty()) {
+            int u = q.extractMinimum();
+            settled[u] = true;
+
+            if (u == target) break;
+
+            double du = distance[u];
+
+            for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                int v = adjacency[k];
+                double d = du + weights[k];
+
+                if (settled[v] || d >= distance[v]) continue;
+
+                if (q.contains(v)) q.decreasePriority(v, d);
+                else q.insert(v, d);
+
+                distance[v] = d;
+                predecessor[v] = u;
+                predecessorEdge[v] = edges[k];
+            }
+        }
+
+        if (!q.isEmpty()) {
+            for (int v = 0; v < n; v++) {
+                if (!settled[v]) {
+                    distance[v] = Double.POSITIVE_INFINITY;
+                    predecessor[v] = -1;
+                    predecessorEdge[v] = -1;
+                }
+            }
+
+            q.clear();
+        }
+
+        return new ShortestPathTree<L>(g, source, distance, predecessor,
+                                       predecessorEdge);
+    }
+
+    /**
+     * Validates the weights of a snapshot and chooses the queue for
+     * Dijkstra's algorithm: a bucket queue if every weight is an integer and
+     * no distance can exceed the integers represented exactly by a double,
+     * the d-ary heap otherwise.
+     * 
+     * @param g  the snapshot.
+     * @return an empty queue for the nodes of the snapshot.
+     * @throws IllegalArgumentException if a weight is negative or NaN.
+     */
+    private IntMinPriorityQueue selectQueue(CompressedSparseRowGraph<L> g) {
+        int n = g.nodeCount();
+        boolean integral = true;
+        double maximum = 0;
+
+        for (double weight : g.getEdgeWeights()) {
+            if (!(weight >= 0)) throw new IllegalArgumentException();
+
+            integral = integral && weight == Math.rint(weight);
+            maximum = Math.max(maximum, weight);
+        }
+
+        if (integral && maximum * n < MAXIMUM_INTEGRAL_DISTANCE) {
+            if (maximum <= DIAL_MAXIMUM_WEIGHT)
+                return new DialBucketQueue(n, (int) maximum);
+
+            return new RadixHeap(n);
+        }
+
+        if (this.queue.capacity() != n)
+            this.queue = new IntDAryHeapMinPriorityQueue(n);
+
+        this.queue.clear();
+
+        return this.queue;
+    }
+}
@@ -0,0 +1,441 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * A class that implements the direction-optimizing breadth-first search of
+ * Beamer, Asanović and Patterson. Every step of an ordinary (top-down) search
+ * scans the edges leaving the frontier; a bottom-up step, instead, scans the
+ * nodes not yet visited and stops at the first neighbour of each found in the
+ * frontier. On graphs of small diameter the frontier soon covers a large part
+ * of the graph, and from then on bottom-up steps check far fewer edges.
+ *
+ * The search starts top-down and switches to bottom-up when the number of
+ * edges leaving the frontier, {@code m_f}, exceeds {@code m_u / alpha}, where
+ * {@code m_u} is the number of edges leaving the nodes not yet visited; it
+ * switches back to top-down when the frontier is shrinking and has fewer than
+ * {@code n / beta} nodes. The frontiers and the set of visited nodes are
+ * bitsets over the node indices, stored in arrays of {@code long}; levels and
+ * parents are written to arrays of {@code int} and returned in a
+ * {@code BreadthFirstTree<L>}, leaving the nodes of the graph untouched.
+ *
+ * The search runs either on a snapshot of the graph, whose bottom-up steps
+ * scan the incoming edges of the unvisited nodes (kept in a reversed snapshot
+ * if the graph is directed), or on an adjacency {@code BitMatrix}, whose steps
+ * intersect whole rows with the frontier 64 nodes at a time.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class DirectionOptimizingBFS<L> {
+
+    /**
+     * The default value of the parameter that controls the switch to
+     * bottom-up steps.
+     */
+    public static final int DEFAULT_ALPHA = 14;
+
+    /**
+     * The default value of the parameter that controls the switch back to
+     * top-down steps.
+     */
+    public static final int DEFAULT_BETA = 24;
+
+    private final int alpha;
+    private final int beta;
+
+    /**
+     * Builds a search with the default parameters.
+     */
+    public DirectionOptimizingBFS() {
+        this(DEFAULT_ALPHA, DEFAULT_BETA);
+    }
+
+    /**
+     * Builds a search with given parameters.
+     *
+     * @param alpha  the search switches to bottom-up steps when the edges
+     *        leaving the frontier are more than the edges leaving the
+     *        unvisited nodes divided by alpha.
+     * @param beta  the search switches back to top-down steps when the nodes
+     *        of the frontier are fewer than the nodes of the graph divided by
+     *        beta.
+     * @throws IllegalArgumentException if alpha or beta is not positive.
+     */
+    public DirectionOptimizingBFS(int alpha, int beta) {
+        if (alpha <= 0 || beta <= 0) throw new IllegalArgumentException();
+
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Computes the breadth-first search tree of a graph from a source node.
+     *
+     * @param g  the graph.
+     * @param source  the source node.
+     * @return the breadth-first search tree, whose snapshot identifies the
+     *         nodes of the graph.
+     * @throws NullPointerException if the graph or the source is null.
+     * @throws IllegalArgumentException if the source does not belong to the
+     *         graph.
+     */
+    public BreadthFirstTree<L> computeBFS(Graph<L> g, GraphNode<L> source) {
+        if (g == null || source == null) throw new NullPointerException();
+
+        CompressedSparseRowGraph<L> csr = new CompressedSparseRowGraph<L>(g);
+
+        return this.computeBFS(csr, csr.getIndexOf(source));
+    }
+
+    /**
+     * Computes the breadth-first search tree of a snapshot of a graph from a
+     * source node.
+     *
+     * @param g  the snapshot.
+     * @param source  the index of the source node.
+     * @return the breadth-first search tree.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the source is not a node.
+     */
+    public BreadthFirstTree<L> computeBFS(CompressedSparseRowGraph<L> g,
+            int source) {
+        if (g == null) throw new NullPointerException();
+
+        int n = g.nodeCount();
+
+        if (source < 0 || source >= n) throw new IllegalArgumentException();
+
+        CompressedSparseRowGraph<L> reverse = g.isDirected()
+            ? new CompressedSparseRowGraph<L>(n, g.getEdgeTargets(),
+                                              g.getEdgeSources(),
+                                              g.getEdgeWeights(), true)
+            : g;
+        int[] offsets = g.getOffsets();
+        int[] degree = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            degree[i] = offsets[i + 1] - offsets[i];
+        }
+
+        Search search = new Search(n, degree, source);
+
+        this.run(search, g, reverse, null, null);
+
+        return search.toTree(g);
+    }
+
+    /**
+     * Computes the breadth-first search tree of an undirected graph, given by
+     * its symmetric adjacency matrix, from a source node.
+     *
+     * @param adjacency  the adjacency matrix.
+     * @param source  the index of the source node.
+     * @return the breadth-first search tree, without a snapshot.
+     * @throws NullPointerException if the matrix is null.
+     * @throws IllegalArgumentException if the source is not a node.
+     */
+    public BreadthFirstTree<L> computeBFS(BitMatrix adjacency, int source) {
+        return this.computeBFS(adjacency, adjacency, source);
+    }
+
+    /**
+     * Computes the breadth-first search tree of a directed graph, given by its
+     * adjacency matrix and by the transpose of it, from a source node.
+     *
+     * @param successors  the adjacency matrix: bit {@code (i, j)} is set if
+     *        there is an edge from i to j.
+     * @param predecessors  the transpose of the adjacency matrix.
+     * @param source  the index of the source node.
+     * @return the breadth-first search tree, without a snapshot.
+     * @throws NullPointerException if a matrix is null.
+     * @throws IllegalArgumentException if the matrices have different sizes
+     *         or the source is not a node.
+     */
+    public BreadthFirstTree<L> computeBFS(BitMatrix successors,
+            BitMatrix predecessors, int source) {
+        if (successors == null || predecessors == null)
+            throw new NullPointerException();
+
+        int n = successors.size();
+
+        if (predecessors.size() != n || source < 0 || source >= n)
+            throw new IllegalArgumentException();
+
+        int[] degree = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            degree[i] = successors.rowCardinality(i);
+        }
+
+        Search search = new Search(n, degree, source);
+
+        this.run(search, null, null, successors, predecessors);
+
+        return search.toTree(null);
+    }
+
+    /**
+     * Runs a search to the end, choosing the direction of every step. Exactly
+     * one of the snapshot and the matrix representations is given.
+     *
+     * @param s  the state of the search.
+     * @param out  the snapshot, or null.
+     * @param in  the reversed snapshot, or null.
+     * @param successors  the adjacency matrix, or null.
+     * @param predecessors  the transposed adjacency matrix, or null.
+     */
+    private void run(Search s, CompressedSparseRowGraph<L> out,
+            CompressedSparseRowGraph<L> in, BitMatrix successors,
+            BitMatrix predecessors) {
+        boolean bottomUp = false;
+        int previousCount = 0;
+
+        while (s.frontierCount > 0) {
+            if (!bottomUp) {
+                bottomUp = s.frontierEdges * this.alpha > s.unexploredEdges;
+            }
+            else {
+                bottomUp = s.frontierCount >= previousCount
+                    || (long) s.frontierCount * this.beta >= s.n;
+            }
+
+            previousCount = s.frontierCount;
+
+            if (bottomUp) {
+                if (in != null) s.bottomUpStep(in);
+                else s.bottomUpStep(predecessors);
+
+                s.bottomUpSteps++;
+            }
+            else {
+                if (out != null) s.topDownStep(out);
+                else s.topDownStep(successors);
+
+                s.topDownSteps++;
+            }
+
+            s.advance();
+        }
+    }
+
+    /*
+     * The state of a search: the bitsets of the current frontier, of the next
+     * one and of the visited nodes, the levels and the parents, and the
+     * counters used to choose the direction of the next step.
+     */
+    private static final class Search {
+
+        private final int n;
+        private final int source;
+        private final int[] degree;
+        private final int[] level;
+        private final int[] parent;
+        private final long[] visited;
+        private long[] frontier;
+        private long[] next;
+        private int depth;
+        private int frontierCount;
+        private long frontierEdges;
+        private long unexploredEdges;
+        private int nextCount;
+        private long nextEdges;
+        private int topDownSteps;
+        private int bottomUpSteps;
+
+        private Search(int n, int[] degree, int source) {
+            int words = (n + 63) >>> 6;
+
+            this.n = n;
+            this.source = source;
+            this.degree = degree;
+            this.level = new int[n];
+            this.parent = new int[n];
+            this.visited = new long[words];
+            this.frontier = new long[words];
+            this.next = new long[words];
+
+            Arrays.fill(this.level, -1);
+            Arrays.fill(this.parent, -1);
+
+            for (int i = 0; i < n; i++) {
+                this.unexploredEdges += degree[i];
+            }
+
+            this.level[source] = 0;
+            this.visited[source >>> 6] |= 1L << source;
+            this.frontier[source >>> 6] |= 1L << source;
+            this.frontierCount = 1;
+            this.frontierEdges = degree[source];
+            this.unexploredEdges -= degree[source];
+        }
+
+        /**
+         * Adds a node to the next frontier.
+         *
+         * @param v  the node, not yet visited.
+         * @param p  its parent, in the current frontier.
+         */
+        private void discover(int v, int p) {
+            this.visited[v >>> 6] |= 1L << v;
+            this.next[v >>> 6] |= 1L << v;
+            this.level[v] = this.depth + 1;
+            this.parent[v] = p;
+            this.nextCount++;
+            this.nextEdges += this.degree[v];
+        }
+
+        /**
+         * Expands the frontier along the outgoing edges of its nodes.
+         *
+         * @param g  the snapshot.
+         */
+        private void topDownStep(CompressedSparseRowGraph<?> g) {
+            int[] offsets = g.getOffsets();
+            int[] adjacency = g.getAdjacency();
+
+            for (int w = 0; w < this.frontier.length; w++) {
+                for (long bits = this.frontier[w]; bits != 0;
+                     bits &= bits - 1) {
+                    int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+
+                    for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                        int v = adjacency[k];
+
+                        if ((this.visited[v >>> 6] & (1L << v)) == 0)
+                            this.discover(v, u);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Looks for a parent in the frontier of every unvisited node, along
+         * its incoming edges.
+         *
+         * @param reverse  the reversed snapshot.
+         */
+        private void bottomUpStep(CompressedSparseRowGraph<?> reverse) {
+            int[] offsets = reverse.getOffsets();
+            int[] adjacency = reverse.getAdjacency();
+
+            for (int w = 0; w < this.visited.length; w++) {
+                for (long bits = this.unvisitedWord(w); bits != 0;
+                     bits &= bits - 1) {
+                    int v = (w << 6) | Long.numberOfTrailingZeros(bits);
+
+                    for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                        int u = adjacency[k];
+
+                        if ((this.frontier[u >>> 6] & (1L << u)) != 0) {
+                            this.discover(v, u);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Expands the frontier along the rows of its nodes, 64 candidates at
+         * a time.
+         *
+         * @param successors  the adjacency matrix.
+         */
+        private void topDownStep(BitMatrix successors) {
+            long[] matrix = successors.getWords();
+            int stride = successors.wordsPerRow();
+
+            for (int w = 0; w < this.frontier.length; w++) {
+                for (long bits = this.frontier[w]; bits != 0;
+                     bits &= bits - 1) {
+                    int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+                    int row = u * stride;
+
+                    for (int x = 0; x < stride; x++) {
+                        for (long found = matrix[row + x] & ~this.visited[x];
+                             found != 0; found &= found - 1) {
+                            this.discover((x << 6)
+                                | Long.numberOfTrailingZeros(found), u);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Looks for a parent in the frontier of every unvisited node by
+         * intersecting its row of predecessors with the frontier.
+         *
+         * @param predecessors  the transposed adjacency matrix.
+         */
+        private void bottomUpStep(BitMatrix predecessors) {
+            long[] matrix = predecessors.getWords();
+            int stride = predecessors.wordsPerRow();
+
+            for (int w = 0; w < this.visited.length; w++) {
+                for (long bits = this.unvisitedWord(w); bits != 0;
+                     bits &= bits - 1) {
+                    int v = (w << 6) | Long.numberOfTrailingZeros(bits);
+                    int row = v * stride;
+
+                    for (int x = 0; x < stride; x++) {
+                        long found = matrix[row + x] & this.frontier[x];
+
+                        if (found != 0) {
+                            this.discover(v, (x << 6)
+                                | Long.numberOfTrailingZeros(found));
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns a word of the set of unvisited nodes.
+         *
+         * @param w  the index of the word.
+         * @return the unvisited nodes among those of word w.
+         */
+        private long unvisitedWord(int w) {
+            long bits = ~this.visited[w];
+            int tail = this.n - (w << 6);
+
+            return tail < 64 ? bits & ((1L << tail) - 1) : bits;
+        }
+
+        /**
+         * Makes the next frontier the current one.
+         */
+        private void advance() {
+            long[] temp = this.frontier;
+
+            this.frontier = this.next;
+            this.next = temp;
+            Arrays.fill(this.next, 0L);
+            this.depth++;
+            this.frontierCount = this.nextCount;
+            this.frontierEdges = this.nextEdges;
+            this.unexploredEdges -= this.nextEdges;
+            this.nextCount = 0;
+            this.nextEdges = 0;
+        }
+
+        /**
+         * Returns the tree built by the search.
+         *
+         * @param <L>  type of the labels of the graph nodes.
+         * @param g  the snapshot, or null.
+         * @return the breadth-first search tree.
+         */
+        private <L> BreadthFirstTree<L> toTree(
+                CompressedSparseRowGraph<L> g) {
+            return new BreadthFirstTree<L>(g, this.source, this.level,
+                                           this.parent,
+                                           this.topDownSteps,
+                                           this.bottomUpSteps);
+        }
+    }
+}
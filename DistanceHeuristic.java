@@ -0,0 +1,29 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * An estimate of the distance between two nodes of a graph, identified by
+ * their labels, used to guide the search of a shortest path.
+ * 
+ * The estimate must be admissible, that is never greater than the length of a
+ * shortest path between the two nodes, and consistent, that is
+ * {@code estimate(u, t) <= w(u, v) + estimate(v, t)} for every edge
+ * {@code (u, v)} of weight {@code w(u, v)}; symmetrically for the estimates
+ * from a source. Distances on a map, for instance, are consistent estimates
+ * of road distances. An estimate may be called from several threads at once.
+ * 
+ * @param <L>  type of the labels of the graph nodes.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ */
+public interface DistanceHeuristic<L> {
+
+    /**
+     * Returns a lower bound of the length of a shortest path between two
+     * nodes.
+     * 
+     * @param from  the label of the first node.
+     * @param to  the label of the second node.
+     * @return a lower bound of the distance from the first node to the second.
+     */
+    double estimate(L from, L to);
+}
@@ -0,0 +1,535 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class that maintains a minimum spanning forest of an undirected, weighted,
+ * nonnegative graph while edges are inserted, removed and reweighted, without
+ * running Kruskal's algorithm again after every change.
+ *
+ * The forest is stored in a {@code LinkCutTree} in which every tree edge is an
+ * extra vertex valued with the edge weight, so that the heaviest edge on the
+ * path between two nodes is found in O(log n) amortized time. Every node
+ * also keeps the set of its incident edges.
+ *
+ * Inserting an edge, decreasing the weight of any edge and increasing the
+ * weight of a non-tree edge cost O(log n) amortized: the new edge replaces the
+ * heaviest edge of the cycle it closes, if that edge is heavier. Removing a
+ * tree edge, or making it heavier, cuts the tree in two and looks for the
+ * lightest non-tree edge that joins the two parts. The two parts are explored
+ * along the tree edges at the same pace, one incident edge at a time, until
+ * one of them is exhausted; the replacement is then the lightest non-tree
+ * edge leaving that part. The cost is therefore proportional to the number of
+ * edges incident to the smaller part, not to the whole graph, but it is not
+ * polylogarithmic: cutting a tree in two large parts still examines many
+ * edges.
+ *
+ * Edge weights must be changed through {@code setWeight(GraphEdge, double)},
+ * which also updates the {@code GraphEdge} object: a change made directly with
+ * {@code GraphEdge.setWeight} is not seen by this class. The changes of the
+ * set of tree edges can be observed with a {@code TreeListener}.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class DynamicMSP<L> {
+
+    /**
+     * Receives the changes of the set of edges of the maintained forest.
+     *
+     * @param <L>  type of the labels of the graph nodes.
+     */
+    public interface TreeListener<L> {
+
+        /**
+         * Called when an edge enters the forest.
+         *
+         * @param edge  the edge added to the forest.
+         */
+        void treeEdgeAdded(GraphEdge<L> edge);
+
+        /**
+         * Called when an edge leaves the forest.
+         *
+         * @param edge  the edge removed from the forest.
+         */
+        void treeEdgeRemoved(GraphEdge<L> edge);
+    }
+
+    /*
+     * The state of an edge: its vertex in the link-cut tree, the vertices of
+     * its nodes and its current weight.
+     */
+    private static class EdgeRecord<L> {
+
+        private final GraphEdge<L> edge;
+        private final int vertex;
+        private final int node1;
+        private final int node2;
+        private double weight;
+        private boolean inTree;
+
+        EdgeRecord(GraphEdge<L> edge, int vertex, int node1, int node2) {
+            this.edge = edge;
+            this.vertex = vertex;
+            this.node1 = node1;
+            this.node2 = node2;
+            this.weight = edge.getWeight();
+        }
+    }
+
+    private final Map<GraphNode<L>, Integer> vertices;
+    private final Map<GraphEdge<L>, EdgeRecord<L>> edges;
+    private final List<EdgeRecord<L>> records;
+    private final List<Set<EdgeRecord<L>>> incident;
+    private final Set<GraphEdge<L>> treeEdges;
+    private final Deque<Integer> freeVertices;
+    private final LinkCutTree forest;
+    private double totalWeight;
+    private TreeListener<L> listener;
+
+    /**
+     * Constructs the minimum spanning forest of an empty graph.
+     */
+    public DynamicMSP() {
+        this.vertices = new HashMap<GraphNode<L>, Integer>();
+        this.edges = new HashMap<GraphEdge<L>, EdgeRecord<L>>();
+        this.records = new ArrayList<EdgeRecord<L>>();
+        this.records.add(null);
+        this.incident = new ArrayList<Set<EdgeRecord<L>>>();
+        this.incident.add(null);
+        this.treeEdges = new HashSet<GraphEdge<L>>();
+        this.freeVertices = new ArrayDeque<Integer>();
+        this.forest = new LinkCutTree(16);
+        this.totalWeight = 0;
+    }
+
+    /**
+     * Constructs the minimum spanning forest of a graph, with all its nodes
+     * and edges.
+     *
+     * @param g  an undirected, weighted graph with nonnegative weights.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException whether the graph is directed,
+     *         unweighted, or has negative weights.
+     */
+    public DynamicMSP(Graph<L> g) {
+        this();
+
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        for (GraphNode<L> node : g.getNodes()) {
+            this.addNode(node);
+        }
+
+        for (GraphEdge<L> edge : g.getEdges()) {
+            this.addEdge(edge);
+        }
+    }
+
+    /**
+     * Sets the listener of the changes of the forest.
+     *
+     * @param listener  the listener, null to remove the current one.
+     */
+    public void setTreeListener(TreeListener<L> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Adds an isolated node.
+     *
+     * @param node  the node to add.
+     * @return true if the node has been added, false if it was already
+     *         present.
+     * @throws NullPointerException if the passed node is null.
+     */
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException();
+
+        if (this.vertices.containsKey(node)) return false;
+
+        int vertex = this.newVertex(Double.NEGATIVE_INFINITY);
+        this.vertices.put(node, vertex);
+        this.records.set(vertex, null);
+        this.incident.set(vertex, new HashSet<EdgeRecord<L>>());
+
+        return true;
+    }
+
+    /**
+     * Determine whether a node is present.
+     *
+     * @param node  the node sought.
+     * @return true if the node is present.
+     * @throws NullPointerException if the passed node is null.
+     */
+    public boolean containsNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException();
+
+        return this.vertices.containsKey(node);
+    }
+
+    /**
+     * Adds an edge, updating the forest if the edge belongs to the new minimum
+     * spanning forest.
+     *
+     * @param edge  the edge to add.
+     * @return true if the edge has been added, false if an equal edge is
+     *         already present.
+     * @throws NullPointerException if the passed edge is null.
+     * @throws IllegalArgumentException if the edge is directed, unweighted or
+     *         has a negative weight, or if one of its nodes is not present.
+     */
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException();
+        if (edge.isDirected()) throw new IllegalArgumentException();
+        if (!edge.hasWeight() || edge.getWeight() < 0)
+            throw new IllegalArgumentException();
+
+        Integer node1 = this.vertices.get(edge.getNode1());
+        Integer node2 = this.vertices.get(edge.getNode2());
+
+        if (node1 == null || node2 == null) throw new IllegalArgumentException();
+
+        if (this.edges.containsKey(edge)) return false;
+
+        int vertex = this.newVertex(edge.getWeight());
+        EdgeRecord<L> record = new EdgeRecord<L>(edge, vertex, node1, node2);
+
+        this.records.set(vertex, record);
+        this.edges.put(edge, record);
+        this.incident.get(node1).add(record);
+        this.incident.get(node2).add(record);
+        this.insert(record);
+
+        return true;
+    }
+
+    /**
+     * Removes an edge. If the edge belongs to the forest, it is replaced by the
+     * lightest edge that reconnects the two parts of its tree, if any.
+     *
+     * @param edge  the edge to remove.
+     * @return true if the edge has been removed, false if it was not present.
+     * @throws NullPointerException if the passed edge is null.
+     */
+    public boolean removeEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException();
+
+        EdgeRecord<L> record = this.edges.remove(edge);
+
+        if (record == null) return false;
+
+        this.incident.get(record.node1).remove(record);
+        this.incident.get(record.node2).remove(record);
+
+        if (record.inTree) {
+            this.cut(record);
+            this.fireRemoved(record);
+
+            EdgeRecord<L> replacement =
+                this.findReplacement(record, Double.NaN);
+
+            if (replacement != null) {
+                this.link(replacement);
+                this.fireAdded(replacement);
+            }
+        }
+
+        this.records.set(record.vertex, null);
+        this.freeVertices.push(record.vertex);
+
+        return true;
+    }
+
+    /**
+     * Changes the weight of an edge, updating both the forest and the
+     * {@code GraphEdge} object.
+     *
+     * @param edge  an edge equal to the one to be reweighted.
+     * @param weight  the new weight.
+     * @throws NullPointerException if the passed edge is null.
+     * @throws IllegalArgumentException if the edge is not present or the
+     *         weight is NaN or negative.
+     */
+    public void setWeight(GraphEdge<L> edge, double weight) {
+        if (edge == null) throw new NullPointerException();
+        if (Double.isNaN(weight) || weight < 0)
+            throw new IllegalArgumentException();
+
+        EdgeRecord<L> record = this.edges.get(edge);
+
+        if (record == null) throw new IllegalArgumentException();
+
+        double old = record.weight;
+        record.edge.setWeight(weight);
+
+        if (record.inTree && weight <= old) {
+            record.weight = weight;
+            this.forest.setValue(record.vertex, weight);
+            this.totalWeight += weight - old;
+        }
+        else if (record.inTree) {
+            this.cut(record);
+            record.weight = weight;
+            this.forest.reset(record.vertex, weight);
+
+            EdgeRecord<L> replacement = this.findReplacement(record, weight);
+
+            if (replacement == null) {
+                this.link(record);
+            }
+            else {
+                this.link(replacement);
+                this.fireRemoved(record);
+                this.fireAdded(replacement);
+            }
+        }
+        else {
+            record.weight = weight;
+            this.forest.reset(record.vertex, weight);
+
+            if (weight < old) this.insert(record);
+        }
+    }
+
+    /**
+     * Returns the edges of the current minimum spanning forest. The returned
+     * set is a read-only view that follows the changes of the forest.
+     *
+     * @return the edges of the current minimum spanning forest.
+     */
+    public Set<GraphEdge<L>> getTreeEdges() {
+        return Collections.unmodifiableSet(this.treeEdges);
+    }
+
+    /**
+     * Determine whether an edge belongs to the current minimum spanning
+     * forest.
+     *
+     * @param edge  the edge sought.
+     * @return true if the edge belongs to the forest.
+     * @throws NullPointerException if the passed edge is null.
+     */
+    public boolean isTreeEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException();
+
+        return this.treeEdges.contains(edge);
+    }
+
+    /**
+     * Returns the total weight of the current minimum spanning forest.
+     *
+     * @return the sum of the weights of the edges of the forest.
+     */
+    public double getTotalWeight() {
+        return this.totalWeight;
+    }
+
+    /**
+     * Returns the number of trees of the current forest, that is the number of
+     * connected components of the graph, isolated nodes included.
+     *
+     * @return the number of trees of the forest.
+     */
+    public int getComponentCount() {
+        return this.vertices.size() - this.treeEdges.size();
+    }
+
+    /**
+     * Inserts an edge that is not in the forest: the edge enters the forest if
+     * it joins two trees or if it is lighter than the heaviest edge of the
+     * cycle it closes, which then leaves the forest.
+     *
+     * @param record  the edge to insert.
+     */
+    private void insert(EdgeRecord<L> record) {
+        if (record.node1 == record.node2) return;
+
+        if (!this.forest.connected(record.node1, record.node2)) {
+            this.link(record);
+            this.fireAdded(record);
+            return;
+        }
+
+        EdgeRecord<L> heaviest = this.records.get(
+            this.forest.pathMaximum(record.node1, record.node2));
+
+        if (heaviest.weight > record.weight) {
+            this.cut(heaviest);
+            this.link(record);
+            this.fireRemoved(heaviest);
+            this.fireAdded(record);
+        }
+    }
+
+    /**
+     * Finds the lightest non-tree edge, lighter than a given bound, that joins
+     * the two trees left by cutting an edge. Only the edges incident to the
+     * smaller tree are examined; ties are broken by vertex, so the result
+     * does not depend on the order of the sets.
+     *
+     * @param removed  the edge just cut, which is not a candidate.
+     * @param bound  the bound on the weight, NaN for no bound, so that even an
+     *        edge of infinite weight can reconnect two trees.
+     * @return the edge found, null if there is none.
+     */
+    private EdgeRecord<L> findReplacement(EdgeRecord<L> removed,
+            double bound) {
+        Set<Integer> side = this.smallerTree(removed.node1, removed.node2);
+        EdgeRecord<L> best = null;
+
+        for (int node : side) {
+            for (EdgeRecord<L> candidate : this.incident.get(node)) {
+                if (candidate.inTree || candidate == removed
+                    || candidate.weight >= bound)
+                    continue;
+
+                int other = candidate.node1 == node ? candidate.node2
+                                                    : candidate.node1;
+
+                if (side.contains(other)) continue;
+
+                if (best == null || candidate.weight < best.weight
+                    || (candidate.weight == best.weight
+                        && candidate.vertex < best.vertex))
+                    best = candidate;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Explores the trees of two nodes at the same pace, one incident edge at a
+     * time, and returns the nodes of the first one to be exhausted.
+     *
+     * @param a  a node of the first tree.
+     * @param b  a node of the second tree, different from the first one.
+     * @return the nodes of the smaller tree, by number of incident edges.
+     */
+    private Set<Integer> smallerTree(int a, int b) {
+        TreeExploration first = new TreeExploration(a);
+        TreeExploration second = new TreeExploration(b);
+
+        while (true) {
+            if (!first.step()) return first.visited;
+            if (!second.step()) return second.visited;
+        }
+    }
+
+    /*
+     * A breadth-first visit of a tree of the forest that can be advanced one
+     * incident edge at a time.
+     */
+    private class TreeExploration {
+
+        private final Set<Integer> visited;
+        private final Deque<Integer> queue;
+        private int node;
+        private Iterator<EdgeRecord<L>> edges;
+
+        TreeExploration(int root) {
+            this.visited = new HashSet<Integer>();
+            this.queue = new ArrayDeque<Integer>();
+            this.visited.add(root);
+            this.node = root;
+            this.edges = DynamicMSP.this.incident.get(root).iterator();
+        }
+
+        /**
+         * Examines the next incident edge of the visit.
+         *
+         * @return false if the tree has been visited completely.
+         */
+        boolean step() {
+            while (!this.edges.hasNext()) {
+                if (this.queue.isEmpty()) return false;
+
+                this.node = this.queue.poll();
+                this.edges = DynamicMSP.this.incident.get(this.node)
+                                                     .iterator();
+            }
+
+            EdgeRecord<L> edge = this.edges.next();
+
+            if (edge.inTree) {
+                int other = edge.node1 == this.node ? edge.node2 : edge.node1;
+
+                if (this.visited.add(other)) this.queue.add(other);
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Adds an edge to the forest.
+     *
+     * @param record  the edge.
+     */
+    private void link(EdgeRecord<L> record) {
+        this.forest.link(record.node1, record.vertex);
+        this.forest.link(record.vertex, record.node2);
+        record.inTree = true;
+        this.treeEdges.add(record.edge);
+        this.totalWeight += record.weight;
+    }
+
+    /**
+     * Removes an edge from the forest.
+     *
+     * @param record  the edge.
+     */
+    private void cut(EdgeRecord<L> record) {
+        this.forest.cut(record.node1, record.vertex);
+        this.forest.cut(record.vertex, record.node2);
+        record.inTree = false;
+        this.treeEdges.remove(record.edge);
+        this.totalWeight -= record.weight;
+    }
+
+    /**
+     * Returns an isolated vertex of the link-cut tree with a given value,
+     * reusing the vertex of a removed edge if possible.
+     *
+     * @param value  the value of the vertex.
+     * @return the vertex.
+     */
+    private int newVertex(double value) {
+        int vertex;
+
+        if (this.freeVertices.isEmpty()) {
+            vertex = this.records.size();
+            this.records.add(null);
+            this.incident.add(null);
+        }
+        else {
+            vertex = this.freeVertices.pop();
+        }
+
+        this.forest.reset(vertex, value);
+
+        return vertex;
+    }
+
+    private void fireAdded(EdgeRecord<L> record) {
+        if (this.listener != null) this.listener.treeEdgeAdded(record.edge);
+    }
+
+    private void fireRemoved(EdgeRecord<L> record) {
+        if (this.listener != null) this.listener.treeEdgeRemoved(record.edge);
+    }
+}
@@ -0,0 +1,446 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorts by weight an edge list stored in a file that may be larger than the
+ * available memory, and streams the sorted edges to an {@code EdgeConsumer}.
+ *
+ * An edge file is a sequence of records of {@code RECORD_BYTES} bytes, one for
+ * every edge, each made of the first node (an {@code int}), the second node
+ * (an {@code int}) and the weight (a {@code double}), in the big-endian format
+ * written by {@code java.io.DataOutputStream}. Nodes are identified by their
+ * index in the range <code>[0, nodeCount - 1]</code>.
+ *
+ * Sorting is done in two steps. Run generation reads the file in blocks of at
+ * most {@code runCapacity} records, sorts every block in memory and writes it
+ * to a temporary run file. The runs are then merged with a k-way merge over
+ * buffered streams of the run files; when there are more runs than
+ * {@code fanIn}, groups of runs are first merged into longer runs. Memory use
+ * is therefore bounded by the run capacity, whatever the size of the file.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class ExternalEdgeSorter {
+
+    /**
+     * Size in bytes of the record of an edge.
+     */
+    public static final int RECORD_BYTES = 16;
+
+    /**
+     * Default number of records sorted in memory for every run.
+     */
+    public static final int DEFAULT_RUN_CAPACITY = 1 << 22;
+
+    /**
+     * Default maximum number of runs merged at the same time.
+     */
+    public static final int DEFAULT_FAN_IN = 64;
+
+    private static final int IO_BUFFER = 1 << 16;
+
+    /**
+     * Receives the edges of a sorted edge file, in nondecreasing order of
+     * weight.
+     */
+    public interface EdgeConsumer {
+
+        /**
+         * Receives an edge.
+         *
+         * @param source  the first node of the edge.
+         * @param target  the second node of the edge.
+         * @param weight  the weight of the edge.
+         * @return true to receive the next edge, false to stop the stream.
+         */
+        boolean accept(int source, int target, double weight);
+    }
+
+    private final int runCapacity;
+    private final int fanIn;
+    private final Path temporaryDirectory;
+
+    /**
+     * Constructs a sorter with the default run capacity and fan-in, which
+     * writes its runs in the default temporary-file directory.
+     */
+    public ExternalEdgeSorter() {
+        this(DEFAULT_RUN_CAPACITY, DEFAULT_FAN_IN, null);
+    }
+
+    /**
+     * Constructs a sorter.
+     *
+     * @param runCapacity  the number of records sorted in memory for every
+     *        run; memory use is about {@code RECORD_BYTES} bytes per record.
+     * @param fanIn  the maximum number of runs merged at the same time, at
+     *        least 2.
+     * @param temporaryDirectory  the directory of the run files, null for the
+     *        default temporary-file directory.
+     * @throws IllegalArgumentException if the run capacity is not positive or
+     *         the fan-in is less than 2.
+     */
+    public ExternalEdgeSorter(int runCapacity, int fanIn,
+            Path temporaryDirectory) {
+        if (runCapacity <= 0 || fanIn < 2) throw new IllegalArgumentException();
+
+        this.runCapacity = runCapacity;
+        this.fanIn = fanIn;
+        this.temporaryDirectory = temporaryDirectory;
+    }
+
+    /**
+     * Streams the edges of an edge file to a consumer in nondecreasing order
+     * of weight. The temporary run files are deleted before returning, also
+     * when the consumer stops the stream or throws an exception.
+     *
+     * @param edgeFile  the edge file.
+     * @param nodeCount  the number of nodes the edges refer to.
+     * @param consumer  the consumer of the sorted edges.
+     * @throws NullPointerException if the file or the consumer is null.
+     * @throws IllegalArgumentException if the file size is not a multiple of
+     *         {@code RECORD_BYTES}, or if an edge refers to a node outside the
+     *         range <code>[0, nodeCount - 1]</code> or has a NaN weight.
+     * @throws IOException if reading the file or writing the runs fails.
+     */
+    public void sort(Path edgeFile, int nodeCount, EdgeConsumer consumer)
+            throws IOException {
+        if (edgeFile == null || consumer == null)
+            throw new NullPointerException();
+        if (Files.size(edgeFile) % RECORD_BYTES != 0)
+            throw new IllegalArgumentException();
+
+        Path directory = this.temporaryDirectory == null
+                         ? Files.createTempDirectory("edges")
+                         : Files.createTempDirectory(this.temporaryDirectory,
+                                                     "edges");
+        // Files are deleted at exit in reverse order of registration, so the
+        // directory is registered before any run that may be left in it.
+        directory.toFile().deleteOnExit();
+        List<Path> runs = new ArrayList<Path>();
+
+        try {
+            this.generateRuns(edgeFile, nodeCount, directory, runs);
+
+            while (runs.size() > this.fanIn) {
+                List<Path> merged = new ArrayList<Path>();
+
+                for (int i = 0; i < runs.size(); i += this.fanIn) {
+                    List<Path> group =
+                        runs.subList(i, Math.min(runs.size(), i + this.fanIn));
+                    Path run = Files.createTempFile(directory, "run", ".bin");
+                    merged.add(run);
+                    mergeInto(group, run);
+
+                    for (Path consumed : group) {
+                        deleteTemporaryFile(consumed);
+                    }
+                }
+
+                runs = merged;
+            }
+
+            merge(runs, consumer);
+        } finally {
+            File[] files = directory.toFile().listFiles();
+
+            // If the directory cannot be listed its runs, and so the
+            // directory itself, are left behind.
+            if (files != null) {
+                for (File run : files) {
+                    deleteTemporaryFile(run.toPath());
+                }
+            }
+
+            deleteTemporaryFile(directory);
+        }
+    }
+
+    /**
+     * Deletes a temporary file without failing: a file that cannot be deleted
+     * now, for instance because another process holds it open, is deleted
+     * when the JVM exits, so that cleaning up never hides the result or the
+     * original error.
+     *
+     * @param file  the file or empty directory to delete.
+     */
+    private static void deleteTemporaryFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Writes the edge list of a snapshot of a graph to an edge file, using the
+     * node indices of the snapshot.
+     *
+     * @param g  the snapshot to be written.
+     * @param edgeFile  the file to be written, replaced if it exists.
+     * @throws NullPointerException if the snapshot or the file is null.
+     * @throws IOException if writing the file fails.
+     */
+    public static void write(CompressedSparseRowGraph<?> g, Path edgeFile)
+            throws IOException {
+        if (g == null || edgeFile == null) throw new NullPointerException();
+
+        int[] sources = g.getEdgeSources();
+        int[] targets = g.getEdgeTargets();
+        double[] weights = g.getEdgeWeights();
+
+        try (DataOutputStream out = openOutput(edgeFile)) {
+            for (int e = 0; e < sources.length; e++) {
+                out.writeInt(sources[e]);
+                out.writeInt(targets[e]);
+                out.writeDouble(weights[e]);
+            }
+        }
+    }
+
+    /**
+     * Reads the edge file in blocks, sorts every block and writes it to a new
+     * run file.
+     *
+     * @param edgeFile  the edge file.
+     * @param nodeCount  the number of nodes.
+     * @param directory  the directory of the runs.
+     * @param runs  the list receiving the run files.
+     * @throws IOException if reading or writing fails.
+     */
+    private void generateRuns(Path edgeFile, int nodeCount, Path directory,
+            List<Path> runs) throws IOException {
+        long remaining = Files.size(edgeFile) / RECORD_BYTES;
+        int capacity = (int) Math.min(this.runCapacity, remaining);
+        double[] keys = new double[capacity];
+        long[] values = new long[capacity];
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                 Files.newInputStream(edgeFile), IO_BUFFER))) {
+            while (remaining > 0) {
+                int size = (int) Math.min(capacity, remaining);
+
+                for (int i = 0; i < size; i++) {
+                    int u = in.readInt();
+                    int v = in.readInt();
+                    double w = in.readDouble();
+
+                    if (u < 0 || u >= nodeCount || v < 0 || v >= nodeCount
+                        || Double.isNaN(w))
+                        throw new IllegalArgumentException();
+
+                    keys[i] = w;
+                    values[i] = ((long) u << 32) | (v & 0xFFFFFFFFL);
+                }
+
+                remaining -= size;
+                WeightSort.sort(keys, values, 0, size);
+
+                Path run = Files.createTempFile(directory, "run", ".bin");
+                runs.add(run);
+
+                try (DataOutputStream out = openOutput(run)) {
+                    for (int i = 0; i < size; i++) {
+                        out.writeInt((int) (values[i] >>> 32));
+                        out.writeInt((int) values[i]);
+                        out.writeDouble(keys[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges sorted runs into a new, longer run.
+     *
+     * @param runs  the runs to be merged.
+     * @param run  the file receiving the merged run.
+     * @throws IOException if reading or writing a run fails.
+     */
+    private static void mergeInto(List<Path> runs, Path run)
+            throws IOException {
+        try (DataOutputStream out = openOutput(run)) {
+            merge(runs, (u, v, w) -> {
+                try {
+                    out.writeInt(u);
+                    out.writeInt(v);
+                    out.writeDouble(w);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                return true;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Merges sorted runs, streaming the result to a consumer.
+     *
+     * @param runs  the runs to be merged.
+     * @param consumer  the consumer of the merged edges.
+     * @throws IOException if reading a run fails.
+     */
+    private static void merge(List<Path> runs, EdgeConsumer consumer)
+            throws IOException {
+        RunCursor[] cursors = new RunCursor[runs.size()];
+        int[] heap = new int[runs.size()];
+        int heapSize = 0;
+        Throwable failure = null;
+
+        try {
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = new RunCursor(runs.get(i));
+
+                if (cursors[i].advance()) heap[heapSize++] = i;
+            }
+
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(heap, heapSize, i, cursors);
+            }
+
+            while (heapSize > 0) {
+                RunCursor top = cursors[heap[0]];
+
+                if (!consumer.accept(top.source, top.target, top.weight))
+                    return;
+
+                if (!top.advance()) heap[0] = heap[--heapSize];
+
+                if (heapSize > 0) siftDown(heap, heapSize, 0, cursors);
+            }
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            closeAll(cursors, failure);
+        }
+    }
+
+    /**
+     * Closes every run cursor, even if closing one of them fails. A failure
+     * is added as suppressed to the error that is already propagating, if
+     * any, otherwise the first one is thrown with the others suppressed.
+     *
+     * @param cursors  the cursors, null for the ones never opened.
+     * @param failure  the error that is propagating, null if there is none.
+     * @throws IOException if closing a cursor fails and no error is
+     *         propagating.
+     */
+    private static void closeAll(RunCursor[] cursors, Throwable failure)
+            throws IOException {
+        IOException first = null;
+
+        for (RunCursor cursor : cursors) {
+            if (cursor == null) continue;
+
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                if (failure != null) failure.addSuppressed(e);
+                else if (first == null) first = e;
+                else first.addSuppressed(e);
+            }
+        }
+
+        if (first != null) throw first;
+    }
+
+    /**
+     * Restores the heap order of the run cursors, keyed by their current
+     * weight, below a given position.
+     *
+     * @param heap  the heap of cursor numbers.
+     * @param size  the heap size.
+     * @param i  the position to sift down.
+     * @param cursors  the run cursors.
+     */
+    private static void siftDown(int[] heap, int size, int i,
+            RunCursor[] cursors) {
+        int item = heap[i];
+        double key = cursors[item].weight;
+
+        while (true) {
+            int child = 2 * i + 1;
+
+            if (child >= size) break;
+
+            if (child + 1 < size && cursors[heap[child + 1]].weight
+                                    < cursors[heap[child]].weight)
+                child++;
+
+            if (cursors[heap[child]].weight >= key) break;
+
+            heap[i] = heap[child];
+            i = child;
+        }
+
+        heap[i] = item;
+    }
+
+    /**
+     * Opens a buffered output stream on a file.
+     *
+     * @param file  the file.
+     * @return the stream.
+     * @throws IOException if the file cannot be opened.
+     */
+    private static DataOutputStream openOutput(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(
+                   Files.newOutputStream(file), IO_BUFFER));
+    }
+
+    /*
+     * Reads a run file sequentially through a buffered stream. The file is
+     * not memory-mapped: a mapping stays alive until it is garbage collected,
+     * and on some platforms a mapped file cannot be deleted meanwhile.
+     */
+    private static class RunCursor {
+
+        private final DataInputStream input;
+        private long remaining;
+        private int source;
+        private int target;
+        private double weight;
+
+        RunCursor(Path run) throws IOException {
+            this.remaining = Files.size(run) / RECORD_BYTES;
+            this.input = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(run), IO_BUFFER));
+        }
+
+        /**
+         * Moves to the next record of the run.
+         *
+         * @return true if there was a next record, false at the end of the run.
+         * @throws IOException if reading the file fails.
+         */
+        boolean advance() throws IOException {
+            if (this.remaining == 0) return false;
+
+            this.source = this.input.readInt();
+            this.target = this.input.readInt();
+            this.weight = this.input.readDouble();
+            this.remaining--;
+
+            return true;
+        }
+
+        void close() throws IOException {
+            this.input.close();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A class that implements a cache-blocked, parallel version of the
+ * Floyd-Warshall algorithm for computing the shortest paths between all the
+ * pairs of nodes of a weighted graph, directed or undirected, without
+ * negative cycles.
+ *
+ * The distance matrix is a flat {@code double[]} divided in square blocks
+ * small enough to stay in the cache. For every block {@code k} of
+ * intermediate nodes the algorithm runs three phases: the diagonal block
+ * {@code (k, k)} is updated on its own; then the blocks in row k and column k,
+ * which only depend on themselves and on the diagonal block, are updated in
+ * parallel; finally all the other blocks, which only depend on the blocks in
+ * row k and column k, are updated in parallel. Every block update reads three
+ * blocks that fit in the cache, instead of streaming the whole matrix n times.
+ *
+ * Dense graphs stored in an {@code AdjacencyMatrixUndirectedGraph} are the
+ * natural input, but any graph can be used. The computation takes O(n^3)
+ * time and O(n^2) space, twice as much if predecessors are tracked.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class FloydWarshallAPSP<L> {
+
+    /**
+     * The side of the blocks used by default: three blocks of doubles take
+     * 96 KiB.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final int blockSize;
+
+    /**
+     * Build an all-pairs shortest paths calculator that runs on the common
+     * {@code ForkJoinPool}.
+     */
+    public FloydWarshallAPSP() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Build an all-pairs shortest paths calculator.
+     *
+     * @param pool  the pool running the parallel phases.
+     * @param blockSize  the side of the blocks of the matrix.
+     * @throws NullPointerException if the pool is null.
+     * @throws IllegalArgumentException if the block size is not positive.
+     */
+    public FloydWarshallAPSP(ForkJoinPool pool, int blockSize) {
+        if (pool == null) throw new NullPointerException();
+        if (blockSize < 1) throw new IllegalArgumentException();
+
+        this.pool = pool;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Computes the shortest paths between all the pairs of nodes of a graph.
+     *
+     * @param g  a weighted graph without negative cycles.
+     * @param trackPredecessors  true to compute the predecessor matrix, so
+     *        that paths can be rebuilt.
+     * @return the distances between all the pairs of nodes.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is unweighted or has a
+     *         negative cycle.
+     */
+    public AllPairsShortestPaths<L> computeAPSP(Graph<L> g,
+            boolean trackPredecessors) {
+        if (g == null) throw new NullPointerException();
+
+        return this.computeAPSP(new CompressedSparseRowGraph<L>(g),
+                                trackPredecessors);
+    }
+
+    /**
+     * Computes the shortest paths between all the pairs of nodes of a
+     * snapshot of a graph.
+     *
+     * @param g  a weighted snapshot without negative cycles.
+     * @param trackPredecessors  true to compute the predecessor matrix, so
+     *        that paths can be rebuilt.
+     * @return the distances between all the pairs of nodes.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is unweighted, has a
+     *         negative cycle or too many nodes for a matrix.
+     */
+    public AllPairsShortestPaths<L> computeAPSP(CompressedSparseRowGraph<L> g,
+            boolean trackPredecessors) {
+        if (g == null) throw new NullPointerException();
+
+        int n = g.nodeCount();
+
+        if ((long) n * n > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException();
+
+        double[] d = new double[n * n];
+        int[] p = trackPredecessors ? new int[n * n] : null;
+        int[] sources = g.getEdgeSources();
+        int[] targets = g.getEdgeTargets();
+        double[] weights = g.getEdgeWeights();
+
+        Arrays.fill(d, Double.POSITIVE_INFINITY);
+
+        if (p != null) Arrays.fill(p, -1);
+
+        for (int i = 0; i < n; i++) {
+            d[i * n + i] = 0;
+        }
+
+        for (int e = 0; e < sources.length; e++) {
+            if (Double.isNaN(weights[e])) throw new IllegalArgumentException();
+
+            this.relax(d, p, n, sources[e], targets[e], weights[e]);
+
+            if (!g.isDirected())
+                this.relax(d, p, n, targets[e], sources[e], weights[e]);
+        }
+
+        this.run(d, p, n);
+
+        for (int i = 0; i < n; i++) {
+            if (d[i * n + i] < 0) throw new IllegalArgumentException();
+        }
+
+        return new AllPairsShortestPaths<L>(g, n, d, p);
+    }
+
+    /**
+     * Lowers an entry of the initial matrix to the weight of an edge.
+     *
+     * @param d  the distance matrix.
+     * @param p  the predecessor matrix, null if not tracked.
+     * @param n  the number of nodes.
+     * @param u  the tail of the edge.
+     * @param v  the head of the edge.
+     * @param w  the weight of the edge.
+     */
+    private void relax(double[] d, int[] p, int n, int u, int v, double w) {
+        if (w < d[u * n + v]) {
+            d[u * n + v] = w;
+
+            if (p != null && u != v) p[u * n + v] = u;
+        }
+    }
+
+    /**
+     * Runs the blocked algorithm on an initialized matrix.
+     *
+     * @param d  the distance matrix.
+     * @param p  the predecessor matrix, null if not tracked.
+     * @param n  the number of nodes.
+     */
+    private void run(double[] d, int[] p, int n) {
+        int b = this.blockSize;
+        int blocks = (n + b - 1) / b;
+
+        for (int k = 0; k < blocks; k++) {
+            final int kb = k;
+
+            update(d, p, n, b, kb, kb, kb);
+
+            ParallelFor.run(this.pool, 0, 2 * blocks, 1, (from, to) -> {
+                for (int x = from; x < to; x++) {
+                    int other = x >> 1;
+
+                    if (other == kb) continue;
+
+                    if ((x & 1) == 0) update(d, p, n, b, kb, other, kb);
+                    else update(d, p, n, b, other, kb, kb);
+                }
+            });
+
+            ParallelFor.run(this.pool, 0, blocks * blocks, 1, (from, to) -> {
+                for (int x = from; x < to; x++) {
+                    int ib = x / blocks;
+                    int jb = x % blocks;
+
+                    if (ib != kb && jb != kb) update(d, p, n, b, ib, jb, kb);
+                }
+            });
+        }
+    }
+
+    /**
+     * Updates block {@code (ib, jb)} with the paths through the intermediate
+     * nodes of block kb.
+     *
+     * @param d  the distance matrix.
+     * @param p  the predecessor matrix, null if not tracked.
+     * @param n  the number of nodes.
+     * @param b  the side of the blocks.
+     * @param ib  the row of the block.
+     * @param jb  the column of the block.
+     * @param kb  the block of the intermediate nodes.
+     */
+    private static void update(double[] d, int[] p, int n, int b, int ib,
+            int jb, int kb) {
+        int iEnd = Math.min(n, (ib + 1) * b);
+        int jStart = jb * b;
+        int jEnd = Math.min(n, jStart + b);
+        int kEnd = Math.min(n, (kb + 1) * b);
+
+        for (int k = kb * b; k < kEnd; k++) {
+            int rowK = k * n;
+
+            for (int i = ib * b; i < iEnd; i++) {
+                int rowI = i * n;
+                double dik = d[rowI + k];
+
+                if (dik == Double.POSITIVE_INFINITY) continue;
+
+                for (int j = jStart; j < jEnd; j++) {
+                    double candidate = dik + d[rowK + j];
+
+                    if (candidate < d[rowI + j]) {
+                        d[rowI + j] = candidate;
+
+                        if (p != null) p[rowI + j] = p[rowK + j];
+                    }
+                }
+            }
+        }
+    }
+}
@@ -23,7 +23,7 @@ package it.unicam.cs.asdl2425.mp2;
  * 
  * @author Leonardo Castignani @UNICAM
  */
-public class GraphNode<L> {
+public class GraphNode<L> implements PriorityQueueElement {
 
     public static int COLOR_WHITE = 0;
     public static int COLOR_GREY = 1;
@@ -171,6 +171,32 @@ public class GraphNode<L> {
         this.exitingTime = time;
     }
 
+    /*
+     * The priority is the floating-point distance.
+     */
+    @Override
+    public double getPriority() {
+        return this.floatingPointDistance;
+    }
+
+    @Override
+    public void setPriority(double newPriority) {
+        this.floatingPointDistance = newPriority;
+    }
+
+    /*
+     * The handle is the integer distance.
+     */
+    @Override
+    public int getHandle() {
+        return this.integerDistance;
+    }
+
+    @Override
+    public void setHandle(int newHandle) {
+        this.integerDistance = newHandle;
+    }
+
     /*
      * Based on the label's hashcode.
      */
@@ -199,4 +225,4 @@ public class GraphNode<L> {
     public String toString() {
         return "Nodo[ " + label.toString() + " ]";
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,258 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A min-priority queue of the integers {@code 0 .. capacity - 1}, typically
+ * node indices, implemented with a d-ary heap on primitive arrays. It is the
+ * counterpart of {@code DAryHeapMinPriorityQueue} for algorithms that work on
+ * int-indexed graphs: priorities and heap positions are stored in arrays
+ * indexed by item, so the queue allocates nothing after construction.
+ * 
+ * Insertion and priority decrease cost O(log_d n), extraction of the minimum
+ * O(d log_d n); emptying the queue with {@code clear()} costs O(size).
+ * 
+ * @author Leonardo Castignani @UNICAM
+ */
+public class IntDAryHeapMinPriorityQueue implements IntMinPriorityQueue {
+
+    private final int degree;
+    private final int[] heap;
+    private final int[] position;
+    private final double[] priority;
+    private int size;
+
+    /**
+     * Constructs an empty queue for the items from 0 to capacity - 1, with
+     * degree {@code DAryHeapMinPriorityQueue.DEFAULT_DEGREE}.
+     * 
+     * @param capacity  the number of items.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public IntDAryHeapMinPriorityQueue(int capacity) {
+        this(capacity, DAryHeapMinPriorityQueue.DEFAULT_DEGREE);
+    }
+
+    /**
+     * Constructs an empty queue for the items from 0 to capacity - 1.
+     * 
+     * @param capacity  the number of items.
+     * @param degree  the number of children of every node of the heap.
+     * @throws IllegalArgumentException if the capacity is negative or the
+     *         degree is less than 2.
+     */
+    public IntDAryHeapMinPriorityQueue(int capacity, int degree) {
+        if (capacity < 0 || degree < 2) throw new IllegalArgumentException();
+
+        this.degree = degree;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.priority = new double[capacity];
+        this.size = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            this.position[i] = -1;
+        }
+    }
+
+    /**
+     * Returns the number of items the queue can hold.
+     * 
+     * @return the capacity of the queue.
+     */
+    public int capacity() {
+        return this.heap.length;
+    }
+
+    /**
+     * Inserts an item with a given priority.
+     * 
+     * @param item  the item.
+     * @param newPriority  the priority of the item.
+     * @throws IndexOutOfBoundsException if the item is out of range.
+     * @throws IllegalArgumentException if the item is already in the queue.
+     */
+    @Override
+    public void insert(int item, double newPriority) {
+        if (this.position[item] >= 0) throw new IllegalArgumentException();
+
+        this.priority[item] = newPriority;
+        this.heap[this.size] = item;
+        this.position[item] = this.size;
+        this.size++;
+        this.siftUp(this.size - 1);
+    }
+
+    /**
+     * Decreases the priority of an item of the queue.
+     * 
+     * @param item  the item.
+     * @param newPriority  the new priority, not greater than the current one.
+     * @throws IndexOutOfBoundsException if the item is out of range.
+     * @throws IllegalArgumentException if the item is not in the queue or the
+     *         new priority is greater than the current one.
+     */
+    @Override
+    public void decreasePriority(int item, double newPriority) {
+        if (this.position[item] < 0 || newPriority > this.priority[item])
+            throw new IllegalArgumentException();
+
+        this.priority[item] = newPriority;
+        this.siftUp(this.position[item]);
+    }
+
+    /**
+     * Returns the item with the lowest priority without removing it.
+     * 
+     * @return the item with the lowest priority.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public int minimum() {
+        if (this.size == 0) throw new NoSuchElementException();
+
+        return this.heap[0];
+    }
+
+    /**
+     * Removes and returns the item with the lowest priority.
+     * 
+     * @return the item with the lowest priority.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    @Override
+    public int extractMinimum() {
+        if (this.size == 0) throw new NoSuchElementException();
+
+        int minimum = this.heap[0];
+
+        this.position[minimum] = -1;
+        this.size--;
+
+        if (this.size > 0) {
+            this.heap[0] = this.heap[this.size];
+            this.position[this.heap[0]] = 0;
+            this.siftDown(0);
+        }
+
+        return minimum;
+    }
+
+    /**
+     * Returns the priority of an item, which is meaningful only while the item
+     * is in the queue or right after its extraction.
+     * 
+     * @param item  the item.
+     * @return the last priority assigned to the item.
+     * @throws IndexOutOfBoundsException if the item is out of range.
+     */
+    public double getPriority(int item) {
+        return this.priority[item];
+    }
+
+    /**
+     * Determines whether an item is in the queue.
+     * 
+     * @param item  the item.
+     * @return true if the item is in the queue.
+     * @throws IndexOutOfBoundsException if the item is out of range.
+     */
+    @Override
+    public boolean contains(int item) {
+        return this.position[item] >= 0;
+    }
+
+    /**
+     * Determines whether the queue is empty.
+     * 
+     * @return true if the queue is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of items in the queue.
+     * 
+     * @return the number of items in the queue.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all the items from the queue.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.position[this.heap[i]] = -1;
+        }
+
+        this.size = 0;
+    }
+
+    /**
+     * Moves the item at a position up until its parent has a lower or equal
+     * priority.
+     * 
+     * @param i  the position.
+     */
+    private void siftUp(int i) {
+        int item = this.heap[i];
+        double key = this.priority[item];
+
+        while (i > 0) {
+            int parent = (i - 1) / this.degree;
+            int parentItem = this.heap[parent];
+
+            if (this.priority[parentItem] <= key) break;
+
+            this.heap[i] = parentItem;
+            this.position[parentItem] = i;
+            i = parent;
+        }
+
+        this.heap[i] = item;
+        this.position[item] = i;
+    }
+
+    /**
+     * Moves the item at a position down until all its children have a greater
+     * or equal priority.
+     * 
+     * @param i  the position.
+     */
+    private void siftDown(int i) {
+        int item = this.heap[i];
+        double key = this.priority[item];
+
+        while (true) {
+            int first = this.degree * i + 1;
+
+            if (first >= this.size) break;
+
+            int last = Math.min(first + this.degree, this.size);
+            int best = first;
+            double bestKey = this.priority[this.heap[first]];
+
+            for (int child = first + 1; child < last; child++) {
+                double childKey = this.priority[this.heap[child]];
+
+                if (childKey < bestKey) {
+                    best = child;
+                    bestKey = childKey;
+                }
+            }
+
+            if (bestKey >= key) break;
+
+            this.heap[i] = this.heap[best];
+            this.position[this.heap[i]] = i;
+            i = best;
+        }
+
+        this.heap[i] = item;
+        this.position[item] = i;
+    }
+}
@@ -0,0 +1,110 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * A collection of disjoint sets over the integers {@code 0 .. size - 1} stored
+ * in primitive arrays. It offers the same operations as
+ * {@code ForestDisjointSets} for algorithms that work on node indices, without
+ * a map entry and a node object for every element.
+ *
+ * Find-set applies the "path halving" heuristic and union applies the
+ * "union by rank" heuristic.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class IntDisjointSets {
+
+    private final int[] parent;
+    private final byte[] rank;
+    private int setCount;
+
+    /**
+     * Constructs {@code size} singleton sets, one for every integer in the
+     * range <code>[0, size - 1]</code>.
+     *
+     * @param size  the number of elements.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    public IntDisjointSets(int size) {
+        if (size < 0) throw new IllegalArgumentException();
+
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        this.clear();
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return this.parent.length;
+    }
+
+    /**
+     * Returns the number of disjoint sets currently existing.
+     *
+     * @return the number of disjoint sets.
+     */
+    public int getSetCount() {
+        return this.setCount;
+    }
+
+    /**
+     * Returns the representative of the set containing an element.
+     *
+     * @param x  the element.
+     * @return the representative of the set containing x.
+     * @throws IndexOutOfBoundsException if the element is out of range.
+     */
+    public int findSet(int x) {
+        while (this.parent[x] != x) {
+            this.parent[x] = this.parent[this.parent[x]];
+            x = this.parent[x];
+        }
+
+        return x;
+    }
+
+    /**
+     * Merges the sets containing two elements. If the roots have the same
+     * rank, the representative of the merged set is the representative of the
+     * set containing y, as in {@code ForestDisjointSets}.
+     *
+     * @param x  an element of the first set.
+     * @param y  an element of the second set.
+     * @return true if the two sets have been merged, false if x and y already
+     *         belonged to the same set.
+     * @throws IndexOutOfBoundsException if an element is out of range.
+     */
+    public boolean union(int x, int y) {
+        int rx = this.findSet(x);
+        int ry = this.findSet(y);
+
+        if (rx == ry) return false;
+
+        if (this.rank[rx] > this.rank[ry]) {
+            this.parent[ry] = rx;
+        }
+        else {
+            this.parent[rx] = ry;
+            if (this.rank[rx] == this.rank[ry]) this.rank[ry]++;
+        }
+
+        this.setCount--;
+
+        return true;
+    }
+
+    /**
+     * Brings every element back to its own singleton set.
+     */
+    public void clear() {
+        for (int i = 0; i < this.parent.length; i++) {
+            this.parent[i] = i;
+            this.rank[i] = 0;
+        }
+
+        this.setCount = this.parent.length;
+    }
+}
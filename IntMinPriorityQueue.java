@@ -0,0 +1,55 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * The operations of a min-priority queue of the integers
+ * {@code 0 .. capacity - 1}, shared by the queues that the shortest-path
+ * algorithms can choose between: a d-ary heap for arbitrary priorities and
+ * bucket-based queues for integral priorities.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+interface IntMinPriorityQueue {
+
+    /**
+     * Inserts an item with a given priority.
+     *
+     * @param item  the item, not in the queue.
+     * @param priority  the priority of the item.
+     */
+    void insert(int item, double priority);
+
+    /**
+     * Decreases the priority of an item of the queue.
+     *
+     * @param item  the item.
+     * @param priority  the new priority, not greater than the current one.
+     */
+    void decreasePriority(int item, double priority);
+
+    /**
+     * Removes and returns the item with the lowest priority.
+     *
+     * @return the item with the lowest priority.
+     */
+    int extractMinimum();
+
+    /**
+     * Determines whether an item is in the queue.
+     *
+     * @param item  the item.
+     * @return true if the item is in the queue.
+     */
+    boolean contains(int item);
+
+    /**
+     * Determines whether the queue is empty.
+     *
+     * @return true if the queue is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all the items from the queue.
+     */
+    void clear();
+}
@@ -0,0 +1,78 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * A growable stack of {@code int} values stored in a primitive array, used by
+ * the algorithms of this package that replace recursion with an explicit
+ * stack.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+final class IntStack {
+
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructs an empty stack.
+     */
+    IntStack() {
+        this.values = new int[16];
+    }
+
+    /**
+     * Pushes a value.
+     *
+     * @param value  the value.
+     */
+    void push(int value) {
+        if (this.size == this.values.length)
+            this.values = Arrays.copyOf(this.values, 2 * this.size);
+
+        this.values[this.size++] = value;
+    }
+
+    /**
+     * Removes and returns the value on top of the stack.
+     *
+     * @return the value on top.
+     */
+    int pop() {
+        return this.values[--this.size];
+    }
+
+    /**
+     * Returns the value on top of the stack without removing it.
+     *
+     * @return the value on top.
+     */
+    int peek() {
+        return this.values[this.size - 1];
+    }
+
+    /**
+     * Returns the number of values in the stack.
+     *
+     * @return the size of the stack.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes every value.
+     */
+    void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Returns the values from the bottom to the top of the stack.
+     *
+     * @return a copy of the values.
+     */
+    int[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+}
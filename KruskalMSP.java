@@ -1,9 +1,14 @@
 package it.unicam.cs.asdl2425.mp2;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.Set;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * A singleton class that implements Kruskal's algorithm for finding a minimum
@@ -11,6 +16,11 @@ import java.util.ArrayList;
  * algorithm uses the {@code ForestDisjointSets<GraphNode<L>>} class to manage a
  * collection of disjoint sets of graph nodes.
  * 
+ * Edge sets too large to fit in memory can be read from an edge file (see
+ * {@code ExternalEdgeSorter}): the edges are sorted externally and streamed
+ * through an {@code IntDisjointSets}, so that only the disjoint sets of the
+ * nodes and the resulting forest are kept in memory.
+ * 
  * @param <L>  type of the labels of the graph nodes.
  * 
  * @author Leonardo Castignani @UNICAM
@@ -74,6 +84,241 @@ public class KruskalMSP<L> {
         return edgesACM;
     }
 
+    /**
+     * Use Kruskal's algorithm to find a minimum spanning tree (a forest if the
+     * graph is not connected) in an undirected, weighted graph with
+     * nonnegative edge weights, returning it in compact form. Unlike
+     * {@code computeMSP(Graph)}, no hash entry is created for the edges of
+     * the tree: the result stores them in primitive arrays, in the order in
+     * which they were added, together with the total weight and the number of
+     * connected components.
+     * 
+     * @param g  an undirected, weighted graph with nonnegative weights.
+     * @return the minimum spanning forest found.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException whether the graph is directed,
+     *         unweighted, or has negative weights.
+     */
+    public SpanningForest<L> computeCompactMSP(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        return this.computeCompactMSP(new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Use Kruskal's algorithm to find a minimum spanning forest of an
+     * undirected snapshot of a graph, returning it in compact form. The edges
+     * are sorted by weight as primitive arrays and merged with an
+     * {@code IntDisjointSets}.
+     * 
+     * @param g  an undirected snapshot with nonnegative weights.
+     * @return the minimum spanning forest found.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException whether the snapshot is directed,
+     *         unweighted, or has negative weights.
+     */
+    public SpanningForest<L> computeCompactMSP(CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        int[] sources = g.getEdgeSources();
+        int[] targets = g.getEdgeTargets();
+        long[] order = this.sortEdges(g);
+        IntDisjointSets sets = new IntDisjointSets(g.nodeCount());
+        int[] edges = new int[Math.max(0, g.nodeCount() - 1)];
+        int size = 0;
+        double totalWeight = 0;
+
+        for (int k = 0; k < order.length && size < edges.length; k++) {
+            int e = (int) order[k];
+
+            if (sets.union(sources[e], targets[e])) {
+                edges[size++] = e;
+                totalWeight += g.getEdgeWeights()[e];
+            }
+        }
+
+        return new SpanningForest<L>(g, Arrays.copyOf(edges, size), totalWeight,
+                                     sets.getSetCount());
+    }
+
+    /**
+     * Use Kruskal's algorithm to find a minimum spanning forest of an
+     * undirected, weighted graph and build its reconstruction tree, which
+     * answers minimum bottleneck queries between any two nodes in constant
+     * time.
+     * 
+     * @param g  an undirected, weighted graph with nonnegative weights.
+     * @return the Kruskal reconstruction tree of the graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException whether the graph is directed,
+     *         unweighted, or has negative weights.
+     */
+    public KruskalReconstructionTree<L> computeReconstructionTree(Graph<L> g) {
+        return new KruskalReconstructionTree<L>(this.computeCompactMSP(g));
+    }
+
+    /**
+     * Use a single run of Kruskal's algorithm to compute the single-linkage
+     * hierarchical clustering of an undirected, weighted graph. Every union of
+     * two disjoint sets of nodes is recorded as a merge of the dendrogram,
+     * together with its height and the size of the new cluster, so that any
+     * number of cuts can then be taken without running the algorithm again.
+     * 
+     * @param g  an undirected, weighted graph with nonnegative weights.
+     * @return the single-linkage dendrogram of the graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException whether the graph is directed,
+     *         unweighted, or has negative weights.
+     */
+    public SingleLinkageDendrogram<L> computeDendrogram(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        CompressedSparseRowGraph<L> csr = new CompressedSparseRowGraph<L>(g);
+        int n = csr.nodeCount();
+        long[] order = this.sortEdges(csr);
+        Map<GraphNode<L>, Integer> clusters =
+            new HashMap<GraphNode<L>, Integer>(2 * n);
+        int merges = Math.max(0, n - 1);
+        int[] left = new int[merges];
+        int[] right = new int[merges];
+        double[] height = new double[merges];
+        int[] size = new int[merges];
+        int[] clusterSize = new int[n + merges];
+        int count = 0;
+
+        this.disjointSets.clear();
+
+        for (int i = 0; i < n; i++) {
+            this.disjointSets.makeSet(csr.getNode(i));
+            clusters.put(csr.getNode(i), i);
+            clusterSize[i] = 1;
+        }
+
+        for (int k = 0; k < order.length && count < merges; k++) {
+            int e = (int) order[k];
+            GraphNode<L> u = this.disjointSets.findSet(
+                                 csr.getNode(csr.getEdgeSources()[e]));
+            GraphNode<L> v = this.disjointSets.findSet(
+                                 csr.getNode(csr.getEdgeTargets()[e]));
+
+            if (u == v) continue;
+
+            int cluster = n + count;
+            left[count] = clusters.remove(u);
+            right[count] = clusters.remove(v);
+            height[count] = csr.getEdgeWeights()[e];
+            clusterSize[cluster] = clusterSize[left[count]]
+                                   + clusterSize[right[count]];
+            size[count] = clusterSize[cluster];
+
+            this.disjointSets.union(u, v);
+            clusters.put(this.disjointSets.findSet(u), cluster);
+            count++;
+        }
+
+        return new SingleLinkageDendrogram<L>(csr, n,
+                                              Arrays.copyOf(left, count),
+                                              Arrays.copyOf(right, count),
+                                              Arrays.copyOf(height, count),
+                                              Arrays.copyOf(size, count));
+    }
+
+    /**
+     * Use Kruskal's algorithm to find a minimum spanning forest of an
+     * undirected graph whose edges are stored in an edge file, sorting them
+     * with a default {@code ExternalEdgeSorter}.
+     * 
+     * @param edgeFile  the edge file, with nonnegative weights.
+     * @param nodeCount  the number of nodes of the graph.
+     * @return the minimum spanning forest found.
+     * @throws NullPointerException if the file is null.
+     * @throws IllegalArgumentException if the node count is negative, if the
+     *         file is not a valid edge file or has negative weights.
+     * @throws IOException if reading the file or sorting it fails.
+     */
+    public SpanningForest<L> computeMSP(Path edgeFile, int nodeCount)
+            throws IOException {
+        return this.computeMSP(edgeFile, nodeCount, new ExternalEdgeSorter());
+    }
+
+    /**
+     * Use Kruskal's algorithm to find a minimum spanning forest of an
+     * undirected graph whose edges are stored in an edge file. The edges are
+     * sorted by the given sorter and streamed through a collection of disjoint
+     * sets of node indices; the stream stops as soon as the forest is a
+     * spanning tree.
+     * 
+     * @param edgeFile  the edge file, with nonnegative weights.
+     * @param nodeCount  the number of nodes of the graph.
+     * @param sorter  the sorter of the edge file.
+     * @return the minimum spanning forest found.
+     * @throws NullPointerException if the file or the sorter is null.
+     * @throws IllegalArgumentException if the node count is negative, if the
+     *         file is not a valid edge file or has negative weights.
+     * @throws IOException if reading the file or sorting it fails.
+     */
+    public SpanningForest<L> computeMSP(Path edgeFile, int nodeCount,
+            ExternalEdgeSorter sorter) throws IOException {
+        if (edgeFile == null || sorter == null) throw new NullPointerException();
+        if (nodeCount < 0) throw new IllegalArgumentException();
+
+        final IntDisjointSets sets = new IntDisjointSets(nodeCount);
+        final int capacity = Math.max(0, nodeCount - 1);
+        final int[] sources = new int[capacity];
+        final int[] targets = new int[capacity];
+        final double[] weights = new double[capacity];
+        final int[] size = new int[1];
+        final double[] totalWeight = new double[1];
+
+        sorter.sort(edgeFile, nodeCount, (u, v, w) -> {
+            // Edges arrive by nondecreasing weight, so a negative weight is
+            // always met before any edge is added.
+            if (w < 0) throw new IllegalArgumentException();
+
+            if (sets.union(u, v)) {
+                sources[size[0]] = u;
+                targets[size[0]] = v;
+                weights[size[0]] = w;
+                totalWeight[0] += w;
+                size[0]++;
+            }
+
+            return size[0] < capacity;
+        });
+
+        return new SpanningForest<L>(Arrays.copyOf(sources, size[0]),
+                                  Arrays.copyOf(targets, size[0]),
+                                  Arrays.copyOf(weights, size[0]),
+                                  totalWeight[0], sets.getSetCount());
+    }
+
+    /**
+     * Returns the numbers of the edges of a snapshot sorted by weight,
+     * checking that all the weights are nonnegative.
+     * 
+     * @param g  the snapshot.
+     * @return the edge numbers in nondecreasing order of weight.
+     * @throws IllegalArgumentException if a weight is NaN or negative.
+     */
+    private long[] sortEdges(CompressedSparseRowGraph<L> g) {
+        double[] weights = g.getEdgeWeights().clone();
+        long[] order = new long[weights.length];
+
+        for (int e = 0; e < weights.length; e++) {
+            if (Double.isNaN(weights[e]) || weights[e] < 0)
+                throw new IllegalArgumentException();
+
+            order[e] = e;
+        }
+
+        WeightSort.sort(weights, order, 0, order.length);
+
+        return order;
+    }
+
     /**
      * Method to sort a list of edges using the Quicksort algorithm.
      * 
@@ -125,4 +370,4 @@ public class KruskalMSP<L> {
         edges.set(j, edges.get(i));
         edges.set(i, temp);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,348 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * The Kruskal reconstruction tree of a minimum spanning forest, with an index
+ * that answers bottleneck queries in constant time.
+ *
+ * The tree has a leaf for every node of the graph (leaf {@code i} is the node
+ * with index {@code i}) and an internal node for every edge of the forest:
+ * replaying Kruskal's algorithm, every union of two sets creates a new
+ * internal node, weighted with the edge, whose children are the current roots
+ * of the two sets. Internal node {@code nodeCount() + i} corresponds to the
+ * edge {@code i} of the forest, so weights never decrease going up the tree.
+ *
+ * The lowest common ancestor of two leaves is the internal node of the
+ * heaviest edge on the path between them in the minimum spanning forest, that
+ * is their minimum bottleneck weight: the smallest weight {@code w} such that
+ * the two nodes are connected using only edges of weight at most {@code w}.
+ * Lowest common ancestors are found by a range-minimum query on the depths of
+ * an Euler tour of the tree, answered by a sparse table; the tour is built
+ * without recursion, so deep trees are not a problem.
+ *
+ * Building the index takes O(n log n) time and space; every query then takes
+ * constant time.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class KruskalReconstructionTree<L> {
+
+    private final int leafCount;
+    private final CompressedSparseRowGraph<L> graph;
+    private final double[] weight;
+    private final int[] parent;
+    private final int[] left;
+    private final int[] right;
+    private final int[] depth;
+    private final int[] tree;
+    private final int[] first;
+    private final int[][] sparse;
+
+    /**
+     * Builds the reconstruction tree of a minimum spanning forest computed by
+     * Kruskal's algorithm.
+     *
+     * @param forest  the forest, with its edges in nondecreasing order of
+     *        weight.
+     * @throws NullPointerException if the forest is null.
+     * @throws IllegalArgumentException if the edges of the forest are not in
+     *         nondecreasing order of weight or do not form a forest.
+     */
+    public KruskalReconstructionTree(SpanningForest<L> forest) {
+        if (forest == null) throw new NullPointerException();
+
+        int n = forest.edgeCount() + forest.getComponentCount();
+        int k = forest.edgeCount();
+        int size = n + k;
+        int[] sources = forest.getSources();
+        int[] targets = forest.getTargets();
+        double[] weights = forest.getWeights();
+
+        this.leafCount = n;
+        this.graph = forest.getSnapshot();
+        this.weight = new double[size];
+        this.parent = new int[size];
+        this.left = new int[k];
+        this.right = new int[k];
+        this.depth = new int[size];
+        this.tree = new int[size];
+        this.first = new int[size];
+
+        IntDisjointSets sets = new IntDisjointSets(n);
+        int[] top = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            top[i] = i;
+        }
+
+        for (int i = 0; i < size; i++) {
+            this.parent[i] = -1;
+        }
+
+        for (int i = 0; i < k; i++) {
+            if (i > 0 && weights[i] < weights[i - 1])
+                throw new IllegalArgumentException();
+
+            int node = n + i;
+            int ru = sets.findSet(sources[i]);
+            int rv = sets.findSet(targets[i]);
+
+            if (!sets.union(ru, rv)) throw new IllegalArgumentException();
+
+            this.weight[node] = weights[i];
+            this.left[i] = top[ru];
+            this.right[i] = top[rv];
+            this.parent[top[ru]] = node;
+            this.parent[top[rv]] = node;
+            top[sets.findSet(ru)] = node;
+        }
+
+        int[] tour = this.eulerTour();
+        this.sparse = buildSparseTable(tour, this.depth);
+    }
+
+    /**
+     * Returns the number of leaves, that is the number of nodes of the graph.
+     *
+     * @return the number of leaves.
+     */
+    public int nodeCount() {
+        return this.leafCount;
+    }
+
+    /**
+     * Returns the number of nodes of the tree, leaves included.
+     *
+     * @return the number of nodes of the tree.
+     */
+    public int size() {
+        return this.weight.length;
+    }
+
+    /**
+     * Returns the weight of a node of the tree: the weight of its edge for an
+     * internal node, 0 for a leaf.
+     *
+     * @param x  a node of the tree.
+     * @return the weight of x.
+     * @throws IndexOutOfBoundsException if x is not a node of the tree.
+     */
+    public double getWeight(int x) {
+        return this.weight[x];
+    }
+
+    /**
+     * Returns the parent of a node of the tree.
+     *
+     * @param x  a node of the tree.
+     * @return the parent of x, -1 if x is a root.
+     * @throws IndexOutOfBoundsException if x is not a node of the tree.
+     */
+    public int getParent(int x) {
+        return this.parent[x];
+    }
+
+    /**
+     * Returns the lowest common ancestor of two nodes of the tree.
+     *
+     * @param x  the first node.
+     * @param y  the second node.
+     * @return the lowest common ancestor of x and y, -1 if they belong to
+     *         different trees.
+     * @throws IndexOutOfBoundsException if x or y is not a node of the tree.
+     */
+    public int lowestCommonAncestor(int x, int y) {
+        if (this.tree[x] != this.tree[y]) return -1;
+
+        int from = Math.min(this.first[x], this.first[y]);
+        int to = Math.max(this.first[x], this.first[y]);
+        int level = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        int a = this.sparse[level][from];
+        int b = this.sparse[level][to - (1 << level) + 1];
+
+        return this.depth[a] <= this.depth[b] ? a : b;
+    }
+
+    /**
+     * Returns the minimum bottleneck weight between two nodes of the graph:
+     * the smallest weight w such that the nodes are connected using only
+     * edges of weight at most w.
+     *
+     * @param u  the index of the first node.
+     * @param v  the index of the second node.
+     * @return the minimum bottleneck weight, 0 if u and v are the same node
+     *         and {@code Double.POSITIVE_INFINITY} if they are not connected.
+     * @throws IndexOutOfBoundsException if u or v is outside the range
+     *         <code>[0, nodeCount() - 1]</code>.
+     */
+    public double getBottleneckWeight(int u, int v) {
+        if (u < 0 || u >= this.leafCount || v < 0 || v >= this.leafCount)
+            throw new IndexOutOfBoundsException();
+
+        if (u == v) return 0;
+
+        int ancestor = this.lowestCommonAncestor(u, v);
+
+        return ancestor < 0 ? Double.POSITIVE_INFINITY : this.weight[ancestor];
+    }
+
+    /**
+     * Determines whether two nodes of the graph are connected using only edges
+     * of weight at most a given threshold.
+     *
+     * @param u  the index of the first node.
+     * @param v  the index of the second node.
+     * @param threshold  the largest weight allowed.
+     * @return true if u and v are connected by a path whose edges all weigh at
+     *         most the threshold.
+     * @throws IndexOutOfBoundsException if u or v is outside the range
+     *         <code>[0, nodeCount() - 1]</code>.
+     */
+    public boolean isConnectedWithin(int u, int v, double threshold) {
+        if (u < 0 || u >= this.leafCount || v < 0 || v >= this.leafCount)
+            throw new IndexOutOfBoundsException();
+
+        if (u == v) return true;
+
+        // Nodes of different trees are not connected, whatever the threshold.
+        int ancestor = this.lowestCommonAncestor(u, v);
+
+        return ancestor >= 0 && this.weight[ancestor] <= threshold;
+    }
+
+    /**
+     * Returns the minimum bottleneck weight between two nodes of the graph.
+     *
+     * @param u  the first node.
+     * @param v  the second node.
+     * @return the minimum bottleneck weight, 0 if u and v are the same node
+     *         and {@code Double.POSITIVE_INFINITY} if they are not connected.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     * @throws UnsupportedOperationException if the forest was not computed on
+     *         a snapshot of a graph.
+     */
+    public double getBottleneckWeight(GraphNode<L> u, GraphNode<L> v) {
+        if (u == null || v == null) throw new NullPointerException();
+        if (this.graph == null) throw new UnsupportedOperationException();
+
+        return this.getBottleneckWeight(this.graph.getIndexOf(u),
+                                        this.graph.getIndexOf(v));
+    }
+
+    /**
+     * Determines whether two nodes of the graph are connected using only edges
+     * of weight at most a given threshold.
+     *
+     * @param u  the first node.
+     * @param v  the second node.
+     * @param threshold  the largest weight allowed.
+     * @return true if u and v are connected by a path whose edges all weigh at
+     *         most the threshold.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     * @throws UnsupportedOperationException if the forest was not computed on
+     *         a snapshot of a graph.
+     */
+    public boolean isConnectedWithin(GraphNode<L> u, GraphNode<L> v,
+            double threshold) {
+        if (u == null || v == null) throw new NullPointerException();
+        if (this.graph == null) throw new UnsupportedOperationException();
+
+        return this.isConnectedWithin(this.graph.getIndexOf(u),
+                                      this.graph.getIndexOf(v), threshold);
+    }
+
+    /**
+     * Computes the Euler tour of every tree of the forest, filling the depth,
+     * the tree and the first position in the tour of every node.
+     *
+     * @return the Euler tour.
+     */
+    private int[] eulerTour() {
+        int size = this.weight.length;
+        int n = this.leafCount;
+        int roots = 0;
+
+        for (int x = 0; x < size; x++) {
+            if (this.parent[x] < 0) roots++;
+        }
+
+        int[] tour = new int[2 * size - roots];
+        int[] stack = new int[size];
+        byte[] visited = new byte[size - n];
+        int position = 0;
+        int trees = 0;
+
+        for (int root = size - 1; root >= 0; root--) {
+            if (this.parent[root] >= 0) continue;
+
+            int top = 0;
+            stack[top++] = root;
+            this.depth[root] = 0;
+            this.tree[root] = trees;
+            this.first[root] = position;
+            tour[position++] = root;
+
+            while (top > 0) {
+                int x = stack[top - 1];
+
+                if (x >= n && visited[x - n] < 2) {
+                    int child = visited[x - n]++ == 0 ? this.left[x - n]
+                                                      : this.right[x - n];
+
+                    this.depth[child] = this.depth[x] + 1;
+                    this.tree[child] = trees;
+                    this.first[child] = position;
+                    tour[position++] = child;
+                    stack[top++] = child;
+                }
+                else {
+                    top--;
+
+                    if (top > 0) tour[position++] = stack[top - 1];
+                }
+            }
+
+            trees++;
+        }
+
+        return tour;
+    }
+
+    /**
+     * Builds the sparse table of the positions of a tour: entry
+     * {@code [j][i]} is the node of least depth among the positions from i to
+     * {@code i + 2^j - 1}.
+     *
+     * @param tour  the Euler tour.
+     * @param depth  the depth of every node.
+     * @return the sparse table.
+     */
+    private static int[][] buildSparseTable(int[] tour, int[] depth) {
+        int length = tour.length;
+        int levels = length == 0 ? 1
+                                 : 32 - Integer.numberOfLeadingZeros(length);
+        int[][] table = new int[levels][];
+
+        table[0] = tour;
+
+        for (int j = 1; j < levels; j++) {
+            int half = 1 << (j - 1);
+            int[] previous = table[j - 1];
+            int[] current = new int[length - (1 << j) + 1];
+
+            for (int i = 0; i < current.length; i++) {
+                int a = previous[i];
+                int b = previous[i + half];
+
+                current[i] = depth[a] <= depth[b] ? a : b;
+            }
+
+            table[j] = current;
+        }
+
+        return table;
+    }
+}
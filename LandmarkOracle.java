@@ -0,0 +1,406 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A distance oracle based on landmarks (the ALT technique of Goldberg and
+ * Harrelson) for weighted graphs with nonnegative weights, directed or
+ * undirected.
+ *
+ * A preprocessing step chooses k landmarks and computes, with
+ * {@code DijkstraSSSP}, the exact distance from every landmark to every node
+ * (and, in a directed graph, from every node to every landmark). By the
+ * triangle inequality, for every landmark {@code L}
+ * <pre>
+ *     d(L, t) - d(L, s) &lt;= d(s, t) &lt;= d(s, L) + d(L, t)
+ *     d(s, L) - d(t, L) &lt;= d(s, t)
+ * </pre>
+ * so {@code lowerBound} and {@code upperBound} answer in O(k) time with the
+ * best bounds over all the landmarks. The lower bound is admissible. The
+ * exact landmark bounds are also consistent, but widening them for rounding
+ * (see below) can break consistency by a few ulps, so the paths found by
+ * {@code BidirectionalAStar} guided by the oracle are shortest up to that
+ * error.
+ *
+ * Distances are stored as {@code float}, in tables laid out node by node so
+ * that a query reads two runs of k contiguous values, and the bounds are
+ * widened by the rounding error so that they stay valid. A finite distance
+ * too large for a {@code float} is saturated to {@code Float.MAX_VALUE}, and
+ * a saturated entry gives no bound at all.
+ *
+ * Landmarks can be chosen by farthest-point selection, which spreads them at
+ * the periphery of the graph and gives the tightest bounds, or by highest
+ * degree, which only needs one pass over the nodes.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class LandmarkOracle<L> implements DistanceHeuristic<L> {
+
+    /**
+     * The strategies for choosing the landmarks.
+     */
+    public enum Selection {
+
+        /**
+         * Every landmark is the node farthest from the landmarks already
+         * chosen; the first one is the node farthest from the node with
+         * highest degree.
+         */
+        FARTHEST_POINT,
+
+        /**
+         * The landmarks are the nodes with highest degree.
+         */
+        HIGHEST_DEGREE
+    }
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] landmarks;
+    private final float[] from;
+    private final float[] to;
+    private final Map<L, Integer> indices;
+
+    /**
+     * Builds the oracle of a graph.
+     *
+     * @param g  a weighted graph with nonnegative weights.
+     * @param k  the number of landmarks.
+     * @param selection  the strategy for choosing the landmarks.
+     * @throws NullPointerException if the graph or the strategy is null.
+     * @throws IllegalArgumentException if the graph is unweighted or has
+     *         negative weights, or k is not in the range
+     *         <code>[1, nodeCount]</code>.
+     */
+    public LandmarkOracle(Graph<L> g, int k, Selection selection) {
+        this(new CompressedSparseRowGraph<L>(g), k, selection);
+    }
+
+    /**
+     * Builds the oracle of a snapshot of a graph.
+     *
+     * @param g  a snapshot with nonnegative weights.
+     * @param k  the number of landmarks.
+     * @param selection  the strategy for choosing the landmarks.
+     * @throws NullPointerException if the snapshot or the strategy is null.
+     * @throws IllegalArgumentException if the snapshot is unweighted or has
+     *         negative weights, or k is not in the range
+     *         <code>[1, nodeCount]</code>.
+     */
+    public LandmarkOracle(CompressedSparseRowGraph<L> g, int k,
+            Selection selection) {
+        if (g == null || selection == null) throw new NullPointerException();
+        if (k < 1 || k > g.nodeCount()) throw new IllegalArgumentException();
+
+        int n = g.nodeCount();
+        CompressedSparseRowGraph<L> reverse = g.isDirected()
+            ? new CompressedSparseRowGraph<L>(n, g.getEdgeTargets(),
+                                              g.getEdgeSources(),
+                                              g.getEdgeWeights(), true)
+            : null;
+        DijkstraSSSP<L> dijkstra = new DijkstraSSSP<L>();
+
+        this.graph = g;
+        this.landmarks = new int[k];
+        this.from = new float[n * k];
+        this.to = reverse == null ? this.from : new float[n * k];
+        this.indices = new HashMap<L, Integer>(2 * n);
+
+        for (int v = 0; v < n && g.getNode(v) != null; v++) {
+            this.indices.put(g.getNode(v).getLabel(), v);
+        }
+
+        if (selection == Selection.HIGHEST_DEGREE) this.selectByDegree(g);
+
+        double[] nearest = null;
+
+        if (selection == Selection.FARTHEST_POINT) {
+            nearest = new double[n];
+
+            ShortestPathTree<L> tree =
+                dijkstra.computeShortestPathTree(g, this.selectByDegree(g));
+
+            for (int v = 0; v < n; v++) {
+                nearest[v] = Double.POSITIVE_INFINITY;
+            }
+
+            this.landmarks[0] = farthest(tree, nearest);
+        }
+
+        for (int i = 0; i < k; i++) {
+            ShortestPathTree<L> tree =
+                dijkstra.computeShortestPathTree(g, this.landmarks[i]);
+
+            for (int v = 0; v < n; v++) {
+                this.from[v * k + i] = saturate(tree.getDistance(v));
+            }
+
+            if (reverse != null) {
+                ShortestPathTree<L> back = dijkstra
+                    .computeShortestPathTree(reverse, this.landmarks[i]);
+
+                for (int v = 0; v < n; v++) {
+                    this.to[v * k + i] = saturate(back.getDistance(v));
+                }
+            }
+
+            if (nearest != null && i + 1 < k) {
+                for (int v = 0; v < n; v++) {
+                    nearest[v] = Math.min(nearest[v], tree.getDistance(v));
+                }
+
+                for (int j = 0; j <= i; j++) {
+                    nearest[this.landmarks[j]] = -1;
+                }
+
+                this.landmarks[i + 1] = farthest(null, nearest);
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot the oracle was built on.
+     *
+     * @return the snapshot of the graph.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of landmarks.
+     *
+     * @return the number of landmarks.
+     */
+    public int landmarkCount() {
+        return this.landmarks.length;
+    }
+
+    /**
+     * Returns a landmark.
+     *
+     * @param i  the number of the landmark.
+     * @return the index of the node chosen as landmark i.
+     * @throws IndexOutOfBoundsException if i is outside the range
+     *         <code>[0, landmarkCount() - 1]</code>.
+     */
+    public int getLandmark(int i) {
+        return this.landmarks[i];
+    }
+
+    /**
+     * Returns a lower bound of the distance between two nodes.
+     *
+     * @param s  the index of the first node.
+     * @param t  the index of the second node.
+     * @return a lower bound of the distance from s to t,
+     *         {@code Double.POSITIVE_INFINITY} if a landmark proves that t is
+     *         not reachable from s.
+     * @throws IndexOutOfBoundsException if a node is out of range.
+     */
+    public double lowerBound(int s, int t) {
+        this.checkNodes(s, t);
+
+        int k = this.landmarks.length;
+        double bound = 0;
+
+        for (int i = 0; i < k; i++) {
+            bound = Math.max(bound, difference(this.from[t * k + i],
+                                               this.from[s * k + i]));
+            bound = Math.max(bound, difference(this.to[s * k + i],
+                                               this.to[t * k + i]));
+        }
+
+        return bound;
+    }
+
+    /**
+     * Returns an upper bound of the distance between two nodes.
+     *
+     * @param s  the index of the first node.
+     * @param t  the index of the second node.
+     * @return an upper bound of the distance from s to t,
+     *         {@code Double.POSITIVE_INFINITY} if no landmark lies on a path
+     *         from s to t.
+     * @throws IndexOutOfBoundsException if a node is out of range.
+     */
+    public double upperBound(int s, int t) {
+        this.checkNodes(s, t);
+
+        if (s == t) return 0;
+
+        int k = this.landmarks.length;
+        double bound = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < k; i++) {
+            float a = this.to[s * k + i];
+            float b = this.from[t * k + i];
+
+            if (a == Float.MAX_VALUE || b == Float.MAX_VALUE) continue;
+
+            bound = Math.min(bound, (double) a + b + Math.ulp(a) + Math.ulp(b));
+        }
+
+        return bound;
+    }
+
+    /**
+     * Returns a lower bound of the distance between two nodes.
+     *
+     * @param s  the first node.
+     * @param t  the second node.
+     * @return a lower bound of the distance from s to t.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     */
+    public double lowerBound(GraphNode<L> s, GraphNode<L> t) {
+        if (s == null || t == null) throw new NullPointerException();
+
+        return this.lowerBound(this.graph.getIndexOf(s),
+                               this.graph.getIndexOf(t));
+    }
+
+    /**
+     * Returns an upper bound of the distance between two nodes.
+     *
+     * @param s  the first node.
+     * @param t  the second node.
+     * @return an upper bound of the distance from s to t.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     */
+    public double upperBound(GraphNode<L> s, GraphNode<L> t) {
+        if (s == null || t == null) throw new NullPointerException();
+
+        return this.upperBound(this.graph.getIndexOf(s),
+                               this.graph.getIndexOf(t));
+    }
+
+    /*
+     * The estimate is the lower bound between the nodes with the given labels.
+     * It is called for every node reached by a search, so the labels are
+     * resolved with a map built once instead of creating nodes.
+     */
+    @Override
+    public double estimate(L from, L to) {
+        Integer s = this.indices.get(from);
+        Integer t = this.indices.get(to);
+
+        if (s == null || t == null) throw new IllegalArgumentException();
+
+        return this.lowerBound(s.intValue(), t.intValue());
+    }
+
+    /**
+     * Checks that two indices are nodes of the graph.
+     *
+     * @param s  the first index.
+     * @param t  the second index.
+     */
+    private void checkNodes(int s, int t) {
+        int n = this.graph.nodeCount();
+
+        if (s < 0 || s >= n || t < 0 || t >= n)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Chooses the landmarks among the nodes with highest degree, ties broken
+     * by index, and returns the node with highest degree.
+     *
+     * @param g  the snapshot.
+     * @return the node with highest degree.
+     */
+    private int selectByDegree(CompressedSparseRowGraph<L> g) {
+        int n = g.nodeCount();
+        int k = this.landmarks.length;
+        double[] keys = new double[n];
+        long[] order = new long[n];
+
+        for (int v = 0; v < n; v++) {
+            keys[v] = -g.degreeOf(v);
+            order[v] = v;
+        }
+
+        WeightSort.sort(keys, order, 0, n);
+
+        // The sort is not stable: order the nodes of equal degree by index.
+        for (int i = 0; i < n;) {
+            int j = i + 1;
+
+            while (j < n && keys[j] == keys[i]) j++;
+
+            Arrays.sort(order, i, j);
+            i = j;
+        }
+
+        for (int i = 0; i < k; i++) {
+            this.landmarks[i] = (int) order[i];
+        }
+
+        return this.landmarks[0];
+    }
+
+    /**
+     * Returns the node with the largest finite value of an array, or the
+     * first node with an infinite value if there is one.
+     *
+     * @param tree  the tree whose distances to use, null to use the array.
+     * @param nearest  the distance of every node from the nearest landmark,
+     *        -1 for the landmarks themselves.
+     * @return the farthest node.
+     */
+    private static int farthest(ShortestPathTree<?> tree, double[] nearest) {
+        int best = 0;
+        double bestDistance = -1;
+
+        for (int v = 0; v < nearest.length; v++) {
+            double d = tree == null ? nearest[v] : tree.getDistance(v);
+
+            if (d > bestDistance) {
+                best = v;
+                bestDistance = d;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Converts a distance to the stored {@code float}, saturating a finite
+     * distance that does not fit to {@code Float.MAX_VALUE} so that it is not
+     * mistaken for an unreachable node.
+     *
+     * @param distance  the distance.
+     * @return the value to store.
+     */
+    private static float saturate(double distance) {
+        float value = (float) distance;
+
+        if (value == Float.POSITIVE_INFINITY
+            && distance != Double.POSITIVE_INFINITY)
+            return Float.MAX_VALUE;
+
+        return value;
+    }
+
+    /**
+     * Returns the lower bound given by the difference of two stored
+     * distances, widened by their rounding error.
+     *
+     * @param a  the larger distance, if the bound is meaningful.
+     * @param b  the distance to subtract.
+     * @return the lower bound, 0 if the difference gives no information,
+     *         in particular if a distance is saturated.
+     */
+    private static double difference(float a, float b) {
+        if (a == Float.MAX_VALUE || b == Float.MAX_VALUE) return 0;
+        if (b == Float.POSITIVE_INFINITY) return 0;
+        if (a == Float.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+
+        return Math.max(0, (double) a - b - Math.ulp(a) - Math.ulp(b));
+    }
+}
@@ -0,0 +1,334 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * A forest of link-cut trees (Sleator and Tarjan) over the integers
+ * {@code 1 .. capacity}, stored in primitive arrays. Every vertex has a value
+ * and the forest supports, in O(log n) amortized time, linking two trees,
+ * cutting an edge, testing whether two vertices are in the same tree and
+ * finding the vertex with the largest value on the path between two vertices.
+ *
+ * Every preferred path is kept in a splay tree ordered by depth; re-rooting a
+ * tree reverses the order of a path with a lazy flag. Index 0 is used as the
+ * null vertex.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+final class LinkCutTree {
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private double[] value;
+    private int[] maximum;
+    private int[] stack;
+
+    /**
+     * Constructs a forest of isolated vertices.
+     *
+     * @param capacity  the initial number of vertices.
+     */
+    LinkCutTree(int capacity) {
+        int size = Math.max(2, capacity + 1);
+
+        this.left = new int[size];
+        this.right = new int[size];
+        this.parent = new int[size];
+        this.reversed = new boolean[size];
+        this.value = new double[size];
+        this.maximum = new int[size];
+        this.stack = new int[64];
+        this.value[0] = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Makes room for vertices up to a given index, keeping the existing ones.
+     *
+     * @param vertex  the largest vertex that must exist.
+     */
+    void ensureCapacity(int vertex) {
+        if (vertex < this.left.length) return;
+
+        int size = Math.max(vertex + 1, 2 * this.left.length);
+
+        this.left = Arrays.copyOf(this.left, size);
+        this.right = Arrays.copyOf(this.right, size);
+        this.parent = Arrays.copyOf(this.parent, size);
+        this.reversed = Arrays.copyOf(this.reversed, size);
+        this.value = Arrays.copyOf(this.value, size);
+        this.maximum = Arrays.copyOf(this.maximum, size);
+    }
+
+    /**
+     * Turns a vertex into an isolated vertex with a given value.
+     *
+     * @param x  the vertex.
+     * @param v  the value of the vertex.
+     */
+    void reset(int x, double v) {
+        this.ensureCapacity(x);
+        this.left[x] = 0;
+        this.right[x] = 0;
+        this.parent[x] = 0;
+        this.reversed[x] = false;
+        this.value[x] = v;
+        this.maximum[x] = x;
+    }
+
+    /**
+     * Returns the value of a vertex.
+     *
+     * @param x  the vertex.
+     * @return the value of x.
+     */
+    double getValue(int x) {
+        return this.value[x];
+    }
+
+    /**
+     * Changes the value of a vertex.
+     *
+     * @param x  the vertex.
+     * @param v  the new value.
+     */
+    void setValue(int x, double v) {
+        this.access(x);
+        this.splay(x);
+        this.value[x] = v;
+        this.pull(x);
+    }
+
+    /**
+     * Determines whether two vertices are in the same tree.
+     *
+     * @param x  the first vertex.
+     * @param y  the second vertex.
+     * @return true if x and y are connected.
+     */
+    boolean connected(int x, int y) {
+        return x == y || this.findRoot(x) == this.findRoot(y);
+    }
+
+    /**
+     * Adds the edge between two vertices in different trees.
+     *
+     * @param x  the first vertex.
+     * @param y  the second vertex.
+     */
+    void link(int x, int y) {
+        this.makeRoot(x);
+        this.parent[x] = y;
+    }
+
+    /**
+     * Removes the edge between two adjacent vertices.
+     *
+     * @param x  the first vertex.
+     * @param y  the second vertex.
+     */
+    void cut(int x, int y) {
+        this.makeRoot(x);
+        this.access(y);
+        this.splay(y);
+        this.left[y] = 0;
+        this.parent[x] = 0;
+        this.pull(y);
+    }
+
+    /**
+     * Returns the vertex with the largest value on the path between two
+     * connected vertices.
+     *
+     * @param x  the first vertex.
+     * @param y  the second vertex.
+     * @return the vertex with the largest value on the path from x to y.
+     */
+    int pathMaximum(int x, int y) {
+        this.makeRoot(x);
+        this.access(y);
+        this.splay(y);
+
+        return this.maximum[y];
+    }
+
+    /**
+     * Makes a vertex the root of its tree.
+     *
+     * @param x  the vertex.
+     */
+    private void makeRoot(int x) {
+        this.access(x);
+        this.splay(x);
+        this.reversed[x] = !this.reversed[x];
+    }
+
+    /**
+     * Returns the root of the tree containing a vertex.
+     *
+     * @param x  the vertex.
+     * @return the root of its tree.
+     */
+    private int findRoot(int x) {
+        this.access(x);
+        this.splay(x);
+
+        while (true) {
+            this.push(x);
+
+            if (this.left[x] == 0) break;
+
+            x = this.left[x];
+        }
+
+        this.splay(x);
+
+        return x;
+    }
+
+    /**
+     * Makes the path from the root to a vertex the preferred path.
+     *
+     * @param x  the vertex.
+     */
+    private void access(int x) {
+        int last = 0;
+
+        for (int y = x; y != 0; y = this.parent[y]) {
+            this.splay(y);
+            this.right[y] = last;
+            this.pull(y);
+            last = y;
+        }
+    }
+
+    /**
+     * Brings a vertex to the root of its splay tree.
+     *
+     * @param x  the vertex.
+     */
+    private void splay(int x) {
+        this.pushFromRoot(x);
+
+        while (!this.isSplayRoot(x)) {
+            int p = this.parent[x];
+
+            if (!this.isSplayRoot(p)) {
+                int g = this.parent[p];
+
+                if ((this.left[g] == p) == (this.left[p] == x))
+                    this.rotate(p);
+                else
+                    this.rotate(x);
+            }
+
+            this.rotate(x);
+        }
+    }
+
+    /**
+     * Rotates a vertex above its parent in the splay tree.
+     *
+     * @param x  the vertex.
+     */
+    private void rotate(int x) {
+        int p = this.parent[x];
+        int g = this.parent[p];
+
+        if (!this.isSplayRoot(p)) {
+            if (this.left[g] == p) this.left[g] = x;
+            else this.right[g] = x;
+        }
+
+        this.parent[x] = g;
+
+        if (this.left[p] == x) {
+            this.left[p] = this.right[x];
+            if (this.right[x] != 0) this.parent[this.right[x]] = p;
+            this.right[x] = p;
+        }
+        else {
+            this.right[p] = this.left[x];
+            if (this.left[x] != 0) this.parent[this.left[x]] = p;
+            this.left[x] = p;
+        }
+
+        this.parent[p] = x;
+        this.pull(p);
+        this.pull(x);
+    }
+
+    /**
+     * Applies the pending reversals on the path from the splay root down to a
+     * vertex.
+     *
+     * @param x  the vertex.
+     */
+    private void pushFromRoot(int x) {
+        int size = 0;
+
+        for (int y = x; ; y = this.parent[y]) {
+            if (size == this.stack.length)
+                this.stack = Arrays.copyOf(this.stack, 2 * size);
+
+            this.stack[size++] = y;
+
+            if (this.isSplayRoot(y)) break;
+        }
+
+        while (size > 0) {
+            this.push(this.stack[--size]);
+        }
+    }
+
+    /**
+     * Applies the pending reversal of a vertex to its children.
+     *
+     * @param x  the vertex.
+     */
+    private void push(int x) {
+        if (!this.reversed[x]) return;
+
+        int temp = this.left[x];
+        this.left[x] = this.right[x];
+        this.right[x] = temp;
+
+        if (this.left[x] != 0)
+            this.reversed[this.left[x]] = !this.reversed[this.left[x]];
+        if (this.right[x] != 0)
+            this.reversed[this.right[x]] = !this.reversed[this.right[x]];
+
+        this.reversed[x] = false;
+    }
+
+    /**
+     * Recomputes the maximum of the splay subtree of a vertex.
+     *
+     * @param x  the vertex.
+     */
+    private void pull(int x) {
+        int best = x;
+
+        if (this.left[x] != 0
+            && this.value[this.maximum[this.left[x]]] > this.value[best])
+            best = this.maximum[this.left[x]];
+        if (this.right[x] != 0
+            && this.value[this.maximum[this.right[x]]] > this.value[best])
+            best = this.maximum[this.right[x]];
+
+        this.maximum[x] = best;
+    }
+
+    /**
+     * Determines whether a vertex is the root of its splay tree.
+     *
+     * @param x  the vertex.
+     * @return true if x has no parent in its splay tree.
+     */
+    private boolean isSplayRoot(int x) {
+        int p = this.parent[x];
+
+        return p == 0 || (this.left[p] != x && this.right[p] != x);
+    }
+}
@@ -0,0 +1,880 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * A class that detects the communities of a weighted undirected graph by
+ * maximizing their modularity with the Louvain method, optionally with the
+ * refinement phase of the Leiden algorithm, in parallel on a
+ * {@code ForkJoinPool}.
+ *
+ * Every level works on an int-indexed graph in compressed sparse row form.
+ * In the local moving phase every node, starting from its own community,
+ * moves to the neighbouring community that increases the modularity most;
+ * the nodes are processed in parallel, in rounds, by one task per worker of
+ * the pool. Every task accumulates the weights towards the neighbouring
+ * communities of a node in its own dense array, reset lazily with a stamp,
+ * while the total degree of every community is kept in an atomic array
+ * updated by compare-and-set. To avoid two singletons swapping communities
+ * forever, a singleton only joins another singleton of larger id, which the
+ * tasks, moving through the nodes in increasing order, still find alone.
+ * After the first round a node is only visited again if a neighbour moved to
+ * a community other than its own, and the rounds stop when no node moves or
+ * the moves barely improve the modularity.
+ *
+ * The communities are then contracted: every community becomes a node of a
+ * coarser graph, whose edges sum the weights between the communities and
+ * whose loops keep their internal weight, and the method is repeated on it
+ * until no community merges any more. With the refinement, every community
+ * is first split into well-connected sub-communities by merging its
+ * singletons greedily, as in the Leiden algorithm but choosing the best merge
+ * instead of a random one; the coarser graph has a node for every
+ * sub-community, starting in the community that contains it, which keeps
+ * every community internally connected.
+ *
+ * Edges without a weight weigh 1. Memory is dominated by one array of n
+ * doubles and one of n ints for every worker.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class LouvainCommunityDetector<L> {
+
+    private static final int CHUNK = 256;
+    private static final int BLOCK = 4096;
+    private static final int MAX_ROUNDS = 64;
+    private static final int MAX_LEVELS = 64;
+    private static final double MIN_GAIN = 1e-7;
+
+    private final ForkJoinPool pool;
+    private final double resolution;
+    private final boolean refine;
+
+    /**
+     * Build a community detector with resolution 1 and the refinement, that
+     * runs on the common {@code ForkJoinPool}.
+     */
+    public LouvainCommunityDetector() {
+        this(ForkJoinPool.commonPool(), 1, true);
+    }
+
+    /**
+     * Build a community detector.
+     *
+     * @param pool  the pool running the phases of every level.
+     * @param resolution  the resolution of the modularity: larger values give
+     *        smaller communities.
+     * @param refine  true to refine the communities as in the Leiden
+     *        algorithm before every contraction, false for plain Louvain.
+     * @throws NullPointerException if the pool is null.
+     * @throws IllegalArgumentException if the resolution is not positive.
+     */
+    public LouvainCommunityDetector(ForkJoinPool pool, double resolution,
+            boolean refine) {
+        if (pool == null) throw new NullPointerException();
+        if (!(resolution > 0 && resolution < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException();
+
+        this.pool = pool;
+        this.resolution = resolution;
+        this.refine = refine;
+    }
+
+    /**
+     * Detects the communities of an undirected graph.
+     *
+     * @param g  an undirected graph.
+     * @return the communities, whose snapshot identifies the nodes of the
+     *         graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is directed or has a
+     *         negative or infinite weight.
+     */
+    public Communities<L> detectCommunities(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        return this.detectCommunities(new CompressedSparseRowGraph<L>(g),
+                                      true);
+    }
+
+    /**
+     * Detects the communities of an undirected snapshot of a graph.
+     *
+     * @param g  an undirected snapshot.
+     * @param weighted  true to use the weights of the snapshot, in which
+     *        case {@code Double.NaN} weighs 1, false to give every edge weight
+     *        1.
+     * @return the communities, numbered by their smallest node.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is directed or has a
+     *         negative or infinite weight.
+     */
+    public Communities<L> detectCommunities(CompressedSparseRowGraph<L> g,
+            boolean weighted) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        int n = g.nodeCount();
+        Level base = this.baseLevel(g, weighted);
+        Level level = base;
+        int[] community = identity(level.n);
+        int[] nodeMap = identity(n);
+        int tasks = Math.max(1, this.pool.getParallelism());
+        Accumulator[] accumulators = new Accumulator[tasks];
+        int levels = 1;
+
+        for (int t = 0; t < tasks; t++) {
+            accumulators[t] = new Accumulator(n);
+        }
+
+        while (levels < MAX_LEVELS) {
+            this.moveNodes(level, community, accumulators);
+
+            int[] parts = this.refine ? this.refinePartition(level, community)
+                                      : community;
+            int[] map = new int[level.n];
+            Level coarse = this.aggregate(level, parts, map, accumulators);
+
+            // Without sub-communities to merge, contract the communities.
+            if (coarse.n == level.n && parts != community) {
+                parts = community;
+                coarse = this.aggregate(level, parts, map, accumulators);
+            }
+
+            if (coarse.n == level.n) break;
+
+            boolean refined = parts != community;
+            int[] next = refined ? new int[coarse.n] : identity(coarse.n);
+
+            // A sub-community starts in the community that contains it.
+            if (refined) {
+                for (int v = 0; v < level.n; v++) {
+                    next[map[v]] = community[v];
+                }
+
+                int[] id = compact(next, new int[level.n]);
+
+                for (int c = 0; c < coarse.n; c++) {
+                    next[c] = id[next[c]];
+                }
+            }
+
+            for (int v = 0; v < n; v++) {
+                nodeMap[v] = map[nodeMap[v]];
+            }
+
+            level = coarse;
+            community = next;
+            levels++;
+        }
+
+        int[] result = new int[n];
+
+        for (int v = 0; v < n; v++) {
+            result[v] = community[nodeMap[v]];
+        }
+
+        // Renumber the communities by their smallest node.
+        int[] id = new int[Math.max(1, level.n)];
+        int count = 0;
+
+        Arrays.fill(id, -1);
+
+        for (int v = 0; v < n; v++) {
+            if (id[result[v]] < 0) id[result[v]] = count++;
+
+            result[v] = id[result[v]];
+        }
+
+        return new Communities<L>(g, result, count,
+                                  this.modularity(base, result), levels);
+    }
+
+    /**
+     * Builds the first level from a snapshot, moving loops out of the
+     * adjacency.
+     *
+     * @param g  the snapshot.
+     * @param weighted  true to use the weights of the snapshot.
+     * @return the level.
+     */
+    private Level baseLevel(CompressedSparseRowGraph<L> g, boolean weighted) {
+        int n = g.nodeCount();
+        int[] slots = g.getOffsets();
+        int[] adjacency = g.getAdjacency();
+        double[] slotWeights = g.getAdjacencyWeights();
+        int[] sources = g.getEdgeSources();
+        int[] targets = g.getEdgeTargets();
+        double[] edgeWeights = g.getEdgeWeights();
+        Level level = new Level(n);
+
+        for (double w : edgeWeights) {
+            if (weighted && !(Double.isNaN(w)
+                              || (w >= 0 && w < Double.POSITIVE_INFINITY)))
+                throw new IllegalArgumentException();
+        }
+
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] == targets[e])
+                level.loop[sources[e]] += weight(edgeWeights[e], weighted);
+        }
+
+        int grain = ParallelFor.grainFor(this.pool, n, BLOCK);
+
+        ParallelFor.run(this.pool, 0, n, grain, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                for (int k = slots[v]; k < slots[v + 1]; k++) {
+                    if (adjacency[k] != v) level.offsets[v + 1]++;
+                }
+            }
+        });
+
+        level.allocate();
+
+        ParallelFor.run(this.pool, 0, n, grain, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int write = level.offsets[v];
+                double degree = 2 * level.loop[v];
+
+                for (int k = slots[v]; k < slots[v + 1]; k++) {
+                    if (adjacency[k] == v) continue;
+
+                    level.adjacency[write] = adjacency[k];
+                    level.weights[write] = weight(slotWeights[k], weighted);
+                    degree += level.weights[write++];
+                }
+
+                level.degree[v] = degree;
+            }
+        });
+
+        level.sumDegrees();
+
+        return level;
+    }
+
+    /**
+     * Runs the local moving phase on a level. After the first round only the
+     * nodes with a neighbour that changed community are visited again.
+     *
+     * @param level  the level.
+     * @param community  the community of every node, updated in place.
+     * @param accumulators  the scratch arrays of the tasks.
+     */
+    private void moveNodes(Level level, int[] community,
+            Accumulator[] accumulators) {
+        int n = level.n;
+
+        if (level.totalDegree <= 0) return;
+
+        AtomicLongArray total = new AtomicLongArray(n);
+        AtomicIntegerArray size = new AtomicIntegerArray(n);
+        double scale = this.resolution / level.totalDegree;
+        boolean[] active = new boolean[n];
+        boolean[] touched = new boolean[n];
+
+        for (int v = 0; v < n; v++) {
+            addTo(total, community[v], level.degree[v]);
+            size.incrementAndGet(community[v]);
+        }
+
+        Arrays.fill(active, true);
+
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger moved = new AtomicInteger();
+            DoubleAdder gain = new DoubleAdder();
+            boolean[] visit = active;
+            boolean[] mark = touched;
+
+            ParallelFor.run(this.pool, 0, accumulators.length, 1,
+                            (from, to) -> {
+                for (int t = from; t < to; t++) {
+                    Accumulator acc = accumulators[t];
+                    double sum = 0;
+                    int count = 0;
+
+                    for (int start = next.getAndAdd(CHUNK); start < n;
+                         start = next.getAndAdd(CHUNK)) {
+                        for (int v = start; v < Math.min(n, start + CHUNK);
+                             v++) {
+                            if (!visit[v]) continue;
+
+                            double g = moveNode(level, community, total, size,
+                                                acc, scale, v, mark);
+
+                            if (g > 0) {
+                                sum += g;
+                                count++;
+                            }
+                        }
+                    }
+
+                    gain.add(sum);
+                    moved.addAndGet(count);
+                }
+            });
+
+            // The gains are in units of half the total degree.
+            if (moved.get() == 0
+                || 2 * gain.sum() / level.totalDegree < MIN_GAIN)
+                break;
+
+            Arrays.fill(active, false);
+            active = touched;
+            touched = visit;
+        }
+    }
+
+    /**
+     * Moves a node to the neighbouring community that increases the
+     * modularity most, and marks its neighbours outside that community to be
+     * visited again.
+     *
+     * @param level  the level.
+     * @param community  the community of every node.
+     * @param total  the total degree of every community.
+     * @param size  the number of nodes of every community.
+     * @param acc  the scratch array of the task.
+     * @param scale  the resolution divided by the total degree.
+     * @param v  the node.
+     * @param mark  the nodes to visit in the next round.
+     * @return the increase of the gain of the node, 0 if it did not move.
+     */
+    private static double moveNode(Level level, int[] community,
+            AtomicLongArray total, AtomicIntegerArray size, Accumulator acc,
+            double scale, int v, boolean[] mark) {
+        int own = community[v];
+        double degree = level.degree[v];
+
+        acc.clear();
+
+        for (int k = level.offsets[v]; k < level.offsets[v + 1]; k++) {
+            acc.add(community[level.adjacency[k]], level.weights[k]);
+        }
+
+        int best = own;
+        double stay = acc.get(own)
+            - scale * degree * (get(total, own) - degree);
+        double bestGain = stay;
+
+        for (int i = 0; i < acc.size; i++) {
+            int c = acc.keys[i];
+
+            if (c == own || (size.get(own) == 1 && size.get(c) == 1
+                             && c < own))
+                continue;
+
+            double gain = acc.get(c) - scale * degree * get(total, c);
+
+            if (gain > bestGain) {
+                best = c;
+                bestGain = gain;
+            }
+        }
+
+        if (best == own) return 0;
+
+        addTo(total, own, -degree);
+        addTo(total, best, degree);
+        size.decrementAndGet(own);
+        size.incrementAndGet(best);
+        community[v] = best;
+
+        for (int k = level.offsets[v]; k < level.offsets[v + 1]; k++) {
+            int u = level.adjacency[k];
+
+            if (community[u] != best) mark[u] = true;
+        }
+
+        return bestGain - stay;
+    }
+
+    /**
+     * Splits every community in well-connected sub-communities, merging its
+     * singleton nodes greedily. The communities are refined in parallel: a
+     * sub-community is identified by one of its nodes, so the sub-communities
+     * of different communities never share an index.
+     *
+     * @param level  the level.
+     * @param community  the community of every node.
+     * @return the sub-community of every node.
+     */
+    private int[] refinePartition(Level level, int[] community) {
+        int n = level.n;
+
+        if (level.totalDegree <= 0) return identity(n);
+
+        int[] offsets = new int[n + 1];
+        int[] members = new int[n];
+
+        for (int v = 0; v < n; v++) {
+            offsets[community[v] + 1]++;
+        }
+
+        for (int c = 0; c < n; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+
+        for (int v = 0; v < n; v++) {
+            members[cursor[community[v]]++] = v;
+        }
+
+        int[] refined = identity(n);
+        double[] total = level.degree.clone();
+        double[] external = new double[n];
+        int[] size = new int[n];
+        double[] weightTo = new double[n];
+        int[] touched = new int[n];
+        double scale = this.resolution / level.totalDegree;
+
+        Arrays.fill(size, 1);
+
+        ParallelFor.run(this.pool, 0, n,
+                        ParallelFor.grainFor(this.pool, n, CHUNK),
+                        (from, to) -> {
+            for (int c = from; c < to; c++) {
+                if (offsets[c + 1] - offsets[c] < 2) continue;
+
+                double communityTotal = 0;
+
+                for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                    int v = members[i];
+
+                    communityTotal += level.degree[v];
+
+                    for (int k = level.offsets[v]; k < level.offsets[v + 1];
+                         k++) {
+                        if (community[level.adjacency[k]] == c)
+                            external[v] += level.weights[k];
+                    }
+                }
+
+                for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                    int v = members[i];
+                    double degree = level.degree[v];
+
+                    // Only well-connected singletons are merged.
+                    if (size[v] != 1 || refined[v] != v
+                        || external[v] < scale * degree
+                                         * (communityTotal - degree))
+                        continue;
+
+                    int count = 0;
+
+                    for (int k = level.offsets[v]; k < level.offsets[v + 1];
+                         k++) {
+                        int u = level.adjacency[k];
+
+                        if (community[u] != c || u == v) continue;
+
+                        int r = refined[u];
+
+                        if (weightTo[r] == 0) touched[offsets[c] + count++] = r;
+
+                        weightTo[r] += level.weights[k];
+                    }
+
+                    int best = -1;
+                    double bestGain = 0;
+
+                    for (int j = 0; j < count; j++) {
+                        int r = touched[offsets[c] + j];
+                        double gain = weightTo[r] - scale * degree * total[r];
+
+                        if (r != v && gain > bestGain
+                            && external[r] >= scale * total[r]
+                                              * (communityTotal - total[r])) {
+                            best = r;
+                            bestGain = gain;
+                        }
+                    }
+
+                    if (best >= 0) {
+                        external[best] += external[v] - 2 * weightTo[best];
+                        total[best] += degree;
+                        size[best]++;
+                        size[v] = 0;
+                        refined[v] = best;
+                    }
+
+                    for (int j = 0; j < count; j++) {
+                        weightTo[touched[offsets[c] + j]] = 0;
+                    }
+                }
+            }
+        });
+
+        return refined;
+    }
+
+    /**
+     * Contracts every part of a partition of a level to a node of a coarser
+     * level.
+     *
+     * @param level  the level.
+     * @param parts  the part of every node.
+     * @param map  filled with the node of the coarser level of every node.
+     * @param accumulators  the scratch arrays of the tasks.
+     * @return the coarser level.
+     */
+    private Level aggregate(Level level, int[] parts, int[] map,
+            Accumulator[] accumulators) {
+        int n = level.n;
+        int[] id = compact(parts, new int[n]);
+        int nc = 0;
+
+        for (int v = 0; v < n; v++) {
+            map[v] = id[parts[v]];
+            nc = Math.max(nc, map[v] + 1);
+        }
+
+        if (nc == n) return new Level(n);
+
+        int[] offsets = new int[nc + 1];
+        int[] members = new int[n];
+
+        for (int v = 0; v < n; v++) {
+            offsets[map[v] + 1]++;
+        }
+
+        for (int c = 0; c < nc; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        int[] cursor = Arrays.copyOf(offsets, nc);
+
+        for (int v = 0; v < n; v++) {
+            members[cursor[map[v]]++] = v;
+        }
+
+        Level coarse = new Level(nc);
+
+        this.forEachPart(nc, accumulators, (acc, c) -> {
+            double internal = 0;
+
+            acc.clear();
+
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                int v = members[i];
+
+                coarse.loop[c] += level.loop[v];
+                coarse.degree[c] += level.degree[v];
+
+                for (int k = level.offsets[v]; k < level.offsets[v + 1];
+                     k++) {
+                    int d = map[level.adjacency[k]];
+
+                    if (d == c) internal += level.weights[k];
+                    else acc.add(d, level.weights[k]);
+                }
+            }
+
+            // Every internal edge was seen from both of its ends.
+            coarse.loop[c] += internal / 2;
+            coarse.offsets[c + 1] = acc.size;
+        });
+
+        coarse.allocate();
+
+        this.forEachPart(nc, accumulators, (acc, c) -> {
+            acc.clear();
+
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                int v = members[i];
+
+                for (int k = level.offsets[v]; k < level.offsets[v + 1];
+                     k++) {
+                    int d = map[level.adjacency[k]];
+
+                    if (d != c) acc.add(d, level.weights[k]);
+                }
+            }
+
+            for (int j = 0; j < acc.size; j++) {
+                coarse.adjacency[coarse.offsets[c] + j] = acc.keys[j];
+                coarse.weights[coarse.offsets[c] + j] = acc.get(acc.keys[j]);
+            }
+        });
+
+        coarse.sumDegrees();
+
+        return coarse;
+    }
+
+    /**
+     * Computes the modularity of a partition of a level.
+     *
+     * @param level  the level.
+     * @param community  the community of every node, in
+     *        <code>[0, n - 1]</code>.
+     * @return the modularity, 0 if the level has no weight.
+     */
+    private double modularity(Level level, int[] community) {
+        int n = level.n;
+        double m2 = level.totalDegree;
+
+        if (m2 <= 0) return 0;
+
+        double[] partial = new double[(n + BLOCK - 1) / BLOCK];
+        double[] total = new double[n];
+
+        ParallelFor.run(this.pool, 0, partial.length, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                double internal = 0;
+
+                for (int v = b * BLOCK; v < Math.min(n, (b + 1) * BLOCK);
+                     v++) {
+                    internal += 2 * level.loop[v];
+
+                    for (int k = level.offsets[v]; k < level.offsets[v + 1];
+                         k++) {
+                        if (community[level.adjacency[k]] == community[v])
+                            internal += level.weights[k];
+                    }
+                }
+
+                partial[b] = internal;
+            }
+        });
+
+        double internal = 0;
+        double squares = 0;
+
+        for (double p : partial) {
+            internal += p;
+        }
+
+        for (int v = 0; v < n; v++) {
+            total[community[v]] += level.degree[v];
+        }
+
+        for (double t : total) {
+            squares += t * t;
+        }
+
+        return internal / m2 - this.resolution * squares / (m2 * m2);
+    }
+
+    /**
+     * Applies a body to every part of a partition, on one task per scratch
+     * array that takes the parts in chunks from a shared counter.
+     *
+     * @param count  the number of parts.
+     * @param accumulators  the scratch arrays of the tasks.
+     * @param body  the body.
+     */
+    private void forEachPart(int count, Accumulator[] accumulators,
+            PartBody body) {
+        AtomicInteger next = new AtomicInteger();
+
+        ParallelFor.run(this.pool, 0, accumulators.length, 1, (from, to) -> {
+            for (int t = from; t < to; t++) {
+                for (int start = next.getAndAdd(CHUNK); start < count;
+                     start = next.getAndAdd(CHUNK)) {
+                    for (int c = start; c < Math.min(count, start + CHUNK);
+                         c++) {
+                        body.apply(accumulators[t], c);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Numbers the distinct values of an array by their first occurrence.
+     *
+     * @param values  the values, nonnegative and smaller than the length of
+     *        {@code id}.
+     * @param id  filled with the number of every value, -1 if absent.
+     * @return the array of the numbers.
+     */
+    private static int[] compact(int[] values, int[] id) {
+        int count = 0;
+
+        Arrays.fill(id, -1);
+
+        for (int value : values) {
+            if (id[value] < 0) id[value] = count++;
+        }
+
+        return id;
+    }
+
+    /**
+     * Returns the array of the integers from 0 to n - 1.
+     *
+     * @param n  the length.
+     * @return the identity permutation.
+     */
+    private static int[] identity(int n) {
+        int[] values = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns the weight of an edge.
+     *
+     * @param w  the weight stored in the snapshot.
+     * @param weighted  true if the weights are used.
+     * @return the weight, 1 if unused or missing.
+     */
+    private static double weight(double w, boolean weighted) {
+        return weighted && !Double.isNaN(w) ? w : 1;
+    }
+
+    /**
+     * Reads an element of an atomic array of doubles.
+     *
+     * @param a  the array.
+     * @param i  the index.
+     * @return the element.
+     */
+    private static double get(AtomicLongArray a, int i) {
+        return Double.longBitsToDouble(a.get(i));
+    }
+
+    /**
+     * Adds a value to an element of an atomic array of doubles.
+     *
+     * @param a  the array.
+     * @param i  the index.
+     * @param delta  the value to add.
+     */
+    private static void addTo(AtomicLongArray a, int i, double delta) {
+        long bits = a.get(i);
+
+        while (!a.compareAndSet(i, bits, Double.doubleToRawLongBits(
+                   Double.longBitsToDouble(bits) + delta)))
+            bits = a.get(i);
+    }
+
+    /**
+     * The body of a loop over the parts of a partition.
+     */
+    private interface PartBody {
+
+        /**
+         * Processes a part.
+         *
+         * @param acc  the scratch array of the task.
+         * @param c  the part.
+         */
+        void apply(Accumulator acc, int c);
+    }
+
+    /*
+     * A level of the hierarchy: a graph without loops in the adjacency,
+     * whose loop weight and weighted degree are kept apart. A loop of weight
+     * w adds 2w to the degree of its node.
+     */
+    private static final class Level {
+
+        private final int n;
+        private final int[] offsets;
+        private final double[] loop;
+        private final double[] degree;
+        private int[] adjacency;
+        private double[] weights;
+        private double totalDegree;
+
+        private Level(int n) {
+            this.n = n;
+            this.offsets = new int[n + 1];
+            this.loop = new double[n];
+            this.degree = new double[n];
+        }
+
+        /**
+         * Turns the counts in the offsets into offsets and allocates the
+         * adjacency.
+         */
+        private void allocate() {
+            for (int v = 0; v < this.n; v++) {
+                this.offsets[v + 1] += this.offsets[v];
+            }
+
+            this.adjacency = new int[this.offsets[this.n]];
+            this.weights = new double[this.offsets[this.n]];
+        }
+
+        /**
+         * Sums the degrees of the nodes.
+         */
+        private void sumDegrees() {
+            double sum = 0;
+
+            for (double d : this.degree) {
+                sum += d;
+            }
+
+            this.totalDegree = sum;
+        }
+    }
+
+    /*
+     * A map from the nodes of a level to weights, stored in a dense array
+     * and cleared lazily: an entry counts only if it was written since the
+     * last clear, which is recorded by a stamp.
+     */
+    private static final class Accumulator {
+
+        private final double[] values;
+        private final int[] stamps;
+        private final int[] keys;
+        private int stamp;
+        private int size;
+
+        private Accumulator(int capacity) {
+            this.values = new double[capacity];
+            this.stamps = new int[capacity];
+            this.keys = new int[capacity];
+        }
+
+        /**
+         * Removes every entry.
+         */
+        private void clear() {
+            if (++this.stamp == 0) {
+                Arrays.fill(this.stamps, 0);
+                this.stamp = 1;
+            }
+
+            this.size = 0;
+        }
+
+        /**
+         * Adds a weight to an entry.
+         */
+        private void add(int key, double w) {
+            if (this.stamps[key] != this.stamp) {
+                this.stamps[key] = this.stamp;
+                this.values[key] = 0;
+                this.keys[this.size++] = key;
+            }
+
+            this.values[key] += w;
+        }
+
+        /**
+         * Returns the weight of an entry, 0 if absent.
+         */
+        private double get(int key) {
+            return this.stamps[key] == this.stamp ? this.values[key] : 0;
+        }
+    }
+}
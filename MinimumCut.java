@@ -0,0 +1,175 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A global cut of an undirected graph, that is a partition of its nodes in
+ * two nonempty sides, with the total weight of the edges between them, as
+ * computed by {@code MinimumCutComputer<L>}. The side of every node is stored
+ * in a boolean array indexed by the index of the node in the snapshot.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class MinimumCut<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final boolean[] side;
+    private final double weight;
+    private final int trialCount;
+    private final boolean exact;
+
+    /**
+     * Constructs the cut. The array is not copied.
+     *
+     * @param graph  the snapshot of the graph.
+     * @param side  true for the nodes on the first side of the cut.
+     * @param weight  the total weight of the edges crossing the cut.
+     * @param trialCount  the number of randomized trials the cut was chosen
+     *        from, 0 if it was computed deterministically.
+     * @param exact  true if the cut is known to be minimum.
+     * @throws NullPointerException if the snapshot or the array is null.
+     * @throws IllegalArgumentException if the array does not have an entry for
+     *         every node, the weight is negative or the number of trials is
+     *         negative.
+     */
+    public MinimumCut(CompressedSparseRowGraph<L> graph, boolean[] side,
+            double weight, int trialCount, boolean exact) {
+        if (graph == null || side == null) throw new NullPointerException();
+        if (side.length != graph.nodeCount() || !(weight >= 0)
+            || trialCount < 0)
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.side = side;
+        this.weight = weight;
+        this.trialCount = trialCount;
+        this.exact = exact;
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the total weight of the edges crossing the cut, that is their
+     * number if the graph was treated as unweighted.
+     *
+     * @return the weight of the cut.
+     */
+    public double getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * Determines whether the cut is known to be minimum. A cut found by the
+     * randomized algorithm is minimum only with the requested probability.
+     *
+     * @return true if the cut is minimum.
+     */
+    public boolean isExact() {
+        return this.exact;
+    }
+
+    /**
+     * Returns the number of randomized trials the cut was chosen from.
+     *
+     * @return the number of trials, 0 if the cut was computed
+     *         deterministically.
+     */
+    public int getTrialCount() {
+        return this.trialCount;
+    }
+
+    /**
+     * Returns the side of every node. The array is the internal one and must
+     * not be modified.
+     *
+     * @return true for the nodes on the first side, indexed by node index.
+     */
+    public boolean[] getSides() {
+        return this.side;
+    }
+
+    /**
+     * Determines whether a node is on the first side of the cut.
+     *
+     * @param v  the index of the node.
+     * @return true if v is on the first side.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public boolean isOnFirstSide(int v) {
+        return this.side[v];
+    }
+
+    /**
+     * Determines whether a node is on the first side of the cut.
+     *
+     * @param v  the node.
+     * @return true if v is on the first side.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     */
+    public boolean isOnFirstSide(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+
+        return this.side[this.graph.getIndexOf(v)];
+    }
+
+    /**
+     * Returns the edges crossing the cut.
+     *
+     * @return the indices of the edges of the snapshot with an end on each
+     *         side.
+     */
+    public int[] getCutEdges() {
+        int[] sources = this.graph.getEdgeSources();
+        int[] targets = this.graph.getEdgeTargets();
+        int count = 0;
+
+        for (int e = 0; e < sources.length; e++) {
+            if (this.side[sources[e]] != this.side[targets[e]]) count++;
+        }
+
+        int[] edges = new int[count];
+
+        count = 0;
+
+        for (int e = 0; e < sources.length; e++) {
+            if (this.side[sources[e]] != this.side[targets[e]])
+                edges[count++] = e;
+        }
+
+        return edges;
+    }
+
+    /**
+     * Returns the nodes on the first side of the cut.
+     *
+     * @return the set of the graph nodes on the first side.
+     * @throws UnsupportedOperationException if the snapshot was built from an
+     *         edge list.
+     */
+    public Set<GraphNode<L>> getFirstSide() {
+        int n = this.side.length;
+
+        if (n > 0 && this.graph.getNode(0) == null)
+            throw new UnsupportedOperationException();
+
+        Set<GraphNode<L>> nodes = new HashSet<GraphNode<L>>();
+
+        for (int v = 0; v < n; v++) {
+            if (this.side[v]) nodes.add(this.graph.getNode(v));
+        }
+
+        return nodes;
+    }
+}
@@ -0,0 +1,696 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A class that computes a global minimum cut of an undirected graph with
+ * nonnegative weights, with the randomized Karger-Stein algorithm run as many
+ * independent trials in parallel on a {@code ForkJoinPool}, or exactly with
+ * the deterministic Stoer-Wagner algorithm on a dense matrix.
+ *
+ * A contraction draws for every edge of weight w an exponential key of rate
+ * w and merges the ends of the edges in increasing order of key with an
+ * {@code IntDisjointSets}, as Kruskal's algorithm does with the weights, until
+ * the requested number of sets is left: this contracts every edge with
+ * probability proportional to its weight among the edges still between
+ * different sets. The sets then become the nodes of a smaller graph, whose
+ * parallel edges are merged by summing their weights. Every call of the
+ * Karger-Stein recursion contracts its graph of t nodes twice, independently,
+ * to 1 + t / sqrt(2) nodes and recurses on both results; graphs of at most 6
+ * nodes are solved by trying all their cuts. A trial finds a given minimum
+ * cut with probability at least 1 / (2 log2 n + 1), which gives the number of
+ * trials needed for a requested probability of failure.
+ *
+ * The trials share the lightest cut found so far. Every contracted graph
+ * offers the cut isolating its node of smallest weighted degree, so good cuts
+ * are found early, and before going on contracts every edge at least as heavy
+ * as the shared cut, as in the first test of Padberg and Rinaldi: a cut
+ * separating its ends cannot be lighter. Deep in the recursion, where the
+ * parallel edges have been merged into heavy ones, this collapses most
+ * graphs at once. Since the pruning depends on the order in which the trials
+ * find their cuts, so may the cut returned among those of minimum weight.
+ *
+ * Loops and edges of weight zero are ignored, and a graph that is not
+ * connected has a cut of weight zero between one of its components and the
+ * rest, which is returned without any trial.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class MinimumCutComputer<L> {
+
+    private static final int BASE = 6;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Build a minimum cut calculator that runs on the common
+     * {@code ForkJoinPool}.
+     */
+    public MinimumCutComputer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a minimum cut calculator.
+     *
+     * @param pool  the pool running the trials.
+     * @throws NullPointerException if the pool is null.
+     */
+    public MinimumCutComputer(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException();
+
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the number of Karger-Stein trials that find a minimum cut of a
+     * graph of n nodes with probability at least 1 - delta.
+     *
+     * @param n  the number of nodes.
+     * @param delta  the probability of missing every minimum cut.
+     * @return the number of trials.
+     * @throws IllegalArgumentException if n is negative or delta is not in
+     *         <code>(0, 1)</code>.
+     */
+    public static int trialCount(int n, double delta) {
+        if (n < 0 || !(delta > 0 && delta < 1))
+            throw new IllegalArgumentException();
+
+        double levels = 2 * Math.log(Math.max(2, n)) / Math.log(2) + 1;
+        double k = Math.ceil(levels * Math.log(1 / delta));
+
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, k));
+    }
+
+    /**
+     * Computes a minimum cut of an undirected graph with the Karger-Stein
+     * algorithm.
+     *
+     * @param g  an undirected graph with at least two nodes.
+     * @param delta  the probability of not finding a minimum cut.
+     * @param seed  the seed of the trials.
+     * @return the lightest cut found, whose snapshot identifies the nodes of
+     *         the graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is directed or has fewer
+     *         than two nodes, delta is not in <code>(0, 1)</code>, or the
+     *         graph has both weighted and unweighted edges or a negative
+     *         weight.
+     */
+    public MinimumCut<L> computeMinimumCut(Graph<L> g, double delta,
+            long seed) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        CompressedSparseRowGraph<L> snapshot =
+            new CompressedSparseRowGraph<L>(g);
+
+        return this.computeMinimumCut(snapshot, isWeighted(snapshot), delta,
+                                      seed);
+    }
+
+    /**
+     * Computes a minimum cut of an undirected snapshot of a graph with
+     * {@code trialCount(n, delta)} trials of the Karger-Stein algorithm.
+     *
+     * @param g  an undirected snapshot with at least two nodes.
+     * @param weighted  true to use the weights of the snapshot, false to give
+     *        every edge weight 1.
+     * @param delta  the probability of not finding a minimum cut.
+     * @param seed  the seed of the trials.
+     * @return the lightest cut found.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is directed or has
+     *         fewer than two nodes, delta is not in <code>(0, 1)</code>, or
+     *         the snapshot is weighted and has a negative weight.
+     */
+    public MinimumCut<L> computeMinimumCut(CompressedSparseRowGraph<L> g,
+            boolean weighted, double delta, long seed) {
+        if (g == null) throw new NullPointerException();
+        if (!(delta > 0 && delta < 1)) throw new IllegalArgumentException();
+
+        EdgeList edges = edges(g, weighted);
+        MinimumCut<L> cut = disconnectedCut(g, edges);
+
+        if (cut != null) return cut;
+
+        int n = g.nodeCount();
+        int trials = trialCount(n, delta);
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] seeds = new long[trials];
+        Best best = new Best();
+
+        for (int t = 0; t < trials; t++) {
+            seeds[t] = random.nextLong();
+        }
+
+        ParallelFor.run(this.pool, 0, trials, 1, (from, to) -> {
+            for (int t = from; t < to; t++) {
+                new Trial(best, seeds[t]).run(edges, null);
+            }
+        });
+
+        return new MinimumCut<L>(g, best.side, best.weight, trials, false);
+    }
+
+    /**
+     * Computes a minimum cut of an undirected graph with the Stoer-Wagner
+     * algorithm.
+     *
+     * @param g  an undirected graph with at least two nodes.
+     * @return a minimum cut, whose snapshot identifies the nodes of the graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is directed or has fewer
+     *         than two nodes, or it has both weighted and unweighted edges or
+     *         a negative weight.
+     */
+    public MinimumCut<L> computeExactMinimumCut(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        CompressedSparseRowGraph<L> snapshot =
+            new CompressedSparseRowGraph<L>(g);
+
+        return this.computeExactMinimumCut(snapshot, isWeighted(snapshot));
+    }
+
+    /**
+     * Computes a minimum cut of an undirected snapshot of a graph with the
+     * Stoer-Wagner algorithm on an n x n matrix of weights, in O(n^3) time
+     * whatever the number of edges, which suits dense graphs. Every phase
+     * adds the nodes one at a time, always the one most tightly connected to
+     * those already added, and the last node gives a cut of the phase before
+     * it is merged with the one added before it; ties go to the smallest
+     * node, so the result is deterministic.
+     *
+     * @param g  an undirected snapshot with at least two nodes.
+     * @param weighted  true to use the weights of the snapshot, false to give
+     *        every edge weight 1.
+     * @return a minimum cut.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is directed or has
+     *         fewer than two nodes, or it is weighted and has a negative
+     *         weight.
+     */
+    public MinimumCut<L> computeExactMinimumCut(CompressedSparseRowGraph<L> g,
+            boolean weighted) {
+        if (g == null) throw new NullPointerException();
+
+        EdgeList edges = edges(g, weighted);
+        MinimumCut<L> cut = disconnectedCut(g, edges);
+
+        if (cut != null) return cut;
+
+        int n = g.nodeCount();
+        double[][] matrix = new double[n][n];
+
+        for (int e = 0; e < edges.size; e++) {
+            int a = edges.sources[e];
+            int b = edges.targets[e];
+
+            matrix[a][b] += edges.weights[e];
+            matrix[b][a] += edges.weights[e];
+        }
+
+        IntDisjointSets groups = new IntDisjointSets(n);
+        boolean[] merged = new boolean[n];
+        boolean[] added = new boolean[n];
+        double[] key = new double[n];
+        boolean[] side = null;
+        double weight = Double.POSITIVE_INFINITY;
+
+        for (int phase = n; phase > 1; phase--) {
+            int previous = -1;
+            int last = -1;
+
+            Arrays.fill(added, false);
+            Arrays.fill(key, 0);
+
+            for (int i = 0; i < phase; i++) {
+                int u = -1;
+
+                for (int v = 0; v < n; v++) {
+                    if (!merged[v] && !added[v] && (u < 0 || key[v] > key[u]))
+                        u = v;
+                }
+
+                added[u] = true;
+                previous = last;
+                last = u;
+
+                for (int v = 0; v < n; v++) {
+                    if (!merged[v] && !added[v]) key[v] += matrix[u][v];
+                }
+            }
+
+            if (key[last] < weight) {
+                int root = groups.findSet(last);
+
+                weight = key[last];
+                side = new boolean[n];
+
+                for (int v = 0; v < n; v++) {
+                    side[v] = groups.findSet(v) == root;
+                }
+            }
+
+            groups.union(previous, last);
+            merged[last] = true;
+
+            for (int v = 0; v < n; v++) {
+                matrix[previous][v] += matrix[last][v];
+                matrix[v][previous] = matrix[previous][v];
+            }
+
+            matrix[previous][previous] = 0;
+        }
+
+        return new MinimumCut<L>(g, side, weight, 0, true);
+    }
+
+    /**
+     * Collects the edges of a snapshot that can cross a cut, that is those
+     * that are not loops and have a positive weight.
+     *
+     * @param g  the snapshot.
+     * @param weighted  true to use the weights of the snapshot.
+     * @return the edges.
+     * @throws IllegalArgumentException if the snapshot is directed or has
+     *         fewer than two nodes, or it is weighted and has a negative
+     *         weight.
+     */
+    private static EdgeList edges(CompressedSparseRowGraph<?> g,
+            boolean weighted) {
+        if (g.isDirected() || g.nodeCount() < 2)
+            throw new IllegalArgumentException();
+        if (weighted) checkWeights(g);
+
+        int[] sources = g.getEdgeSources();
+        int[] targets = g.getEdgeTargets();
+        double[] weights = g.getEdgeWeights();
+        EdgeList edges = new EdgeList(g.nodeCount(), sources.length);
+
+        for (int e = 0; e < sources.length; e++) {
+            double w = weighted ? weights[e] : 1;
+
+            if (sources[e] != targets[e] && w > 0)
+                edges.add(sources[e], targets[e], w);
+        }
+
+        return edges;
+    }
+
+    /**
+     * Returns a cut of weight zero if the edges do not connect the graph.
+     *
+     * @param g  the snapshot.
+     * @param edges  the edges of the snapshot that can cross a cut.
+     * @return the component of node 0 against the rest, or null if the graph
+     *         is connected.
+     */
+    private static <L> MinimumCut<L> disconnectedCut(
+            CompressedSparseRowGraph<L> g, EdgeList edges) {
+        int n = g.nodeCount();
+        IntDisjointSets sets = new IntDisjointSets(n);
+
+        for (int e = 0; e < edges.size; e++) {
+            sets.union(edges.sources[e], edges.targets[e]);
+        }
+
+        if (sets.getSetCount() == 1) return null;
+
+        int root = sets.findSet(0);
+        boolean[] side = new boolean[n];
+
+        for (int v = 0; v < n; v++) {
+            side[v] = sets.findSet(v) == root;
+        }
+
+        return new MinimumCut<L>(g, side, 0, 0, true);
+    }
+
+    /**
+     * Determines whether the weights of a snapshot are to be used: they are
+     * if one of its edges has a weight, in which case all of them must have
+     * one.
+     *
+     * @param g  the snapshot.
+     * @return true if the snapshot is weighted.
+     * @throws IllegalArgumentException if the snapshot has both weighted and
+     *         unweighted edges, or a negative weight.
+     */
+    private static boolean isWeighted(CompressedSparseRowGraph<?> g) {
+        int unweighted = 0;
+
+        for (double w : g.getEdgeWeights()) {
+            if (Double.isNaN(w)) unweighted++;
+        }
+
+        if (unweighted == g.edgeCount()) return false;
+        if (unweighted != 0) throw new IllegalArgumentException();
+
+        checkWeights(g);
+
+        return true;
+    }
+
+    /**
+     * Checks that the weights of a snapshot are all nonnegative numbers.
+     *
+     * @param g  the snapshot.
+     * @throws IllegalArgumentException if a weight is negative or not a
+     *         number.
+     */
+    private static void checkWeights(CompressedSparseRowGraph<?> g) {
+        for (double w : g.getEdgeWeights()) {
+            if (!(w >= 0 && w < Double.POSITIVE_INFINITY))
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /*
+     * The weighted edges of a graph whose nodes are 0 .. nodes - 1.
+     */
+    private static final class EdgeList {
+
+        private final int nodes;
+        private final int[] sources;
+        private final int[] targets;
+        private final double[] weights;
+        private int size;
+
+        private EdgeList(int nodes, int capacity) {
+            this.nodes = nodes;
+            this.sources = new int[capacity];
+            this.targets = new int[capacity];
+            this.weights = new double[capacity];
+        }
+
+        private void add(int source, int target, double weight) {
+            this.sources[this.size] = source;
+            this.targets[this.size] = target;
+            this.weights[this.size++] = weight;
+        }
+    }
+
+    /*
+     * A contraction of the Karger-Stein recursion: the node of the contracted
+     * graph of every node of the graph it was made from, and the contraction
+     * that made that graph, null for the original one. A trial only keeps the
+     * contractions of its current branch, so a node of the original graph is
+     * mapped to its contracted node only when a cut is kept.
+     */
+    private static final class Contraction {
+
+        private final int[] map;
+        private final Contraction parent;
+
+        private Contraction(int[] map, Contraction parent) {
+            this.map = map;
+            this.parent = parent;
+        }
+    }
+
+    /*
+     * The lightest cut found by the trials, as the side of every node of the
+     * original graph. The weight is read without locking to discard heavier
+     * cuts early.
+     */
+    private static final class Best {
+
+        private volatile double weight = Double.POSITIVE_INFINITY;
+        private boolean[] side;
+
+        /**
+         * Replaces the cut if the offered one is lighter.
+         *
+         * @param weight  the weight of the offered cut.
+         * @param contraction  the contraction that made the graph of the cut.
+         * @param chosen  true for the nodes of the contracted graph on the
+         *        first side.
+         */
+        private synchronized void offer(double weight,
+                Contraction contraction, boolean[] chosen) {
+            if (weight >= this.weight) return;
+
+            boolean[] side = chosen;
+
+            for (Contraction c = contraction; c != null; c = c.parent) {
+                boolean[] expanded = new boolean[c.map.length];
+
+                for (int v = 0; v < expanded.length; v++) {
+                    expanded[v] = side[c.map[v]];
+                }
+
+                side = expanded;
+            }
+
+            this.side = side;
+            this.weight = weight;
+        }
+    }
+
+    /*
+     * A trial of the Karger-Stein algorithm, with its own random generator.
+     */
+    private static final class Trial {
+
+        private final Best best;
+        private final SplittableRandom random;
+
+        private Trial(Best best, long seed) {
+            this.best = best;
+            this.random = new SplittableRandom(seed);
+        }
+
+        /**
+         * Runs the recursion on a contracted graph.
+         *
+         * @param edges  the edges of the contracted graph, which is connected.
+         * @param contraction  the contraction that made the graph, null for
+         *        the original one.
+         */
+        private void run(EdgeList edges, Contraction contraction) {
+            double bound = this.best.weight;
+            IntDisjointSets heavy = null;
+
+            // A cut separating the ends of an edge is at least as heavy as
+            // the edge, so edges as heavy as the best cut are contracted.
+            for (int e = 0; e < edges.size; e++) {
+                if (edges.weights[e] >= bound) {
+                    if (heavy == null) heavy = new IntDisjointSets(edges.nodes);
+
+                    heavy.union(edges.sources[e], edges.targets[e]);
+                }
+            }
+
+            if (heavy != null) {
+                if (heavy.getSetCount() == 1) return;
+
+                int[] map = new int[edges.nodes];
+
+                edges = collapse(edges, heavy, map);
+                contraction = new Contraction(map, contraction);
+            }
+
+            this.offerLightestNode(edges, contraction);
+
+            if (edges.nodes <= BASE) {
+                this.offerAllCuts(edges, contraction);
+                return;
+            }
+
+            int target = (int) Math.ceil(1 + edges.nodes / Math.sqrt(2));
+
+            for (int i = 0; i < 2; i++) {
+                int[] map = new int[edges.nodes];
+                EdgeList coarse = this.contract(edges, target, map);
+
+                this.run(coarse, new Contraction(map, contraction));
+            }
+        }
+
+        /**
+         * Offers the cut isolating the node of smallest weighted degree.
+         */
+        private void offerLightestNode(EdgeList edges,
+                Contraction contraction) {
+            double[] degree = new double[edges.nodes];
+            int lightest = 0;
+
+            for (int e = 0; e < edges.size; e++) {
+                degree[edges.sources[e]] += edges.weights[e];
+                degree[edges.targets[e]] += edges.weights[e];
+            }
+
+            for (int v = 1; v < edges.nodes; v++) {
+                if (degree[v] < degree[lightest]) lightest = v;
+            }
+
+            if (degree[lightest] < this.best.weight) {
+                boolean[] chosen = new boolean[edges.nodes];
+
+                chosen[lightest] = true;
+                this.best.offer(degree[lightest], contraction, chosen);
+            }
+        }
+
+        /**
+         * Offers every cut of a small graph, keeping its last node on the
+         * second side.
+         */
+        private void offerAllCuts(EdgeList edges,
+                Contraction contraction) {
+            int nodes = edges.nodes;
+
+            for (int mask = 1; mask < 1 << (nodes - 1); mask++) {
+                double weight = 0;
+
+                for (int e = 0; e < edges.size; e++) {
+                    if ((((mask >>> edges.sources[e])
+                          ^ (mask >>> edges.targets[e])) & 1) != 0)
+                        weight += edges.weights[e];
+                }
+
+                if (weight < this.best.weight) {
+                    boolean[] chosen = new boolean[nodes];
+
+                    for (int v = 0; v < nodes; v++) {
+                        chosen[v] = (mask >>> v & 1) != 0;
+                    }
+
+                    this.best.offer(weight, contraction, chosen);
+                }
+            }
+        }
+
+        /**
+         * Contracts random edges, each with probability proportional to its
+         * weight, until the graph has the given number of nodes.
+         *
+         * @param edges  the edges of the graph, which is connected.
+         * @param target  the number of nodes to leave.
+         * @param map  filled with the node of the contracted graph of every
+         *        node.
+         * @return the edges of the contracted graph.
+         */
+        private EdgeList contract(EdgeList edges, int target, int[] map) {
+            int m = edges.size;
+            double[] keys = new double[m];
+            long[] order = new long[m];
+
+            for (int e = 0; e < m; e++) {
+                keys[e] = -Math.log(1 - this.random.nextDouble())
+                          / edges.weights[e];
+                order[e] = e;
+            }
+
+            WeightSort.sort(keys, order, 0, m);
+
+            IntDisjointSets sets = new IntDisjointSets(edges.nodes);
+
+            for (int k = 0; k < m && sets.getSetCount() > target; k++) {
+                int e = (int) order[k];
+
+                sets.union(edges.sources[e], edges.targets[e]);
+            }
+
+            return collapse(edges, sets, map);
+        }
+
+        /**
+         * Builds the graph of the sets of a collection of disjoint sets of
+         * nodes.
+         *
+         * @param edges  the edges of the graph.
+         * @param sets  the sets of nodes to merge.
+         * @param map  filled with the node of the contracted graph of every
+         *        node.
+         * @return the edges of the contracted graph.
+         */
+        private static EdgeList collapse(EdgeList edges, IntDisjointSets sets,
+                int[] map) {
+            int[] id = new int[edges.nodes];
+            int count = 0;
+
+            Arrays.fill(id, -1);
+
+            for (int v = 0; v < edges.nodes; v++) {
+                int root = sets.findSet(v);
+
+                if (id[root] < 0) id[root] = count++;
+
+                map[v] = id[root];
+            }
+
+            return merge(edges, map, count);
+        }
+
+        /**
+         * Builds the graph of the sets of a contraction, summing the weights
+         * of the parallel edges in linear time: the edges are bucketed by
+         * their smaller end and every bucket is merged with a stamped array.
+         *
+         * @param edges  the edges of the graph.
+         * @param map  the set of every node.
+         * @param count  the number of sets.
+         * @return the edges between different sets.
+         */
+        private static EdgeList merge(EdgeList edges, int[] map, int count) {
+            int[] offsets = new int[count + 1];
+
+            for (int e = 0; e < edges.size; e++) {
+                int a = map[edges.sources[e]];
+                int b = map[edges.targets[e]];
+
+                if (a != b) offsets[Math.min(a, b) + 1]++;
+            }
+
+            for (int c = 0; c < count; c++) {
+                offsets[c + 1] += offsets[c];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, count);
+            int[] bucket = new int[offsets[count]];
+            double[] bucketWeights = new double[offsets[count]];
+
+            for (int e = 0; e < edges.size; e++) {
+                int a = map[edges.sources[e]];
+                int b = map[edges.targets[e]];
+
+                if (a == b) continue;
+
+                int k = cursor[Math.min(a, b)]++;
+
+                bucket[k] = Math.max(a, b);
+                bucketWeights[k] = edges.weights[e];
+            }
+
+            EdgeList coarse = new EdgeList(count, bucket.length);
+            int[] stamp = new int[count];
+            int[] slot = new int[count];
+
+            Arrays.fill(stamp, -1);
+
+            for (int a = 0; a < count; a++) {
+                for (int k = offsets[a]; k < offsets[a + 1]; k++) {
+                    int b = bucket[k];
+
+                    if (stamp[b] != a) {
+                        stamp[b] = a;
+                        slot[b] = coarse.size;
+                        coarse.add(a, b, 0);
+                    }
+
+                    coarse.weights[slot[b]] += bucketWeights[k];
+                }
+            }
+
+            return coarse;
+        }
+    }
+}
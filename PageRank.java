@@ -0,0 +1,311 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A class that computes the PageRank of the nodes of a graph, and its
+ * personalized variant, by power iteration in parallel on a
+ * {@code ForkJoinPool}.
+ *
+ * The score of a node is the probability of finding a random surfer on it:
+ * at every step the surfer follows an edge out of its node with probability
+ * equal to the damping factor, choosing it uniformly, and jumps to a node
+ * drawn from the teleport distribution otherwise. A surfer on a dangling node,
+ * with no outgoing edges, always jumps. Edges of an undirected graph are
+ * followed in both directions; weights are ignored.
+ *
+ * The graph is turned into the matrix of the transitions into every node,
+ * whose row for node v holds 1 / outdegree(u) for every edge from u to v, and
+ * every iteration is one pull-based product with a
+ * {@code SparseMatrixVectorKernel}, fused with the damping and teleport
+ * update. The probability held by the dangling nodes is summed before the
+ * product and spread with the teleport distribution, so the scores always
+ * add up to 1. The iterations stop when the L1 distance between two
+ * consecutive score vectors falls below the tolerance, or after a maximum
+ * number of iterations.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class PageRank<L> {
+
+    /**
+     * The damping factor used when none is given.
+     */
+    public static final double DEFAULT_DAMPING = 0.85;
+
+    /**
+     * The tolerance used when none is given.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+
+    /**
+     * The maximum number of iterations used when none is given.
+     */
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    private static final int BLOCK = 4096;
+
+    private final ForkJoinPool pool;
+    private final double damping;
+    private final double tolerance;
+    private final int maxIterations;
+
+    /**
+     * Build a PageRank calculator with the default parameters that runs on
+     * the common {@code ForkJoinPool}.
+     */
+    public PageRank() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a PageRank calculator with the default parameters.
+     *
+     * @param pool  the pool running the iterations.
+     * @throws NullPointerException if the pool is null.
+     */
+    public PageRank(ForkJoinPool pool) {
+        this(pool, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Build a PageRank calculator.
+     *
+     * @param pool  the pool running the iterations.
+     * @param damping  the probability of following an edge, in
+     *        <code>[0, 1]</code>.
+     * @param tolerance  the L1 distance between two consecutive score vectors
+     *        below which the iterations stop.
+     * @param maxIterations  the maximum number of iterations.
+     * @throws NullPointerException if the pool is null.
+     * @throws IllegalArgumentException if the damping factor is outside
+     *         <code>[0, 1]</code>, the tolerance is negative or not a number,
+     *         or the maximum number of iterations is not positive.
+     */
+    public PageRank(ForkJoinPool pool, double damping, double tolerance,
+            int maxIterations) {
+        if (pool == null) throw new NullPointerException();
+        if (!(damping >= 0 && damping <= 1) || !(tolerance >= 0)
+            || maxIterations < 1)
+            throw new IllegalArgumentException();
+
+        this.pool = pool;
+        this.damping = damping;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Computes the PageRank of the nodes of a graph, with a uniform teleport
+     * distribution.
+     *
+     * @param g  the graph.
+     * @return the scores, whose snapshot identifies the nodes of the graph.
+     * @throws NullPointerException if the graph is null.
+     */
+    public PageRankScores<L> computePageRank(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        return this.computePageRank(new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Computes the PageRank of the nodes of a snapshot of a graph, with a
+     * uniform teleport distribution.
+     *
+     * @param g  the snapshot.
+     * @return the scores.
+     * @throws NullPointerException if the snapshot is null.
+     */
+    public PageRankScores<L> computePageRank(CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        double[] teleport = new double[g.nodeCount()];
+
+        Arrays.fill(teleport, 1.0 / Math.max(1, teleport.length));
+
+        return this.iterate(g, teleport);
+    }
+
+    /**
+     * Computes the personalized PageRank of the nodes of a graph: the surfer
+     * jumps to one of the seed nodes, chosen uniformly.
+     *
+     * @param g  the graph.
+     * @param seeds  the nodes the surfer jumps to.
+     * @return the scores, whose snapshot identifies the nodes of the graph.
+     * @throws NullPointerException if the graph, the set or one of its nodes
+     *         is null.
+     * @throws IllegalArgumentException if the set is empty or one of its
+     *         nodes does not belong to the graph.
+     */
+    public PageRankScores<L> computePersonalizedPageRank(Graph<L> g,
+            Set<GraphNode<L>> seeds) {
+        if (g == null || seeds == null) throw new NullPointerException();
+        if (seeds.isEmpty()) throw new IllegalArgumentException();
+
+        CompressedSparseRowGraph<L> snapshot =
+            new CompressedSparseRowGraph<L>(g);
+        double[] teleport = new double[snapshot.nodeCount()];
+
+        for (GraphNode<L> s : seeds) {
+            if (s == null) throw new NullPointerException();
+
+            teleport[snapshot.getIndexOf(s)] = 1.0 / seeds.size();
+        }
+
+        return this.iterate(snapshot, teleport);
+    }
+
+    /**
+     * Computes the personalized PageRank of the nodes of a snapshot of a
+     * graph, with a given teleport distribution.
+     *
+     * @param g  the snapshot.
+     * @param teleport  the weight of every node in the teleport distribution,
+     *        normalized to add up to 1; the array is not modified.
+     * @return the scores.
+     * @throws NullPointerException if the snapshot or the array is null.
+     * @throws IllegalArgumentException if the array does not have one element
+     *         for every node, has a negative or infinite element, or adds up
+     *         to 0.
+     */
+    public PageRankScores<L> computePersonalizedPageRank(
+            CompressedSparseRowGraph<L> g, double[] teleport) {
+        if (g == null || teleport == null) throw new NullPointerException();
+        if (teleport.length != g.nodeCount())
+            throw new IllegalArgumentException();
+
+        double sum = 0;
+
+        for (double t : teleport) {
+            if (!(t >= 0 && t < Double.POSITIVE_INFINITY))
+                throw new IllegalArgumentException();
+
+            sum += t;
+        }
+
+        if (!(sum > 0 && sum < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException();
+
+        double[] normalized = new double[teleport.length];
+
+        for (int v = 0; v < teleport.length; v++) {
+            normalized[v] = teleport[v] / sum;
+        }
+
+        return this.iterate(g, normalized);
+    }
+
+    /**
+     * Runs the power iteration from the teleport distribution.
+     *
+     * @param g  the snapshot.
+     * @param teleport  the teleport distribution.
+     * @return the scores.
+     */
+    private PageRankScores<L> iterate(CompressedSparseRowGraph<L> g,
+            double[] teleport) {
+        int n = g.nodeCount();
+        int[] offsets = g.getOffsets();
+        int danglingCount = 0;
+
+        for (int u = 0; u < n; u++) {
+            if (offsets[u] == offsets[u + 1]) danglingCount++;
+        }
+
+        int[] dangling = new int[danglingCount];
+
+        for (int u = 0, i = 0; u < n; u++) {
+            if (offsets[u] == offsets[u + 1]) dangling[i++] = u;
+        }
+
+        SparseMatrixVectorKernel transitions = this.transitionsInto(g);
+        double[] rank = teleport.clone();
+        double[] next = new double[n];
+        double[] partial = new double[(n + BLOCK - 1) / BLOCK];
+        int iterations = 0;
+        boolean converged = n == 0;
+
+        while (!converged && iterations < this.maxIterations) {
+            double danglingMass = 0;
+
+            for (int u : dangling) {
+                danglingMass += rank[u];
+            }
+
+            final double jump = this.damping * danglingMass
+                                + 1 - this.damping;
+            final double[] current = rank;
+            final double[] updated = next;
+
+            transitions.multiply(current, updated, (v, product) ->
+                this.damping * product + jump * teleport[v]);
+
+            ParallelFor.run(this.pool, 0, partial.length, 1, (from, to) -> {
+                for (int b = from; b < to; b++) {
+                    double distance = 0;
+
+                    for (int v = b * BLOCK; v < Math.min(n, (b + 1) * BLOCK);
+                         v++) {
+                        distance += Math.abs(updated[v] - current[v]);
+                    }
+
+                    partial[b] = distance;
+                }
+            });
+
+            double distance = 0;
+
+            for (double d : partial) {
+                distance += d;
+            }
+
+            rank = updated;
+            next = current;
+            iterations++;
+            converged = distance < this.tolerance;
+        }
+
+        return new PageRankScores<L>(g, rank, iterations, converged);
+    }
+
+    /**
+     * Builds the matrix of the transitions into every node: row v holds, for
+     * every edge from u to v, the probability 1 / outdegree(u) in column u.
+     *
+     * @param g  the snapshot.
+     * @return the matrix.
+     */
+    private SparseMatrixVectorKernel transitionsInto(
+            CompressedSparseRowGraph<L> g) {
+        int n = g.nodeCount();
+        int[] offsets = g.getOffsets();
+        // The in-edges of a directed graph are the out-edges of its reverse.
+        CompressedSparseRowGraph<L> reverse = !g.isDirected() ? g
+            : new CompressedSparseRowGraph<L>(n, g.getEdgeTargets(),
+                                              g.getEdgeSources(),
+                                              g.getEdgeWeights(), true);
+        int[] sources = reverse.getAdjacency();
+        double[] probabilities = new double[sources.length];
+
+        ParallelFor.run(this.pool, 0, sources.length,
+                        ParallelFor.grainFor(this.pool, sources.length,
+                                             BLOCK),
+                        (from, to) -> {
+            for (int k = from; k < to; k++) {
+                int u = sources[k];
+
+                probabilities[k] = 1.0 / (offsets[u + 1] - offsets[u]);
+            }
+        });
+
+        return new SparseMatrixVectorKernel(n, n, reverse.getOffsets(),
+                                            sources, probabilities,
+                                            this.pool);
+    }
+}
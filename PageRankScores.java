@@ -0,0 +1,207 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * The scores computed by {@code PageRank<L>} for the nodes of a graph, with
+ * the number of iterations that produced them. The scores are a probability
+ * distribution: they are nonnegative and add up to 1.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class PageRankScores<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final double[] scores;
+    private final int iterations;
+    private final boolean converged;
+
+    /**
+     * Constructs the scores. The array is not copied.
+     *
+     * @param graph  the snapshot of the graph.
+     * @param scores  the score of every node.
+     * @param iterations  the number of iterations performed.
+     * @param converged  true if the iterations stopped because the tolerance
+     *        was reached, false if they reached their maximum number.
+     * @throws NullPointerException if the snapshot or the array is null.
+     * @throws IllegalArgumentException if the array does not have one element
+     *         for every node, or the number of iterations is negative.
+     */
+    public PageRankScores(CompressedSparseRowGraph<L> graph, double[] scores,
+            int iterations, boolean converged) {
+        if (graph == null || scores == null) throw new NullPointerException();
+        if (scores.length != graph.nodeCount() || iterations < 0)
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.scores = scores;
+        this.iterations = iterations;
+        this.converged = converged;
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes.
+     */
+    public int nodeCount() {
+        return this.scores.length;
+    }
+
+    /**
+     * Returns the score of a node.
+     *
+     * @param v  the index of the node.
+     * @return the score of v.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public double getScore(int v) {
+        return this.scores[v];
+    }
+
+    /**
+     * Returns the score of a node.
+     *
+     * @param v  the node.
+     * @return the score of v.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     */
+    public double getScore(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+
+        return this.scores[this.graph.getIndexOf(v)];
+    }
+
+    /**
+     * Returns the score of every node, indexed by the index of the node in the
+     * snapshot. The array is the internal one and must not be modified.
+     *
+     * @return the scores.
+     */
+    public double[] getScores() {
+        return this.scores;
+    }
+
+    /**
+     * Returns the number of iterations performed.
+     *
+     * @return the number of iterations.
+     */
+    public int getIterationCount() {
+        return this.iterations;
+    }
+
+    /**
+     * Determines whether the iterations reached the tolerance before their
+     * maximum number.
+     *
+     * @return true if the scores converged.
+     */
+    public boolean hasConverged() {
+        return this.converged;
+    }
+
+    /**
+     * Returns the indices of the nodes with the highest scores, best first;
+     * ties are broken by index.
+     *
+     * @param k  the number of nodes to return.
+     * @return the indices of the at most k best nodes.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public int[] getTopNodes(int k) {
+        if (k < 0) throw new IllegalArgumentException();
+
+        int n = this.scores.length;
+        int size = Math.min(k, n);
+        // A min-heap of the best nodes seen so far, the worst on top.
+        int[] heap = new int[size];
+
+        for (int v = 0; v < n && size > 0; v++) {
+            if (v < size) {
+                heap[v] = v;
+                this.siftUp(heap, v);
+            }
+            else if (this.better(v, heap[0])) {
+                heap[0] = v;
+                this.siftDown(heap, size, 0);
+            }
+        }
+
+        int[] top = new int[size];
+
+        for (int end = size; end > 0; end--) {
+            top[end - 1] = heap[0];
+            heap[0] = heap[end - 1];
+            this.siftDown(heap, end - 1, 0);
+        }
+
+        return top;
+    }
+
+    /**
+     * Determines whether a node ranks above another one.
+     *
+     * @param u  the first node.
+     * @param v  the second node.
+     * @return true if u has a higher score, or the same score and a lower
+     *         index.
+     */
+    private boolean better(int u, int v) {
+        return this.scores[u] > this.scores[v]
+            || (this.scores[u] == this.scores[v] && u < v);
+    }
+
+    /**
+     * Moves up an element of the heap of the best nodes.
+     *
+     * @param heap  the heap.
+     * @param i  the position of the element.
+     */
+    private void siftUp(int[] heap, int i) {
+        while (i > 0 && this.better(heap[(i - 1) / 2], heap[i])) {
+            int parent = (i - 1) / 2;
+            int tmp = heap[i];
+
+            heap[i] = heap[parent];
+            heap[parent] = tmp;
+            i = parent;
+        }
+    }
+
+    /**
+     * Moves down an element of the heap of the best nodes.
+     *
+     * @param heap  the heap.
+     * @param size  the number of elements of the heap.
+     * @param i  the position of the element.
+     */
+    private void siftDown(int[] heap, int size, int i) {
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+
+            if (child + 1 < size && this.better(heap[child], heap[child + 1]))
+                child++;
+
+            if (!this.better(heap[i], heap[child])) break;
+
+            int tmp = heap[i];
+
+            heap[i] = heap[child];
+            heap[child] = tmp;
+            i = child;
+        }
+    }
+}
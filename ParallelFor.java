@@ -0,0 +1,96 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a loop over a range of indices on a {@code ForkJoinPool}, splitting the
+ * range in halves until the pieces are no larger than a given grain. It is
+ * shared by the parallel algorithms of this package.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+final class ParallelFor {
+
+    /**
+     * The body of a parallel loop, called on disjoint sub-ranges.
+     */
+    interface RangeBody {
+
+        /**
+         * Processes the indices from {@code from} (inclusive) to {@code to}
+         * (exclusive).
+         *
+         * @param from  the first index.
+         * @param to  the index after the last one.
+         */
+        void apply(int from, int to);
+    }
+
+    private ParallelFor() {
+    }
+
+    /**
+     * Applies a body to the range <code>[from, to)</code> in parallel and
+     * waits for its completion.
+     *
+     * @param pool  the pool running the loop.
+     * @param from  the first index.
+     * @param to  the index after the last one.
+     * @param grain  the largest sub-range processed by a single task.
+     * @param body  the loop body.
+     */
+    static void run(ForkJoinPool pool, int from, int to, int grain,
+            RangeBody body) {
+        if (from >= to) return;
+
+        if (to - from <= grain) body.apply(from, to);
+        else pool.invoke(new RangeTask(from, to, Math.max(1, grain), body));
+    }
+
+    /**
+     * Returns a grain that splits a range of a given length in a few tasks
+     * for every worker of the pool, without going below a minimum size.
+     *
+     * @param pool  the pool running the loop.
+     * @param length  the length of the range.
+     * @param minimum  the smallest useful grain.
+     * @return the grain to use.
+     */
+    static int grainFor(ForkJoinPool pool, int length, int minimum) {
+        return Math.max(minimum, length / (4 * pool.getParallelism()) + 1);
+    }
+
+    /*
+     * Task that splits its range in halves down to the grain.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeBody body;
+
+        RangeTask(int from, int to, int grain, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.grain) {
+                this.body.apply(this.from, this.to);
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+
+            invokeAll(new RangeTask(this.from, middle, this.grain, this.body),
+                      new RangeTask(middle, this.to, this.grain, this.body));
+        }
+    }
+}
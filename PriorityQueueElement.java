@@ -0,0 +1,44 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * An element that can be stored in a min-priority queue implemented with a
+ * heap represented by an array. Besides its priority, the element keeps an
+ * integer handle: the queue stores in it the current position of the element
+ * in the array, so that the element can be found in constant time when its
+ * priority is decreased.
+ * 
+ * An element can belong to at most one queue at a time, and its handle must
+ * only be changed by the queue.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ */
+public interface PriorityQueueElement {
+
+    /**
+     * Returns the priority of this element; lower values come first.
+     * 
+     * @return the priority of this element.
+     */
+    double getPriority();
+
+    /**
+     * Assigns a new priority to this element.
+     * 
+     * @param newPriority  the new priority.
+     */
+    void setPriority(double newPriority);
+
+    /**
+     * Returns the handle of this element in the queue that contains it.
+     * 
+     * @return the handle of this element.
+     */
+    int getHandle();
+
+    /**
+     * Assigns a new handle to this element.
+     * 
+     * @param newHandle  the new handle.
+     */
+    void setHandle(int newHandle);
+}
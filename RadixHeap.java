@@ -0,0 +1,171 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone min-priority queue of the integers {@code 0 .. capacity - 1} with
+ * nonnegative integral priorities, implemented with a radix heap.
+ *
+ * The queue relies on the property of Dijkstra's algorithm that no priority in
+ * the queue is lower than the last extracted one, called {@code last} below.
+ * An item with priority {@code p} is kept in bucket 0 if {@code p == last},
+ * otherwise in the bucket numbered by the position of the highest bit in which
+ * {@code p} and {@code last} differ. Every bucket is a doubly linked list
+ * stored in primitive arrays, so insertion and priority decrease take
+ * constant time. When bucket 0 is empty, extraction empties the first
+ * nonempty bucket into lower buckets around its minimum; an item can only
+ * move down, so with weights at most {@code C} a run of Dijkstra's algorithm
+ * costs O(m + n log C).
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+final class RadixHeap implements IntMinPriorityQueue {
+
+    private static final int BUCKETS = 65;
+
+    private final int[] head;
+    private final int[] next;
+    private final int[] previous;
+    private final byte[] bucket;
+    private final long[] key;
+    private long last;
+    private int size;
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param capacity  the number of items.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    RadixHeap(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException();
+
+        this.head = new int[BUCKETS];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.bucket = new byte[capacity];
+        this.key = new long[capacity];
+        Arrays.fill(this.head, -1);
+        Arrays.fill(this.bucket, (byte) -1);
+    }
+
+    @Override
+    public void insert(int item, double priority) {
+        if (this.bucket[item] >= 0 || (long) priority < this.last)
+            throw new IllegalArgumentException();
+
+        this.key[item] = (long) priority;
+        this.link(item);
+        this.size++;
+    }
+
+    @Override
+    public void decreasePriority(int item, double priority) {
+        if (this.bucket[item] < 0 || (long) priority > this.key[item]
+            || (long) priority < this.last)
+            throw new IllegalArgumentException();
+
+        this.unlink(item);
+        this.key[item] = (long) priority;
+        this.link(item);
+    }
+
+    @Override
+    public int extractMinimum() {
+        if (this.size == 0) throw new NoSuchElementException();
+
+        if (this.head[0] < 0) {
+            int b = 1;
+
+            while (this.head[b] < 0) {
+                b++;
+            }
+
+            long minimum = Long.MAX_VALUE;
+
+            for (int x = this.head[b]; x >= 0; x = this.next[x]) {
+                minimum = Math.min(minimum, this.key[x]);
+            }
+
+            this.last = minimum;
+
+            int x = this.head[b];
+            this.head[b] = -1;
+
+            while (x >= 0) {
+                int after = this.next[x];
+
+                this.link(x);
+                x = after;
+            }
+        }
+
+        int item = this.head[0];
+
+        this.unlink(item);
+        this.bucket[item] = -1;
+        this.size--;
+
+        return item;
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return this.bucket[item] >= 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int x = this.head[b]; x >= 0; x = this.next[x]) {
+                this.bucket[x] = -1;
+            }
+
+            this.head[b] = -1;
+        }
+
+        this.last = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Adds an item to the front of the bucket of its priority.
+     *
+     * @param item  the item.
+     */
+    private void link(int item) {
+        long difference = this.key[item] ^ this.last;
+        int b = difference == 0 ? 0
+                                : 64 - Long.numberOfLeadingZeros(difference);
+        int first = this.head[b];
+
+        this.bucket[item] = (byte) b;
+        this.next[item] = first;
+        this.previous[item] = -1;
+
+        if (first >= 0) this.previous[first] = item;
+
+        this.head[b] = item;
+    }
+
+    /**
+     * Removes an item from its bucket.
+     *
+     * @param item  the item.
+     */
+    private void unlink(int item) {
+        int before = this.previous[item];
+        int after = this.next[item];
+
+        if (before >= 0) this.next[before] = after;
+        else this.head[this.bucket[item]] = after;
+
+        if (after >= 0) this.previous[after] = before;
+    }
+}
@@ -0,0 +1,333 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * A reachability index for large sparse graphs, directed or undirected, built
+ * on the interval labels of Agrawal, Borgida and Jagadish. It takes space
+ * proportional to the graph in practice, where a transitive closure would
+ * take n^2 bits, and answers every query without searching the graph.
+ *
+ * The strongly connected components of the graph are contracted first, since
+ * all their nodes reach the same nodes. The components are then covered by a
+ * spanning forest of the condensation, numbered in post-order: the subtree of
+ * a component is an interval of post-order numbers. The label of a component
+ * is the set of the intervals of the components it reaches, built from the
+ * labels of its successors in reverse topological order and merged so that
+ * intervals never overlap or touch. Node u reaches node v if and only if the
+ * post-order number of the component of v falls in an interval of the label
+ * of the component of u: a constant-time test when v is in the subtree of u
+ * in the forest, a binary search over the label of u otherwise.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class ReachabilityIndex<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] component;
+    private final int[] post;
+    private final int[] treeLow;
+    private final int[] labelOffsets;
+    private final int[] low;
+    private final int[] high;
+
+    /**
+     * Builds the reachability index of a graph.
+     *
+     * @param g  the graph.
+     * @throws NullPointerException if the graph is null.
+     */
+    public ReachabilityIndex(Graph<L> g) {
+        this(new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Builds the reachability index of a snapshot of a graph.
+     *
+     * @param g  the snapshot.
+     * @throws NullPointerException if the snapshot is null.
+     */
+    public ReachabilityIndex(CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        StronglyConnectedComponents<L> scc =
+            new StronglyConnectedComponentsComputer<L>()
+                .computeStronglyConnectedComponents(g);
+        int c = scc.componentCount();
+
+        this.graph = g;
+        this.component = scc.getComponentIds();
+        this.post = new int[c];
+        this.treeLow = new int[c];
+        this.labelOffsets = new int[c + 1];
+
+        int[] offsets = new int[c + 1];
+        int[] successors = this.condense(offsets);
+
+        this.numberForest(offsets, successors);
+
+        // Tarjan's ids are a reverse topological order: successors first.
+        int[] lows = new int[Math.max(16, c)];
+        int[] highs = new int[lows.length];
+        long[] buffer = new long[16];
+        int size = 0;
+
+        for (int x = 0; x < c; x++) {
+            int count = 0;
+
+            buffer[count++] = pack(this.treeLow[x], this.post[x]);
+
+            for (int k = offsets[x]; k < offsets[x + 1]; k++) {
+                int s = successors[k];
+
+                for (int i = this.labelOffsets[s];
+                     i < this.labelOffsets[s + 1]; i++) {
+                    if (count == buffer.length)
+                        buffer = Arrays.copyOf(buffer, 2 * count);
+
+                    buffer[count++] = pack(lows[i], highs[i]);
+                }
+            }
+
+            Arrays.sort(buffer, 0, count);
+
+            this.labelOffsets[x] = size;
+
+            for (int i = 0; i < count; i++) {
+                int l = (int) (buffer[i] >>> 32);
+                int h = (int) buffer[i];
+
+                if (size > this.labelOffsets[x] && l <= highs[size - 1] + 1) {
+                    highs[size - 1] = Math.max(highs[size - 1], h);
+                    continue;
+                }
+
+                if (size == lows.length) {
+                    lows = Arrays.copyOf(lows, 2 * size);
+                    highs = Arrays.copyOf(highs, 2 * size);
+                }
+
+                lows[size] = l;
+                highs[size] = h;
+                size++;
+            }
+
+            this.labelOffsets[x + 1] = size;
+        }
+
+        this.low = Arrays.copyOf(lows, size);
+        this.high = Arrays.copyOf(highs, size);
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes.
+     */
+    public int nodeCount() {
+        return this.component.length;
+    }
+
+    /**
+     * Returns the number of strongly connected components of the graph.
+     *
+     * @return the number of components.
+     */
+    public int componentCount() {
+        return this.post.length;
+    }
+
+    /**
+     * Returns the total number of intervals in the labels, which measures the
+     * size of the index.
+     *
+     * @return the number of intervals.
+     */
+    public int intervalCount() {
+        return this.low.length;
+    }
+
+    /**
+     * Determines whether a node is reachable from another one. Every node is
+     * reachable from itself.
+     *
+     * @param u  the index of the first node.
+     * @param v  the index of the second node.
+     * @return true if there is a path from u to v.
+     * @throws IndexOutOfBoundsException if u or v is not a node.
+     */
+    public boolean reachable(int u, int v) {
+        int cu = this.component[u];
+        int cv = this.component[v];
+
+        if (cu == cv) return true;
+
+        int p = this.post[cv];
+
+        if (this.treeLow[cu] <= p && p <= this.post[cu]) return true;
+
+        int from = this.labelOffsets[cu];
+        int to = this.labelOffsets[cu + 1];
+
+        // Find the last interval starting at or before p.
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+
+            if (this.low[middle] <= p) from = middle + 1;
+            else to = middle;
+        }
+
+        return from > this.labelOffsets[cu] && this.high[from - 1] >= p;
+    }
+
+    /**
+     * Determines whether a node is reachable from another one. Every node is
+     * reachable from itself.
+     *
+     * @param u  the first node.
+     * @param v  the second node.
+     * @return true if there is a path from u to v.
+     * @throws NullPointerException if a node is null.
+     * @throws IllegalArgumentException if a node does not belong to the graph.
+     */
+    public boolean reachable(GraphNode<L> u, GraphNode<L> v) {
+        if (u == null || v == null) throw new NullPointerException();
+
+        return this.reachable(this.graph.getIndexOf(u),
+                              this.graph.getIndexOf(v));
+    }
+
+    /**
+     * Builds the condensation of the graph, one arc for every edge between two
+     * different components, and chooses a parent for every component that
+     * has a predecessor.
+     *
+     * @param offsets  filled with the offsets of the successors of every
+     *        component.
+     * @return the successors of every component.
+     */
+    private int[] condense(int[] offsets) {
+        int c = this.post.length;
+        int[] sources = this.graph.getEdgeSources();
+        int[] targets = this.graph.getEdgeTargets();
+        boolean directed = this.graph.isDirected();
+
+        for (int e = 0; e < sources.length; e++) {
+            int cu = this.component[sources[e]];
+            int cv = this.component[targets[e]];
+
+            if (cu != cv) offsets[cu + 1]++;
+            if (cu != cv && !directed) offsets[cv + 1]++;
+        }
+
+        for (int x = 0; x < c; x++) {
+            offsets[x + 1] += offsets[x];
+        }
+
+        int[] next = Arrays.copyOf(offsets, c);
+        int[] successors = new int[offsets[c]];
+
+        for (int e = 0; e < sources.length; e++) {
+            int cu = this.component[sources[e]];
+            int cv = this.component[targets[e]];
+
+            if (cu == cv) continue;
+
+            successors[next[cu]++] = cv;
+
+            if (!directed) successors[next[cv]++] = cu;
+        }
+
+        return successors;
+    }
+
+    /**
+     * Numbers in post-order a spanning forest of the condensation, in which
+     * the parent of a component is its first predecessor, filling the
+     * post-order number of every component and the smallest number in its
+     * subtree.
+     *
+     * @param offsets  the offsets of the successors of every component.
+     * @param successors  the successors of every component.
+     */
+    private void numberForest(int[] offsets, int[] successors) {
+        int c = this.post.length;
+        int[] parent = new int[c];
+
+        Arrays.fill(parent, -1);
+
+        for (int x = 0; x < c; x++) {
+            for (int k = offsets[x]; k < offsets[x + 1]; k++) {
+                if (parent[successors[k]] < 0) parent[successors[k]] = x;
+            }
+        }
+
+        int[] childOffsets = new int[c + 1];
+
+        for (int x = 0; x < c; x++) {
+            if (parent[x] >= 0) childOffsets[parent[x] + 1]++;
+        }
+
+        for (int x = 0; x < c; x++) {
+            childOffsets[x + 1] += childOffsets[x];
+        }
+
+        int[] children = new int[childOffsets[c]];
+        int[] cursor = Arrays.copyOf(childOffsets, c);
+
+        for (int x = 0; x < c; x++) {
+            if (parent[x] >= 0) children[cursor[parent[x]]++] = x;
+        }
+
+        int[] stack = new int[c];
+        int counter = 0;
+
+        System.arraycopy(childOffsets, 0, cursor, 0, c);
+
+        for (int root = 0; root < c; root++) {
+            if (parent[root] >= 0) continue;
+
+            int top = 0;
+
+            stack[top++] = root;
+            this.treeLow[root] = counter;
+
+            while (top > 0) {
+                int x = stack[top - 1];
+
+                if (cursor[x] < childOffsets[x + 1]) {
+                    int child = children[cursor[x]++];
+
+                    this.treeLow[child] = counter;
+                    stack[top++] = child;
+                }
+                else {
+                    this.post[x] = counter++;
+                    top--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs an interval in a {@code long} that sorts by its first end.
+     *
+     * @param low  the first end, nonnegative.
+     * @param high  the last end, nonnegative.
+     * @return the packed interval.
+     */
+    private static long pack(int low, int high) {
+        return ((long) low << 32) | high;
+    }
+}
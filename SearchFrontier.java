@@ -0,0 +1,162 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * The state of one direction of a shortest-path search over the nodes
+ * {@code 0 .. n - 1}: the tentative distance and the predecessor of every
+ * node reached, the nodes settled and the queue of the nodes to settle. It is
+ * shared by the point-to-point query engines, which keep one instance per
+ * direction and per thread.
+ *
+ * The arrays are versioned: {@code begin()} does not clear them, but starts a
+ * new version, and an entry only counts if it was written in the current
+ * version. A search therefore costs only as much as the nodes it touches.
+ * The key of a node in the queue is its distance plus an optional potential,
+ * fixed when the node is first reached.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+final class SearchFrontier {
+
+    private final int[] reached;
+    private final int[] settled;
+    private final double[] distance;
+    private final double[] potential;
+    private final int[] predecessor;
+    private final IntDAryHeapMinPriorityQueue queue;
+    private int version;
+
+    /**
+     * Constructs the state for a graph of n nodes.
+     *
+     * @param n  the number of nodes.
+     */
+    SearchFrontier(int n) {
+        this.reached = new int[n];
+        this.settled = new int[n];
+        this.distance = new double[n];
+        this.potential = new double[n];
+        this.predecessor = new int[n];
+        this.queue = new IntDAryHeapMinPriorityQueue(n);
+    }
+
+    /**
+     * Starts a new search, forgetting every node of the previous one.
+     */
+    void begin() {
+        this.queue.clear();
+
+        if (this.version == Integer.MAX_VALUE) {
+            Arrays.fill(this.reached, 0);
+            Arrays.fill(this.settled, 0);
+            this.version = 0;
+        }
+
+        this.version++;
+    }
+
+    /**
+     * Determines whether a node has been reached by the current search.
+     *
+     * @param v  the node.
+     * @return true if v has a tentative distance.
+     */
+    boolean isReached(int v) {
+        return this.reached[v] == this.version;
+    }
+
+    /**
+     * Determines whether a node has been settled by the current search.
+     *
+     * @param v  the node.
+     * @return true if the distance of v is final.
+     */
+    boolean isSettled(int v) {
+        return this.settled[v] == this.version;
+    }
+
+    /**
+     * Returns the tentative distance of a node reached by the current search.
+     *
+     * @param v  the node.
+     * @return the tentative distance of v.
+     */
+    double getDistance(int v) {
+        return this.distance[v];
+    }
+
+    /**
+     * Returns the predecessor recorded for a node reached by the current
+     * search; its meaning (a node or an edge) is chosen by the caller.
+     *
+     * @param v  the node.
+     * @return the predecessor of v.
+     */
+    int getPredecessor(int v) {
+        return this.predecessor[v];
+    }
+
+    /**
+     * Reaches a node for the first time and adds it to the queue.
+     *
+     * @param v  the node.
+     * @param d  its tentative distance.
+     * @param p  its predecessor.
+     * @param potential  the potential added to its distance in the queue.
+     */
+    void reach(int v, double d, int p, double potential) {
+        this.reached[v] = this.version;
+        this.distance[v] = d;
+        this.potential[v] = potential;
+        this.predecessor[v] = p;
+        this.queue.insert(v, d + potential);
+    }
+
+    /**
+     * Lowers the tentative distance of a node in the queue.
+     *
+     * @param v  the node.
+     * @param d  its new tentative distance.
+     * @param p  its new predecessor.
+     */
+    void improve(int v, double d, int p) {
+        this.distance[v] = d;
+        this.predecessor[v] = p;
+        this.queue.decreasePriority(v, d + this.potential[v]);
+    }
+
+    /**
+     * Removes the node with the lowest key from the queue and settles it.
+     *
+     * @return the settled node.
+     */
+    int settleMinimum() {
+        int v = this.queue.extractMinimum();
+
+        this.settled[v] = this.version;
+
+        return v;
+    }
+
+    /**
+     * Returns the lowest key in the queue.
+     *
+     * @return the lowest key, {@code Double.POSITIVE_INFINITY} if the queue
+     *         is empty.
+     */
+    double minimumKey() {
+        if (this.queue.isEmpty()) return Double.POSITIVE_INFINITY;
+
+        return this.queue.getPriority(this.queue.minimum());
+    }
+
+    /**
+     * Returns the number of nodes in the queue.
+     *
+     * @return the size of the queue.
+     */
+    int queueSize() {
+        return this.queue.size();
+    }
+}
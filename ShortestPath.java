@@ -0,0 +1,103 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A shortest path between two nodes of a graph, as found by a point-to-point
+ * query, together with the number of nodes the query settled.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class ShortestPath<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final double length;
+    private final int[] nodes;
+    private final int settledCount;
+
+    /**
+     * Constructs a path. The array is not copied.
+     *
+     * @param graph  the snapshot the path was computed on, null if the nodes
+     *        are only identified by their index.
+     * @param length  the length of the path, {@code Double.POSITIVE_INFINITY}
+     *        if there is no path.
+     * @param nodes  the indices of the nodes of the path, from the source to
+     *        the target; empty if there is no path.
+     * @param settledCount  the number of nodes settled by the query.
+     * @throws NullPointerException if the array is null.
+     */
+    public ShortestPath(CompressedSparseRowGraph<L> graph, double length,
+            int[] nodes, int settledCount) {
+        if (nodes == null) throw new NullPointerException();
+
+        this.graph = graph;
+        this.length = length;
+        this.nodes = nodes;
+        this.settledCount = settledCount;
+    }
+
+    /**
+     * Returns the length of the path.
+     *
+     * @return the length of the path, {@code Double.POSITIVE_INFINITY} if the
+     *         target is not reachable from the source.
+     */
+    public double getLength() {
+        return this.length;
+    }
+
+    /**
+     * Determines whether the target is reachable from the source.
+     *
+     * @return true if a path exists.
+     */
+    public boolean exists() {
+        return this.length != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the indices of the nodes of the path. The array is the internal
+     * one and must not be modified.
+     *
+     * @return the indices of the nodes of the path, from the source to the
+     *         target; empty if there is no path.
+     */
+    public int[] getNodeIndices() {
+        return this.nodes;
+    }
+
+    /**
+     * Returns the nodes of the path.
+     *
+     * @return the nodes of the path, from the source to the target; empty if
+     *         there is no path.
+     * @throws UnsupportedOperationException if the path was not computed on
+     *         a snapshot of a graph.
+     */
+    public List<GraphNode<L>> getNodes() {
+        if (this.graph == null) throw new UnsupportedOperationException();
+
+        List<GraphNode<L>> list =
+            new ArrayList<GraphNode<L>>(this.nodes.length);
+
+        for (int x : this.nodes) {
+            list.add(this.graph.getNode(x));
+        }
+
+        return list;
+    }
+
+    /**
+     * Returns the number of nodes settled by the query that found the path, a
+     * measure of the work it did.
+     *
+     * @return the number of nodes settled.
+     */
+    public int getSettledCount() {
+        return this.settledCount;
+    }
+}
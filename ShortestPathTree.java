@@ -0,0 +1,217 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A shortest-path tree rooted at a source node, stored in primitive arrays
+ * indexed by node index: {@code getDistance(v)} is the length of a shortest
+ * path from the source to node {@code v} and {@code getPredecessor(v)} is the
+ * node that precedes {@code v} on that path.
+ *
+ * When the tree has been computed with an early exit at a target node, only
+ * the nodes settled before the search stopped are part of the tree; every
+ * other node is reported as unreachable.
+ *
+ * When the tree has been computed on a {@code CompressedSparseRowGraph<L>}
+ * built from a graph, the nodes can also be queried as {@code GraphNode<L>}
+ * objects of the source graph.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class ShortestPathTree<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int source;
+    private final double[] distance;
+    private final int[] predecessor;
+    private final int[] predecessorEdge;
+
+    /**
+     * Constructs a shortest-path tree. The arrays are not copied.
+     *
+     * @param graph  the snapshot the tree was computed on, null if the nodes
+     *        are only identified by their index.
+     * @param source  the index of the source node.
+     * @param distance  the distance of every node from the source,
+     *        {@code Double.POSITIVE_INFINITY} if the node is not reachable.
+     * @param predecessor  the predecessor of every node, -1 for the source and
+     *        for the nodes that are not reachable.
+     * @param predecessorEdge  the number of the edge that connects every node
+     *        to its predecessor, -1 if the node has no predecessor or the edge
+     *        is not known.
+     * @throws NullPointerException if one of the arrays is null.
+     * @throws IllegalArgumentException if the arrays have different lengths or
+     *         the source is not a node.
+     */
+    public ShortestPathTree(CompressedSparseRowGraph<L> graph, int source,
+            double[] distance, int[] predecessor, int[] predecessorEdge) {
+        if (distance == null || predecessor == null || predecessorEdge == null)
+            throw new NullPointerException();
+        if (distance.length != predecessor.length
+            || distance.length != predecessorEdge.length || source < 0
+            || source >= distance.length)
+            throw new IllegalArgumentException();
+
+        this.graph = graph;
+        this.source = source;
+        this.distance = distance;
+        this.predecessor = predecessor;
+        this.predecessorEdge = predecessorEdge;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes of the graph.
+     */
+    public int nodeCount() {
+        return this.distance.length;
+    }
+
+    /**
+     * Returns the index of the source node.
+     *
+     * @return the index of the source node.
+     */
+    public int getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the snapshot the tree was computed on.
+     *
+     * @return the snapshot, null if the nodes are only identified by their
+     *         index.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the distance of a node from the source.
+     *
+     * @param v  the index of the node.
+     * @return the length of a shortest path from the source to v,
+     *         {@code Double.POSITIVE_INFINITY} if v is not reachable.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public double getDistance(int v) {
+        return this.distance[v];
+    }
+
+    /**
+     * Returns the predecessor of a node on a shortest path from the source.
+     *
+     * @param v  the index of the node.
+     * @return the index of the predecessor of v, -1 if v is the source or is
+     *         not reachable.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getPredecessor(int v) {
+        return this.predecessor[v];
+    }
+
+    /**
+     * Returns the edge that connects a node to its predecessor.
+     *
+     * @param v  the index of the node.
+     * @return the number of the edge in the snapshot, -1 if v has no
+     *         predecessor or the edge is not known.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getPredecessorEdge(int v) {
+        return this.predecessorEdge[v];
+    }
+
+    /**
+     * Determines whether a node is reachable from the source.
+     *
+     * @param v  the index of the node.
+     * @return true if v belongs to the tree.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public boolean isReachable(int v) {
+        return this.distance[v] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns a shortest path from the source to a node.
+     *
+     * @param v  the index of the node.
+     * @return the indices of the nodes of the path, from the source to v; an
+     *         empty array if v is not reachable.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int[] getPath(int v) {
+        if (!this.isReachable(v)) return new int[0];
+
+        int length = 1;
+
+        for (int x = v; x != this.source; x = this.predecessor[x]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+
+        for (int x = v; length > 0; x = this.predecessor[x]) {
+            path[--length] = x;
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns the distance of a node from the source.
+     *
+     * @param v  the node.
+     * @return the length of a shortest path from the source to v,
+     *         {@code Double.POSITIVE_INFINITY} if v is not reachable.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     * @throws UnsupportedOperationException if the tree was not computed on a
+     *         snapshot of a graph.
+     */
+    public double getDistance(GraphNode<L> v) {
+        return this.distance[this.indexOf(v)];
+    }
+
+    /**
+     * Returns a shortest path from the source to a node.
+     *
+     * @param v  the node.
+     * @return the nodes of the path, from the source to v; an empty list if v
+     *         is not reachable.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     * @throws UnsupportedOperationException if the tree was not computed on a
+     *         snapshot of a graph.
+     */
+    public List<GraphNode<L>> getPath(GraphNode<L> v) {
+        int[] path = this.getPath(this.indexOf(v));
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(path.length);
+
+        for (int x : path) {
+            nodes.add(this.graph.getNode(x));
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Returns the index of a node in the snapshot.
+     *
+     * @param v  the node.
+     * @return the index of v.
+     */
+    private int indexOf(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+        if (this.graph == null) throw new UnsupportedOperationException();
+
+        return this.graph.getIndexOf(v);
+    }
+}
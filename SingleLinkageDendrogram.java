@@ -0,0 +1,218 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+
+/**
+ * The dendrogram of the single-linkage hierarchical clustering of a weighted
+ * graph, recorded by a single run of Kruskal's algorithm.
+ *
+ * Clusters are numbered as follows: cluster {@code i}, for {@code i} in the
+ * range <code>[0, nodeCount() - 1]</code>, is the singleton of the node with
+ * index {@code i}; cluster {@code nodeCount() + j} is the cluster created by
+ * merge {@code j}. Merges are stored in the order in which they happened, so
+ * their heights (the weights of the edges that caused them) never decrease.
+ *
+ * Cutting the dendrogram, by number of clusters or by distance threshold,
+ * takes O(n) time and needs neither sorting nor disjoint sets: a cut applies a
+ * prefix of the merges, and the clusters are labeled with a single pass over
+ * the clusters from the last to the first.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class SingleLinkageDendrogram<L> {
+
+    private final int nodeCount;
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] left;
+    private final int[] right;
+    private final double[] height;
+    private final int[] size;
+    private final int[] parent;
+
+    /**
+     * Constructs a dendrogram from its merges. The arrays are not copied.
+     *
+     * @param graph  the snapshot of the clustered graph, null if the nodes are
+     *        only identified by their index.
+     * @param nodeCount  the number of clustered nodes.
+     * @param left  the first cluster joined by every merge.
+     * @param right  the second cluster joined by every merge.
+     * @param height  the height of every merge, in nondecreasing order.
+     * @param size  the number of nodes of the cluster created by every merge.
+     * @throws NullPointerException if one of the arrays is null.
+     * @throws IllegalArgumentException if the arrays have different lengths,
+     *         if the heights decrease or if a merge joins a cluster that does
+     *         not exist or has already been joined.
+     */
+    public SingleLinkageDendrogram(CompressedSparseRowGraph<L> graph,
+            int nodeCount, int[] left, int[] right, double[] height,
+            int[] size) {
+        if (left == null || right == null || height == null || size == null)
+            throw new NullPointerException();
+        if (left.length != right.length || left.length != height.length
+            || left.length != size.length
+            || left.length >= Math.max(1, nodeCount))
+            throw new IllegalArgumentException();
+
+        this.nodeCount = nodeCount;
+        this.graph = graph;
+        this.left = left;
+        this.right = right;
+        this.height = height;
+        this.size = size;
+        this.parent = new int[nodeCount + left.length];
+
+        Arrays.fill(this.parent, -1);
+
+        for (int j = 0; j < left.length; j++) {
+            int cluster = nodeCount + j;
+
+            if (j > 0 && height[j] < height[j - 1])
+                throw new IllegalArgumentException();
+            if (left[j] < 0 || left[j] >= cluster || right[j] < 0
+                || right[j] >= cluster || left[j] == right[j]
+                || this.parent[left[j]] >= 0 || this.parent[right[j]] >= 0)
+                throw new IllegalArgumentException();
+
+            this.parent[left[j]] = cluster;
+            this.parent[right[j]] = cluster;
+        }
+    }
+
+    /**
+     * Returns the number of clustered nodes.
+     *
+     * @return the number of clustered nodes.
+     */
+    public int nodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Returns the number of merges.
+     *
+     * @return the number of merges.
+     */
+    public int mergeCount() {
+        return this.left.length;
+    }
+
+    /**
+     * Returns the snapshot of the clustered graph.
+     *
+     * @return the snapshot, null if the nodes are only identified by their
+     *         index.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the first cluster joined by a merge.
+     *
+     * @param j  the merge.
+     * @return the first cluster joined by merge j.
+     * @throws IndexOutOfBoundsException if the merge does not exist.
+     */
+    public int getLeft(int j) {
+        return this.left[j];
+    }
+
+    /**
+     * Returns the second cluster joined by a merge.
+     *
+     * @param j  the merge.
+     * @return the second cluster joined by merge j.
+     * @throws IndexOutOfBoundsException if the merge does not exist.
+     */
+    public int getRight(int j) {
+        return this.right[j];
+    }
+
+    /**
+     * Returns the height of a merge, that is the weight of the edge that
+     * caused it.
+     *
+     * @param j  the merge.
+     * @return the height of merge j.
+     * @throws IndexOutOfBoundsException if the merge does not exist.
+     */
+    public double getHeight(int j) {
+        return this.height[j];
+    }
+
+    /**
+     * Returns the number of nodes of the cluster created by a merge.
+     *
+     * @param j  the merge.
+     * @return the size of the cluster created by merge j.
+     * @throws IndexOutOfBoundsException if the merge does not exist.
+     */
+    public int getSize(int j) {
+        return this.size[j];
+    }
+
+    /**
+     * Cuts the dendrogram so as to obtain a given number of clusters. If the
+     * graph has more connected components than the requested number, every
+     * component is a cluster.
+     *
+     * @param k  the requested number of clusters.
+     * @return the cluster of every node, indexed by node index; clusters are
+     *         numbered from 0.
+     * @throws IllegalArgumentException if k is not in the range
+     *         <code>[1, nodeCount()]</code>.
+     */
+    public int[] cutByClusterCount(int k) {
+        if (k < 1 || k > Math.max(1, this.nodeCount))
+            throw new IllegalArgumentException();
+
+        return this.cut(Math.max(0, Math.min(this.left.length,
+                                             this.nodeCount - k)));
+    }
+
+    /**
+     * Cuts the dendrogram at a distance threshold: two nodes are in the same
+     * cluster if and only if they are connected by a path whose edges all
+     * weigh at most the threshold.
+     *
+     * @param threshold  the distance threshold.
+     * @return the cluster of every node, indexed by node index; clusters are
+     *         numbered from 0.
+     */
+    public int[] cutByThreshold(double threshold) {
+        int low = 0;
+        int high = this.height.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (this.height[middle] <= threshold) low = middle + 1;
+            else high = middle;
+        }
+
+        return this.cut(low);
+    }
+
+    /**
+     * Labels the clusters obtained by applying the first merges.
+     *
+     * @param merges  the number of merges to apply.
+     * @return the cluster of every node.
+     */
+    private int[] cut(int merges) {
+        int[] labels = new int[this.nodeCount + merges];
+        int next = 0;
+
+        for (int x = labels.length - 1; x >= 0; x--) {
+            int p = this.parent[x];
+
+            if (p >= 0 && p < labels.length) labels[x] = labels[p];
+            else labels[x] = next++;
+        }
+
+        return Arrays.copyOf(labels, this.nodeCount);
+    }
+}
@@ -0,0 +1,244 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A minimum spanning forest stored in primitive arrays: edge {@code i} of the
+ * forest connects node {@code getSources()[i]} with node
+ * {@code getTargets()[i]} and has weight {@code getWeights()[i]}. Nodes are
+ * identified by their index and edges are listed in the order in which
+ * Kruskal's algorithm added them, that is by nondecreasing weight.
+ *
+ * The total weight and the number of trees of the forest are computed while
+ * the forest is built, so reading them costs nothing.
+ *
+ * When the forest has been computed on a {@code CompressedSparseRowGraph<L>},
+ * it also stores the number of every edge in the snapshot, and
+ * {@code asEdgeSet()} offers the forest as a set of the {@code GraphEdge<L>}
+ * objects of the source graph; the set is built lazily, so consumers that
+ * only need the total weight or a pass over the arrays never pay for it.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class SpanningForest<L> {
+
+    private final int[] sources;
+    private final int[] targets;
+    private final double[] weights;
+    private final double totalWeight;
+    private final int componentCount;
+    private final int[] edges;
+    private final CompressedSparseRowGraph<L> graph;
+    private Set<GraphEdge<L>> edgeSet;
+
+    /**
+     * Constructs a forest from its edges. The arrays are not copied.
+     *
+     * @param sources  the first node of every edge.
+     * @param targets  the second node of every edge.
+     * @param weights  the weight of every edge.
+     * @param totalWeight  the sum of the weights.
+     * @param componentCount  the number of trees of the forest, isolated
+     *        nodes included.
+     * @throws NullPointerException if one of the arrays is null.
+     * @throws IllegalArgumentException if the arrays have different lengths.
+     */
+    public SpanningForest(int[] sources, int[] targets, double[] weights,
+            double totalWeight, int componentCount) {
+        if (sources == null || targets == null || weights == null)
+            throw new NullPointerException();
+        if (sources.length != targets.length
+            || sources.length != weights.length)
+            throw new IllegalArgumentException();
+
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        this.totalWeight = totalWeight;
+        this.componentCount = componentCount;
+        this.edges = null;
+        this.graph = null;
+    }
+
+    /**
+     * Constructs a forest of the edges of a snapshot of a graph. The nodes and
+     * the weights of the edges are read from the snapshot. The array is not
+     * copied.
+     *
+     * @param graph  the snapshot the edges belong to.
+     * @param edges  the numbers of the edges of the forest in the snapshot.
+     * @param totalWeight  the sum of the weights.
+     * @param componentCount  the number of trees of the forest, isolated
+     *        nodes included.
+     * @throws NullPointerException if the snapshot or the array is null.
+     * @throws IndexOutOfBoundsException if an edge number is out of range.
+     */
+    public SpanningForest(CompressedSparseRowGraph<L> graph, int[] edges,
+            double totalWeight, int componentCount) {
+        if (graph == null || edges == null) throw new NullPointerException();
+
+        this.sources = new int[edges.length];
+        this.targets = new int[edges.length];
+        this.weights = new double[edges.length];
+
+        for (int i = 0; i < edges.length; i++) {
+            this.sources[i] = graph.getEdgeSources()[edges[i]];
+            this.targets[i] = graph.getEdgeTargets()[edges[i]];
+            this.weights[i] = graph.getEdgeWeights()[edges[i]];
+        }
+
+        this.totalWeight = totalWeight;
+        this.componentCount = componentCount;
+        this.edges = edges;
+        this.graph = graph;
+    }
+
+    /**
+     * Returns the number of edges of the forest.
+     *
+     * @return the number of edges of the forest.
+     */
+    public int edgeCount() {
+        return this.sources.length;
+    }
+
+    /**
+     * Returns the first node of every edge, in insertion order. The array is
+     * the internal one and must not be modified.
+     *
+     * @return the first node of every edge.
+     */
+    public int[] getSources() {
+        return this.sources;
+    }
+
+    /**
+     * Returns the second node of every edge, in insertion order. The array is
+     * the internal one and must not be modified.
+     *
+     * @return the second node of every edge.
+     */
+    public int[] getTargets() {
+        return this.targets;
+    }
+
+    /**
+     * Returns the weight of every edge, in insertion order. The array is the
+     * internal one and must not be modified.
+     *
+     * @return the weight of every edge.
+     */
+    public double[] getWeights() {
+        return this.weights;
+    }
+
+    /**
+     * Returns the sum of the weights of the edges of the forest.
+     *
+     * @return the total weight.
+     */
+    public double getTotalWeight() {
+        return this.totalWeight;
+    }
+
+    /**
+     * Returns the number of trees of the forest, that is the number of
+     * connected components of the graph it spans.
+     *
+     * @return the number of trees of the forest.
+     */
+    public int getComponentCount() {
+        return this.componentCount;
+    }
+
+    /**
+     * Returns the number in the snapshot of every edge, in insertion order.
+     * The array is the internal one and must not be modified.
+     *
+     * @return the edge numbers, null if the forest was not computed on a
+     *         snapshot.
+     */
+    public int[] getEdgeIndices() {
+        return this.edges;
+    }
+
+    /**
+     * Returns the snapshot of the graph the forest was computed on.
+     *
+     * @return the snapshot, null if the forest was not computed on a
+     *         snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the forest as a read-only set of the edges of the source graph.
+     * Iterating over the set reads the edges from the snapshot; a hash set is
+     * built only at the first membership test.
+     *
+     * @return the set of the edges of the forest.
+     * @throws UnsupportedOperationException if the forest was not computed on
+     *         a snapshot of a graph.
+     */
+    public Set<GraphEdge<L>> asEdgeSet() {
+        if (this.edges == null) throw new UnsupportedOperationException();
+
+        if (this.edgeSet == null) this.edgeSet = new EdgeSetView();
+
+        return this.edgeSet;
+    }
+
+    /*
+     * Lazy view of the forest as a set of edges of the source graph.
+     */
+    private class EdgeSetView extends AbstractSet<GraphEdge<L>> {
+
+        private Set<GraphEdge<L>> index;
+
+        @Override
+        public int size() {
+            return SpanningForest.this.edges.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (this.index == null) {
+                this.index = new HashSet<GraphEdge<L>>(2 * this.size());
+
+                for (GraphEdge<L> edge : this) {
+                    this.index.add(edge);
+                }
+            }
+
+            return this.index.contains(o);
+        }
+
+        @Override
+        public Iterator<GraphEdge<L>> iterator() {
+            return new Iterator<GraphEdge<L>>() {
+
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.next < SpanningForest.this.edges.length;
+                }
+
+                @Override
+                public GraphEdge<L> next() {
+                    if (!this.hasNext()) throw new NoSuchElementException();
+
+                    return SpanningForest.this.graph.getEdge(
+                               SpanningForest.this.edges[this.next++]);
+                }
+            };
+        }
+    }
+}
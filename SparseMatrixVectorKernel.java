@@ -0,0 +1,217 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A sparse matrix in compressed sparse row form, with a parallel product by a
+ * dense vector. It is the kernel of the iterative computations of this
+ * package, such as {@code PageRank<L>}: every iteration is one product.
+ *
+ * The product is pull-based: every row of the result is computed by the task
+ * that owns it, reading the entries of the vector named by the column indices
+ * of the row, so no two tasks ever write the same element and no
+ * synchronization is needed. Graphs with a skewed degree distribution have a
+ * few rows much longer than the others, so the rows are not split in ranges
+ * of equal length but in chunks of about the same number of nonzero entries,
+ * computed once when the matrix is built.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class SparseMatrixVectorKernel {
+
+    /**
+     * A function applied to every element of a product before it is stored,
+     * to fuse the update of an iterative method with the product.
+     */
+    public interface RowFunction {
+
+        /**
+         * Computes the value stored in an element of the result.
+         *
+         * @param row  the index of the element.
+         * @param product  the product of the row of the matrix and the vector.
+         * @return the value to store.
+         */
+        double apply(int row, double product);
+    }
+
+    private static final int MIN_CHUNK_WORK = 4096;
+
+    private final int rows;
+    private final int columns;
+    private final int[] offsets;
+    private final int[] columnIndices;
+    private final double[] values;
+    private final ForkJoinPool pool;
+    private final int[] chunks;
+
+    /**
+     * Builds a matrix whose products run on the common {@code ForkJoinPool}.
+     * The arrays are not copied.
+     *
+     * @param rows  the number of rows.
+     * @param columns  the number of columns.
+     * @param offsets  the offsets of the entries of every row, of length
+     *        {@code rows + 1}.
+     * @param columnIndices  the column of every entry.
+     * @param values  the value of every entry.
+     * @throws NullPointerException if one of the arrays is null.
+     * @throws IllegalArgumentException if the arrays do not describe a matrix
+     *         of the given size.
+     * @throws IndexOutOfBoundsException if an entry refers to a column
+     *         outside the range <code>[0, columns - 1]</code>.
+     */
+    public SparseMatrixVectorKernel(int rows, int columns, int[] offsets,
+            int[] columnIndices, double[] values) {
+        this(rows, columns, offsets, columnIndices, values,
+             ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds a matrix. The arrays are not copied.
+     *
+     * @param rows  the number of rows.
+     * @param columns  the number of columns.
+     * @param offsets  the offsets of the entries of every row, of length
+     *        {@code rows + 1}.
+     * @param columnIndices  the column of every entry.
+     * @param values  the value of every entry.
+     * @param pool  the pool running the products.
+     * @throws NullPointerException if one of the arrays or the pool is null.
+     * @throws IllegalArgumentException if the arrays do not describe a matrix
+     *         of the given size.
+     * @throws IndexOutOfBoundsException if an entry refers to a column
+     *         outside the range <code>[0, columns - 1]</code>.
+     */
+    public SparseMatrixVectorKernel(int rows, int columns, int[] offsets,
+            int[] columnIndices, double[] values, ForkJoinPool pool) {
+        if (offsets == null || columnIndices == null || values == null
+            || pool == null)
+            throw new NullPointerException();
+        if (rows < 0 || columns < 0 || offsets.length != rows + 1
+            || offsets[0] != 0 || offsets[rows] != columnIndices.length
+            || columnIndices.length != values.length)
+            throw new IllegalArgumentException();
+
+        for (int i = 0; i < rows; i++) {
+            if (offsets[i] > offsets[i + 1])
+                throw new IllegalArgumentException();
+        }
+
+        for (int c : columnIndices) {
+            if (c < 0 || c >= columns) throw new IndexOutOfBoundsException();
+        }
+
+        this.rows = rows;
+        this.columns = columns;
+        this.offsets = offsets;
+        this.columnIndices = columnIndices;
+        this.values = values;
+        this.pool = pool;
+        this.chunks = this.partition();
+    }
+
+    /**
+     * Returns the number of rows of the matrix.
+     *
+     * @return the number of rows.
+     */
+    public int rowCount() {
+        return this.rows;
+    }
+
+    /**
+     * Returns the number of columns of the matrix.
+     *
+     * @return the number of columns.
+     */
+    public int columnCount() {
+        return this.columns;
+    }
+
+    /**
+     * Returns the number of stored entries of the matrix.
+     *
+     * @return the number of nonzero entries.
+     */
+    public int nonZeroCount() {
+        return this.values.length;
+    }
+
+    /**
+     * Computes the product of the matrix and a vector.
+     *
+     * @param x  the vector, of length {@code columnCount()}.
+     * @param y  filled with the product, of length {@code rowCount()}.
+     * @throws NullPointerException if a vector is null.
+     * @throws IllegalArgumentException if a vector has the wrong length or
+     *         the two vectors are the same array.
+     */
+    public void multiply(double[] x, double[] y) {
+        this.multiply(x, y, null);
+    }
+
+    /**
+     * Computes the product of the matrix and a vector, applying a function to
+     * every element before storing it.
+     *
+     * @param x  the vector, of length {@code columnCount()}.
+     * @param y  filled with the transformed product, of length
+     *        {@code rowCount()}.
+     * @param f  the function applied to every element of the product, null to
+     *        store the product itself; it is called concurrently on different
+     *        rows.
+     * @throws NullPointerException if a vector is null.
+     * @throws IllegalArgumentException if a vector has the wrong length or
+     *         the two vectors are the same array.
+     */
+    public void multiply(double[] x, double[] y, RowFunction f) {
+        if (x == null || y == null) throw new NullPointerException();
+        if (x.length != this.columns || y.length != this.rows || x == y)
+            throw new IllegalArgumentException();
+
+        ParallelFor.run(this.pool, 0, this.chunks.length - 1, 1,
+                        (from, to) -> {
+            for (int i = this.chunks[from]; i < this.chunks[to]; i++) {
+                double sum = 0;
+
+                for (int k = this.offsets[i]; k < this.offsets[i + 1]; k++) {
+                    sum += this.values[k] * x[this.columnIndices[k]];
+                }
+
+                y[i] = f == null ? sum : f.apply(i, sum);
+            }
+        });
+    }
+
+    /**
+     * Splits the rows in consecutive chunks of about the same work, counting
+     * one unit for every entry and one for every row.
+     *
+     * @return the first row of every chunk, followed by the number of rows.
+     */
+    private int[] partition() {
+        long work = (long) this.values.length + this.rows;
+        long target = Math.max(MIN_CHUNK_WORK,
+                               work / (8L * this.pool.getParallelism()) + 1);
+        int[] starts = new int[(int) (work / target) + 2];
+        int count = 0;
+        long done = 0;
+
+        starts[count++] = 0;
+
+        for (int i = 0; i < this.rows; i++) {
+            done += this.offsets[i + 1] - this.offsets[i] + 1;
+
+            if (done >= target && i + 1 < this.rows) {
+                starts[count++] = i + 1;
+                done = 0;
+            }
+        }
+
+        starts[count++] = this.rows;
+
+        return Arrays.copyOf(starts, count);
+    }
+}
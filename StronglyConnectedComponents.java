@@ -0,0 +1,146 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The strongly connected components of a graph stored as a compact array of
+ * component ids: node {@code v} of the snapshot belongs to component
+ * {@code getComponentIds()[v]}, a number in the range
+ * <code>[0, componentCount() - 1]</code>. In an undirected graph the strongly
+ * connected components are the connected components.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class StronglyConnectedComponents<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final int[] component;
+    private final int componentCount;
+
+    /**
+     * Constructs the components. The array is not copied.
+     *
+     * @param graph  the snapshot of the graph.
+     * @param component  the component of every node.
+     * @param componentCount  the number of components.
+     * @throws NullPointerException if the snapshot or the array is null.
+     * @throws IllegalArgumentException if the array does not have an entry for
+     *         every node or refers to a component that does not exist.
+     */
+    public StronglyConnectedComponents(CompressedSparseRowGraph<L> graph,
+            int[] component, int componentCount) {
+        if (graph == null || component == null)
+            throw new NullPointerException();
+        if (component.length != graph.nodeCount())
+            throw new IllegalArgumentException();
+
+        for (int c : component) {
+            if (c < 0 || c >= componentCount)
+                throw new IllegalArgumentException();
+        }
+
+        this.graph = graph;
+        this.component = component;
+        this.componentCount = componentCount;
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of components.
+     *
+     * @return the number of strongly connected components.
+     */
+    public int componentCount() {
+        return this.componentCount;
+    }
+
+    /**
+     * Returns the component of every node. The array is the internal one and
+     * must not be modified.
+     *
+     * @return the component id of every node, indexed by node index.
+     */
+    public int[] getComponentIds() {
+        return this.component;
+    }
+
+    /**
+     * Returns the component of a node.
+     *
+     * @param v  the index of the node.
+     * @return the component id of v.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getComponent(int v) {
+        return this.component[v];
+    }
+
+    /**
+     * Returns the component of a node.
+     *
+     * @param v  the node.
+     * @return the component id of v.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     */
+    public int getComponent(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+
+        return this.component[this.graph.getIndexOf(v)];
+    }
+
+    /**
+     * Determines whether two nodes are strongly connected, that is whether
+     * each one is reachable from the other.
+     *
+     * @param u  the index of the first node.
+     * @param v  the index of the second node.
+     * @return true if u and v belong to the same component.
+     * @throws IndexOutOfBoundsException if u or v is not a node.
+     */
+    public boolean areStronglyConnected(int u, int v) {
+        return this.component[u] == this.component[v];
+    }
+
+    /**
+     * Returns the components as sets of nodes of the source graph.
+     *
+     * @return a set of strongly connected components, each represented by a
+     *         set of graph nodes.
+     * @throws UnsupportedOperationException if the snapshot was built from an
+     *         edge list.
+     */
+    public Set<Set<GraphNode<L>>> getComponentSets() {
+        int n = this.component.length;
+
+        if (n > 0 && this.graph.getNode(0) == null)
+            throw new UnsupportedOperationException();
+
+        List<Set<GraphNode<L>>> components =
+            new ArrayList<Set<GraphNode<L>>>(this.componentCount);
+
+        for (int c = 0; c < this.componentCount; c++) {
+            components.add(new HashSet<GraphNode<L>>());
+        }
+
+        for (int v = 0; v < n; v++) {
+            components.get(this.component[v]).add(this.graph.getNode(v));
+        }
+
+        return new HashSet<Set<GraphNode<L>>>(components);
+    }
+}
@@ -0,0 +1,542 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A class that implements two calculators of the strongly connected
+ * components of a directed graph (of the connected components, if the graph
+ * is undirected).
+ *
+ * The sequential calculator is Tarjan's algorithm, driven by the events of a
+ * {@code DepthFirstSearch<L>}, so it explores the graph without recursion in
+ * O(n + m) time; on an undirected graph every tree of the search is a
+ * component. Its component ids follow the order in which the components
+ * are completed, which is a reverse topological order of the condensation:
+ * every edge between two components goes from a higher id to a lower one.
+ *
+ * The parallel calculator is the forward-backward algorithm with trimming of
+ * Fleischer, Hendrickson and Pinar, in the bulk-synchronous form in which all
+ * the pending subproblems advance together. Every node has a colour, the
+ * subproblem it belongs to, and every round
+ * <ul>
+ * <li>trims the nodes without incoming or without outgoing edges inside their
+ * colour, which are components on their own, peeling chains of them with a
+ * worklist of atomic degree counters;</li>
+ * <li>picks a pivot of every colour and searches, level by level and in
+ * parallel, the nodes of the same colour reachable from the pivot and those
+ * that reach it;</li>
+ * <li>assigns a new component to the nodes found by both searches and splits
+ * the rest of every colour into three new colours: reached forward only,
+ * backward only, or neither. No component crosses two of them.</li>
+ * </ul>
+ * The ids it returns are numbered by the smallest node of every component.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class StronglyConnectedComponentsComputer<L> {
+
+    private static final int MIN_GRAIN = 1024;
+
+    /*
+     * Bits of the state of a node during a round of the parallel calculator.
+     */
+    private static final int FORWARD = 1;
+    private static final int BACKWARD = 2;
+    private static final int TRIMMED = 4;
+
+    private final ForkJoinPool pool;
+    private final DepthFirstSearch<L> search;
+
+    /**
+     * Create a strongly connected component calculator whose parallel version
+     * runs on the common {@code ForkJoinPool}.
+     */
+    public StronglyConnectedComponentsComputer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a strongly connected component calculator.
+     *
+     * @param pool  the pool running the parallel version.
+     * @throws NullPointerException if the pool is null.
+     */
+    public StronglyConnectedComponentsComputer(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException();
+
+        this.pool = pool;
+        this.search = new DepthFirstSearch<L>();
+    }
+
+    /**
+     * Compute the strongly connected components of a graph with Tarjan's
+     * algorithm.
+     *
+     * @param g  a graph.
+     * @return the components, whose snapshot identifies the nodes of the
+     *         graph.
+     * @throws NullPointerException if the passed graph is null.
+     */
+    public StronglyConnectedComponents<L> computeStronglyConnectedComponents(
+            Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        return this.computeStronglyConnectedComponents(
+            new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Compute the strongly connected components of a snapshot of a graph with
+     * Tarjan's algorithm.
+     *
+     * @param g  a snapshot.
+     * @return the components, numbered in reverse topological order of the
+     *         condensation.
+     * @throws NullPointerException if the passed snapshot is null.
+     */
+    public StronglyConnectedComponents<L> computeStronglyConnectedComponents(
+            CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        Tarjan tarjan = new Tarjan(g.nodeCount(), g.isDirected());
+
+        this.search.computeDFS(g, tarjan);
+
+        return new StronglyConnectedComponents<L>(g, tarjan.component,
+                                                  tarjan.componentCount);
+    }
+
+    /**
+     * Compute the strongly connected components of a snapshot of a graph with
+     * the parallel forward-backward algorithm with trimming.
+     *
+     * @param g  a snapshot.
+     * @return the components, numbered by their smallest node.
+     * @throws NullPointerException if the passed snapshot is null.
+     */
+    public StronglyConnectedComponents<L>
+            computeStronglyConnectedComponentsInParallel(
+                CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        int n = g.nodeCount();
+        CompressedSparseRowGraph<L> reverse = g.isDirected()
+            ? new CompressedSparseRowGraph<L>(n, g.getEdgeTargets(),
+                                              g.getEdgeSources(),
+                                              g.getEdgeWeights(), true)
+            : g;
+        ForwardBackward fb = new ForwardBackward(g, reverse);
+        int[] remaining = new int[n];
+        int count = n;
+
+        for (int v = 0; v < n; v++) {
+            remaining[v] = v;
+        }
+
+        while (count > 0) {
+            fb.trim(remaining, count);
+            count = fb.compact(remaining, count);
+
+            if (count == 0) break;
+
+            fb.split(remaining, count);
+            count = fb.compact(remaining, count);
+        }
+
+        // Renumber the components by their smallest node.
+        int[] component = fb.component;
+        int[] id = new int[fb.nextId.get()];
+        int componentCount = 0;
+
+        Arrays.fill(id, -1);
+
+        for (int v = 0; v < n; v++) {
+            int c = component[v];
+
+            if (id[c] < 0) id[c] = componentCount++;
+
+            component[v] = id[c];
+        }
+
+        return new StronglyConnectedComponents<L>(g, component,
+                                                  componentCount);
+    }
+
+    /*
+     * Tarjan's algorithm, driven by the events of the search: the nodes whose
+     * component is not complete yet stay on a stack, and a node whose
+     * low-link equals its discovery order closes the component made of the
+     * nodes above it.
+     */
+    private static final class Tarjan implements DepthFirstVisitor {
+
+        private final boolean directed;
+        private final int[] disc;
+        private final int[] low;
+        private final int[] component;
+        private final int[] stack;
+        private int top;
+        private int time;
+        private int componentCount;
+
+        private Tarjan(int n, boolean directed) {
+            this.directed = directed;
+            this.disc = new int[n];
+            this.low = new int[n];
+            this.component = new int[n];
+            this.stack = new int[n];
+
+            Arrays.fill(this.component, -1);
+        }
+
+        @Override
+        public void enterNode(int v, int parent) {
+            this.disc[v] = ++this.time;
+            this.low[v] = this.disc[v];
+            this.stack[this.top++] = v;
+        }
+
+        @Override
+        public void visitEdge(int u, int v, int edge,
+                DepthFirstSearch.EdgeType type) {
+            if (type != DepthFirstSearch.EdgeType.TREE
+                && this.component[v] < 0)
+                this.low[u] = Math.min(this.low[u], this.disc[v]);
+        }
+
+        @Override
+        public void exitNode(int v, int parent) {
+            // Every tree of an undirected search is a component on its own.
+            if (this.directed ? this.low[v] == this.disc[v] : parent < 0) {
+                int w;
+
+                do {
+                    w = this.stack[--this.top];
+                    this.component[w] = this.componentCount;
+                } while (w != v);
+
+                this.componentCount++;
+            }
+
+            if (parent >= 0)
+                this.low[parent] = Math.min(this.low[parent], this.low[v]);
+        }
+    }
+
+    /*
+     * The state of the parallel calculator: the component of every node
+     * (-1 while unknown), its colour, its state bits in the current round and
+     * the degree counters used by trimming.
+     */
+    private final class ForwardBackward {
+
+        private final int[] outOffsets;
+        private final int[] outAdjacency;
+        private final int[] inOffsets;
+        private final int[] inAdjacency;
+        private final int[] component;
+        private final int[] color;
+        private final AtomicIntegerArray state;
+        private final AtomicIntegerArray inDegree;
+        private final AtomicIntegerArray outDegree;
+        private final AtomicIntegerArray pivot;
+        private final AtomicInteger nextId;
+
+        private ForwardBackward(CompressedSparseRowGraph<?> g,
+                CompressedSparseRowGraph<?> reverse) {
+            int n = g.nodeCount();
+
+            this.outOffsets = g.getOffsets();
+            this.outAdjacency = g.getAdjacency();
+            this.inOffsets = reverse.getOffsets();
+            this.inAdjacency = reverse.getAdjacency();
+            this.component = new int[n];
+            this.color = new int[n];
+            this.state = new AtomicIntegerArray(n);
+            this.inDegree = new AtomicIntegerArray(n);
+            this.outDegree = new AtomicIntegerArray(n);
+            this.pivot = new AtomicIntegerArray(Math.max(1, 3 * n));
+            this.nextId = new AtomicInteger();
+
+            Arrays.fill(this.component, -1);
+        }
+
+        /**
+         * Repeatedly removes the nodes without incoming or without outgoing
+         * edges inside their colour, making each a component on its own.
+         *
+         * @param remaining  the nodes whose component is unknown.
+         * @param count  the number of such nodes.
+         */
+        private void trim(int[] remaining, int count) {
+            int grain = ParallelFor.grainFor(pool, count, MIN_GRAIN);
+
+            ParallelFor.run(pool, 0, count, grain, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = remaining[i];
+
+                    this.inDegree.set(v, this.liveDegree(this.inOffsets,
+                                                         this.inAdjacency, v));
+                    this.outDegree.set(v, this.liveDegree(this.outOffsets,
+                                                          this.outAdjacency,
+                                                          v));
+                }
+            });
+
+            int[] worklist = this.collect(remaining, count, v ->
+                this.inDegree.get(v) == 0 || this.outDegree.get(v) == 0);
+
+            while (worklist.length > 0) {
+                int[] current = worklist;
+
+                worklist = this.expand(current, (v, next) -> {
+                    if ((this.state.getAndAccumulate(v, TRIMMED,
+                                                     (a, b) -> a | b)
+                         & TRIMMED) != 0)
+                        return;
+
+                    this.component[v] = this.nextId.getAndIncrement();
+                    this.release(this.outOffsets, this.outAdjacency,
+                                 this.inDegree, v, next);
+                    this.release(this.inOffsets, this.inAdjacency,
+                                 this.outDegree, v, next);
+                });
+            }
+        }
+
+        /**
+         * Runs the forward and backward searches from a pivot of every colour
+         * and splits every colour in a component and three new colours.
+         *
+         * @param remaining  the nodes whose component is unknown.
+         * @param count  the number of such nodes.
+         */
+        private void split(int[] remaining, int count) {
+            int grain = ParallelFor.grainFor(pool, count, MIN_GRAIN);
+
+            for (int i = 0; i < count; i++) {
+                this.pivot.set(this.color[remaining[i]], -1);
+            }
+
+            ParallelFor.run(pool, 0, count, grain, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = remaining[i];
+
+                    this.pivot.compareAndSet(this.color[v], -1, v);
+                }
+            });
+
+            int[] pivots = this.collect(remaining, count, v ->
+                this.pivot.get(this.color[v]) == v);
+            int[] id = new int[pivots.length];
+
+            for (int i = 0; i < pivots.length; i++) {
+                id[i] = this.nextId.getAndIncrement();
+                this.pivot.set(this.color[pivots[i]], i);
+            }
+
+            this.reach(pivots, this.outOffsets, this.outAdjacency, FORWARD);
+            this.reach(pivots, this.inOffsets, this.inAdjacency, BACKWARD);
+
+            ParallelFor.run(pool, 0, count, grain, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = remaining[i];
+                    int p = this.pivot.get(this.color[v]);
+                    int bits = this.state.getAndSet(v, 0);
+
+                    if (bits == (FORWARD | BACKWARD)) {
+                        this.component[v] = id[p];
+                    }
+                    else {
+                        int region = bits == FORWARD ? 0
+                                     : bits == BACKWARD ? 1 : 2;
+
+                        this.color[v] = 3 * pivots[p] + region;
+                    }
+                }
+            });
+        }
+
+        /**
+         * Marks, level by level, the nodes reachable from the pivots inside
+         * their colours.
+         *
+         * @param pivots  the pivots.
+         * @param offsets  the offsets of the adjacency to follow.
+         * @param adjacency  the adjacency to follow.
+         * @param bit  the state bit of the reached nodes.
+         */
+        private void reach(int[] pivots, int[] offsets, int[] adjacency,
+                int bit) {
+            for (int p : pivots) {
+                this.state.getAndAccumulate(p, bit, (a, b) -> a | b);
+            }
+
+            int[] frontier = pivots;
+
+            while (frontier.length > 0) {
+                frontier = this.expand(frontier, (u, next) -> {
+                    for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                        int v = adjacency[k];
+
+                        if (this.component[v] >= 0
+                            || this.color[v] != this.color[u])
+                            continue;
+
+                        int old = this.state.getAndAccumulate(v, bit,
+                                                              (a, b) -> a | b);
+
+                        if ((old & bit) == 0) next.push(v);
+                    }
+                });
+            }
+        }
+
+        /**
+         * Decrements the degree counters of the live neighbours of a trimmed
+         * node, adding to the worklist those that drop to zero.
+         *
+         * @param offsets  the offsets of the adjacency to follow.
+         * @param adjacency  the adjacency to follow.
+         * @param degree  the counters to decrement.
+         * @param v  the trimmed node.
+         * @param next  the next worklist.
+         */
+        private void release(int[] offsets, int[] adjacency,
+                AtomicIntegerArray degree, int v, IntStack next) {
+            for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                int u = adjacency[k];
+
+                if (u == v || this.component[u] >= 0
+                    || this.color[u] != this.color[v])
+                    continue;
+
+                if (degree.decrementAndGet(u) == 0) next.push(u);
+            }
+        }
+
+        /**
+         * Counts the neighbours of a node whose component is unknown and
+         * whose colour is the same, loops excluded.
+         *
+         * @param offsets  the offsets of the adjacency.
+         * @param adjacency  the adjacency.
+         * @param v  the node.
+         * @return the number of live neighbours of v.
+         */
+        private int liveDegree(int[] offsets, int[] adjacency, int v) {
+            int degree = 0;
+
+            for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                int u = adjacency[k];
+
+                if (u != v && this.component[u] < 0
+                    && this.color[u] == this.color[v])
+                    degree++;
+            }
+
+            return degree;
+        }
+
+        /**
+         * Processes a list of nodes in parallel, gathering the nodes that the
+         * processing emits in a new list.
+         *
+         * @param nodes  the nodes to process.
+         * @param step  the processing of a node.
+         * @return the emitted nodes.
+         */
+        private int[] expand(int[] nodes, Step step) {
+            int grain = ParallelFor.grainFor(pool, nodes.length, MIN_GRAIN);
+            int chunks = (nodes.length + grain - 1) / grain;
+            IntStack[] emitted = new IntStack[chunks];
+
+            ParallelFor.run(pool, 0, chunks, 1, (first, last) -> {
+                for (int c = first; c < last; c++) {
+                    IntStack next = new IntStack();
+                    int to = Math.min(nodes.length, (c + 1) * grain);
+
+                    for (int i = c * grain; i < to; i++) {
+                        step.apply(nodes[i], next);
+                    }
+
+                    emitted[c] = next;
+                }
+            });
+
+            int size = 0;
+
+            for (IntStack next : emitted) {
+                size += next.size();
+            }
+
+            int[] result = new int[size];
+            int position = 0;
+
+            for (IntStack next : emitted) {
+                int[] values = next.toArray();
+
+                System.arraycopy(values, 0, result, position, values.length);
+                position += values.length;
+            }
+
+            return result;
+        }
+
+        /**
+         * Returns the nodes of a list that satisfy a condition.
+         *
+         * @param nodes  the list.
+         * @param count  the length of the list.
+         * @param condition  the condition.
+         * @return the nodes satisfying the condition, in list order.
+         */
+        private int[] collect(int[] nodes, int count, Condition condition) {
+            IntStack selected = new IntStack();
+
+            for (int i = 0; i < count; i++) {
+                if (condition.test(nodes[i])) selected.push(nodes[i]);
+            }
+
+            return selected.toArray();
+        }
+
+        /**
+         * Removes from a list the nodes whose component is known.
+         *
+         * @param nodes  the list.
+         * @param count  the length of the list.
+         * @return the new length of the list.
+         */
+        private int compact(int[] nodes, int count) {
+            int write = 0;
+
+            for (int i = 0; i < count; i++) {
+                if (this.component[nodes[i]] < 0) nodes[write++] = nodes[i];
+            }
+
+            return write;
+        }
+    }
+
+    /*
+     * The processing of a node that may emit other nodes.
+     */
+    private interface Step {
+
+        void apply(int v, IntStack next);
+    }
+
+    /*
+     * A condition on a node.
+     */
+    private interface Condition {
+
+        boolean test(int v);
+    }
+}
@@ -0,0 +1,221 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the BetweennessCentrality class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class BetweennessCentralityTest {
+
+    @Test
+    final void testComputeBetweenness() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        // The path a - b - c - d.
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        gr.addEdge(new GraphEdge<String>(b, c, false));
+        gr.addEdge(new GraphEdge<String>(c, d, false));
+        BetweennessCentrality<String> centrality =
+            new BetweennessCentrality<String>();
+        BetweennessScores<String> scores = centrality.computeBetweenness(gr);
+        assertTrue(scores.isExact());
+        assertEquals(4, scores.getSampleCount());
+        assertEquals(0, scores.getScore(a));
+        assertEquals(2, scores.getScore(b));
+        assertEquals(2, scores.getScore(c));
+        assertEquals(2.0 / 3, scores.getNormalizedScore(
+                                  scores.getSnapshot().getIndexOf(b)));
+        // Two shortest paths from a to d, one through each of b and c.
+        CompressedSparseRowGraph<String> square =
+            new CompressedSparseRowGraph<String>(4, new int[] {0, 0, 1, 2},
+                                                 new int[] {1, 2, 3, 3},
+                                                 new double[] {1, 2, 2, 1},
+                                                 true);
+        scores = centrality.computeBetweenness(square, true);
+        assertEquals(0.5, scores.getScore(1));
+        assertEquals(0.5, scores.getScore(2));
+        assertThrows(IllegalArgumentException.class, () -> {
+            centrality.computeBetweenness(
+                new CompressedSparseRowGraph<String>(2, new int[] {0, 1},
+                                                     new int[] {1, 0},
+                                                     new double[] {1,
+                                                         Double.NaN},
+                                                     true), true);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            centrality.computeBetweenness(
+                new CompressedSparseRowGraph<String>(2, new int[] {0},
+                                                     new int[] {1},
+                                                     new double[] {0},
+                                                     true), true);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            centrality.estimateBetweenness(gr, 0, 0.1, 1);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            centrality.computeBetweenness((Graph<String>) null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new BetweennessCentrality<String>(null);
+        });
+    }
+
+    @Test
+    final void testMatchesPathCounting() {
+        Random random = new Random(42);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        BetweennessCentrality<Integer> centrality =
+            new BetweennessCentrality<Integer>(pool);
+        for (int trial = 0; trial < 60; trial++) {
+            int n = 1 + random.nextInt(25);
+            int m = random.nextInt(3 * n);
+            boolean directed = trial % 2 == 0;
+            boolean weighted = trial % 3 == 0;
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+                weights[i] = weighted ? 1 + random.nextInt(3) : Double.NaN;
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      weights, directed);
+            double[] expected = brute(n, sources, targets, weights,
+                                      directed);
+            BetweennessScores<Integer> scores =
+                centrality.computeBetweenness(g, weighted);
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected[v], scores.getScore(v), 1e-9);
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    final void testEstimateBetweenness() {
+        Random random = new Random(7);
+        int n = 2000;
+        int m = 8000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = random.nextInt(n);
+            targets[i] = random.nextInt(n);
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[m], false);
+        BetweennessCentrality<Integer> centrality =
+            new BetweennessCentrality<Integer>();
+        BetweennessScores<Integer> exact =
+            centrality.computeBetweenness(g, false);
+        BetweennessScores<Integer> estimate =
+            centrality.estimateBetweenness(g, false, 0.02, 0.1, 42);
+        assertFalse(estimate.isExact());
+        assertEquals(BetweennessCentrality.sampleSize(n, 0.02, 0.1),
+                     estimate.getSampleCount());
+        assertEquals(0.02 * n * (n - 2) / 2, estimate.getErrorBound(), 1e-6);
+        for (int v = 0; v < n; v++) {
+            assertEquals(exact.getScore(v), estimate.getScore(v),
+                         estimate.getErrorBound());
+        }
+    }
+
+    /**
+     * Computes the betweenness from the distances and path counts of every
+     * pair, given by the Floyd-Warshall algorithm.
+     */
+    private static double[] brute(int n, int[] sources, int[] targets,
+            double[] weights, boolean directed) {
+        double[][] dist = new double[n][n];
+        double[][] paths = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                dist[i][j] = i == j ? 0 : Double.POSITIVE_INFINITY;
+            }
+            paths[i][i] = 1;
+        }
+        for (int e = 0; e < sources.length; e++) {
+            double w = Double.isNaN(weights[e]) ? 1 : weights[e];
+            for (int side = 0; side < (directed ? 1 : 2); side++) {
+                int u = side == 0 ? sources[e] : targets[e];
+                int v = side == 0 ? targets[e] : sources[e];
+                if (u == v) continue;
+                if (w < dist[u][v]) {
+                    dist[u][v] = w;
+                    paths[u][v] = 1;
+                }
+                else if (w == dist[u][v]) {
+                    paths[u][v]++;
+                }
+            }
+        }
+        // Count paths by increasing distance with a relaxation to fixpoint.
+        double[][] edge = new double[n][];
+        for (int u = 0; u < n; u++) {
+            edge[u] = dist[u].clone();
+        }
+        double[][] count = new double[n][n];
+        for (int s = 0; s < n; s++) {
+            double[] d = new double[n];
+            Arrays.fill(d, Double.POSITIVE_INFINITY);
+            d[s] = 0;
+            for (int round = 0; round < n; round++) {
+                for (int u = 0; u < n; u++) {
+                    for (int v = 0; v < n; v++) {
+                        if (d[u] + edge[u][v] < d[v] && u != v)
+                            d[v] = d[u] + edge[u][v];
+                    }
+                }
+            }
+            Integer[] byDistance = new Integer[n];
+            for (int v = 0; v < n; v++) {
+                byDistance[v] = v;
+            }
+            Arrays.sort(byDistance, (x, y) -> Double.compare(d[x],
+                                                                       d[y]));
+            count[s][s] = 1;
+            for (int v : byDistance) {
+                if (v == s || d[v] == Double.POSITIVE_INFINITY) continue;
+                for (int u = 0; u < n; u++) {
+                    if (u != v && d[u] + edge[u][v] == d[v])
+                        count[s][v] += count[s][u] * paths[u][v];
+                }
+            }
+            dist[s] = d;
+        }
+        double[] result = new double[n];
+        for (int s = 0; s < n; s++) {
+            for (int t = 0; t < n; t++) {
+                if (s == t || count[s][t] == 0) continue;
+                for (int v = 0; v < n; v++) {
+                    if (v == s || v == t) continue;
+                    if (dist[s][v] + dist[v][t] == dist[s][t])
+                        result[v] += count[s][v] * count[v][t] / count[s][t];
+                }
+            }
+        }
+        if (!directed) {
+            for (int v = 0; v < n; v++) {
+                result[v] /= 2;
+            }
+        }
+        return result;
+    }
+}
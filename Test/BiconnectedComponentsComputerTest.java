@@ -0,0 +1,157 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the BiconnectedComponentsComputer class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class BiconnectedComponentsComputerTest {
+
+    @Test
+    final void testComputeBiconnectedComponents() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphEdge<String> ab = new GraphEdge<String>(a, b, false);
+        gr.addEdge(ab);
+        GraphEdge<String> bc = new GraphEdge<String>(b, c, false);
+        gr.addEdge(bc);
+        GraphEdge<String> ca = new GraphEdge<String>(c, a, false);
+        gr.addEdge(ca);
+        GraphEdge<String> cd = new GraphEdge<String>(c, d, false);
+        gr.addEdge(cd);
+        BiconnectedComponentsComputer<String> computer =
+            new BiconnectedComponentsComputer<String>();
+        BiconnectedComponents<String> result =
+            computer.computeBiconnectedComponents(gr);
+        assertEquals(2, result.componentCount());
+        Set<GraphEdge<String>> bridges = new HashSet<GraphEdge<String>>();
+        bridges.add(cd);
+        assertEquals(bridges, result.getBridgeSet());
+        Set<GraphNode<String>> points = new HashSet<GraphNode<String>>();
+        points.add(c);
+        assertEquals(points, result.getArticulationPointSet());
+        Set<Set<GraphEdge<String>>> components =
+            new HashSet<Set<GraphEdge<String>>>();
+        Set<GraphEdge<String>> triangle = new HashSet<GraphEdge<String>>();
+        triangle.add(ab);
+        triangle.add(bc);
+        triangle.add(ca);
+        components.add(triangle);
+        components.add(bridges);
+        assertEquals(components, result.getComponentSets());
+        assertThrows(NullPointerException.class, () -> {
+            computer.computeBiconnectedComponents((Graph<String>) null);
+        });
+        CompressedSparseRowGraph<String> directed =
+            new CompressedSparseRowGraph<String>(2, new int[] {0},
+                                                 new int[] {1},
+                                                 new double[1], true);
+        assertThrows(IllegalArgumentException.class, () -> {
+            computer.computeBiconnectedComponents(directed);
+        });
+    }
+
+    @Test
+    final void testMatchesBruteForce() {
+        Random random = new Random(41);
+        BiconnectedComponentsComputer<Integer> computer =
+            new BiconnectedComponentsComputer<Integer>();
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(12);
+            int m = random.nextInt(2 * n);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      new double[m], false);
+            BiconnectedComponents<Integer> result =
+                computer.computeBiconnectedComponents(g);
+            int base = countComponents(n, sources, targets, -1, -1);
+            Set<Integer> bridges = new HashSet<Integer>();
+            for (int e : result.getBridges()) {
+                bridges.add(e);
+            }
+            for (int e = 0; e < m; e++) {
+                boolean bridge =
+                    countComponents(n, sources, targets, e, -1) > base;
+                assertEquals(bridge, bridges.contains(e));
+                assertEquals(sources[e] == targets[e],
+                             result.getComponent(e) < 0);
+            }
+            Set<Integer> points = new HashSet<Integer>();
+            for (int v : result.getArticulationPoints()) {
+                points.add(v);
+            }
+            for (int v = 0; v < n; v++) {
+                boolean point =
+                    countComponents(n, sources, targets, -1, v) > base;
+                assertEquals(point, points.contains(v));
+            }
+            int[] offsets = result.getComponentOffsets();
+            for (int c = 0; c < result.componentCount(); c++) {
+                int size = offsets[c + 1] - offsets[c];
+                int first = result.getComponentEdges()[offsets[c]];
+                assertEquals(size == 1, bridges.contains(first));
+            }
+        }
+    }
+
+    @Test
+    final void testDeepChain() {
+        int n = 1000000;
+        int[] sources = new int[n - 1];
+        int[] targets = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            sources[i] = i;
+            targets[i] = i + 1;
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[n - 1], false);
+        BiconnectedComponents<Integer> result =
+            new BiconnectedComponentsComputer<Integer>()
+                .computeBiconnectedComponents(g);
+        assertEquals(n - 1, result.getBridges().length);
+        assertEquals(n - 2, result.getArticulationPoints().length);
+        assertEquals(n - 1, result.componentCount());
+    }
+
+    /**
+     * Counts the connected components of a graph without an edge and without
+     * a node, the removed node not counted.
+     */
+    private static int countComponents(int n, int[] sources, int[] targets,
+            int removedEdge, int removedNode) {
+        IntDisjointSets sets = new IntDisjointSets(n);
+        int count = removedNode < 0 ? n : n - 1;
+        for (int e = 0; e < sources.length; e++) {
+            if (e == removedEdge || sources[e] == removedNode
+                || targets[e] == removedNode)
+                continue;
+            if (sets.union(sets.findSet(sources[e]),
+                           sets.findSet(targets[e])))
+                count--;
+        }
+        return count;
+    }
+}
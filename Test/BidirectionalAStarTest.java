@@ -0,0 +1,160 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the BidirectionalAStar class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class BidirectionalAStarTest {
+
+    /*
+     * A grid of side x side nodes labeled row * side + column, with edges of
+     * weight at least 1 between neighbouring cells.
+     */
+    private static Graph<Integer> grid(int side, Random random) {
+        Graph<Integer> gr = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < side * side; i++) {
+            gr.addNode(new GraphNode<Integer>(i));
+        }
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                GraphNode<Integer> u = gr.getNodeAtIndex(r * side + c);
+                if (c + 1 < side)
+                    gr.addEdge(new GraphEdge<Integer>(u,
+                                   gr.getNodeAtIndex(r * side + c + 1), false,
+                                   1 + random.nextInt(3)));
+                if (r + 1 < side)
+                    gr.addEdge(new GraphEdge<Integer>(u,
+                                   gr.getNodeAtIndex((r + 1) * side + c),
+                                   false, 1 + random.nextInt(3)));
+            }
+        }
+        return gr;
+    }
+
+    @Test
+    final void testComputeShortestPath() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(c, b, false, 2));
+        gr.addEdge(new GraphEdge<String>(b, d, false, 5));
+        BidirectionalAStar<String> engine = new BidirectionalAStar<String>(gr);
+        ShortestPath<String> path = engine.computeShortestPath(a, d);
+        assertEquals(8.0, path.getLength());
+        List<GraphNode<String>> nodes = path.getNodes();
+        assertEquals(4, nodes.size());
+        assertEquals(a, nodes.get(0));
+        assertEquals(c, nodes.get(1));
+        assertEquals(b, nodes.get(2));
+        assertEquals(d, nodes.get(3));
+        assertFalse(engine.computeShortestPath(a, e).exists());
+        assertEquals(0, engine.computeShortestPath(e, e).getLength());
+        assertEquals(Double.POSITIVE_INFINITY,
+                     engine.computeShortestPath(e, a).getLength());
+        assertThrows(NullPointerException.class, () -> {
+            engine.computeShortestPath(null, a);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            engine.computeShortestPath(a, new GraphNode<String>("z"));
+        });
+        gr.addEdge(new GraphEdge<String>(d, e, false, -1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            new BidirectionalAStar<String>(gr);
+        });
+    }
+
+    @Test
+    final void testDirectedSnapshot() {
+        int[] sources = {0, 1, 0, 2, 3};
+        int[] targets = {1, 2, 2, 3, 0};
+        double[] weights = {1, 1, 5, 2, 1};
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(4, sources, targets, weights,
+                                                  true);
+        BidirectionalAStar<Integer> engine =
+            new BidirectionalAStar<Integer>(g, null);
+        assertEquals(4.0, engine.computeShortestPath(2, 1).getLength());
+        assertArrayEquals(new int[] {2, 3, 0, 1},
+                          engine.computeShortestPath(2, 1).getNodeIndices());
+        assertEquals(2.0, engine.computeShortestPath(0, 2).getLength());
+        assertThrows(IllegalArgumentException.class, () -> {
+            new BidirectionalAStar<Integer>(g, (u, v) -> 0);
+        });
+    }
+
+    @Test
+    final void testHeuristicOnGrid() {
+        int side = 30;
+        Graph<Integer> gr = grid(side, new Random(35));
+        DistanceHeuristic<Integer> manhattan = (u, v) ->
+            Math.abs(u / side - v / side) + Math.abs(u % side - v % side);
+        BidirectionalAStar<Integer> plain = new BidirectionalAStar<Integer>(gr);
+        BidirectionalAStar<Integer> guided =
+            new BidirectionalAStar<Integer>(gr, manhattan);
+        DijkstraSSSP<Integer> dijkstra = new DijkstraSSSP<Integer>();
+        CompressedSparseRowGraph<Integer> g = plain.getSnapshot();
+        Random random = new Random(350);
+        int guidedSettled = 0;
+        int plainSettled = 0;
+        for (int q = 0; q < 20; q++) {
+            int s = random.nextInt(side * side);
+            int t = random.nextInt(side * side);
+            ShortestPathTree<Integer> tree =
+                dijkstra.computeShortestPathTree(g, s);
+            ShortestPath<Integer> p1 = plain.computeShortestPath(s, t);
+            ShortestPath<Integer> p2 = guided.computeShortestPath(s, t);
+            assertEquals(tree.getDistance(t), p1.getLength());
+            assertEquals(tree.getDistance(t), p2.getLength());
+            int[] nodes = p2.getNodeIndices();
+            assertEquals(s, nodes[0]);
+            assertEquals(t, nodes[nodes.length - 1]);
+            plainSettled += p1.getSettledCount();
+            guidedSettled += p2.getSettledCount();
+        }
+        assertTrue(guidedSettled < plainSettled);
+        assertTrue(plainSettled < 20 * side * side);
+    }
+
+    @Test
+    final void testConcurrentQueries() throws InterruptedException {
+        int side = 20;
+        Graph<Integer> gr = grid(side, new Random(36));
+        BidirectionalAStar<Integer> engine = new BidirectionalAStar<Integer>(gr);
+        ShortestPathTree<Integer> tree = new DijkstraSSSP<Integer>()
+            .computeShortestPathTree(engine.getSnapshot(), 0);
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int t = 0; t < side * side; t++) {
+                    if (engine.computeShortestPath(0, t).getLength()
+                        != tree.getDistance(t))
+                        errors.incrementAndGet();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, errors.get());
+    }
+}
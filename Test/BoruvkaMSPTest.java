@@ -0,0 +1,199 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the BoruvkaMSP class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class BoruvkaMSPTest {
+
+    @Test
+    final void testComputeMSP1() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        GraphNode<String> g = new GraphNode<String>("g");
+        gr.addNode(g);
+        GraphNode<String> h = new GraphNode<String>("h");
+        gr.addNode(h);
+        GraphNode<String> i = new GraphNode<String>("i");
+        gr.addNode(i);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, h, false, 8.5));
+        gr.addEdge(new GraphEdge<String>(b, h, false, 11));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 8));
+        gr.addEdge(new GraphEdge<String>(c, i, false, 2));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 7));
+        gr.addEdge(new GraphEdge<String>(c, f, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, f, false, 14));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 9));
+        gr.addEdge(new GraphEdge<String>(e, f, false, 10));
+        gr.addEdge(new GraphEdge<String>(f, g, false, 2));
+        gr.addEdge(new GraphEdge<String>(g, i, false, 6));
+        gr.addEdge(new GraphEdge<String>(g, h, false, 1));
+        gr.addEdge(new GraphEdge<String>(h, i, false, 7));
+        BoruvkaMSP<String> alg = new BoruvkaMSP<String>();
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 4));
+        result.add(new GraphEdge<String>(b, c, false, 8));
+        result.add(new GraphEdge<String>(c, i, false, 2));
+        result.add(new GraphEdge<String>(c, d, false, 7));
+        result.add(new GraphEdge<String>(c, f, false, 4));
+        result.add(new GraphEdge<String>(d, e, false, 9));
+        result.add(new GraphEdge<String>(f, g, false, 2));
+        result.add(new GraphEdge<String>(g, h, false, 1));
+        assertTrue(alg.computeMSP(gr).equals(result));
+    }
+
+    @Test
+    final void testDisconnectedGraph() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 5));
+        gr.addEdge(new GraphEdge<String>(c, c, false, 0));
+        BoruvkaMSP<String> alg = new BoruvkaMSP<String>();
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 3));
+        result.add(new GraphEdge<String>(c, d, false, 5));
+        assertEquals(result, alg.computeMSP(gr));
+    }
+
+    /**
+     * On random graphs with many equal weights the tree found must have the
+     * same weight as the one found by Kruskal's algorithm.
+     */
+    @Test
+    final void testSameWeightAsKruskal() {
+        Random random = new Random(42);
+        Graph<Integer> gr = new AdjacencyMatrixUndirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < 200; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            gr.addNode(nodes.get(i));
+        }
+        for (int e = 0; e < 2000; e++)
+            gr.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(200)),
+                       nodes.get(random.nextInt(200)), false, random.nextInt(20)));
+        Set<GraphEdge<Integer>> kruskal = new KruskalMSP<Integer>().computeMSP(gr);
+        Set<GraphEdge<Integer>> boruvka = new BoruvkaMSP<Integer>().computeMSP(gr);
+        double expected = 0;
+        for (GraphEdge<Integer> edge : kruskal)
+            expected += edge.getWeight();
+        double actual = 0;
+        for (GraphEdge<Integer> edge : boruvka)
+            actual += edge.getWeight();
+        assertEquals(kruskal.size(), boruvka.size());
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * On a large snapshot the edges found must form a forest, as many as the
+     * edges chosen by Kruskal's algorithm and with the same total weight.
+     */
+    @Test
+    final void testLargeForest() {
+        Random random = new Random(7);
+        int n = 3000;
+        int m = 20000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        Integer[] order = new Integer[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = random.nextInt(n);
+            targets[e] = random.nextInt(n);
+            weights[e] = random.nextInt(50);
+            order[e] = e;
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        int[] forest = new BoruvkaMSP<Integer>(pool).computeMSP(
+            new CompressedSparseRowGraph<Integer>(n, sources, targets, weights,
+                                                  false));
+        pool.shutdown();
+
+        ForestDisjointSets<Integer> sets = new ForestDisjointSets<Integer>();
+        for (int i = 0; i < n; i++)
+            sets.makeSet(i);
+        double actual = 0;
+        for (int e : forest) {
+            assertFalse(sets.findSet(sources[e]).equals(sets.findSet(targets[e])));
+            sets.union(sources[e], targets[e]);
+            actual += weights[e];
+        }
+
+        Arrays.sort(order, (x, y) -> Double.compare(weights[x], weights[y]));
+        sets.clear();
+        for (int i = 0; i < n; i++)
+            sets.makeSet(i);
+        int size = 0;
+        double expected = 0;
+        for (int e : order) {
+            if (!sets.findSet(sources[e]).equals(sets.findSet(targets[e]))) {
+                sets.union(sources[e], targets[e]);
+                expected += weights[e];
+                size++;
+            }
+        }
+        assertEquals(size, forest.length);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    final void exceptionsTest() {
+        BoruvkaMSP<String> alg = new BoruvkaMSP<String>();
+        assertThrows(NullPointerException.class, () -> {
+            alg.computeMSP((Graph<String>) null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new BoruvkaMSP<String>(null);
+        });
+        Graph<String> x = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> A = new GraphNode<String>("A");
+        x.addNode(A);
+        GraphNode<String> B = new GraphNode<String>("B");
+        x.addNode(B);
+        GraphNode<String> C = new GraphNode<String>("C");
+        x.addNode(C);
+        x.addEdge(new GraphEdge<String>(A, B, false, 0));
+        x.addEdge(new GraphEdge<String>(B, C, false, -2));
+        assertThrows(IllegalArgumentException.class, () -> {
+            alg.computeMSP(x);
+        });
+        Graph<String> y = new AdjacencyMatrixUndirectedGraph<String>();
+        y.addNode(A);
+        y.addNode(B);
+        y.addEdge(new GraphEdge<String>(A, B, false));
+        assertThrows(IllegalArgumentException.class, () -> {
+            alg.computeMSP(y);
+        });
+    }
+}
@@ -0,0 +1,169 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the BronKerboschCliqueEnumerator class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class BronKerboschCliqueEnumeratorTest {
+
+    @Test
+    final void testEnumerateCliques() {
+        AdjacencyMatrixUndirectedGraph<String> gr =
+            new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        // The triangle a, b, c, the edge c, d, the loop on d and node e.
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        gr.addEdge(new GraphEdge<String>(b, c, false));
+        gr.addEdge(new GraphEdge<String>(c, a, false));
+        gr.addEdge(new GraphEdge<String>(c, d, false));
+        gr.addEdge(new GraphEdge<String>(d, d, false));
+        BronKerboschCliqueEnumerator<String> enumerator =
+            new BronKerboschCliqueEnumerator<String>();
+        Set<Set<GraphNode<String>>> cliques =
+            new HashSet<Set<GraphNode<String>>>();
+        long count = enumerator.enumerateCliques(gr, clique -> {
+            synchronized (cliques) {
+                cliques.add(clique);
+            }
+        });
+        Set<Set<GraphNode<String>>> expected =
+            new HashSet<Set<GraphNode<String>>>();
+        expected.add(new HashSet<GraphNode<String>>(Arrays.asList(a, b, c)));
+        expected.add(new HashSet<GraphNode<String>>(Arrays.asList(c, d)));
+        expected.add(new HashSet<GraphNode<String>>(Arrays.asList(e)));
+        assertEquals(3, count);
+        assertEquals(expected, cliques);
+        assertThrows(NullPointerException.class, () -> {
+            enumerator.enumerateCliques(gr, null);
+        });
+        BitMatrix asymmetric = new BitMatrix(2);
+        asymmetric.set(0, 1);
+        assertThrows(IllegalArgumentException.class, () -> {
+            enumerator.enumerateCliques(asymmetric, (clique, size) -> {
+            });
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new BronKerboschCliqueEnumerator<String>(null);
+        });
+    }
+
+    @Test
+    final void testMatchesNaiveEnumeration() {
+        Random random = new Random(42);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        BronKerboschCliqueEnumerator<Integer> enumerator =
+            new BronKerboschCliqueEnumerator<Integer>(pool);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 1 + random.nextInt(14);
+            double density = random.nextDouble();
+            BitMatrix adjacency = new BitMatrix(n);
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (random.nextDouble() < density) {
+                        adjacency.set(i, j);
+                        adjacency.set(j, i);
+                    }
+                }
+            }
+            Set<Set<Integer>> found = new HashSet<Set<Integer>>();
+            long count = enumerator.enumerateCliques(adjacency,
+                                                     (clique, size) -> {
+                Set<Integer> set = new HashSet<Integer>();
+                for (int i = 0; i < size; i++) {
+                    set.add(clique[i]);
+                }
+                synchronized (found) {
+                    assertTrue(found.add(set));
+                }
+            });
+            Set<Set<Integer>> expected = naive(adjacency);
+            assertEquals(expected.size(), count);
+            assertEquals(expected, found);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    final void testLargeGraph() {
+        Random random = new Random(7);
+        int n = 400;
+        BitMatrix adjacency = new BitMatrix(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (random.nextDouble() < 0.3) {
+                    adjacency.set(i, j);
+                    adjacency.set(j, i);
+                }
+            }
+        }
+        ForkJoinPool single = new ForkJoinPool(1);
+        long[] largest = new long[1];
+        long parallel = new BronKerboschCliqueEnumerator<Integer>()
+            .enumerateCliques(adjacency, (clique, size) -> {
+                synchronized (largest) {
+                    largest[0] = Math.max(largest[0], size);
+                }
+            });
+        long sequential = new BronKerboschCliqueEnumerator<Integer>(single)
+            .enumerateCliques(adjacency, (clique, size) -> {
+            });
+        single.shutdown();
+        assertEquals(sequential, parallel);
+        assertTrue(largest[0] >= 4);
+    }
+
+    /**
+     * Enumerates the maximal cliques by testing every subset of the nodes.
+     */
+    private static Set<Set<Integer>> naive(BitMatrix adjacency) {
+        int n = adjacency.size();
+        Set<Set<Integer>> cliques = new HashSet<Set<Integer>>();
+        for (int mask = 1; mask < 1 << n; mask++) {
+            if (!isClique(adjacency, mask)) continue;
+            boolean maximal = true;
+            for (int v = 0; v < n && maximal; v++) {
+                if ((mask & (1 << v)) == 0 && isClique(adjacency,
+                                                       mask | (1 << v)))
+                    maximal = false;
+            }
+            if (!maximal) continue;
+            Set<Integer> set = new HashSet<Integer>();
+            for (int v = 0; v < n; v++) {
+                if ((mask & (1 << v)) != 0) set.add(v);
+            }
+            cliques.add(set);
+        }
+        return cliques;
+    }
+
+    private static boolean isClique(BitMatrix adjacency, int mask) {
+        int n = adjacency.size();
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                if ((mask & (1 << u)) != 0 && (mask & (1 << v)) != 0
+                    && !adjacency.get(u, v))
+                    return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,195 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the ContractionHierarchy and
+ * ContractionHierarchyBuilder classes.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class ContractionHierarchyTest {
+
+    /*
+     * Checks that a path follows edges of the snapshot and has the given
+     * length.
+     */
+    private static void assertPath(CompressedSparseRowGraph<Integer> g,
+            int[] path, double length) {
+        double total = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            double best = Double.POSITIVE_INFINITY;
+            int[] offsets = g.getOffsets();
+            for (int k = offsets[path[i]]; k < offsets[path[i] + 1]; k++) {
+                if (g.getAdjacency()[k] == path[i + 1])
+                    best = Math.min(best, g.getAdjacencyWeights()[k]);
+            }
+            assertTrue(best < Double.POSITIVE_INFINITY);
+            total += best;
+        }
+        assertEquals(length, total, 1e-9);
+    }
+
+    private static CompressedSparseRowGraph<Integer> randomGraph(int n, int m,
+            boolean directed, Random random) {
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = random.nextInt(n);
+            targets[i] = random.nextInt(n);
+            weights[i] = random.nextInt(20);
+        }
+        return new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                     weights, directed);
+    }
+
+    @Test
+    final void testComputeShortestPath() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(c, b, false, 2));
+        gr.addEdge(new GraphEdge<String>(b, d, false, 5));
+        ContractionHierarchy<String> ch =
+            new ContractionHierarchyBuilder<String>().build(gr);
+        assertEquals(5, ch.nodeCount());
+        ShortestPath<String> path = ch.computeShortestPath(a, d);
+        assertEquals(8.0, path.getLength());
+        List<GraphNode<String>> nodes = path.getNodes();
+        assertEquals(4, nodes.size());
+        assertEquals(a, nodes.get(0));
+        assertEquals(c, nodes.get(1));
+        assertEquals(b, nodes.get(2));
+        assertEquals(d, nodes.get(3));
+        assertFalse(ch.computeShortestPath(a, e).exists());
+        assertEquals(0.0, ch.computeShortestPath(c, c).getLength());
+        assertThrows(IllegalArgumentException.class, () -> {
+            ch.computeShortestPath(a, new GraphNode<String>("z"));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            ch.getDistance(0, 5);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ContractionHierarchyBuilder<String>(0);
+        });
+        gr.addEdge(new GraphEdge<String>(d, e, false, -1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ContractionHierarchyBuilder<String>().build(gr);
+        });
+    }
+
+    @Test
+    final void testAgainstDijkstra() {
+        Random random = new Random(37);
+        DijkstraSSSP<Integer> dijkstra = new DijkstraSSSP<Integer>();
+        for (boolean directed : new boolean[] {false, true}) {
+            for (int limit : new int[] {1, 256}) {
+                CompressedSparseRowGraph<Integer> g =
+                    randomGraph(120, 360, directed, random);
+                ContractionHierarchy<Integer> ch =
+                    new ContractionHierarchyBuilder<Integer>(limit).build(g);
+                for (int s = 0; s < g.nodeCount(); s += 9) {
+                    ShortestPathTree<Integer> tree =
+                        dijkstra.computeShortestPathTree(g, s);
+                    for (int t = 0; t < g.nodeCount(); t++) {
+                        ShortestPath<Integer> path =
+                            ch.computeShortestPath(s, t);
+                        assertEquals(tree.getDistance(t), path.getLength());
+                        assertEquals(tree.getDistance(t), ch.getDistance(s, t));
+                        if (path.exists()) {
+                            int[] nodes = path.getNodeIndices();
+                            assertEquals(s, nodes[0]);
+                            assertEquals(t, nodes[nodes.length - 1]);
+                            assertPath(g, nodes, path.getLength());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    final void testSaveAndLoad() throws IOException {
+        Random random = new Random(370);
+        CompressedSparseRowGraph<Integer> g = randomGraph(80, 240, true,
+                                                          random);
+        ContractionHierarchy<Integer> ch =
+            new ContractionHierarchyBuilder<Integer>().build(g);
+        Path file = Files.createTempFile("hierarchy", ".bin");
+        try {
+            ch.save(file);
+            ContractionHierarchy<Integer> loaded =
+                ContractionHierarchy.load(file);
+            assertNull(loaded.getSnapshot());
+            assertEquals(ch.arcCount(), loaded.arcCount());
+            for (int s = 0; s < g.nodeCount(); s += 7) {
+                for (int t = 0; t < g.nodeCount(); t++) {
+                    assertEquals(ch.getDistance(s, t), loaded.getDistance(s, t));
+                    assertArrayEquals(
+                        ch.computeShortestPath(s, t).getNodeIndices(),
+                        loaded.computeShortestPath(s, t).getNodeIndices());
+                }
+            }
+            assertThrows(IllegalArgumentException.class, () -> {
+                ContractionHierarchy.load(file,
+                    randomGraph(3, 1, true, random));
+            });
+            Files.write(file, new byte[] {1, 2, 3, 4});
+            assertThrows(IOException.class, () -> {
+                ContractionHierarchy.load(file);
+            });
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testLoadCorrupted() throws IOException {
+        Random random = new Random(371);
+        int n = 40;
+        CompressedSparseRowGraph<Integer> g = randomGraph(n, 120, true, random);
+        Path file = Files.createTempFile("hierarchy", ".bin");
+        try {
+            new ContractionHierarchyBuilder<Integer>().build(g).save(file);
+            byte[] saved = Files.readAllBytes(file);
+            // A huge node count, an out-of-range rank, a decreasing offset
+            // and an out-of-range head of the first upward arc.
+            int[][] corruptions = {{4, Integer.MAX_VALUE - 1}, {16, n},
+                                   {16 + 4 * n + 4, -1}, {20 + 8 * n, n}};
+            for (int[] corruption : corruptions) {
+                byte[] bytes = saved.clone();
+                ByteBuffer.wrap(bytes).putInt(corruption[0], corruption[1]);
+                Files.write(file, bytes);
+                IOException e = assertThrows(IOException.class, () -> {
+                    ContractionHierarchy.load(file);
+                });
+                assertEquals("Corrupted hierarchy", e.getMessage());
+            }
+            Files.write(file, saved);
+            assertEquals(n, ContractionHierarchy.load(file).nodeCount());
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the CoreDecompositionComputer class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class CoreDecompositionComputerTest {
+
+    @Test
+    final void testComputeCoreDecomposition() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        // A triangle a, b, c with a pendant d and an isolated node e.
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        gr.addEdge(new GraphEdge<String>(b, c, false));
+        gr.addEdge(new GraphEdge<String>(c, a, false));
+        gr.addEdge(new GraphEdge<String>(c, d, false));
+        gr.addEdge(new GraphEdge<String>(d, d, false));
+        CoreDecompositionComputer<String> computer =
+            new CoreDecompositionComputer<String>();
+        CoreDecomposition<String> cores = computer.computeCoreDecomposition(gr);
+        assertEquals(2, cores.getDegeneracy());
+        assertEquals(2, cores.getCoreNumber(a));
+        assertEquals(2, cores.getCoreNumber(c));
+        assertEquals(1, cores.getCoreNumber(d));
+        assertEquals(0, cores.getCoreNumber(e));
+        assertEquals(3, cores.getKCore(2).length);
+        assertEquals(5, cores.getKCore(0).length);
+        assertArrayEquals(cores.getCoreNumbers(),
+                          computer.computeCoreDecompositionInParallel(
+                              cores.getSnapshot()).getCoreNumbers());
+        assertThrows(NullPointerException.class, () -> {
+            computer.computeCoreDecomposition((Graph<String>) null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            computer.computeCoreDecomposition(
+                new CompressedSparseRowGraph<String>(2, new int[] {0},
+                                                     new int[] {1},
+                                                     new double[1], true));
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new CoreDecompositionComputer<String>(null);
+        });
+    }
+
+    @Test
+    final void testMatchesNaivePeeling() {
+        Random random = new Random(42);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        CoreDecompositionComputer<Integer> computer =
+            new CoreDecompositionComputer<Integer>(pool);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(80);
+            int m = random.nextInt(5 * n);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            boolean[][] adjacent = new boolean[n][n];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+                if (sources[i] != targets[i]) {
+                    adjacent[sources[i]][targets[i]] = true;
+                    adjacent[targets[i]][sources[i]] = true;
+                }
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      new double[m], false);
+            int[] expected = naive(adjacent);
+            CoreDecomposition<Integer> sequential =
+                computer.computeCoreDecomposition(g);
+            CoreDecomposition<Integer> parallel =
+                computer.computeCoreDecompositionInParallel(g);
+            assertArrayEquals(expected, sequential.getCoreNumbers());
+            assertArrayEquals(expected, parallel.getCoreNumbers());
+            assertDegeneracyOrder(adjacent, sequential);
+            assertDegeneracyOrder(adjacent, parallel);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    final void testLargeGraph() {
+        Random random = new Random(7);
+        int n = 300000;
+        int m = 3000000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = random.nextInt(n);
+            targets[i] = (int) (n * Math.pow(random.nextDouble(), 3));
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[m], false);
+        CoreDecompositionComputer<Integer> computer =
+            new CoreDecompositionComputer<Integer>();
+        CoreDecomposition<Integer> sequential =
+            computer.computeCoreDecomposition(g);
+        assertArrayEquals(sequential.getCoreNumbers(),
+                          computer.computeCoreDecompositionInParallel(g)
+                                  .getCoreNumbers());
+        assertTrue(sequential.getDegeneracy() > 1);
+    }
+
+    /**
+     * Computes the core numbers by removing the nodes of degree below k for
+     * every k.
+     */
+    private static int[] naive(boolean[][] adjacent) {
+        int n = adjacent.length;
+        int[] core = new int[n];
+        for (int k = 1; k <= n; k++) {
+            boolean[] removed = new boolean[n];
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int v = 0; v < n; v++) {
+                    if (removed[v]) continue;
+                    int degree = 0;
+                    for (int u = 0; u < n; u++) {
+                        if (adjacent[v][u] && !removed[u]) degree++;
+                    }
+                    if (degree < k) {
+                        removed[v] = true;
+                        changed = true;
+                    }
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                if (!removed[v]) core[v] = k;
+            }
+        }
+        return core;
+    }
+
+    private static void assertDegeneracyOrder(boolean[][] adjacent,
+            CoreDecomposition<Integer> cores) {
+        int n = adjacent.length;
+        int[] order = cores.getDegeneracyOrder();
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+        for (int v = 0; v < n; v++) {
+            int later = 0;
+            for (int u = 0; u < n; u++) {
+                if (adjacent[v][u] && position[u] > position[v]) later++;
+            }
+            assertTrue(later <= cores.getCoreNumber(v));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the DAryHeapMinPriorityQueue class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class DAryHeapMinPriorityQueueTest {
+
+    @Test
+    final void testDAryHeapMinPriorityQueue() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DAryHeapMinPriorityQueue<GraphNode<String>>(1);
+        });
+        DAryHeapMinPriorityQueue<GraphNode<String>> q =
+            new DAryHeapMinPriorityQueue<GraphNode<String>>();
+        assertTrue(q.isEmpty());
+        assertEquals(0, q.size());
+    }
+
+    @Test
+    final void testInsertAndExtractMinimum() {
+        DAryHeapMinPriorityQueue<GraphNode<String>> q =
+            new DAryHeapMinPriorityQueue<GraphNode<String>>(3);
+        GraphNode<String> a = new GraphNode<String>("a");
+        a.setFloatingPointDistance(5);
+        GraphNode<String> b = new GraphNode<String>("b");
+        b.setFloatingPointDistance(2);
+        GraphNode<String> c = new GraphNode<String>("c");
+        c.setFloatingPointDistance(8);
+        assertThrows(NullPointerException.class, () -> {
+            q.insert(null);
+        });
+        q.insert(a);
+        q.insert(b);
+        q.insert(c);
+        assertThrows(IllegalArgumentException.class, () -> {
+            q.insert(b);
+        });
+        assertEquals(3, q.size());
+        assertEquals(b, q.minimum());
+        assertEquals(b, q.extractMinimum());
+        assertFalse(q.contains(b));
+        assertEquals(a, q.extractMinimum());
+        assertEquals(c, q.extractMinimum());
+        assertTrue(q.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> {
+            q.extractMinimum();
+        });
+        assertThrows(NoSuchElementException.class, () -> {
+            q.minimum();
+        });
+    }
+
+    @Test
+    final void testDecreasePriority() {
+        DAryHeapMinPriorityQueue<GraphNode<String>> q =
+            new DAryHeapMinPriorityQueue<GraphNode<String>>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        a.setFloatingPointDistance(5);
+        GraphNode<String> b = new GraphNode<String>("b");
+        b.setFloatingPointDistance(2);
+        GraphNode<String> c = new GraphNode<String>("c");
+        c.setFloatingPointDistance(8);
+        GraphNode<String> d = new GraphNode<String>("d");
+        q.insert(a);
+        q.insert(b);
+        q.insert(c);
+        q.decreasePriority(c, 1);
+        assertEquals(1.0, c.getFloatingPointDistance());
+        assertEquals(c, q.minimum());
+        assertThrows(IllegalArgumentException.class, () -> {
+            q.decreasePriority(a, 6);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            q.decreasePriority(d, 0);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            q.decreasePriority(null, 0);
+        });
+        q.clear();
+        assertTrue(q.isEmpty());
+        assertFalse(q.contains(a));
+    }
+
+    @Test
+    final void testRandomSequence() {
+        Random random = new Random(32);
+        DAryHeapMinPriorityQueue<GraphNode<Integer>> q =
+            new DAryHeapMinPriorityQueue<GraphNode<Integer>>();
+        ArrayList<GraphNode<Integer>> nodes =
+            new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < 500; i++) {
+            GraphNode<Integer> node = new GraphNode<Integer>(i);
+            node.setFloatingPointDistance(random.nextInt(1000));
+            nodes.add(node);
+            q.insert(node);
+        }
+        Collections.shuffle(nodes, random);
+        for (int i = 0; i < 200; i++) {
+            GraphNode<Integer> node = nodes.get(i);
+            q.decreasePriority(node, node.getFloatingPointDistance()
+                                     - random.nextInt(500));
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        int count = 0;
+        while (!q.isEmpty()) {
+            double priority = q.extractMinimum().getFloatingPointDistance();
+            assertTrue(priority >= last);
+            last = priority;
+            count++;
+        }
+        assertEquals(500, count);
+    }
+}
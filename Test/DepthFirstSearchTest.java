@@ -0,0 +1,142 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the DepthFirstSearch class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class DepthFirstSearchTest {
+
+    @Test
+    final void testComputeDFS() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        gr.addEdge(new GraphEdge<String>(b, c, false));
+        DepthFirstSearch<String> dfs = new DepthFirstSearch<String>();
+        DepthFirstForest<String> forest = dfs.computeDFS(gr);
+        assertEquals(4, forest.visitedCount());
+        assertTrue(forest.isAcyclic());
+        int ia = forest.getSnapshot().getIndexOf(a);
+        int ib = forest.getSnapshot().getIndexOf(b);
+        int ic = forest.getSnapshot().getIndexOf(c);
+        assertTrue(forest.isAncestor(ib, ic) || forest.isAncestor(ic, ib));
+        assertTrue(forest.isAncestor(ia, ib) || forest.isAncestor(ib, ia));
+        assertTrue(forest.getEnteringTime(d) < forest.getExitingTime(d));
+        assertThrows(IllegalStateException.class, () -> {
+            forest.getTopologicalOrder();
+        });
+        forest.copyToNodes();
+        assertEquals(forest.getEnteringTime(c), c.getEnteringTime());
+        assertEquals(forest.getExitingTime(c), c.getExitingTime());
+        assertEquals(GraphNode.COLOR_BLACK, c.getColor());
+        gr.addEdge(new GraphEdge<String>(a, c, false));
+        assertFalse(dfs.computeDFS(gr).isAcyclic());
+        assertThrows(NullPointerException.class, () -> {
+            dfs.computeDFS(null);
+        });
+    }
+
+    @Test
+    final void testEdgeClassification() {
+        // 0 -> 1 -> 2 -> 0 (back), 0 -> 2 (forward), 3 -> 1 (cross), 2 -> 2
+        int[] sources = {0, 1, 2, 0, 3, 2};
+        int[] targets = {1, 2, 0, 2, 1, 2};
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(4, sources, targets,
+                                                  new double[6], true);
+        List<String> events = new ArrayList<String>();
+        DepthFirstVisitor visitor = new DepthFirstVisitor() {
+            @Override
+            public void enterNode(int v, int parent) {
+                events.add("enter " + v);
+            }
+
+            @Override
+            public void exitNode(int v, int parent) {
+                events.add("exit " + v);
+            }
+
+            @Override
+            public void visitEdge(int u, int v, int edge,
+                    DepthFirstSearch.EdgeType type) {
+                events.add(type + " " + u + " " + v);
+            }
+        };
+        DepthFirstForest<Integer> forest =
+            new DepthFirstSearch<Integer>().computeDFS(g, visitor);
+        assertTrue(events.contains("BACK 2 0"));
+        assertTrue(events.contains("BACK 2 2"));
+        assertTrue(events.contains("CROSS 3 1"));
+        assertTrue(events.indexOf("TREE 0 1") < events.indexOf("TREE 1 2"));
+        assertTrue(events.contains("FORWARD 0 2"));
+        assertEquals(14, events.size());
+        assertFalse(forest.isAcyclic());
+        assertEquals(1, forest.getEnteringTime(0));
+        assertEquals(8, forest.getExitingTime(3));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, forest.getPreOrder());
+        assertArrayEquals(new int[] {2, 1, 0, 3}, forest.getPostOrder());
+        assertEquals(-1, forest.getParent(3));
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DepthFirstSearch<Integer>().computeDFS(g, 4, null);
+        });
+    }
+
+    @Test
+    final void testTopologicalOrder() {
+        int[] sources = {0, 0, 1, 2, 4};
+        int[] targets = {1, 2, 3, 3, 0};
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(5, sources, targets,
+                                                  new double[5], true);
+        DepthFirstForest<Integer> forest =
+            new DepthFirstSearch<Integer>().computeDFS(g, null);
+        int[] order = forest.getTopologicalOrder();
+        int[] position = new int[5];
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        for (int e = 0; e < sources.length; e++) {
+            assertTrue(position[sources[e]] < position[targets[e]]);
+        }
+        DepthFirstForest<Integer> reached =
+            new DepthFirstSearch<Integer>().computeDFS(g, 1, null);
+        assertEquals(2, reached.visitedCount());
+        assertFalse(reached.isVisited(0));
+        assertEquals(0, reached.getEnteringTime(0));
+    }
+
+    @Test
+    final void testDeepChain() {
+        int n = 1000000;
+        int[] sources = new int[n - 1];
+        int[] targets = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            sources[i] = i;
+            targets[i] = i + 1;
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[n - 1], false);
+        DepthFirstForest<Integer> forest =
+            new DepthFirstSearch<Integer>().computeDFS(g, null);
+        assertEquals(n, forest.getEnteringTime(n - 1));
+        assertEquals(n + 1, forest.getExitingTime(n - 1));
+        assertEquals(2 * n, forest.getExitingTime(0));
+        assertEquals(n - 2, forest.getParent(n - 1));
+        assertTrue(forest.isAcyclic());
+    }
+}
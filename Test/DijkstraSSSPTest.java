@@ -0,0 +1,216 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the DijkstraSSSP class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class DijkstraSSSPTest {
+
+    @Test
+    final void testComputeShortestPaths() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(c, b, false, 2));
+        gr.addEdge(new GraphEdge<String>(b, d, false, 5));
+        DijkstraSSSP<String> dijkstra = new DijkstraSSSP<String>();
+        dijkstra.computeShortestPaths(gr, a);
+        assertEquals(0.0, a.getFloatingPointDistance());
+        assertNull(a.getPrevious());
+        assertEquals(1.0, c.getFloatingPointDistance());
+        assertEquals(3.0, b.getFloatingPointDistance());
+        assertEquals(c, b.getPrevious());
+        assertEquals(8.0, d.getFloatingPointDistance());
+        assertEquals(b, d.getPrevious());
+        assertEquals(Double.POSITIVE_INFINITY, e.getFloatingPointDistance());
+        assertNull(e.getPrevious());
+        dijkstra.computeShortestPaths(gr, a, c);
+        assertEquals(1.0, c.getFloatingPointDistance());
+        assertEquals(Double.POSITIVE_INFINITY, d.getFloatingPointDistance());
+        assertNull(d.getPrevious());
+        assertThrows(NullPointerException.class, () -> {
+            dijkstra.computeShortestPaths(null, a);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            dijkstra.computeShortestPaths(gr, new GraphNode<String>("z"));
+        });
+        gr.addEdge(new GraphEdge<String>(d, e, false, -1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            dijkstra.computeShortestPaths(gr, a);
+        });
+    }
+
+    @Test
+    final void testComputeDenseShortestPaths() {
+        AdjacencyMatrixUndirectedGraph<String> gr =
+            new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(c, b, false, 2));
+        DijkstraSSSP<String> dijkstra = new DijkstraSSSP<String>();
+        dijkstra.computeDenseShortestPaths(gr, a, null);
+        assertEquals(3.0, b.getFloatingPointDistance());
+        assertEquals(c, b.getPrevious());
+        assertNull(a.getPrevious());
+        assertEquals(Double.POSITIVE_INFINITY, d.getFloatingPointDistance());
+        dijkstra.computeDenseShortestPaths(gr, a, c);
+        assertEquals(1.0, c.getFloatingPointDistance());
+        assertEquals(Double.POSITIVE_INFINITY, b.getFloatingPointDistance());
+        assertThrows(IllegalArgumentException.class, () -> {
+            dijkstra.computeDenseShortestPaths(gr, a,
+                                               new GraphNode<String>("z"));
+        });
+    }
+
+    @Test
+    final void testComputeShortestPathTree() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(c, b, false, 2));
+        ShortestPathTree<String> tree =
+            new DijkstraSSSP<String>().computeShortestPathTree(gr, a);
+        assertEquals(3.0, tree.getDistance(b));
+        List<GraphNode<String>> path = tree.getPath(b);
+        assertEquals(3, path.size());
+        assertEquals(a, path.get(0));
+        assertEquals(c, path.get(1));
+        assertEquals(b, path.get(2));
+        assertEquals(-1, tree.getPredecessorEdge(tree.getSource()));
+        assertThrows(IllegalArgumentException.class, () -> {
+            tree.getDistance(new GraphNode<String>("z"));
+        });
+    }
+
+    @Test
+    final void testDirectedSnapshot() {
+        int[] sources = {0, 1, 0, 2, 3};
+        int[] targets = {1, 2, 2, 3, 0};
+        double[] weights = {1, 1, 5, 2, 1};
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(4, sources, targets, weights,
+                                                  true);
+        DijkstraSSSP<Integer> dijkstra = new DijkstraSSSP<Integer>();
+        ShortestPathTree<Integer> tree = dijkstra.computeShortestPathTree(g, 2);
+        assertEquals(2.0, tree.getDistance(3));
+        assertEquals(3.0, tree.getDistance(0));
+        assertEquals(4.0, tree.getDistance(1));
+        assertArrayEquals(new int[] {2, 3, 0, 1}, tree.getPath(1));
+        assertEquals(0, tree.getPredecessorEdge(1));
+        ShortestPathTree<Integer> partial =
+            dijkstra.computeShortestPathTree(g, 2, 3);
+        assertEquals(2.0, partial.getDistance(3));
+        assertFalse(partial.isReachable(1));
+        assertEquals(0, partial.getPath(1).length);
+        assertThrows(IllegalArgumentException.class, () -> {
+            partial.getDistance(new GraphNode<Integer>(1));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            dijkstra.computeShortestPathTree(g, 4);
+        });
+    }
+
+    @Test
+    final void testAgainstDenseVersion() {
+        Random random = new Random(33);
+        AdjacencyMatrixUndirectedGraph<Integer> gr =
+            new AdjacencyMatrixUndirectedGraph<Integer>();
+        int n = 40;
+        for (int i = 0; i < n; i++) {
+            gr.addNode(new GraphNode<Integer>(i));
+        }
+        for (int i = 0; i < 150; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v)
+                gr.addEdge(new GraphEdge<Integer>(gr.getNodeAtIndex(u),
+                                                  gr.getNodeAtIndex(v), false,
+                                                  random.nextInt(20)));
+        }
+        DijkstraSSSP<Integer> dijkstra = new DijkstraSSSP<Integer>();
+        GraphNode<Integer> source = gr.getNodeAtIndex(0);
+        ShortestPathTree<Integer> tree =
+            dijkstra.computeShortestPathTree(gr, source);
+        dijkstra.computeShortestPaths(gr, source);
+        for (GraphNode<Integer> node : gr.getNodes()) {
+            assertEquals(tree.getDistance(node),
+                         node.getFloatingPointDistance());
+        }
+        dijkstra.computeDenseShortestPaths(gr, source, null);
+        for (GraphNode<Integer> node : gr.getNodes()) {
+            assertEquals(tree.getDistance(node),
+                         node.getFloatingPointDistance());
+        }
+    }
+
+    @Test
+    final void testIntegralWeights() {
+        Random random = new Random(34);
+        int[] bounds = {1, 5, 100, 1 << 20};
+        for (int bound : bounds) {
+            AdjacencyMatrixUndirectedGraph<Integer> gr =
+                new AdjacencyMatrixUndirectedGraph<Integer>();
+            int n = 60;
+            for (int i = 0; i < n; i++) {
+                gr.addNode(new GraphNode<Integer>(i));
+            }
+            for (int i = 0; i < 250; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (u != v)
+                    gr.addEdge(new GraphEdge<Integer>(gr.getNodeAtIndex(u),
+                                                      gr.getNodeAtIndex(v),
+                                                      false,
+                                                      random.nextInt(bound)));
+            }
+            DijkstraSSSP<Integer> dijkstra = new DijkstraSSSP<Integer>();
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(gr);
+            for (int s = 0; s < n; s += 7) {
+                GraphNode<Integer> source = g.getNode(s);
+                ShortestPathTree<Integer> tree =
+                    dijkstra.computeShortestPathTree(g, s);
+                dijkstra.computeDenseShortestPaths(gr, source, null);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(g.getNode(v).getFloatingPointDistance(),
+                                 tree.getDistance(v));
+                }
+                int t = (s + 31) % n;
+                ShortestPathTree<Integer> partial =
+                    dijkstra.computeShortestPathTree(g, s, t);
+                assertEquals(tree.getDistance(t), partial.getDistance(t));
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the DirectionOptimizingBFS class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class DirectionOptimizingBFSTest {
+
+    @Test
+    final void testComputeBFS() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        gr.addEdge(new GraphEdge<String>(b, c, false));
+        gr.addEdge(new GraphEdge<String>(a, c, false));
+        gr.addEdge(new GraphEdge<String>(c, d, false));
+        DirectionOptimizingBFS<String> bfs =
+            new DirectionOptimizingBFS<String>();
+        BreadthFirstTree<String> tree = bfs.computeBFS(gr, a);
+        assertEquals(0, tree.getLevel(a));
+        assertEquals(1, tree.getLevel(b));
+        assertEquals(1, tree.getLevel(c));
+        assertEquals(2, tree.getLevel(d));
+        assertEquals(-1, tree.getLevel(e));
+        List<GraphNode<String>> path = new ArrayList<GraphNode<String>>();
+        path.add(a);
+        path.add(c);
+        path.add(d);
+        assertEquals(path, tree.getPath(d));
+        assertTrue(tree.getPath(e).isEmpty());
+        assertThrows(NullPointerException.class, () -> {
+            bfs.computeBFS(gr, null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            bfs.computeBFS(gr, new GraphNode<String>("z"));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DirectionOptimizingBFS<String>(0, 24);
+        });
+    }
+
+    @Test
+    final void testMatchesQueueSearch() {
+        Random random = new Random(39);
+        DirectionOptimizingBFS<Integer> bfs =
+            new DirectionOptimizingBFS<Integer>();
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(200);
+            int m = random.nextInt(8 * n);
+            boolean directed = trial % 2 == 0;
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      new double[m], directed);
+            BitMatrix matrix = new BitMatrix(g);
+            int source = random.nextInt(n);
+            int[] expected = levels(g, source);
+            checkTree(g, expected, bfs.computeBFS(g, source));
+            checkTree(g, expected,
+                      bfs.computeBFS(matrix, matrix.transpose(), source));
+        }
+    }
+
+    @Test
+    final void testBottomUpSteps() {
+        Random random = new Random(24);
+        int n = 2000;
+        int m = 40000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = random.nextInt(n);
+            targets[i] = random.nextInt(n);
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[m], false);
+        DirectionOptimizingBFS<Integer> bfs =
+            new DirectionOptimizingBFS<Integer>();
+        BreadthFirstTree<Integer> tree = bfs.computeBFS(g, 0);
+        assertTrue(tree.getBottomUpSteps() > 0);
+        assertTrue(tree.getTopDownSteps() > 0);
+        checkTree(g, levels(g, 0), tree);
+        checkTree(g, levels(g, 0), bfs.computeBFS(new BitMatrix(g), 0));
+        int[] chain = new int[n - 1];
+        int[] next = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            chain[i] = i;
+            next[i] = i + 1;
+        }
+        CompressedSparseRowGraph<Integer> path =
+            new CompressedSparseRowGraph<Integer>(n, chain, next,
+                                                  new double[n - 1], false);
+        BreadthFirstTree<Integer> topDown = bfs.computeBFS(path, 0);
+        assertTrue(topDown.getBottomUpSteps() < topDown.getTopDownSteps());
+        assertEquals(n - 1, topDown.getLevel(n - 1));
+    }
+
+    /**
+     * Computes the levels of a search with a queue.
+     */
+    private static int[] levels(CompressedSparseRowGraph<Integer> g,
+            int source) {
+        int[] level = new int[g.nodeCount()];
+        int[] queue = new int[g.nodeCount()];
+        int head = 0;
+        int tail = 0;
+        Arrays.fill(level, -1);
+        level[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int k = g.getOffsets()[u]; k < g.getOffsets()[u + 1]; k++) {
+                int v = g.getAdjacency()[k];
+                if (level[v] < 0) {
+                    level[v] = level[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Checks the levels of a tree and that every parent is a predecessor one
+     * level up.
+     */
+    private static void checkTree(CompressedSparseRowGraph<Integer> g,
+            int[] expected, BreadthFirstTree<Integer> tree) {
+        BitMatrix matrix = new BitMatrix(g);
+        for (int v = 0; v < expected.length; v++) {
+            assertEquals(expected[v], tree.getLevel(v));
+            int p = tree.getParent(v);
+            if (expected[v] <= 0) {
+                assertEquals(-1, p);
+            }
+            else {
+                assertEquals(expected[v] - 1, expected[p]);
+                assertTrue(matrix.get(p, v));
+                assertEquals(expected[v] + 1, tree.getPath(v).length);
+            }
+        }
+    }
+}
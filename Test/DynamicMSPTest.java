@@ -0,0 +1,232 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the DynamicMSP class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class DynamicMSPTest {
+
+    @Test
+    final void testAddEdge() {
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        DynamicMSP<String> msp = new DynamicMSP<String>();
+        assertTrue(msp.addNode(a));
+        assertTrue(msp.addNode(b));
+        assertTrue(msp.addNode(c));
+        assertFalse(msp.addNode(c));
+        assertEquals(3, msp.getComponentCount());
+        GraphEdge<String> ab = new GraphEdge<String>(a, b, false, 5);
+        GraphEdge<String> bc = new GraphEdge<String>(b, c, false, 3);
+        GraphEdge<String> ac = new GraphEdge<String>(a, c, false, 1);
+        assertTrue(msp.addEdge(ab));
+        assertTrue(msp.addEdge(bc));
+        assertFalse(msp.addEdge(new GraphEdge<String>(c, b, false, 7)));
+        assertEquals(8.0, msp.getTotalWeight());
+        assertEquals(1, msp.getComponentCount());
+        assertTrue(msp.addEdge(ac));
+        assertEquals(4.0, msp.getTotalWeight());
+        assertFalse(msp.isTreeEdge(ab));
+        assertTrue(msp.isTreeEdge(bc));
+        assertTrue(msp.isTreeEdge(ac));
+    }
+
+    @Test
+    final void testRemoveEdgeAndSetWeight() {
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode(a);
+        gr.addNode(b);
+        gr.addNode(c);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 1));
+        DynamicMSP<String> msp = new DynamicMSP<String>(gr);
+        final List<String> changes = new ArrayList<String>();
+        msp.setTreeListener(new DynamicMSP.TreeListener<String>() {
+            @Override
+            public void treeEdgeAdded(GraphEdge<String> edge) {
+                changes.add("+" + edge.getWeight());
+            }
+
+            @Override
+            public void treeEdgeRemoved(GraphEdge<String> edge) {
+                changes.add("-" + edge.getWeight());
+            }
+        });
+        assertEquals(4.0, msp.getTotalWeight());
+        assertTrue(msp.removeEdge(new GraphEdge<String>(c, b, false)));
+        assertFalse(msp.removeEdge(new GraphEdge<String>(c, b, false)));
+        assertEquals(6.0, msp.getTotalWeight());
+        assertEquals(2, changes.size());
+        changes.clear();
+        msp.setWeight(new GraphEdge<String>(a, c, false), 10);
+        assertEquals(15.0, msp.getTotalWeight());
+        assertTrue(changes.isEmpty());
+        msp.addEdge(new GraphEdge<String>(b, c, false, 2));
+        assertEquals(7.0, msp.getTotalWeight());
+        changes.clear();
+        msp.setWeight(new GraphEdge<String>(a, b, false), 20);
+        assertEquals(12.0, msp.getTotalWeight());
+        assertEquals(2, changes.size());
+        assertEquals("-20.0", changes.get(0));
+        assertEquals("+10.0", changes.get(1));
+    }
+
+    @Test
+    final void testRemoveBridgeWithInfiniteReplacement() {
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        DynamicMSP<String> msp = new DynamicMSP<String>();
+        msp.addNode(a);
+        msp.addNode(b);
+        msp.addNode(c);
+        GraphEdge<String> ac = new GraphEdge<String>(a, c, false,
+                                                     Double.POSITIVE_INFINITY);
+        msp.addEdge(new GraphEdge<String>(a, b, false, 1));
+        msp.addEdge(new GraphEdge<String>(b, c, false, 2));
+        msp.addEdge(ac);
+        assertFalse(msp.isTreeEdge(ac));
+        assertTrue(msp.removeEdge(new GraphEdge<String>(a, b, false)));
+        assertTrue(msp.isTreeEdge(ac));
+        assertEquals(1, msp.getComponentCount());
+        assertEquals(2, msp.getTreeEdges().size());
+        assertEquals(Double.POSITIVE_INFINITY, msp.getTotalWeight());
+    }
+
+    @Test
+    final void testReplacementFromSmallerTree() {
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        DynamicMSP<Integer> msp = new DynamicMSP<Integer>();
+
+        for (int i = 0; i < 20; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            msp.addNode(nodes.get(i));
+        }
+
+        for (int i = 1; i < 20; i++)
+            msp.addEdge(new GraphEdge<Integer>(nodes.get(i - 1), nodes.get(i),
+                                               false, 1));
+
+        GraphEdge<Integer> far = new GraphEdge<Integer>(nodes.get(0),
+                                                        nodes.get(19), false,
+                                                        5);
+        GraphEdge<Integer> near = new GraphEdge<Integer>(nodes.get(1),
+                                                         nodes.get(18), false,
+                                                         4);
+        msp.addEdge(far);
+        msp.addEdge(near);
+        msp.addEdge(new GraphEdge<Integer>(nodes.get(5), nodes.get(5), false,
+                                           0));
+        // Only the edges of node 0 join it to the rest of the path.
+        assertTrue(msp.removeEdge(new GraphEdge<Integer>(nodes.get(0),
+                                                         nodes.get(1), false)));
+        assertTrue(msp.isTreeEdge(far));
+        assertFalse(msp.isTreeEdge(near));
+        assertEquals(23.0, msp.getTotalWeight());
+        // Both edges now cross the cut and the lighter one replaces it.
+        GraphEdge<Integer> middle = new GraphEdge<Integer>(nodes.get(9),
+                                                           nodes.get(10),
+                                                           false);
+        msp.setWeight(middle, 10);
+        assertFalse(msp.isTreeEdge(middle));
+        assertTrue(msp.isTreeEdge(near));
+        assertEquals(26.0, msp.getTotalWeight());
+        assertEquals(1, msp.getComponentCount());
+    }
+
+    /**
+     * After every random change the forest must have the same weight as the
+     * one computed from scratch by Kruskal's algorithm.
+     */
+    @Test
+    final void testRandomChanges() {
+        Random random = new Random(5);
+        int n = 40;
+        Graph<Integer> gr = new AdjacencyMatrixUndirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        DynamicMSP<Integer> msp = new DynamicMSP<Integer>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            gr.addNode(nodes.get(i));
+            msp.addNode(nodes.get(i));
+        }
+        KruskalMSP<Integer> kruskal = new KruskalMSP<Integer>();
+        for (int step = 0; step < 1500; step++) {
+            GraphNode<Integer> u = nodes.get(random.nextInt(n));
+            GraphNode<Integer> v = nodes.get(random.nextInt(n));
+            GraphEdge<Integer> edge = new GraphEdge<Integer>(u, v, false,
+                                                             random.nextInt(30));
+            int operation = random.nextInt(3);
+            if (operation == 0 || !gr.containsEdge(edge)) {
+                assertEquals(gr.addEdge(edge), msp.addEdge(edge));
+            } else if (operation == 1) {
+                assertTrue(gr.removeEdge(edge));
+                assertTrue(msp.removeEdge(edge));
+            } else {
+                gr.removeEdge(edge);
+                gr.addEdge(edge);
+                msp.setWeight(edge, edge.getWeight());
+            }
+            Set<GraphEdge<Integer>> expected = kruskal.computeMSP(gr);
+            double weight = 0;
+            for (GraphEdge<Integer> e : expected)
+                weight += e.getWeight();
+            assertEquals(weight, msp.getTotalWeight(), 1e-9);
+            assertEquals(expected.size(), msp.getTreeEdges().size());
+            double check = 0;
+            Set<GraphEdge<Integer>> tree =
+                new HashSet<GraphEdge<Integer>>(msp.getTreeEdges());
+            for (GraphEdge<Integer> e : tree) {
+                assertTrue(gr.containsEdge(e));
+                check += e.getWeight();
+            }
+            assertEquals(weight, check, 1e-9);
+        }
+    }
+
+    @Test
+    final void exceptionsTest() {
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        DynamicMSP<String> msp = new DynamicMSP<String>();
+        msp.addNode(a);
+        assertThrows(NullPointerException.class, () -> {
+            new DynamicMSP<String>(null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            msp.addEdge(null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            msp.addEdge(new GraphEdge<String>(a, b, false, 1));
+        });
+        msp.addNode(b);
+        assertThrows(IllegalArgumentException.class, () -> {
+            msp.addEdge(new GraphEdge<String>(a, b, false, -1));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            msp.addEdge(new GraphEdge<String>(a, b, true, 1));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            msp.setWeight(new GraphEdge<String>(a, b, false), 1);
+        });
+        msp.addEdge(new GraphEdge<String>(a, b, false, 1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            msp.setWeight(new GraphEdge<String>(a, b, false), Double.NaN);
+        });
+    }
+}
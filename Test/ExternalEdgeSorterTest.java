@@ -0,0 +1,137 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the ExternalEdgeSorter class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class ExternalEdgeSorterTest {
+
+    /**
+     * Sorts a file with many short runs, which need more than one merge pass,
+     * and checks that every edge comes out once and in order.
+     */
+    @Test
+    final void testSortManyRuns() throws IOException {
+        Random random = new Random(11);
+        int n = 50;
+        int m = 5000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = random.nextInt(n);
+            targets[e] = random.nextInt(n);
+            weights[e] = random.nextInt(300);
+        }
+        Path file = Files.createTempFile("sorter", ".bin");
+        try {
+            ExternalEdgeSorter.write(new CompressedSparseRowGraph<Integer>(n,
+                sources, targets, weights, false), file);
+            final double[] sorted = new double[m];
+            final long[] checksum = new long[2];
+            new ExternalEdgeSorter(37, 3, null).sort(file, n, (u, v, w) -> {
+                sorted[(int) checksum[0]++] = w;
+                checksum[1] += 31L * u + v;
+                return true;
+            });
+            assertEquals(m, checksum[0]);
+            long expected = 0;
+            for (int e = 0; e < m; e++)
+                expected += 31L * sources[e] + targets[e];
+            assertEquals(expected, checksum[1]);
+            double[] copy = weights.clone();
+            Arrays.sort(copy);
+            assertArrayEquals(copy, sorted);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * The consumer can stop the stream at any time.
+     */
+    @Test
+    final void testStopStream() throws IOException {
+        Path file = Files.createTempFile("sorter", ".bin");
+        try {
+            ExternalEdgeSorter.write(new CompressedSparseRowGraph<Integer>(3,
+                new int[] {0, 1, 2}, new int[] {1, 2, 0},
+                new double[] {5, 1, 3}, false), file);
+            final int[] seen = new int[1];
+            new ExternalEdgeSorter().sort(file, 3, (u, v, w) -> {
+                assertEquals(1.0, w);
+                seen[0]++;
+                return false;
+            });
+            assertEquals(1, seen[0]);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * An error of the consumer propagates unchanged and the runs are removed.
+     */
+    @Test
+    final void testFailingConsumer() throws IOException {
+        Path file = Files.createTempFile("sorter", ".bin");
+        Path directory = Files.createTempDirectory("sorter");
+        try {
+            int m = 100;
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+            for (int e = 0; e < m; e++)
+                weights[e] = m - e;
+            ExternalEdgeSorter.write(new CompressedSparseRowGraph<Integer>(1,
+                sources, targets, weights, false), file);
+            final IllegalStateException error = new IllegalStateException();
+            IllegalStateException thrown = assertThrows(
+                IllegalStateException.class, () -> {
+                    new ExternalEdgeSorter(10, 4, directory).sort(file, 1,
+                        (u, v, w) -> {
+                            if (w > 50) throw error;
+                            return true;
+                        });
+                });
+            assertSame(error, thrown);
+            assertEquals(0, thrown.getSuppressed().length);
+            assertEquals(0, directory.toFile().list().length);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    final void exceptionsTest() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ExternalEdgeSorter(0, 2, null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ExternalEdgeSorter(10, 1, null);
+        });
+        Path file = Files.createTempFile("sorter", ".bin");
+        try {
+            Files.write(file, new byte[7]);
+            assertThrows(IllegalArgumentException.class, () -> {
+                new ExternalEdgeSorter().sort(file, 1, (u, v, w) -> true);
+            });
+            assertThrows(NullPointerException.class, () -> {
+                new ExternalEdgeSorter().sort(file, 1, null);
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
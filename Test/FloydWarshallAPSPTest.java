@@ -0,0 +1,120 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the FloydWarshallAPSP class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class FloydWarshallAPSPTest {
+
+    @Test
+    final void testComputeAPSP() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(c, b, false, 2));
+        gr.addEdge(new GraphEdge<String>(b, d, false, 5));
+        FloydWarshallAPSP<String> fw =
+            new FloydWarshallAPSP<String>(ForkJoinPool.commonPool(), 2);
+        AllPairsShortestPaths<String> apsp = fw.computeAPSP(gr, true);
+        assertEquals(8.0, apsp.getDistance(a, d));
+        assertEquals(8.0, apsp.getDistance(d, a));
+        assertEquals(0.0, apsp.getDistance(e, e));
+        assertEquals(Double.POSITIVE_INFINITY, apsp.getDistance(a, e));
+        List<GraphNode<String>> path = apsp.getPath(d, a);
+        assertEquals(4, path.size());
+        assertEquals(d, path.get(0));
+        assertEquals(b, path.get(1));
+        assertEquals(c, path.get(2));
+        assertEquals(a, path.get(3));
+        assertTrue(apsp.getPath(a, e).isEmpty());
+        AllPairsShortestPaths<String> plain = fw.computeAPSP(gr, false);
+        assertFalse(plain.hasPredecessors());
+        assertEquals(8.0, plain.getDistance(a, d));
+        assertThrows(UnsupportedOperationException.class, () -> {
+            plain.getPath(a, d);
+        });
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            plain.getDistance(0, 5);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new FloydWarshallAPSP<String>(ForkJoinPool.commonPool(), 0);
+        });
+        gr.addEdge(new GraphEdge<String>(d, e, false, -1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            fw.computeAPSP(gr, false);
+        });
+    }
+
+    @Test
+    final void testAgainstDijkstra() {
+        Random random = new Random(38);
+        int n = 150;
+        int m = 900;
+        for (boolean directed : new boolean[] {false, true}) {
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+                weights[i] = random.nextDouble() * 10;
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      weights, directed);
+            AllPairsShortestPaths<Integer> apsp =
+                new FloydWarshallAPSP<Integer>(ForkJoinPool.commonPool(), 16)
+                    .computeAPSP(g, true);
+            DijkstraSSSP<Integer> dijkstra = new DijkstraSSSP<Integer>();
+            for (int s = 0; s < n; s++) {
+                ShortestPathTree<Integer> tree =
+                    dijkstra.computeShortestPathTree(g, s);
+                for (int t = 0; t < n; t++) {
+                    assertEquals(tree.getDistance(t), apsp.getDistance(s, t),
+                                 1e-9);
+                    int[] path = apsp.getPath(s, t);
+                    if (tree.isReachable(t)) {
+                        assertEquals(s, path[0]);
+                        assertEquals(t, path[path.length - 1]);
+                    }
+                    else {
+                        assertEquals(0, path.length);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    final void testNegativeWeights() {
+        int[] sources = {0, 1, 0};
+        int[] targets = {1, 2, 2};
+        double[] weights = {4, -3, 2};
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(3, sources, targets, weights,
+                                                  true);
+        AllPairsShortestPaths<Integer> apsp =
+            new FloydWarshallAPSP<Integer>().computeAPSP(g, true);
+        assertEquals(1.0, apsp.getDistance(0, 2));
+        assertArrayEquals(new int[] {0, 1, 2}, apsp.getPath(0, 2));
+        assertEquals(Double.POSITIVE_INFINITY, apsp.getDistance(2, 0));
+    }
+}
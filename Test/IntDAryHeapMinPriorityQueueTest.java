@@ -0,0 +1,92 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the IntDAryHeapMinPriorityQueue class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class IntDAryHeapMinPriorityQueueTest {
+
+    @Test
+    final void testIntDAryHeapMinPriorityQueue() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new IntDAryHeapMinPriorityQueue(-1);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new IntDAryHeapMinPriorityQueue(10, 1);
+        });
+        IntDAryHeapMinPriorityQueue q = new IntDAryHeapMinPriorityQueue(10);
+        assertEquals(10, q.capacity());
+        assertTrue(q.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> {
+            q.extractMinimum();
+        });
+    }
+
+    @Test
+    final void testOperations() {
+        IntDAryHeapMinPriorityQueue q = new IntDAryHeapMinPriorityQueue(5, 2);
+        q.insert(3, 7);
+        q.insert(0, 4);
+        q.insert(4, 9);
+        assertThrows(IllegalArgumentException.class, () -> {
+            q.insert(0, 1);
+        });
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            q.insert(5, 1);
+        });
+        assertTrue(q.contains(4));
+        assertFalse(q.contains(1));
+        assertEquals(0, q.minimum());
+        q.decreasePriority(4, 2);
+        assertEquals(2.0, q.getPriority(4));
+        assertThrows(IllegalArgumentException.class, () -> {
+            q.decreasePriority(3, 8);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            q.decreasePriority(1, 0);
+        });
+        assertEquals(4, q.extractMinimum());
+        assertEquals(0, q.extractMinimum());
+        assertFalse(q.contains(0));
+        q.insert(0, 1);
+        assertEquals(2, q.size());
+        q.clear();
+        assertTrue(q.isEmpty());
+        assertFalse(q.contains(3));
+        q.insert(3, 0);
+        assertEquals(3, q.extractMinimum());
+    }
+
+    @Test
+    final void testAgainstPriorityQueue() {
+        Random random = new Random(320);
+        int n = 1000;
+        IntDAryHeapMinPriorityQueue q = new IntDAryHeapMinPriorityQueue(n);
+        double[] key = new double[n];
+        for (int i = 0; i < n; i++) {
+            key[i] = random.nextDouble();
+            q.insert(i, key[i]);
+        }
+        for (int i = 0; i < n; i += 3) {
+            key[i] /= 2;
+            q.decreasePriority(i, key[i]);
+        }
+        PriorityQueue<Double> expected = new PriorityQueue<Double>();
+        for (int i = 0; i < n; i++) {
+            expected.add(key[i]);
+        }
+        while (!q.isEmpty()) {
+            int item = q.extractMinimum();
+            assertEquals(expected.poll().doubleValue(), key[item]);
+        }
+        assertTrue(expected.isEmpty());
+    }
+}
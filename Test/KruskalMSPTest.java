@@ -1,7 +1,13 @@
 package it.unicam.cs.asdl2425.mp2;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 
@@ -275,4 +281,120 @@ class KruskalMSPTest {
         assertEquals(result, alg.computeMSP(gr),
                 "Il risultato non corrisponde all'MST del grafo disconnesso.");
     }
-}
\ No newline at end of file
+
+    @Test
+    final void testComputeMSPFromEdgeFile() throws IOException {
+        Random random = new Random(3);
+        Graph<Integer> gr = new AdjacencyMatrixUndirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int i = 0; i < 120; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            gr.addNode(nodes.get(i));
+        }
+        for (int e = 0; e < 1500; e++)
+            gr.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(110)),
+                       nodes.get(random.nextInt(110)), false,
+                       random.nextInt(1000) / 10.0));
+        KruskalMSP<Integer> alg = new KruskalMSP<Integer>();
+        double expected = 0;
+        for (GraphEdge<Integer> edge : alg.computeMSP(gr))
+            expected += edge.getWeight();
+
+        Path file = Files.createTempFile("kruskal", ".bin");
+        try {
+            ExternalEdgeSorter.write(new CompressedSparseRowGraph<Integer>(gr),
+                                     file);
+            SpanningForest<Integer> forest = alg.computeMSP(file, gr.nodeCount(),
+                new ExternalEdgeSorter(100, 2, null));
+            assertEquals(expected, forest.getTotalWeight(), 1e-9);
+            assertEquals(11, forest.getComponentCount());
+            assertEquals(gr.nodeCount() - 11, forest.edgeCount());
+            double total = 0;
+            for (int i = 0; i < forest.edgeCount(); i++) {
+                total += forest.getWeights()[i];
+                if (i > 0)
+                    assertTrue(forest.getWeights()[i - 1]
+                               <= forest.getWeights()[i]);
+            }
+            assertEquals(forest.getTotalWeight(), total);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testComputeMSPFromEdgeFileExceptions() throws IOException {
+        KruskalMSP<Integer> alg = new KruskalMSP<Integer>();
+        Path file = Files.createTempFile("kruskal", ".bin");
+        try {
+            assertThrows(NullPointerException.class, () -> {
+                alg.computeMSP((Path) null, 3);
+            });
+            ExternalEdgeSorter.write(new CompressedSparseRowGraph<Integer>(3,
+                new int[] {0, 1}, new int[] {1, 2}, new double[] {4, -1}, false),
+                file);
+            assertThrows(IllegalArgumentException.class, () -> {
+                alg.computeMSP(file, 3);
+            });
+            assertThrows(IllegalArgumentException.class, () -> {
+                alg.computeMSP(file, 2);
+            });
+            SpanningForest<Integer> empty = alg.computeMSP(Files.write(file,
+                                                  new byte[0]), 4);
+            assertEquals(0, empty.edgeCount());
+            assertEquals(4, empty.getComponentCount());
+            assertEquals(0.0, empty.getTotalWeight());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testComputeCompactMSP() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 7));
+        gr.addEdge(new GraphEdge<String>(a, d, false, 10));
+        gr.addEdge(new GraphEdge<String>(a, e, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 2));
+        KruskalMSP<String> alg = new KruskalMSP<String>();
+        SpanningForest<String> forest = alg.computeCompactMSP(gr);
+        assertEquals(4, forest.edgeCount());
+        assertEquals(10.0, forest.getTotalWeight());
+        assertEquals(2, forest.getComponentCount());
+        assertArrayEquals(new double[] {1, 2, 3, 4}, forest.getWeights());
+        assertEquals(gr.getNodeIndexOf("d") + gr.getNodeIndexOf("e"),
+                     forest.getSources()[1] + forest.getTargets()[1]);
+        assertEquals(gr.getEdges().size(), forest.getEdgeIndices().length + 3);
+        assertEquals(alg.computeMSP(gr), forest.asEdgeSet());
+        assertTrue(forest.asEdgeSet().contains(new GraphEdge<String>(c, b,
+                                                                     false)));
+        assertFalse(forest.asEdgeSet().contains(new GraphEdge<String>(a, c,
+                                                                      false)));
+        assertThrows(UnsupportedOperationException.class, () -> {
+            forest.asEdgeSet().clear();
+        });
+        SpanningForest<String> empty = alg.computeCompactMSP(
+            new AdjacencyMatrixUndirectedGraph<String>());
+        assertEquals(0, empty.edgeCount());
+        assertEquals(0, empty.getComponentCount());
+        assertTrue(empty.asEdgeSet().isEmpty());
+        assertThrows(NullPointerException.class, () -> {
+            alg.computeCompactMSP((Graph<String>) null);
+        });
+    }
+}
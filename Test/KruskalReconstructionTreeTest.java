@@ -0,0 +1,158 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayDeque;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the KruskalReconstructionTree class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class KruskalReconstructionTreeTest {
+
+    @Test
+    final void testInfiniteWeight() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        // An edge of infinite weight still connects its nodes.
+        gr.addEdge(new GraphEdge<String>(a, b, false,
+                                         Double.POSITIVE_INFINITY));
+        KruskalReconstructionTree<String> krt =
+            new KruskalMSP<String>().computeReconstructionTree(gr);
+        assertEquals(Double.POSITIVE_INFINITY, krt.getBottleneckWeight(a, b));
+        assertTrue(krt.isConnectedWithin(a, b, Double.POSITIVE_INFINITY));
+        assertFalse(krt.isConnectedWithin(a, b, Double.MAX_VALUE));
+        assertFalse(krt.isConnectedWithin(a, c, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    final void testBottleneckWeight() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 2));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 9));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 7));
+        KruskalReconstructionTree<String> krt =
+            new KruskalMSP<String>().computeReconstructionTree(gr);
+        assertEquals(5, krt.nodeCount());
+        assertEquals(8, krt.size());
+        assertEquals(2.0, krt.getBottleneckWeight(b, c));
+        assertEquals(4.0, krt.getBottleneckWeight(a, c));
+        assertEquals(7.0, krt.getBottleneckWeight(a, d));
+        assertEquals(0.0, krt.getBottleneckWeight(d, d));
+        assertEquals(Double.POSITIVE_INFINITY, krt.getBottleneckWeight(a, e));
+        assertTrue(krt.isConnectedWithin(a, c, 4));
+        assertFalse(krt.isConnectedWithin(a, c, 3.9));
+        assertFalse(krt.isConnectedWithin(e, b, 100));
+        assertTrue(krt.isConnectedWithin(e, e, 0));
+        assertFalse(krt.isConnectedWithin(a, e, Double.POSITIVE_INFINITY));
+        assertFalse(krt.isConnectedWithin(0, 4, Double.POSITIVE_INFINITY));
+        assertTrue(krt.isConnectedWithin(a, d, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> {
+            krt.getBottleneckWeight(a, new GraphNode<String>("z"));
+        });
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            krt.getBottleneckWeight(0, 5);
+        });
+    }
+
+    /**
+     * Compares the bottleneck weights with a breadth-first search that only
+     * uses edges not heavier than the answer.
+     */
+    @Test
+    final void testRandomGraph() {
+        Random random = new Random(9);
+        int n = 150;
+        int m = 400;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = random.nextInt(n);
+            targets[e] = random.nextInt(n);
+            weights[e] = random.nextInt(100);
+        }
+        CompressedSparseRowGraph<Integer> csr =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets, weights,
+                                                  false);
+        KruskalReconstructionTree<Integer> krt =
+            new KruskalReconstructionTree<Integer>(
+                new KruskalMSP<Integer>().computeCompactMSP(csr));
+        for (int q = 0; q < 300; q++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            double bottleneck = krt.getBottleneckWeight(u, v);
+            if (u == v)
+                continue;
+            if (bottleneck == Double.POSITIVE_INFINITY) {
+                assertFalse(reachable(csr, u, v, Double.MAX_VALUE));
+            } else {
+                assertTrue(reachable(csr, u, v, bottleneck));
+                assertFalse(reachable(csr, u, v, bottleneck - 0.5));
+            }
+        }
+    }
+
+    @Test
+    final void exceptionsTest() {
+        assertThrows(NullPointerException.class, () -> {
+            new KruskalReconstructionTree<String>(null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new KruskalReconstructionTree<String>(new SpanningForest<String>(
+                new int[] {0, 1}, new int[] {1, 2}, new double[] {3, 1}, 4, 1));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new KruskalReconstructionTree<String>(new SpanningForest<String>(
+                new int[] {0, 1}, new int[] {1, 0}, new double[] {1, 3}, 4, 1));
+        });
+        KruskalReconstructionTree<String> krt =
+            new KruskalReconstructionTree<String>(new SpanningForest<String>(
+                new int[] {0}, new int[] {1}, new double[] {1}, 1, 1));
+        assertEquals(1.0, krt.getBottleneckWeight(1, 0));
+        assertThrows(UnsupportedOperationException.class, () -> {
+            krt.getBottleneckWeight(new GraphNode<String>("a"),
+                                    new GraphNode<String>("b"));
+        });
+    }
+
+    private static boolean reachable(CompressedSparseRowGraph<Integer> g,
+            int u, int v, double threshold) {
+        boolean[] seen = new boolean[g.nodeCount()];
+        ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+        seen[u] = true;
+        queue.add(u);
+        while (!queue.isEmpty()) {
+            int x = queue.poll();
+            if (x == v)
+                return true;
+            for (int k = g.getOffsets()[x]; k < g.getOffsets()[x + 1]; k++) {
+                int y = g.getAdjacency()[k];
+                if (!seen[y] && g.getAdjacencyWeights()[k] <= threshold) {
+                    seen[y] = true;
+                    queue.add(y);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,184 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the LandmarkOracle class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class LandmarkOracleTest {
+
+    @Test
+    final void testBounds() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 3));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 4));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 5));
+        LandmarkOracle<String> oracle = new LandmarkOracle<String>(gr, 1,
+            LandmarkOracle.Selection.FARTHEST_POINT);
+        assertEquals(1, oracle.landmarkCount());
+        assertEquals(Double.POSITIVE_INFINITY, oracle.lowerBound(a, e));
+        assertEquals(0.0, oracle.lowerBound(a, a));
+        assertEquals(0.0, oracle.upperBound(a, a));
+        LandmarkOracle<String> ends = new LandmarkOracle<String>(gr, 3,
+            LandmarkOracle.Selection.FARTHEST_POINT);
+        assertEquals(7.0, ends.lowerBound(a, c), 1e-5);
+        assertEquals(7.0, ends.upperBound(a, c), 1e-5);
+        assertEquals(ends.lowerBound(b, d), ends.estimate("b", "d"));
+        assertThrows(IllegalArgumentException.class, () -> {
+            new LandmarkOracle<String>(gr, 6,
+                                       LandmarkOracle.Selection.HIGHEST_DEGREE);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new LandmarkOracle<String>(gr, 2, null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            ends.lowerBound(a, new GraphNode<String>("z"));
+        });
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            ends.upperBound(0, 5);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            ends.estimate("a", "z");
+        });
+    }
+
+    @Test
+    final void testDistancesBeyondFloatRange() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1e39));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 1));
+        // The only landmark is a, whose distances to b and c overflow a float.
+        LandmarkOracle<String> oracle = new LandmarkOracle<String>(gr, 1,
+            LandmarkOracle.Selection.FARTHEST_POINT);
+        assertTrue(oracle.lowerBound(a, b) <= 1e39);
+        assertTrue(oracle.lowerBound(b, a) <= 1e39);
+        assertTrue(oracle.lowerBound(a, c) <= 1e39 + 1);
+        assertTrue(oracle.lowerBound(b, c) <= 1);
+        assertTrue(oracle.upperBound(b, c) >= 1);
+        assertTrue(oracle.upperBound(a, b) >= 1e39);
+    }
+
+    @Test
+    final void testHighestDegreeTies() {
+        // A path: every inner node has degree 2, so the landmarks are the
+        // first inner nodes by index.
+        int n = 40;
+        int[] sources = new int[n - 1];
+        int[] targets = new int[n - 1];
+        double[] weights = new double[n - 1];
+        for (int v = 0; v < n - 1; v++) {
+            sources[v] = v;
+            targets[v] = v + 1;
+            weights[v] = 1;
+        }
+        LandmarkOracle<Integer> oracle = new LandmarkOracle<Integer>(
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  weights, false),
+            5, LandmarkOracle.Selection.HIGHEST_DEGREE);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 1, oracle.getLandmark(i));
+        }
+    }
+
+    @Test
+    final void testBoundsAreValid() {
+        Random random = new Random(36);
+        int n = 80;
+        int m = 240;
+        for (boolean directed : new boolean[] {false, true}) {
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+                weights[i] = random.nextDouble() * 10;
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      weights, directed);
+            DijkstraSSSP<Integer> dijkstra = new DijkstraSSSP<Integer>();
+            for (LandmarkOracle.Selection selection :
+                 LandmarkOracle.Selection.values()) {
+                LandmarkOracle<Integer> oracle =
+                    new LandmarkOracle<Integer>(g, 4, selection);
+                for (int s = 0; s < n; s += 5) {
+                    ShortestPathTree<Integer> tree =
+                        dijkstra.computeShortestPathTree(g, s);
+                    for (int t = 0; t < n; t++) {
+                        double distance = tree.getDistance(t);
+                        assertTrue(oracle.lowerBound(s, t) <= distance);
+                        assertTrue(oracle.upperBound(s, t) >= distance);
+                    }
+                }
+                for (int i = 0; i < 4; i++) {
+                    assertEquals(0.0, oracle.lowerBound(oracle.getLandmark(i),
+                                                        oracle.getLandmark(i)));
+                }
+            }
+        }
+    }
+
+    @Test
+    final void testAsHeuristic() {
+        int side = 25;
+        Graph<Integer> gr = new AdjacencyMatrixUndirectedGraph<Integer>();
+        Random random = new Random(360);
+        for (int i = 0; i < side * side; i++) {
+            gr.addNode(new GraphNode<Integer>(i));
+        }
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c + 1 < side; c++) {
+                gr.addEdge(new GraphEdge<Integer>(
+                    gr.getNodeAtIndex(r * side + c),
+                    gr.getNodeAtIndex(r * side + c + 1), false,
+                    1 + random.nextInt(5)));
+                gr.addEdge(new GraphEdge<Integer>(
+                    gr.getNodeAtIndex(c * side + r),
+                    gr.getNodeAtIndex((c + 1) * side + r), false,
+                    1 + random.nextInt(5)));
+            }
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(gr);
+        LandmarkOracle<Integer> oracle = new LandmarkOracle<Integer>(g, 8,
+            LandmarkOracle.Selection.FARTHEST_POINT);
+        BidirectionalAStar<Integer> plain =
+            new BidirectionalAStar<Integer>(g, null);
+        BidirectionalAStar<Integer> alt =
+            new BidirectionalAStar<Integer>(g, oracle);
+        int plainSettled = 0;
+        int altSettled = 0;
+        for (int q = 0; q < 20; q++) {
+            int s = random.nextInt(side * side);
+            int t = random.nextInt(side * side);
+            ShortestPath<Integer> p1 = plain.computeShortestPath(s, t);
+            ShortestPath<Integer> p2 = alt.computeShortestPath(s, t);
+            assertEquals(p1.getLength(), p2.getLength(), 1e-9);
+            plainSettled += p1.getSettledCount();
+            altSettled += p2.getSettledCount();
+        }
+        assertTrue(altSettled < plainSettled);
+    }
+}
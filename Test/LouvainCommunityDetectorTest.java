@@ -0,0 +1,172 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the LouvainCommunityDetector class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class LouvainCommunityDetectorTest {
+
+    @Test
+    final void testDetectCommunities() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        // Two heavy triangles joined by a light edge.
+        gr.addEdge(new GraphEdge<String>(a, b, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 5));
+        gr.addEdge(new GraphEdge<String>(c, a, false, 5));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 5));
+        gr.addEdge(new GraphEdge<String>(e, f, false, 5));
+        gr.addEdge(new GraphEdge<String>(f, d, false, 5));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 1));
+        LouvainCommunityDetector<String> detector =
+            new LouvainCommunityDetector<String>();
+        Communities<String> communities = detector.detectCommunities(gr);
+        assertEquals(2, communities.communityCount());
+        Set<Set<GraphNode<String>>> expected =
+            new HashSet<Set<GraphNode<String>>>();
+        Set<GraphNode<String>> first = new HashSet<GraphNode<String>>();
+        first.add(a);
+        first.add(b);
+        first.add(c);
+        Set<GraphNode<String>> second = new HashSet<GraphNode<String>>();
+        second.add(d);
+        second.add(e);
+        second.add(f);
+        expected.add(first);
+        expected.add(second);
+        assertEquals(expected, communities.getCommunitySets());
+        // Internal weight 30 + 30 of 62, each community has degree 31.
+        assertEquals(60.0 / 62 - 0.5, communities.getModularity(), 1e-12);
+        assertThrows(NullPointerException.class, () -> {
+            detector.detectCommunities((Graph<String>) null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            detector.detectCommunities(
+                new CompressedSparseRowGraph<String>(2, new int[] {0},
+                                                     new int[] {1},
+                                                     new double[1], true),
+                false);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new LouvainCommunityDetector<String>(ForkJoinPool.commonPool(),
+                                                 0, true);
+        });
+    }
+
+    @Test
+    final void testRingOfCliques() {
+        int cliques = 10;
+        int size = 6;
+        int n = cliques * size;
+        int m = cliques * (size * (size - 1) / 2 + 1);
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int e = 0;
+        for (int q = 0; q < cliques; q++) {
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    sources[e] = q * size + i;
+                    targets[e++] = q * size + j;
+                }
+            }
+            sources[e] = q * size;
+            targets[e++] = ((q + 1) % cliques) * size + 1;
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[m], false);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (boolean refine : new boolean[] {false, true}) {
+            Communities<Integer> communities =
+                new LouvainCommunityDetector<Integer>(pool, 1, refine)
+                    .detectCommunities(g, false);
+            assertEquals(cliques, communities.communityCount());
+            for (int v = 0; v < n; v++) {
+                assertEquals(v / size, communities.getCommunity(v));
+            }
+            assertEquals(modularity(g, communities.getCommunityIds()),
+                         communities.getModularity(), 1e-12);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    final void testPlantedPartition() {
+        Random random = new Random(42);
+        int groups = 20;
+        int size = 500;
+        int n = groups * size;
+        int m = 150000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextDouble() < 0.9
+                ? (u / size) * size + random.nextInt(size)
+                : random.nextInt(n);
+            sources[i] = u;
+            targets[i] = v;
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[m], false);
+        for (boolean refine : new boolean[] {false, true}) {
+            Communities<Integer> communities =
+                new LouvainCommunityDetector<Integer>(
+                    ForkJoinPool.commonPool(), 1, refine)
+                    .detectCommunities(g, false);
+            int[] planted = new int[n];
+            for (int v = 0; v < n; v++) {
+                planted[v] = v / size;
+            }
+            assertTrue(communities.getModularity()
+                       >= modularity(g, planted) - 1e-3);
+            assertEquals(modularity(g, communities.getCommunityIds()),
+                         communities.getModularity(), 1e-9);
+        }
+    }
+
+    /**
+     * Computes the modularity of a partition of an unweighted snapshot from
+     * its edge list.
+     */
+    private static double modularity(CompressedSparseRowGraph<Integer> g,
+            int[] community) {
+        int n = g.nodeCount();
+        int[] sources = g.getEdgeSources();
+        int[] targets = g.getEdgeTargets();
+        double m = sources.length;
+        double internal = 0;
+        double[] total = new double[n];
+        for (int e = 0; e < sources.length; e++) {
+            if (community[sources[e]] == community[targets[e]]) internal++;
+            total[community[sources[e]]]++;
+            total[community[targets[e]]]++;
+        }
+        double squares = 0;
+        for (double t : total) {
+            squares += t * t;
+        }
+        return internal / m - squares / (4 * m * m);
+    }
+}
@@ -0,0 +1,222 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the MinimumCutComputer class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class MinimumCutComputerTest {
+
+    @Test
+    final void testComputeMinimumCut() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        // Two heavy triangles a, b, c and d, e, f joined by c-d and a-f.
+        gr.addEdge(new GraphEdge<String>(a, b, false, 5.0));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 5.0));
+        gr.addEdge(new GraphEdge<String>(c, a, false, 5.0));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 5.0));
+        gr.addEdge(new GraphEdge<String>(e, f, false, 5.0));
+        gr.addEdge(new GraphEdge<String>(f, d, false, 5.0));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 1.0));
+        gr.addEdge(new GraphEdge<String>(a, f, false, 2.0));
+        gr.addEdge(new GraphEdge<String>(b, b, false, 0.5));
+        MinimumCutComputer<String> computer = new MinimumCutComputer<String>();
+        Set<GraphNode<String>> left = new HashSet<GraphNode<String>>();
+        left.add(a);
+        left.add(b);
+        left.add(c);
+        Set<GraphNode<String>> right = new HashSet<GraphNode<String>>();
+        right.add(d);
+        right.add(e);
+        right.add(f);
+        MinimumCut<String> cut = computer.computeMinimumCut(gr, 0.01, 42);
+        assertEquals(3.0, cut.getWeight(), 1e-12);
+        assertFalse(cut.isExact());
+        assertEquals(MinimumCutComputer.trialCount(6, 0.01),
+                     cut.getTrialCount());
+        assertTrue(cut.getFirstSide().equals(left)
+                   || cut.getFirstSide().equals(right));
+        assertEquals(cut.isOnFirstSide(a), cut.isOnFirstSide(c));
+        assertNotEquals(cut.isOnFirstSide(c), cut.isOnFirstSide(d));
+        assertEquals(2, cut.getCutEdges().length);
+        MinimumCut<String> exact = computer.computeExactMinimumCut(gr);
+        assertEquals(3.0, exact.getWeight(), 1e-12);
+        assertTrue(exact.isExact());
+        assertEquals(0, exact.getTrialCount());
+        assertTrue(exact.getFirstSide().equals(left)
+                   || exact.getFirstSide().equals(right));
+        assertThrows(NullPointerException.class, () -> {
+            computer.computeMinimumCut((Graph<String>) null, 0.01, 1);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            computer.computeMinimumCut(gr, 1, 1);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            computer.computeExactMinimumCut(
+                new CompressedSparseRowGraph<String>(2, new int[] {0},
+                                                     new int[] {1},
+                                                     new double[1], true),
+                false);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            computer.computeExactMinimumCut(
+                new CompressedSparseRowGraph<String>(1, new int[0],
+                                                     new int[0],
+                                                     new double[0], false),
+                false);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            computer.computeExactMinimumCut(
+                new CompressedSparseRowGraph<String>(2, new int[] {0},
+                                                     new int[] {1},
+                                                     new double[] {-1},
+                                                     false),
+                true);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new MinimumCutComputer<String>(null);
+        });
+    }
+
+    @Test
+    final void testDisconnectedGraph() {
+        // A path 0-1-2 and an edge 3-4 of weight zero to 2.
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(5,
+                                                  new int[] {0, 1, 3, 2},
+                                                  new int[] {1, 2, 4, 3},
+                                                  new double[] {1, 1, 1, 0},
+                                                  false);
+        MinimumCutComputer<Integer> computer =
+            new MinimumCutComputer<Integer>();
+        MinimumCut<Integer> cut = computer.computeMinimumCut(g, true, 0.01, 7);
+        assertEquals(0, cut.getWeight());
+        assertTrue(cut.isExact());
+        assertEquals(0, cut.getTrialCount());
+        assertTrue(cut.isOnFirstSide(2));
+        assertFalse(cut.isOnFirstSide(3));
+        assertEquals(1, cut.getCutEdges().length);
+        assertEquals(3, cut.getCutEdges()[0]);
+        assertEquals(0, computer.computeExactMinimumCut(g, true).getWeight());
+        assertEquals(1, computer.computeExactMinimumCut(g, false).getWeight());
+    }
+
+    @Test
+    final void testRandomGraphs() {
+        Random random = new Random(5);
+        MinimumCutComputer<Integer> computer =
+            new MinimumCutComputer<Integer>(new ForkJoinPool(4));
+
+        for (int round = 0; round < 30; round++) {
+            int n = 2 + random.nextInt(13);
+            int m = n - 1 + random.nextInt(2 * n);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+
+            // A random tree keeps the graph connected.
+            for (int e = 0; e < m; e++) {
+                sources[e] = e < n - 1 ? e + 1 : random.nextInt(n);
+                targets[e] = e < n - 1 ? random.nextInt(e + 1)
+                                       : random.nextInt(n);
+                weights[e] = 1 + random.nextInt(9);
+            }
+
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      weights, false);
+            double expected = bruteForceMinimumCut(g);
+            MinimumCut<Integer> exact = computer.computeExactMinimumCut(g,
+                                                                        true);
+            MinimumCut<Integer> cut = computer.computeMinimumCut(g, true,
+                                                                 1e-4, round);
+            assertEquals(expected, exact.getWeight(), 1e-9);
+            assertEquals(expected, cut.getWeight(), 1e-9);
+            assertEquals(expected, weightOf(g, exact.getSides()), 1e-9);
+            assertEquals(expected, weightOf(g, cut.getSides()), 1e-9);
+        }
+    }
+
+    @Test
+    final void testParallelTrials() {
+        Random random = new Random(11);
+        int n = 200;
+        int m = 2000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+
+        // Two dense halves joined by a few edges.
+        for (int e = 0; e < m; e++) {
+            int half = e < 10 ? 0 : (e & 1) * (n / 2);
+            sources[e] = half + random.nextInt(n / 2);
+            targets[e] = e < 10 ? n / 2 + random.nextInt(n / 2)
+                                : half + random.nextInt(n / 2);
+            weights[e] = 1;
+        }
+
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  weights, false);
+        MinimumCut<Integer> sequential = new MinimumCutComputer<Integer>(
+            new ForkJoinPool(1)).computeMinimumCut(g, false, 0.01, 3);
+        MinimumCut<Integer> parallel = new MinimumCutComputer<Integer>(
+            new ForkJoinPool(4)).computeMinimumCut(g, false, 0.01, 3);
+        MinimumCut<Integer> exact = new MinimumCutComputer<Integer>()
+            .computeExactMinimumCut(g, false);
+        assertEquals(exact.getWeight(), sequential.getWeight());
+        assertEquals(exact.getWeight(), weightOf(g, exact.getSides()));
+        assertEquals(exact.getWeight(), parallel.getWeight());
+        assertEquals(exact.getWeight(), weightOf(g, parallel.getSides()));
+    }
+
+    private static double bruteForceMinimumCut(
+            CompressedSparseRowGraph<Integer> g) {
+        int n = g.nodeCount();
+        double best = Double.POSITIVE_INFINITY;
+
+        for (int mask = 1; mask < 1 << (n - 1); mask++) {
+            boolean[] side = new boolean[n];
+
+            for (int v = 0; v < n; v++) {
+                side[v] = (mask >>> v & 1) != 0;
+            }
+
+            best = Math.min(best, weightOf(g, side));
+        }
+
+        return best;
+    }
+
+    private static double weightOf(CompressedSparseRowGraph<Integer> g,
+            boolean[] side) {
+        double weight = 0;
+
+        for (int e = 0; e < g.edgeCount(); e++) {
+            if (side[g.getEdgeSources()[e]] != side[g.getEdgeTargets()[e]])
+                weight += g.getEdgeWeights()[e];
+        }
+
+        return weight;
+    }
+}
@@ -0,0 +1,196 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the PageRank class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class PageRankTest {
+
+    @Test
+    final void testComputePageRank() {
+        // 0 -> 1 -> 2 -> 0
+        CompressedSparseRowGraph<Integer> cycle =
+            new CompressedSparseRowGraph<Integer>(3, new int[] {0, 1, 2},
+                                                  new int[] {1, 2, 0},
+                                                  new double[3], true);
+        PageRank<Integer> pageRank = new PageRank<Integer>();
+        PageRankScores<Integer> scores = pageRank.computePageRank(cycle);
+        assertTrue(scores.hasConverged());
+        for (int v = 0; v < 3; v++) {
+            assertEquals(1.0 / 3, scores.getScore(v), 1e-12);
+        }
+        // 0 -> 1, 2 -> 1, 1 is dangling
+        CompressedSparseRowGraph<Integer> sink =
+            new CompressedSparseRowGraph<Integer>(3, new int[] {0, 2},
+                                                  new int[] {1, 1},
+                                                  new double[2], true);
+        scores = pageRank.computePageRank(sink);
+        // x0 = x2 = (1 - d + d x1) / 3, x1 = x0 + 2 d x0
+        double d = PageRank.DEFAULT_DAMPING;
+        double x0 = 1 / (3 + 2 * d);
+        assertEquals(x0, scores.getScore(0), 1e-9);
+        assertEquals(x0 * (1 + 2 * d), scores.getScore(1), 1e-9);
+        assertArrayEquals(new int[] {1, 0}, scores.getTopNodes(2));
+        assertArrayEquals(new int[] {1, 0, 2}, scores.getTopNodes(5));
+        assertThrows(NullPointerException.class, () -> {
+            pageRank.computePageRank((Graph<Integer>) null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new PageRank<Integer>(ForkJoinPool.commonPool(), 1.5, 1e-9, 10);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new PageRank<Integer>(ForkJoinPool.commonPool(), 0.85, 1e-9, 0);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new PageRank<Integer>(null);
+        });
+    }
+
+    @Test
+    final void testComputePersonalizedPageRank() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        gr.addEdge(new GraphEdge<String>(b, c, false));
+        PageRank<String> pageRank = new PageRank<String>();
+        PageRankScores<String> scores = pageRank.computePageRank(gr);
+        assertTrue(scores.getScore(b) > scores.getScore(a));
+        assertEquals(scores.getScore(a), scores.getScore(c), 1e-12);
+        Set<GraphNode<String>> seeds = new HashSet<GraphNode<String>>();
+        seeds.add(a);
+        PageRankScores<String> personalized =
+            pageRank.computePersonalizedPageRank(gr, seeds);
+        assertEquals(0, personalized.getScore(e));
+        assertTrue(personalized.getScore(a) > personalized.getScore(c));
+        assertEquals(1, sum(personalized.getScores()), 1e-12);
+        seeds.clear();
+        assertThrows(IllegalArgumentException.class, () -> {
+            pageRank.computePersonalizedPageRank(gr, seeds);
+        });
+        seeds.add(new GraphNode<String>("z"));
+        assertThrows(IllegalArgumentException.class, () -> {
+            pageRank.computePersonalizedPageRank(gr, seeds);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            pageRank.computePersonalizedPageRank(scores.getSnapshot(),
+                                                 new double[4]);
+        });
+    }
+
+    @Test
+    final void testMatchesDenseIteration() {
+        Random random = new Random(42);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        PageRank<Integer> pageRank =
+            new PageRank<Integer>(pool, 0.8, 1e-13, 1000);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 1 + random.nextInt(40);
+            int m = random.nextInt(3 * n);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      new double[m], true);
+            double[] teleport = new double[n];
+            for (int v = 0; v < n; v++) {
+                teleport[v] = random.nextInt(3);
+            }
+            teleport[random.nextInt(n)] = 1;
+            double[] expected = dense(n, sources, targets, 0.8, teleport);
+            PageRankScores<Integer> scores =
+                pageRank.computePersonalizedPageRank(g, teleport);
+            assertTrue(scores.hasConverged());
+            assertEquals(1, sum(scores.getScores()), 1e-12);
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected[v], scores.getScore(v), 1e-10);
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    final void testLargeGraph() {
+        Random random = new Random(7);
+        int n = 200000;
+        int m = 2000000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = random.nextInt(n);
+            // Skewed in-degrees: a few nodes receive most of the edges.
+            targets[i] = (int) (n * Math.pow(random.nextDouble(), 4));
+        }
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[m], true);
+        PageRankScores<Integer> scores =
+            new PageRank<Integer>().computePageRank(g);
+        assertTrue(scores.hasConverged());
+        assertEquals(1, sum(scores.getScores()), 1e-9);
+        assertEquals(0, scores.getTopNodes(1)[0]);
+    }
+
+    /**
+     * Computes the personalized PageRank by iterating on the dense matrix.
+     */
+    private static double[] dense(int n, int[] sources, int[] targets,
+            double d, double[] teleport) {
+        double[] t = new double[n];
+        double[] out = new double[n];
+        double total = sum(teleport);
+        for (int v = 0; v < n; v++) {
+            t[v] = teleport[v] / total;
+        }
+        for (int u : sources) {
+            out[u]++;
+        }
+        double[][] p = new double[n][n];
+        for (int e = 0; e < sources.length; e++) {
+            p[targets[e]][sources[e]] += 1 / out[sources[e]];
+        }
+        double[] x = t.clone();
+        for (int it = 0; it < 2000; it++) {
+            double dangling = 0;
+            for (int u = 0; u < n; u++) {
+                if (out[u] == 0) dangling += x[u];
+            }
+            double[] y = new double[n];
+            for (int v = 0; v < n; v++) {
+                for (int u = 0; u < n; u++) {
+                    y[v] += d * p[v][u] * x[u];
+                }
+                y[v] += (d * dangling + 1 - d) * t[v];
+            }
+            x = y;
+        }
+        return x;
+    }
+
+    private static double sum(double[] values) {
+        double sum = 0;
+        for (double x : values) {
+            sum += x;
+        }
+        return sum;
+    }
+}
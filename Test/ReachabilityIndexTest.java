@@ -0,0 +1,83 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the ReachabilityIndex class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class ReachabilityIndexTest {
+
+    @Test
+    final void testReachable() {
+        // 0 -> 1 -> 2 -> 1, 0 -> 3, 4 -> 3
+        int[] sources = {0, 1, 2, 0, 4};
+        int[] targets = {1, 2, 1, 3, 3};
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(5, sources, targets,
+                                                  new double[5], true);
+        ReachabilityIndex<Integer> index = new ReachabilityIndex<Integer>(g);
+        assertEquals(4, index.componentCount());
+        assertTrue(index.reachable(0, 2));
+        assertTrue(index.reachable(2, 1));
+        assertTrue(index.reachable(4, 3));
+        assertTrue(index.reachable(3, 3));
+        assertFalse(index.reachable(1, 0));
+        assertFalse(index.reachable(4, 0));
+        assertFalse(index.reachable(3, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            index.reachable(0, 5);
+        });
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        ReachabilityIndex<String> undirected =
+            new ReachabilityIndex<String>(gr);
+        assertTrue(undirected.reachable(b, a));
+        assertFalse(undirected.reachable(a, c));
+        assertThrows(NullPointerException.class, () -> {
+            undirected.reachable(a, null);
+        });
+    }
+
+    @Test
+    final void testMatchesSearch() {
+        Random random = new Random(1043);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 1 + random.nextInt(150);
+            int m = random.nextInt(2 * n);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+                // Mostly acyclic, so that the condensation is large.
+                if (trial % 2 == 0 && sources[i] > targets[i]) {
+                    int swap = sources[i];
+                    sources[i] = targets[i];
+                    targets[i] = swap;
+                }
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      new double[m], true);
+            ReachabilityIndex<Integer> index =
+                new ReachabilityIndex<Integer>(g);
+            for (int u = 0; u < n; u++) {
+                boolean[] reached = WarshallTransitiveClosureTest.reach(g, u);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(reached[v], index.reachable(u, v));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the SingleLinkageDendrogram class.
+ * 
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class SingleLinkageDendrogramTest {
+
+    @Test
+    final void testComputeDendrogram() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 2));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 5));
+        gr.addEdge(new GraphEdge<String>(a, d, false, 6));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 9));
+        SingleLinkageDendrogram<String> dendrogram =
+            new KruskalMSP<String>().computeDendrogram(gr);
+        assertEquals(5, dendrogram.nodeCount());
+        assertEquals(4, dendrogram.mergeCount());
+        assertEquals(1.0, dendrogram.getHeight(0));
+        assertEquals(2.0, dendrogram.getHeight(1));
+        assertEquals(5.0, dendrogram.getHeight(2));
+        assertEquals(9.0, dendrogram.getHeight(3));
+        assertEquals(4, dendrogram.getSize(2));
+        assertEquals(5, dendrogram.getSize(3));
+        Set<Integer> joined = new HashSet<Integer>();
+        joined.add(dendrogram.getLeft(2));
+        joined.add(dendrogram.getRight(2));
+        assertTrue(joined.contains(5) && joined.contains(6));
+
+        int ia = gr.getNodeIndexOf("a");
+        int ib = gr.getNodeIndexOf("b");
+        int ic = gr.getNodeIndexOf("c");
+        int id = gr.getNodeIndexOf("d");
+        int ie = gr.getNodeIndexOf("e");
+        int[] three = dendrogram.cutByClusterCount(3);
+        assertEquals(three[ia], three[ib]);
+        assertEquals(three[ic], three[id]);
+        assertNotEquals(three[ia], three[ic]);
+        assertNotEquals(three[ie], three[ia]);
+        assertNotEquals(three[ie], three[ic]);
+        assertEquals(3, distinct(three));
+        assertArrayEquals(three, dendrogram.cutByThreshold(4.5));
+        assertEquals(5, distinct(dendrogram.cutByThreshold(0.5)));
+        assertEquals(1, distinct(dendrogram.cutByThreshold(9)));
+        assertEquals(1, distinct(dendrogram.cutByClusterCount(1)));
+        assertEquals(5, distinct(dendrogram.cutByClusterCount(5)));
+        assertThrows(IllegalArgumentException.class, () -> {
+            dendrogram.cutByClusterCount(0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            dendrogram.cutByClusterCount(6);
+        });
+    }
+
+    /**
+     * Every threshold cut must coincide with the connected components of the
+     * graph restricted to the edges not heavier than the threshold.
+     */
+    @Test
+    final void testCutsMatchComponents() {
+        Random random = new Random(17);
+        Graph<Integer> gr = new AdjacencyMatrixUndirectedGraph<Integer>();
+        int n = 60;
+        for (int i = 0; i < n; i++)
+            gr.addNode(new GraphNode<Integer>(i));
+        for (int k = 0; k < 120; k++)
+            gr.addEdge(new GraphEdge<Integer>(
+                gr.getNodeAtIndex(random.nextInt(n)),
+                gr.getNodeAtIndex(random.nextInt(n)), false,
+                random.nextInt(20)));
+        SingleLinkageDendrogram<Integer> dendrogram =
+            new KruskalMSP<Integer>().computeDendrogram(gr);
+        UndirectedGraphConnectedComponentsComputer<Integer> components =
+            new UndirectedGraphConnectedComponentsComputer<Integer>();
+        for (int threshold = -1; threshold < 21; threshold += 3) {
+            Graph<Integer> sub = new AdjacencyMatrixUndirectedGraph<Integer>();
+            for (int i = 0; i < n; i++)
+                sub.addNode(gr.getNodeAtIndex(i));
+            for (GraphEdge<Integer> edge : gr.getEdges())
+                if (edge.getWeight() <= threshold)
+                    sub.addEdge(edge);
+            int[] labels = dendrogram.cutByThreshold(threshold);
+            Set<Set<GraphNode<Integer>>> expected =
+                components.computeConnectedComponents(sub);
+            assertEquals(expected.size(), distinct(labels));
+            for (Set<GraphNode<Integer>> component : expected) {
+                Set<Integer> seen = new HashSet<Integer>();
+                for (GraphNode<Integer> node : component)
+                    seen.add(labels[gr.getNodeIndexOf(node.getLabel())]);
+                assertEquals(1, seen.size());
+            }
+        }
+    }
+
+    @Test
+    final void exceptionsTest() {
+        assertThrows(NullPointerException.class, () -> {
+            new KruskalMSP<String>().computeDendrogram(null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new SingleLinkageDendrogram<String>(null, 3, new int[] {0, 0},
+                new int[] {1, 2}, new double[] {1, 2}, new int[] {2, 2});
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new SingleLinkageDendrogram<String>(null, 3, new int[] {0, 3},
+                new int[] {1, 2}, new double[] {2, 1}, new int[] {2, 3});
+        });
+        SingleLinkageDendrogram<String> empty =
+            new SingleLinkageDendrogram<String>(null, 0, new int[0],
+                new int[0], new double[0], new int[0]);
+        assertEquals(0, empty.cutByClusterCount(1).length);
+    }
+
+    private static int distinct(int[] labels) {
+        Set<Integer> values = new HashSet<Integer>();
+        for (int label : labels)
+            values.add(label);
+        return values.size();
+    }
+}
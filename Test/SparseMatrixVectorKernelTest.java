@@ -0,0 +1,99 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the SparseMatrixVectorKernel class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class SparseMatrixVectorKernelTest {
+
+    @Test
+    final void testMultiply() {
+        // | 1 0 2 |
+        // | 0 0 0 |
+        // | 0 3 0 |
+        int[] offsets = {0, 2, 2, 3};
+        int[] columns = {0, 2, 1};
+        double[] values = {1, 2, 3};
+        SparseMatrixVectorKernel m =
+            new SparseMatrixVectorKernel(3, 3, offsets, columns, values);
+        assertEquals(3, m.rowCount());
+        assertEquals(3, m.columnCount());
+        assertEquals(3, m.nonZeroCount());
+        double[] y = new double[3];
+        m.multiply(new double[] {1, 2, 3}, y);
+        assertArrayEquals(new double[] {7, 0, 6}, y);
+        m.multiply(new double[] {1, 2, 3}, y, (row, product) -> {
+            return product + row;
+        });
+        assertArrayEquals(new double[] {7, 1, 8}, y);
+        double[] x = new double[3];
+        assertThrows(IllegalArgumentException.class, () -> {
+            m.multiply(x, x);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            m.multiply(new double[2], x);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            m.multiply(null, x);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new SparseMatrixVectorKernel(3, 3, new int[] {0, 2, 1, 3},
+                                         columns, values);
+        });
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            new SparseMatrixVectorKernel(3, 2, offsets, columns, values);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new SparseMatrixVectorKernel(3, 3, offsets, columns, values,
+                                         null);
+        });
+    }
+
+    @Test
+    final void testSkewedMatrix() {
+        Random random = new Random(42);
+        int rows = 50000;
+        int columns = 300;
+        int[] offsets = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            // A few rows are much longer than all the others.
+            int length = i % 997 == 0 ? 20000 : random.nextInt(4);
+            offsets[i + 1] = offsets[i] + length;
+        }
+        int[] indices = new int[offsets[rows]];
+        double[] values = new double[offsets[rows]];
+        for (int k = 0; k < indices.length; k++) {
+            indices[k] = random.nextInt(columns);
+            values[k] = random.nextDouble();
+        }
+        double[] x = new double[columns];
+        for (int j = 0; j < columns; j++) {
+            x[j] = random.nextDouble();
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SparseMatrixVectorKernel m =
+            new SparseMatrixVectorKernel(rows, columns, offsets, indices,
+                                         values, pool);
+        double[] y = new double[rows];
+        m.multiply(x, y);
+        for (int i = 0; i < rows; i++) {
+            double expected = 0;
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                expected += values[k] * x[indices[k]];
+            }
+            assertEquals(expected, y[i]);
+        }
+        pool.shutdown();
+        SparseMatrixVectorKernel empty =
+            new SparseMatrixVectorKernel(0, 0, new int[1], new int[0],
+                                         new double[0]);
+        empty.multiply(new double[0], new double[0]);
+    }
+}
@@ -0,0 +1,157 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the StronglyConnectedComponentsComputer
+ * class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class StronglyConnectedComponentsComputerTest {
+
+    @Test
+    final void testComputeStronglyConnectedComponents() {
+        // 0 -> 1 -> 2 -> 0, 2 -> 3 -> 4 -> 3, 5
+        int[] sources = {0, 1, 2, 2, 3, 4};
+        int[] targets = {1, 2, 0, 3, 4, 3};
+        CompressedSparseRowGraph<Integer> g =
+            new CompressedSparseRowGraph<Integer>(6, sources, targets,
+                                                  new double[6], true);
+        StronglyConnectedComponentsComputer<Integer> computer =
+            new StronglyConnectedComponentsComputer<Integer>();
+        StronglyConnectedComponents<Integer> tarjan =
+            computer.computeStronglyConnectedComponents(g);
+        assertEquals(3, tarjan.componentCount());
+        assertTrue(tarjan.areStronglyConnected(0, 2));
+        assertTrue(tarjan.areStronglyConnected(3, 4));
+        assertFalse(tarjan.areStronglyConnected(2, 3));
+        assertTrue(tarjan.getComponent(2) > tarjan.getComponent(3));
+        StronglyConnectedComponents<Integer> parallel =
+            computer.computeStronglyConnectedComponentsInParallel(g);
+        assertArrayEquals(new int[] {0, 0, 0, 1, 1, 2},
+                          parallel.getComponentIds());
+        assertThrows(NullPointerException.class, () -> {
+            computer.computeStronglyConnectedComponents(
+                (CompressedSparseRowGraph<Integer>) null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new StronglyConnectedComponentsComputer<Integer>(null);
+        });
+    }
+
+    @Test
+    final void testUndirectedGraph() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        StronglyConnectedComponents<String> result =
+            new StronglyConnectedComponentsComputer<String>()
+                .computeStronglyConnectedComponents(gr);
+        Set<Set<GraphNode<String>>> expected =
+            new HashSet<Set<GraphNode<String>>>();
+        Set<GraphNode<String>> ab = new HashSet<GraphNode<String>>();
+        ab.add(a);
+        ab.add(b);
+        Set<GraphNode<String>> single = new HashSet<GraphNode<String>>();
+        single.add(c);
+        expected.add(ab);
+        expected.add(single);
+        assertEquals(expected, result.getComponentSets());
+        assertEquals(result.getComponent(a), result.getComponent(b));
+    }
+
+    @Test
+    final void testMatchesReachability() {
+        Random random = new Random(42);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        StronglyConnectedComponentsComputer<Integer> computer =
+            new StronglyConnectedComponentsComputer<Integer>(pool);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 1 + random.nextInt(60);
+            int m = random.nextInt(3 * n);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            boolean[][] reach = new boolean[n][n];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+                reach[sources[i]][targets[i]] = true;
+            }
+            for (int k = 0; k < n; k++) {
+                reach[k][k] = true;
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        reach[i][j] |= reach[i][k] && reach[k][j];
+                    }
+                }
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      new double[m], true);
+            StronglyConnectedComponents<Integer> tarjan =
+                computer.computeStronglyConnectedComponents(g);
+            StronglyConnectedComponents<Integer> parallel =
+                computer.computeStronglyConnectedComponentsInParallel(g);
+            assertEquals(tarjan.componentCount(), parallel.componentCount());
+            for (int u = 0; u < n; u++) {
+                for (int v = 0; v < n; v++) {
+                    boolean strong = reach[u][v] && reach[v][u];
+                    assertEquals(strong, tarjan.areStronglyConnected(u, v));
+                    assertEquals(strong, parallel.areStronglyConnected(u, v));
+                }
+            }
+            for (int e = 0; e < m; e++) {
+                assertTrue(tarjan.getComponent(sources[e])
+                           >= tarjan.getComponent(targets[e]));
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    final void testLargeGraphs() {
+        int n = 1000000;
+        int[] sources = new int[n];
+        int[] targets = new int[n];
+        for (int i = 0; i < n; i++) {
+            sources[i] = i;
+            targets[i] = (i + 1) % n;
+        }
+        CompressedSparseRowGraph<Integer> cycle =
+            new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                  new double[n], true);
+        StronglyConnectedComponentsComputer<Integer> computer =
+            new StronglyConnectedComponentsComputer<Integer>();
+        assertEquals(1, computer.computeStronglyConnectedComponents(cycle)
+                                .componentCount());
+        assertEquals(1, computer.computeStronglyConnectedComponentsInParallel(
+                             cycle).componentCount());
+        int[] half = new int[n / 2];
+        int[] next = new int[n / 2];
+        for (int i = 0; i < n / 2; i++) {
+            half[i] = i;
+            next[i] = i + 1;
+        }
+        CompressedSparseRowGraph<Integer> path =
+            new CompressedSparseRowGraph<Integer>(n / 2 + 1, half, next,
+                                                  new double[n / 2], true);
+        assertEquals(n / 2 + 1,
+                     computer.computeStronglyConnectedComponents(path)
+                             .componentCount());
+        assertEquals(n / 2 + 1,
+                     computer.computeStronglyConnectedComponentsInParallel(
+                         path).componentCount());
+    }
+}
@@ -0,0 +1,102 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the TriangleCounter class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class TriangleCounterTest {
+
+    @Test
+    final void testCountTriangles() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        gr.addEdge(new GraphEdge<String>(b, c, false));
+        gr.addEdge(new GraphEdge<String>(c, a, false));
+        gr.addEdge(new GraphEdge<String>(c, d, false));
+        TriangleCounter<String> counter = new TriangleCounter<String>();
+        TriangleCount<String> count = counter.countTriangles(gr);
+        assertEquals(1, count.getTriangleCount());
+        assertEquals(1, count.getTriangleCount(a));
+        assertEquals(0, count.getTriangleCount(d));
+        assertEquals(1.0, count.getLocalClusteringCoefficient(a), 1e-12);
+        assertEquals(1.0 / 3, count.getLocalClusteringCoefficient(c), 1e-12);
+        assertEquals(0.0, count.getLocalClusteringCoefficient(d));
+        assertEquals((1 + 1 + 1.0 / 3) / 4,
+                     count.getAverageClusteringCoefficient(), 1e-12);
+        assertEquals(3.0 / 5, count.getGlobalClusteringCoefficient(), 1e-12);
+        TriangleCount<String> sparse =
+            counter.countTriangles(new CompressedSparseRowGraph<String>(gr));
+        for (int v = 0; v < 4; v++) {
+            assertEquals(sparse.getTriangleCount(v), count.getTriangleCount(v));
+            assertEquals(sparse.getDegree(v), count.getDegree(v));
+        }
+        assertNotNull(count.getSnapshot());
+        assertThrows(NullPointerException.class, () -> {
+            counter.countTriangles((Graph<String>) null);
+        });
+        BitMatrix asymmetric = new BitMatrix(2);
+        asymmetric.set(0, 1);
+        assertThrows(IllegalArgumentException.class, () -> {
+            counter.countTriangles(asymmetric);
+        });
+    }
+
+    @Test
+    final void testMatchesBruteForce() {
+        Random random = new Random(44);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        TriangleCounter<Integer> counter = new TriangleCounter<Integer>(pool);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(120);
+            int m = random.nextInt(6 * n);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      new double[m], false);
+            BitMatrix matrix = new BitMatrix(g);
+            TriangleCount<Integer> sparse = counter.countTriangles(g);
+            TriangleCount<Integer> dense = counter.countTriangles(matrix);
+            long total = 0;
+            for (int u = 0; u < n; u++) {
+                long own = 0;
+                int degree = 0;
+                for (int v = 0; v < n; v++) {
+                    if (v == u || !matrix.get(u, v)) continue;
+                    degree++;
+                    for (int w = v + 1; w < n; w++) {
+                        if (w != u && matrix.get(u, w) && matrix.get(v, w))
+                            own++;
+                    }
+                }
+                total += own;
+                assertEquals(own, sparse.getTriangleCount(u));
+                assertEquals(own, dense.getTriangleCount(u));
+                assertEquals(degree, sparse.getDegree(u));
+                assertEquals(degree, dense.getDegree(u));
+            }
+            assertEquals(total / 3, sparse.getTriangleCount());
+            assertEquals(total / 3, dense.getTriangleCount());
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,98 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the methods of the WarshallTransitiveClosure class.
+ *
+ * @author Leonardo Castignani @UNICAM
+ *
+ */
+class WarshallTransitiveClosureTest {
+
+    @Test
+    final void testComputeClosure() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        WarshallTransitiveClosure<String> warshall =
+            new WarshallTransitiveClosure<String>();
+        BitMatrix closure = warshall.computeClosure(gr);
+        CompressedSparseRowGraph<String> snapshot =
+            new CompressedSparseRowGraph<String>(gr);
+        int ia = snapshot.getIndexOf(a);
+        int ib = snapshot.getIndexOf(b);
+        int ic = snapshot.getIndexOf(c);
+        assertTrue(closure.get(ia, ib));
+        assertTrue(closure.get(ib, ia));
+        assertTrue(closure.get(ic, ic));
+        assertFalse(closure.get(ia, ic));
+        assertThrows(NullPointerException.class, () -> {
+            warshall.computeClosure((Graph<String>) null);
+        });
+        assertThrows(NullPointerException.class, () -> {
+            new WarshallTransitiveClosure<String>(null);
+        });
+    }
+
+    @Test
+    final void testMatchesSearch() {
+        Random random = new Random(43);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        WarshallTransitiveClosure<Integer> warshall =
+            new WarshallTransitiveClosure<Integer>(pool);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(300);
+            int m = random.nextInt(2 * n);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+            }
+            CompressedSparseRowGraph<Integer> g =
+                new CompressedSparseRowGraph<Integer>(n, sources, targets,
+                                                      new double[m], true);
+            BitMatrix closure = warshall.computeClosure(g);
+            BitMatrix fromMatrix = warshall.computeClosure(new BitMatrix(g));
+            assertArrayEquals(closure.getWords(), fromMatrix.getWords());
+            for (int u = 0; u < n; u++) {
+                boolean[] reached = reach(g, u);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(reached[v], closure.get(u, v));
+                }
+            }
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Marks the nodes reachable from a source with a depth-first search.
+     */
+    static boolean[] reach(CompressedSparseRowGraph<Integer> g, int source) {
+        boolean[] reached = new boolean[g.nodeCount()];
+        int[] stack = new int[g.nodeCount()];
+        int top = 0;
+        reached[source] = true;
+        stack[top++] = source;
+        while (top > 0) {
+            int u = stack[--top];
+            for (int k = g.getOffsets()[u]; k < g.getOffsets()[u + 1]; k++) {
+                int v = g.getAdjacency()[k];
+                if (!reached[v]) {
+                    reached[v] = true;
+                    stack[top++] = v;
+                }
+            }
+        }
+        return reached;
+    }
+}
@@ -0,0 +1,191 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * The triangles of an undirected graph, counted globally and per node, with
+ * the clustering coefficients derived from them. Loops and parallel edges do
+ * not count: degrees are the numbers of distinct neighbours other than the
+ * node itself.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class TriangleCount<L> {
+
+    private final CompressedSparseRowGraph<L> graph;
+    private final long[] triangles;
+    private final int[] degree;
+    private final long total;
+
+    /**
+     * Constructs the count. The arrays are not copied.
+     *
+     * @param graph  the snapshot of the graph, null if the nodes are only
+     *        identified by their index.
+     * @param triangles  the number of triangles of every node.
+     * @param degree  the number of distinct neighbours of every node.
+     * @throws NullPointerException if one of the arrays is null.
+     * @throws IllegalArgumentException if the arrays have different lengths.
+     */
+    public TriangleCount(CompressedSparseRowGraph<L> graph, long[] triangles,
+            int[] degree) {
+        if (triangles == null || degree == null)
+            throw new NullPointerException();
+        if (triangles.length != degree.length)
+            throw new IllegalArgumentException();
+
+        long sum = 0;
+
+        for (long t : triangles) {
+            sum += t;
+        }
+
+        this.graph = graph;
+        this.triangles = triangles;
+        this.degree = degree;
+        this.total = sum / 3;
+    }
+
+    /**
+     * Returns the snapshot of the graph.
+     *
+     * @return the snapshot, null if the nodes are only identified by their
+     *         index.
+     */
+    public CompressedSparseRowGraph<L> getSnapshot() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes.
+     */
+    public int nodeCount() {
+        return this.degree.length;
+    }
+
+    /**
+     * Returns the number of triangles of the graph.
+     *
+     * @return the number of triangles.
+     */
+    public long getTriangleCount() {
+        return this.total;
+    }
+
+    /**
+     * Returns the number of triangles a node belongs to.
+     *
+     * @param v  the index of the node.
+     * @return the number of triangles of v.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public long getTriangleCount(int v) {
+        return this.triangles[v];
+    }
+
+    /**
+     * Returns the number of triangles a node belongs to.
+     *
+     * @param v  the node.
+     * @return the number of triangles of v.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     * @throws UnsupportedOperationException if the count was not computed on
+     *         a snapshot of a graph.
+     */
+    public long getTriangleCount(GraphNode<L> v) {
+        return this.triangles[this.indexOf(v)];
+    }
+
+    /**
+     * Returns the number of distinct neighbours of a node.
+     *
+     * @param v  the index of the node.
+     * @return the degree of v, loops and parallel edges excluded.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public int getDegree(int v) {
+        return this.degree[v];
+    }
+
+    /**
+     * Returns the local clustering coefficient of a node: the fraction of the
+     * pairs of its neighbours that are adjacent.
+     *
+     * @param v  the index of the node.
+     * @return the local clustering coefficient of v, 0 if v has fewer than two
+     *         neighbours.
+     * @throws IndexOutOfBoundsException if v is not a node.
+     */
+    public double getLocalClusteringCoefficient(int v) {
+        long d = this.degree[v];
+
+        return d < 2 ? 0 : 2.0 * this.triangles[v] / (d * (d - 1));
+    }
+
+    /**
+     * Returns the local clustering coefficient of a node.
+     *
+     * @param v  the node.
+     * @return the local clustering coefficient of v, 0 if v has fewer than two
+     *         neighbours.
+     * @throws NullPointerException if the node is null.
+     * @throws IllegalArgumentException if the node does not belong to the
+     *         graph.
+     * @throws UnsupportedOperationException if the count was not computed on
+     *         a snapshot of a graph.
+     */
+    public double getLocalClusteringCoefficient(GraphNode<L> v) {
+        return this.getLocalClusteringCoefficient(this.indexOf(v));
+    }
+
+    /**
+     * Returns the average of the local clustering coefficients of all the
+     * nodes.
+     *
+     * @return the average clustering coefficient, 0 for an empty graph.
+     */
+    public double getAverageClusteringCoefficient() {
+        int n = this.degree.length;
+        double sum = 0;
+
+        for (int v = 0; v < n; v++) {
+            sum += this.getLocalClusteringCoefficient(v);
+        }
+
+        return n == 0 ? 0 : sum / n;
+    }
+
+    /**
+     * Returns the global clustering coefficient, or transitivity: three times
+     * the number of triangles over the number of paths of two edges.
+     *
+     * @return the global clustering coefficient, 0 if there is no path of two
+     *         edges.
+     */
+    public double getGlobalClusteringCoefficient() {
+        double wedges = 0;
+
+        for (int d : this.degree) {
+            wedges += (double) d * (d - 1) / 2;
+        }
+
+        return wedges == 0 ? 0 : 3.0 * this.total / wedges;
+    }
+
+    /**
+     * Returns the index of a node in the snapshot.
+     *
+     * @param v  the node.
+     * @return the index of v.
+     */
+    private int indexOf(GraphNode<L> v) {
+        if (v == null) throw new NullPointerException();
+        if (this.graph == null) throw new UnsupportedOperationException();
+
+        return this.graph.getIndexOf(v);
+    }
+}
@@ -0,0 +1,290 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A class that counts the triangles of an undirected graph, globally and per
+ * node, in parallel on a {@code ForkJoinPool}, with two algorithms chosen by
+ * the representation of the graph.
+ *
+ * On a snapshot of a sparse graph every edge is oriented from the endpoint of
+ * lower degree to the one of higher degree (ties broken by index), so that
+ * every node keeps at most O(sqrt(m)) out-neighbours. Every triangle is then
+ * found exactly once, from its lowest-ranked node, by a merge of two sorted
+ * out-neighbour lists, in O(m sqrt(m)) total time; the nodes are processed in
+ * parallel and the triangles credited to the three nodes with atomic
+ * counters.
+ *
+ * On a dense graph given by its symmetric adjacency {@code BitMatrix}, the
+ * triangles of a node u are half the sum, over its neighbours v, of the size of
+ * the intersection of rows u and v, computed 64 nodes at a time with an AND
+ * and a population count. Every node only writes its own count, so the rows
+ * are processed in parallel without synchronization.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class TriangleCounter<L> {
+
+    private static final int MIN_GRAIN = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Build a triangle counter that runs on the common {@code ForkJoinPool}.
+     */
+    public TriangleCounter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a triangle counter.
+     *
+     * @param pool  the pool running the count.
+     * @throws NullPointerException if the pool is null.
+     */
+    public TriangleCounter(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException();
+
+        this.pool = pool;
+    }
+
+    /**
+     * Counts the triangles of an undirected graph, with row intersections if
+     * it is stored in an adjacency matrix and with the degree-ordered merge
+     * algorithm otherwise.
+     *
+     * @param g  an undirected graph.
+     * @return the triangles, whose snapshot identifies the nodes of the graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph is directed.
+     */
+    public TriangleCount<L> countTriangles(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        if (g instanceof AdjacencyMatrixUndirectedGraph)
+            return this.countTriangles((AdjacencyMatrixUndirectedGraph<L>) g);
+
+        return this.countTriangles(new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Counts the triangles of an undirected graph stored in an adjacency
+     * matrix, with row intersections on a {@code BitMatrix} of its edges.
+     *
+     * @param g  an undirected graph stored in an adjacency matrix.
+     * @return the triangles, whose snapshot identifies the nodes of the graph.
+     * @throws NullPointerException if the graph is null.
+     */
+    public TriangleCount<L> countTriangles(
+            AdjacencyMatrixUndirectedGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        CompressedSparseRowGraph<L> snapshot =
+            new CompressedSparseRowGraph<L>(g);
+
+        return this.countRows(new BitMatrix(snapshot), snapshot);
+    }
+
+    /**
+     * Counts the triangles of an undirected snapshot of a graph, with the
+     * degree-ordered merge algorithm.
+     *
+     * @param g  an undirected snapshot.
+     * @return the triangles.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot is directed.
+     */
+    public TriangleCount<L> countTriangles(CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+        if (g.isDirected()) throw new IllegalArgumentException();
+
+        int n = g.nodeCount();
+        int[] offsets = g.getOffsets();
+        int[] sorted = g.getAdjacency().clone();
+        int[] degree = new int[n];
+        int[] forwardOffsets = new int[n + 1];
+        int grain = ParallelFor.grainFor(this.pool, n, MIN_GRAIN);
+
+        // Sort every adjacency and count the distinct neighbours.
+        ParallelFor.run(this.pool, 0, n, grain, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                Arrays.sort(sorted, offsets[u], offsets[u + 1]);
+
+                for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                    if (isNewNeighbour(sorted, offsets, u, k)) degree[u]++;
+                }
+            }
+        });
+
+        // Keep, for every node, the distinct neighbours of higher rank.
+        ParallelFor.run(this.pool, 0, n, grain, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                    if (isNewNeighbour(sorted, offsets, u, k)
+                        && precedes(degree, u, sorted[k]))
+                        forwardOffsets[u + 1]++;
+                }
+            }
+        });
+
+        for (int u = 0; u < n; u++) {
+            forwardOffsets[u + 1] += forwardOffsets[u];
+        }
+
+        int[] forward = new int[forwardOffsets[n]];
+
+        ParallelFor.run(this.pool, 0, n, grain, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                int write = forwardOffsets[u];
+
+                for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                    if (isNewNeighbour(sorted, offsets, u, k)
+                        && precedes(degree, u, sorted[k]))
+                        forward[write++] = sorted[k];
+                }
+            }
+        });
+
+        AtomicLongArray counts = new AtomicLongArray(n);
+
+        ParallelFor.run(this.pool, 0, n, grain, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                for (int k = forwardOffsets[u]; k < forwardOffsets[u + 1];
+                     k++) {
+                    int v = forward[k];
+                    int i = forwardOffsets[u];
+                    int j = forwardOffsets[v];
+
+                    while (i < forwardOffsets[u + 1]
+                           && j < forwardOffsets[v + 1]) {
+                        if (forward[i] < forward[j]) {
+                            i++;
+                        }
+                        else if (forward[i] > forward[j]) {
+                            j++;
+                        }
+                        else {
+                            counts.incrementAndGet(u);
+                            counts.incrementAndGet(v);
+                            counts.incrementAndGet(forward[i]);
+                            i++;
+                            j++;
+                        }
+                    }
+                }
+            }
+        });
+
+        long[] triangles = new long[n];
+
+        for (int u = 0; u < n; u++) {
+            triangles[u] = counts.get(u);
+        }
+
+        return new TriangleCount<L>(g, triangles, degree);
+    }
+
+    /**
+     * Counts the triangles of an undirected graph given by its symmetric
+     * adjacency matrix, with row intersections. Bits on the diagonal, that is
+     * loops, are ignored.
+     *
+     * @param adjacency  the symmetric adjacency matrix.
+     * @return the triangles, without a snapshot.
+     * @throws NullPointerException if the matrix is null.
+     * @throws IllegalArgumentException if the matrix is not symmetric.
+     */
+    public TriangleCount<L> countTriangles(BitMatrix adjacency) {
+        if (adjacency == null) throw new NullPointerException();
+        if (!Arrays.equals(adjacency.getWords(),
+                           adjacency.transpose().getWords()))
+            throw new IllegalArgumentException();
+
+        return this.countRows(adjacency, null);
+    }
+
+    /**
+     * Counts the triangles of every node by intersecting the rows of a
+     * symmetric adjacency matrix.
+     *
+     * @param adjacency  the symmetric adjacency matrix.
+     * @param snapshot  the snapshot identifying the nodes, or null.
+     * @return the triangles.
+     */
+    private TriangleCount<L> countRows(BitMatrix adjacency,
+            CompressedSparseRowGraph<L> snapshot) {
+        int n = adjacency.size();
+        int stride = adjacency.wordsPerRow();
+        long[] words = adjacency.getWords();
+        long[] triangles = new long[n];
+        int[] degree = new int[n];
+
+        ParallelFor.run(this.pool, 0, n,
+                        ParallelFor.grainFor(this.pool, n, 1), (from, to) -> {
+            for (int u = from; u < to; u++) {
+                int rowU = u * stride;
+                int loopU = adjacency.get(u, u) ? 1 : 0;
+                long sum = 0;
+
+                for (int w = 0; w < stride; w++) {
+                    for (long bits = words[rowU + w]; bits != 0;
+                         bits &= bits - 1) {
+                        int v = (w << 6) | Long.numberOfTrailingZeros(bits);
+
+                        if (v == u) continue;
+
+                        int rowV = v * stride;
+                        int common = 0;
+
+                        for (int x = 0; x < stride; x++) {
+                            common += Long.bitCount(words[rowU + x]
+                                                    & words[rowV + x]);
+                        }
+
+                        // Neither u nor v is a third node of a triangle.
+                        sum += common - loopU - (adjacency.get(v, v) ? 1 : 0);
+                        degree[u]++;
+                    }
+                }
+
+                triangles[u] = sum / 2;
+            }
+        });
+
+        return new TriangleCount<L>(snapshot, triangles, degree);
+    }
+
+    /**
+     * Determines whether a slot of a sorted adjacency holds a neighbour other
+     * than the node itself and different from the one in the previous slot.
+     *
+     * @param sorted  the sorted adjacency.
+     * @param offsets  the offsets of the adjacency.
+     * @param u  the node.
+     * @param k  the slot.
+     * @return true if the slot holds a new neighbour of u.
+     */
+    private static boolean isNewNeighbour(int[] sorted, int[] offsets, int u,
+            int k) {
+        return sorted[k] != u
+            && (k == offsets[u] || sorted[k] != sorted[k - 1]);
+    }
+
+    /**
+     * Determines whether a node comes before another one in the order by
+     * degree, ties broken by index.
+     *
+     * @param degree  the degree of every node.
+     * @param u  the first node.
+     * @param v  the second node.
+     * @return true if u comes before v.
+     */
+    private static boolean precedes(int[] degree, int u, int v) {
+        return degree[u] < degree[v] || (degree[u] == degree[v] && u < v);
+    }
+}
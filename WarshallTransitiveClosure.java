@@ -0,0 +1,172 @@
+package it.unicam.cs.asdl2425.mp2;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A class that implements Warshall's algorithm for the transitive closure of
+ * a graph, directed or undirected, on the rows of a {@code BitMatrix}: when
+ * node i reaches pivot k, row k is OR-ed into row i one 64-node word at a
+ * time, so every pivot step costs n / 64 word operations per row instead of n
+ * bit tests.
+ *
+ * Pivots are processed in groups of 64, the nodes of one word. The rows of the
+ * pivots of a group are closed first, pivot by pivot; then every other row,
+ * independently and in parallel on a {@code ForkJoinPool}, absorbs the rows
+ * of the pivots of the group it reaches. Using pivot rows that already include
+ * the later pivots of the group only adds bits that are true paths, so the
+ * result is the same as the one of the sequential algorithm, with a parallel
+ * loop every 64 pivots instead of every pivot.
+ *
+ * The closure is reflexive: every node reaches itself. Reachability queries
+ * on the result are constant-time bit tests with {@code BitMatrix.get}; for
+ * graphs too large for an n x n matrix, {@code ReachabilityIndex<L>} answers
+ * the same queries in a space proportional to the graph.
+ *
+ * @param <L>  type of the labels of the graph nodes.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+public class WarshallTransitiveClosure<L> {
+
+    private static final int MIN_GRAIN = 16;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Build a transitive closure calculator that runs on the common
+     * {@code ForkJoinPool}.
+     */
+    public WarshallTransitiveClosure() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a transitive closure calculator.
+     *
+     * @param pool  the pool running the row updates.
+     * @throws NullPointerException if the pool is null.
+     */
+    public WarshallTransitiveClosure(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException();
+
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the transitive closure of a graph.
+     *
+     * @param g  the graph.
+     * @return the closure, whose rows and columns are the indices of the nodes
+     *         in a snapshot of the graph.
+     * @throws NullPointerException if the graph is null.
+     * @throws IllegalArgumentException if the graph has too many nodes for a
+     *         matrix.
+     */
+    public BitMatrix computeClosure(Graph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        return this.computeClosure(new CompressedSparseRowGraph<L>(g));
+    }
+
+    /**
+     * Computes the transitive closure of a snapshot of a graph.
+     *
+     * @param g  the snapshot.
+     * @return the closure: bit (u, v) is set if v is reachable from u.
+     * @throws NullPointerException if the snapshot is null.
+     * @throws IllegalArgumentException if the snapshot has too many nodes for
+     *         a matrix.
+     */
+    public BitMatrix computeClosure(CompressedSparseRowGraph<L> g) {
+        if (g == null) throw new NullPointerException();
+
+        BitMatrix closure = new BitMatrix(g);
+
+        this.close(closure);
+
+        return closure;
+    }
+
+    /**
+     * Computes the transitive closure of a graph given by its adjacency
+     * matrix.
+     *
+     * @param adjacency  the adjacency matrix: bit (i, j) is set if there is an
+     *        edge from i to j.
+     * @return a new matrix: bit (u, v) is set if v is reachable from u.
+     * @throws NullPointerException if the matrix is null.
+     */
+    public BitMatrix computeClosure(BitMatrix adjacency) {
+        if (adjacency == null) throw new NullPointerException();
+
+        int n = adjacency.size();
+        BitMatrix closure = new BitMatrix(n);
+
+        System.arraycopy(adjacency.getWords(), 0, closure.getWords(), 0,
+                         adjacency.getWords().length);
+        this.close(closure);
+
+        return closure;
+    }
+
+    /**
+     * Closes a matrix in place.
+     *
+     * @param m  the adjacency matrix, replaced by its reflexive closure.
+     */
+    private void close(BitMatrix m) {
+        int n = m.size();
+        int stride = m.wordsPerRow();
+        long[] words = m.getWords();
+
+        for (int i = 0; i < n; i++) {
+            words[i * stride + (i >>> 6)] |= 1L << i;
+        }
+
+        for (int w = 0; w < stride; w++) {
+            final int group = w;
+            int first = w << 6;
+            int last = Math.min(n, first + 64);
+
+            for (int k = first; k < last; k++) {
+                for (int i = first; i < last; i++) {
+                    absorb(words, stride, i, group, k, k + 1);
+                }
+            }
+
+            ParallelFor.run(this.pool, 0, n,
+                            ParallelFor.grainFor(this.pool, n, MIN_GRAIN),
+                            (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    if (i < first || i >= last)
+                        absorb(words, stride, i, group, first, last);
+                }
+            });
+        }
+    }
+
+    /**
+     * OR-s into a row the rows of the pivots of a group that it reaches.
+     *
+     * @param words  the words of the matrix.
+     * @param stride  the number of words of a row.
+     * @param i  the row.
+     * @param group  the word of the pivots.
+     * @param first  the first pivot of the group.
+     * @param last  the pivot after the last one of the group.
+     */
+    private static void absorb(long[] words, int stride, int i, int group,
+            int first, int last) {
+        int row = i * stride;
+
+        for (int k = first; k < last; k++) {
+            if ((words[row + group] & (1L << k)) == 0 || k == i) continue;
+
+            int pivot = k * stride;
+
+            for (int x = 0; x < stride; x++) {
+                words[row + x] |= words[pivot + x];
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package it.unicam.cs.asdl2425.mp2;
+
+/**
+ * Sorts a range of edge weights together with a companion array of
+ * {@code long} values, typically edge numbers or the two nodes of an edge
+ * packed in a single value. It works on primitive arrays only, so sorting
+ * millions of edges allocates nothing.
+ *
+ * The algorithm is a quicksort with median-of-three pivot and insertion sort
+ * on short ranges; it recurses on the smaller part only, so the stack depth is
+ * O(log n) even on ranges with many equal weights.
+ *
+ * @author Leonardo Castignani @UNICAM
+ */
+final class WeightSort {
+
+    private static final int INSERTION_THRESHOLD = 24;
+
+    private WeightSort() {
+    }
+
+    /**
+     * Sorts the weights from {@code from} (inclusive) to {@code to}
+     * (exclusive) in nondecreasing order, moving the values with them.
+     *
+     * @param keys  the weights, none of which is NaN.
+     * @param values  the values moved together with the weights.
+     * @param from  the first index.
+     * @param to  the index after the last one.
+     */
+    static void sort(double[] keys, long[] values, int from, int to) {
+        int left = from;
+        int right = to - 1;
+
+        while (right - left >= INSERTION_THRESHOLD) {
+            int middle = (left + right) >>> 1;
+
+            if (keys[middle] < keys[left]) swap(keys, values, middle, left);
+            if (keys[right] < keys[left]) swap(keys, values, right, left);
+            if (keys[right] < keys[middle]) swap(keys, values, right, middle);
+
+            double pivot = keys[middle];
+            int i = left;
+            int j = right;
+
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+
+                if (i <= j) {
+                    swap(keys, values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            if (j - left < right - i) {
+                sort(keys, values, left, j + 1);
+                left = i;
+            }
+            else {
+                sort(keys, values, i, right + 1);
+                right = j;
+            }
+        }
+
+        for (int i = left + 1; i <= right; i++) {
+            double key = keys[i];
+            long value = values[i];
+            int j = i - 1;
+
+            while (j >= left && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Swaps two positions of both arrays.
+     *
+     * @param keys  the weights.
+     * @param values  the values.
+     * @param i  first index.
+     * @param j  second index.
+     */
+    private static void swap(double[] keys, long[] values, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}